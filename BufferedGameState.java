@@ -0,0 +1,133 @@
+package builder;
+
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.inventory.Inventory;
+import builder.inventory.items.Item;
+import builder.player.Player;
+import builder.world.Pathfinder;
+import builder.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A view of another game state that queues changes to the inventory instead of making them, so a
+ * group of entities can tick on a worker thread without touching shared state.
+ *
+ * <p>Queued changes are made, in the order they were requested, by {@link #commit()}. Everything
+ * else, including reading the inventory, goes straight to the underlying state, so entities ticked
+ * against this view must not depend on inventory changes made by others ticking alongside them.
+ */
+public class BufferedGameState implements GameState {
+    private final GameState game;
+    private final Inventory inventory;
+    private final List<Runnable> commands = new ArrayList<>();
+
+    /**
+     * Construct a view of the given game state with an empty command buffer.
+     *
+     * @param game The game state to read from and eventually commit changes to.
+     */
+    public BufferedGameState(GameState game) {
+        this.game = game;
+        this.inventory = new BufferedInventory(game.getInventory());
+    }
+
+    /** Make every queued change to the underlying game state, then forget them. */
+    public void commit() {
+        for (Runnable command : commands) {
+            command.run();
+        }
+        commands.clear();
+    }
+
+    @Override
+    public World getWorld() {
+        return game.getWorld();
+    }
+
+    @Override
+    public NpcManager getNpcs() {
+        return game.getNpcs();
+    }
+
+    @Override
+    public EnemyManager getEnemies() {
+        return game.getEnemies();
+    }
+
+    @Override
+    public Player getPlayer() {
+        return game.getPlayer();
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    @Override
+    public Pathfinder getPathfinder() {
+        return game.getPathfinder();
+    }
+
+    /** Passes reads through to the real inventory and queues every change. */
+    private class BufferedInventory implements Inventory {
+        private final Inventory inventory;
+
+        private BufferedInventory(Inventory inventory) {
+            this.inventory = inventory;
+        }
+
+        @Override
+        public void addFood(int amount) {
+            commands.add(() -> inventory.addFood(amount));
+        }
+
+        @Override
+        public int getFood() {
+            return inventory.getFood();
+        }
+
+        @Override
+        public void addCoins(int amount) {
+            commands.add(() -> inventory.addCoins(amount));
+        }
+
+        @Override
+        public int getCoins() {
+            return inventory.getCoins();
+        }
+
+        @Override
+        public int getCapacity() {
+            return inventory.getCapacity();
+        }
+
+        @Override
+        public void setItem(int slot, Item item) {
+            commands.add(() -> inventory.setItem(slot, item));
+        }
+
+        @Override
+        public Item getItem(int slot) {
+            return inventory.getItem(slot);
+        }
+
+        @Override
+        public Item getHolding() {
+            return inventory.getHolding();
+        }
+
+        @Override
+        public int getActiveSlot() {
+            return inventory.getActiveSlot();
+        }
+
+        @Override
+        public void setActiveSlot(int slot) {
+            commands.add(() -> inventory.setActiveSlot(slot));
+        }
+    }
+}
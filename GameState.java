@@ -5,6 +5,7 @@ import builder.entities.npc.enemies.EnemyManager;
 import builder.tiles.Tile;
 import builder.inventory.Inventory;
 import builder.player.Player;
+import builder.world.Pathfinder;
 import builder.world.World;
 
 /**
@@ -47,4 +48,17 @@ public interface GameState {
      * @return The inventory of the player.
      */
     Inventory getInventory();
+
+    /**
+     * Returns the pathfinder shared by everything in the game, for routing around tiles that
+     * cannot be walked through.
+     *
+     * <p>A game state that doesn't route around tiles need not implement this, in which case
+     * anything that would have asked for a route heads straight for where it is going.
+     *
+     * @return The pathfinder over the game world, or null if there is none.
+     */
+    default Pathfinder getPathfinder() {
+        return null;
+    }
 }
@@ -1,6 +1,7 @@
 package builder;
 
 import builder.entities.npc.NpcManager;
+import builder.entities.npc.TickPool;
 import builder.entities.npc.enemies.EnemyManager;
 import builder.entities.npc.spawners.EagleSpawner;
 import builder.entities.npc.spawners.MagpieSpawner;
@@ -16,10 +17,16 @@ import builder.inventory.items.Pole;
 import builder.inventory.ui.InventoryOverlay;
 import builder.inventory.ui.ResourceOverlay;
 import builder.player.PlayerManager;
+import builder.profiling.TickProfiler;
+import builder.profiling.TickProfiler.Phase;
+import builder.save.FarmJournal;
+import builder.save.FarmSnapshot;
 import builder.ui.Overlay;
 import builder.world.BeanWorld;
 import builder.world.CabbageDetails;
+import builder.world.FrameCachedWorld;
 import builder.world.OverlayBuilder;
+import builder.world.Pathfinder;
 import builder.world.PlayerDetails;
 import builder.world.SpawnerDetails;
 import builder.world.WorldBuilder;
@@ -34,6 +41,10 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
@@ -62,11 +73,30 @@ public class JavaBeanFarm implements Game {
     private final EnemyManager enemies;
 
     private final BeanWorld world;
+    // what the rest of the game queries, so repeated lookups within a tick are only made once
+    private final FrameCachedWorld queries;
+    private final Pathfinder pathfinder;
+    private final TickProfiler profiler = new TickProfiler();
+
+    // everything a game state refers to is fixed at construction, so one serves every tick
+    private final GameState game;
+    private final List<Tile> underPlayer = new ArrayList<>();
 
     private final Inventory inventory;
     private final List<Overlay> overlays = new ArrayList<>();
 
-    private String readAllReader(Reader reader) throws IOException {
+    private final Dimensions dimensions;
+    private FarmJournal journal;
+
+    // what a farm is built from, whether read from map and details files or from a snapshot
+    private record Parts(
+            BeanWorld world,
+            PlayerManager playerManager,
+            NpcManager npcs,
+            EnemyManager enemies,
+            Inventory inventory) {}
+
+    private static String readAllReader(Reader reader) throws IOException {
         BufferedReader br = new BufferedReader(reader);
          StringJoiner sb = new StringJoiner(System.lineSeparator());
         String line;
@@ -87,16 +117,74 @@ public class JavaBeanFarm implements Game {
      */
     public JavaBeanFarm(Dimensions dimensions, Reader mapReader, Reader detailReader)
             throws IOException, WorldLoadException {
+        this(dimensions, readParts(dimensions, mapReader, detailReader));
+    }
+
+    private JavaBeanFarm(Dimensions dimensions, Parts parts) {
+        this(
+                dimensions,
+                parts.world(),
+                parts.playerManager(),
+                parts.npcs(),
+                parts.enemies(),
+                parts.inventory());
+    }
+
+    /**
+     * Constructs a JavaBean Farm game around parts that are already set up, e.g. as read back by
+     * {@link #load(ReadableByteChannel)}.
+     *
+     * @param dimensions The dimensions of the game.
+     * @param world The world, with every tile in place.
+     * @param playerManager The player manager, with the player where they should start.
+     * @param npcs The NPCs.
+     * @param enemies The spawners and birds.
+     * @param inventory The player's inventory.
+     */
+    public JavaBeanFarm(
+            Dimensions dimensions,
+            BeanWorld world,
+            PlayerManager playerManager,
+            NpcManager npcs,
+            EnemyManager enemies,
+            Inventory inventory) {
+        this.dimensions = dimensions;
+        this.world = world;
+        this.playerManager = playerManager;
+        this.npcs = npcs;
+        this.enemies = enemies;
+        this.inventory = inventory;
+        this.pathfinder = new Pathfinder(dimensions);
+
+        this.overlays.add(new InventoryOverlay(dimensions, inventory.getCapacity()));
+        this.overlays.add(new ResourceOverlay(dimensions));
+
+        this.queries = new FrameCachedWorld(world);
+        // planting, harvesting and cleaning up change what filters over tiles see, mid-tick
+        world.watch(queries::changed);
+        this.game =
+                new JavaBeanGameState(
+                        queries,
+                        playerManager.getPlayer(),
+                        inventory,
+                        this.npcs,
+                        this.enemies,
+                        this.pathfinder);
+    }
+
+    private static Parts readParts(Dimensions dimensions, Reader mapReader, Reader detailReader)
+            throws IOException, WorldLoadException {
 
         final String detailsContent = readAllReader(detailReader);
         final PlayerDetails playerDetails = OverlayBuilder.getPlayerDetailsFromFile(detailsContent);
-        this.playerManager = new PlayerManager(playerDetails.getX(), playerDetails.getY());
-        this.npcs = new NpcManager();
-        this.enemies = new EnemyManager(dimensions);
+        final PlayerManager playerManager =
+                new PlayerManager(playerDetails.getX(), playerDetails.getY());
+        final NpcManager npcs = new NpcManager();
+        final EnemyManager enemies = new EnemyManager(dimensions);
         final List<SpawnerDetails> magpieSpawnPoints =
                 OverlayBuilder.getMagpieSpawnDetailsFromString(detailsContent);
         for (SpawnerDetails spawnerDetails : magpieSpawnPoints) {
-            this.enemies.add(
+            enemies.add(
                     new MagpieSpawner(
                             spawnerDetails.getX(),
                             spawnerDetails.getY(),
@@ -105,7 +193,7 @@ public class JavaBeanFarm implements Game {
         final List<SpawnerDetails> eagleSpawnPoints =
                 OverlayBuilder.getEagleSpawnDetailsFromString(detailsContent);
         for (SpawnerDetails spawnerDetails : eagleSpawnPoints) {
-            this.enemies.add(
+            enemies.add(
                     new EagleSpawner(
                             spawnerDetails.getX(),
                             spawnerDetails.getY(),
@@ -114,7 +202,7 @@ public class JavaBeanFarm implements Game {
         final List<SpawnerDetails> pigeonSpawnPoints =
                 OverlayBuilder.getPigeonSpawnDetailsFromString(detailsContent);
         for (SpawnerDetails spawnerDetails : pigeonSpawnPoints) {
-            this.enemies.add(
+            enemies.add(
                     new PigeonSpawner(
                             spawnerDetails.getX(),
                             spawnerDetails.getY(),
@@ -122,7 +210,8 @@ public class JavaBeanFarm implements Game {
         }
 
         String worldContent = readAllReader(mapReader);
-        this.world = WorldBuilder.fromTiles(WorldBuilder.fromString(dimensions, worldContent));
+        final BeanWorld world =
+                WorldBuilder.fromTiles(WorldBuilder.fromString(dimensions, worldContent));
 
         final List<CabbageDetails> cabbageSpawnPoints =
                 OverlayBuilder.getCabbageSpawnDetailsFromString(detailsContent);
@@ -130,7 +219,7 @@ public class JavaBeanFarm implements Game {
                 cabbageSpawnPoints) { // HACK - can I improve this?
             final int positionX = cabbageDetails.getX();
             final int positionY = cabbageDetails.getY();
-            final List<Tile> tiles = this.world.tilesAtPosition(positionX, positionY, dimensions);
+            final List<Tile> tiles = world.tilesAtPosition(positionX, positionY, dimensions);
             for (Tile tile : tiles) {
                 if (tile instanceof Dirt) {
                     TinyInventory tempInventory = new TinyInventory(5, 100, 100);
@@ -141,7 +230,7 @@ public class JavaBeanFarm implements Game {
         }
 
         int inventorySize = 5;
-        this.inventory =
+        final Inventory inventory =
                 new TinyInventory(
                         inventorySize,
                         playerDetails.getStartingCoins(),
@@ -153,14 +242,110 @@ public class JavaBeanFarm implements Game {
         inventory.setItem(3, new HiveHammer());
         inventory.setItem(4, new Pole());
 
-        this.overlays.add(new InventoryOverlay(dimensions, inventorySize));
-        this.overlays.add(new ResourceOverlay(dimensions));
+        return new Parts(world, playerManager, npcs, enemies, inventory);
     }
 
     public JavaBeanFarm(Dimensions dimensions, String mapFile, String detailsFile) throws IOException, WorldLoadException {
         this(dimensions, new FileReader(mapFile), new FileReader(detailsFile));
     }
 
+    /**
+     * Choose how NPCs and enemies that can safely tick side by side are ticked each frame.
+     * Parallel ticking queues their inventory changes and replays them in the sequential order,
+     * so the game plays out exactly as it would on one thread.
+     *
+     * @param tickPool The pool to tick them on, {@link TickPool#SEQUENTIAL} by default.
+     */
+    public void setTickPool(TickPool tickPool) {
+        this.npcs.setTickPool(tickPool);
+        this.enemies.setTickPool(tickPool);
+    }
+
+    /**
+     * @return The profiler timing each phase of this game's ticks, disabled by default.
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return The game state every tick is run against, e.g. to add birds or NPCs from outside.
+     */
+    public GameState getGameState() {
+        return game;
+    }
+
+    /**
+     * @return The player's inventory.
+     */
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Write everything needed to carry on this game later to a channel, in the format described
+     * by {@link FarmSnapshot}. Must not be called while the game is ticking.
+     *
+     * @param channel Where to write the snapshot. Left open.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void save(WritableByteChannel channel) throws IOException {
+        FarmSnapshot.write(channel, dimensions, playerManager, inventory, world, enemies, npcs);
+    }
+
+    /**
+     * Read back a game written by {@link #save(WritableByteChannel)}.
+     *
+     * @param channel Where to read the snapshot from. Left open.
+     * @return The game as it was saved, ready to carry on ticking.
+     * @throws IOException If the channel cannot be read from.
+     * @throws WorldLoadException If the channel doesn't hold a snapshot, or it is malformed.
+     */
+    public static JavaBeanFarm load(ReadableByteChannel channel)
+            throws IOException, WorldLoadException {
+        return FarmSnapshot.read(channel);
+    }
+
+    /**
+     * Start autosaving this game to a journal directory at the end of every tick, in the format
+     * described by {@link FarmJournal}, replacing any journal already being kept. The first tick
+     * writes a full checkpoint; after that each tick only logs what changed, until it is time
+     * for the next checkpoint. Use {@link FarmJournal#recover(Path)} to read the
+     * game back.
+     *
+     * @param directory Where to keep the journal.
+     * @param checkpointInterval How many ticks to log between full checkpoints.
+     * @throws IOException If the journal directory cannot be created, or a journal already being
+     *     kept cannot be closed.
+     */
+    public void autosave(Path directory, int checkpointInterval) throws IOException {
+        stopAutosave();
+        journal =
+                new FarmJournal(
+                        directory,
+                        checkpointInterval,
+                        dimensions,
+                        playerManager,
+                        inventory,
+                        world,
+                        enemies,
+                        npcs);
+    }
+
+    /**
+     * Stop autosaving, making sure everything autosaved so far is on disk. Does nothing if the
+     * game isn't being autosaved.
+     *
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void stopAutosave() throws IOException {
+        if (journal != null) {
+            final FarmJournal stopped = journal;
+            journal = null;
+            stopped.close();
+        }
+    }
+
     /**
      * Ticks the internal game state forward by one frame. a
      *
@@ -172,28 +357,46 @@ public class JavaBeanFarm implements Game {
      *     GameState)}.
      */
     public void tick(EngineState state) {
-        GameState game =
-                new JavaBeanGameState(
-                        world, playerManager.getPlayer(), inventory, this.npcs, this.enemies);
-        for (Overlay overlay : overlays) {
-            overlay.tick(state, game);
+        final GameState game = this.game;
+        long time = profiler.start();
+        queries.beginTick(state.currentTick());
+        for (int i = 0; i < overlays.size(); i += 1) {
+            overlays.get(i).tick(state, game);
         }
+        time = profiler.lap(Phase.OVERLAYS, time);
         this.playerManager.tick(state, game);
+        time = profiler.lap(Phase.PLAYER, time);
         this.npcs.tick(state, game);
+        time = profiler.lap(Phase.NPCS, time);
         this.enemies.tick(state, game);
+        time = profiler.lap(Phase.ENEMIES, time);
         this.world.tick(state, game);
+        time = profiler.lap(Phase.WORLD, time);
         final int px = playerManager.getPlayer().getX();
         final int py = playerManager.getPlayer().getY();
-        List<Tile> underPlayer =
-                world.tilesAtPosition(px, py, state.getDimensions());
+        List<Tile> underPlayer = this.underPlayer;
+        underPlayer.clear();
+        queries.collectTilesAtPosition(px, py, state.getDimensions(), underPlayer);
 
         this.playerManager.interact(state, game, underPlayer);
+        time = profiler.lap(Phase.PLAYER_INTERACT, time);
 
         // ④ NPC / 敌人交互
         this.npcs.interact(state, game);
         this.enemies.interact(state, game);
+        time = profiler.lap(Phase.NPC_INTERACT, time);
         this.npcs.cleanup();
         this.enemies.cleanup();
+        time = profiler.lap(Phase.CLEANUP, time);
+        if (journal != null) {
+            try {
+                journal.record(state.currentTick());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Autosave failed", e);
+            }
+        }
+        time = profiler.lap(Phase.AUTOSAVE, time);
+        profiler.finish(time, npcs.getAll().size(), enemies.getALl().size());
     }
     /**
      * A collection of items to render, every component of the game to be rendered should be
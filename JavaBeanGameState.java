@@ -4,6 +4,7 @@ import builder.entities.npc.NpcManager;
 import builder.entities.npc.enemies.EnemyManager;
 import builder.inventory.Inventory;
 import builder.player.Player;
+import builder.world.Pathfinder;
 import builder.world.World;
 
 /**
@@ -18,6 +19,7 @@ public class JavaBeanGameState implements GameState {
     private final Inventory inventory;
     private final NpcManager npcs;
     private final EnemyManager enemies;
+    private final Pathfinder pathfinder;
 
     /**
      * Construct a new instance storing the given world, player, and inventory.
@@ -25,18 +27,21 @@ public class JavaBeanGameState implements GameState {
      * @param world The world of the game.
      * @param player The player of the game.
      * @param inventory The inventory of the player.
+     * @param pathfinder The pathfinder over the world.
      */
     public JavaBeanGameState(
             World world,
             Player player,
             Inventory inventory,
             NpcManager npcs,
-            EnemyManager enemies) {
+            EnemyManager enemies,
+            Pathfinder pathfinder) {
         this.world = world;
         this.player = player;
         this.inventory = inventory;
         this.npcs = npcs;
         this.enemies = enemies;
+        this.pathfinder = pathfinder;
     }
 
     public NpcManager getNpcs() {
@@ -71,4 +76,9 @@ public class JavaBeanGameState implements GameState {
     public Inventory getInventory() {
         return inventory;
     }
+
+    @Override
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
 }
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import builder.GameState;
+import builder.JavaBeanFarm;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.runner.HeadlessState;
+import builder.world.WorldLoadException;
+
+import engine.EngineState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link JavaBeanFarm#tick(EngineState)} with a flock of birds already in the air.
+ *
+ * <p>Birds leave once they have stolen something, so the farm is rebuilt for every iteration and
+ * iterations are kept short enough that most of the flock is still around by the end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class FarmTickBenchmark {
+
+    @Param({"25", "100"})
+    public int tiles;
+
+    @Param({"0", "50", "200"})
+    public int birds;
+
+    private JavaBeanFarm farm;
+    private Dimensions dimensions;
+    private int tick;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, WorldLoadException {
+        dimensions = new TileGrid(tiles, Fixtures.WINDOW);
+        farm =
+                new JavaBeanFarm(
+                        dimensions,
+                        new StringReader(Fixtures.map(tiles, 1)),
+                        new StringReader(Fixtures.details(1, 20, 1)));
+        final GameState game = farm.getGameState();
+        final EnemyManager enemies = game.getEnemies();
+        final Random random = new Random(3);
+        for (int i = 0; i < birds; i += 1) {
+            final int x = random.nextInt(Fixtures.WINDOW);
+            final int y = random.nextInt(Fixtures.WINDOW / 4);
+            if (i % 2 == 0) {
+                enemies.addBird(new Magpie(x, y, game.getPlayer()));
+            } else {
+                enemies.addBird(new Pigeon(x, y));
+            }
+        }
+        tick = 0;
+    }
+
+    @Benchmark
+    public JavaBeanFarm tick() {
+        farm.tick(new HeadlessState(dimensions, tick));
+        tick += 1;
+        return farm;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.StringJoiner;
+
+/** Builds the maps and details files the benchmarks load. */
+final class Fixtures {
+
+    /** The window size every benchmark uses, in pixels. */
+    static final int WINDOW = 800;
+
+    private Fixtures() {}
+
+    /**
+     * A square map of mostly grass with some dirt, tilled dirt, ore and water mixed in.
+     *
+     * @param tiles How many tiles along each side.
+     * @param seed Seeds the terrain mix, so the same map comes back every run.
+     * @return The map, in the format read by {@code WorldBuilder.fromString}.
+     */
+    static String map(int tiles, long seed) {
+        final Random random = new Random(seed);
+        final StringBuilder map = new StringBuilder(tiles * (tiles + 1));
+        for (int row = 0; row < tiles; row += 1) {
+            for (int col = 0; col < tiles; col += 1) {
+                final int roll = random.nextInt(20);
+                final char tile =
+                        roll < 12 ? 'g' : roll < 16 ? 'd' : roll < 18 ? 't' : roll < 19 ? 'o' : 'w';
+                map.append(tile);
+            }
+            map.append('\n');
+        }
+        return map.toString();
+    }
+
+    /**
+     * A details file with the farmer in the middle and the given number of each spawner spread
+     * along the top of the window.
+     *
+     * @param spawners How many magpie, eagle and pigeon spawners to add of each.
+     * @param cabbages How many cabbages to scatter across the window.
+     * @param seed Seeds where the cabbages go.
+     * @return The details, in the format read by {@code OverlayBuilder}.
+     */
+    static String details(int spawners, int cabbages, long seed) {
+        final Random random = new Random(seed);
+        final StringJoiner details = new StringJoiner("\n");
+        section(details, "chickenFarmer", "|x:400 y:400 coins:5 food:5");
+        final String[] cabbageLines = new String[cabbages];
+        for (int i = 0; i < cabbages; i += 1) {
+            cabbageLines[i] = "|x:" + random.nextInt(WINDOW) + " y:" + random.nextInt(WINDOW);
+        }
+        section(details, "cabbages", cabbageLines);
+        for (String spawner : new String[] {"magpiespawner", "eaglespawner", "pigeonspawner"}) {
+            final String[] lines = new String[spawners];
+            for (int i = 0; i < spawners; i += 1) {
+                lines[i] = "|x:" + (WINDOW * i / Math.max(1, spawners)) + " y:0 duration:300";
+            }
+            section(details, spawner, lines);
+        }
+        return details.toString();
+    }
+
+    private static void section(StringJoiner details, String name, String... lines) {
+        details.add(":" + name + ":");
+        for (String line : lines) {
+            details.add(line);
+        }
+        details.add("end;").add("");
+    }
+}
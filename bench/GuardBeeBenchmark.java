@@ -0,0 +1,90 @@
+package benchmarks;
+
+import builder.GameState;
+import builder.JavaBeanGameState;
+import builder.entities.npc.GuardBee;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.inventory.TinyInventory;
+import builder.player.ChickenFarmer;
+import builder.runner.HeadlessState;
+import builder.world.Pathfinder;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import engine.game.Position;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link GuardBee#tick} while the bee flies across the bottom half of the window and the
+ * given number of birds wait in the top half, so the broad phase has birds to reject.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class GuardBeeBenchmark {
+
+    private static final int TILES = 25;
+    private static final Position FROM = new Position(20, 700);
+    private static final Position TO = new Position(780, 700);
+
+    @Param({"0", "50", "500"})
+    public int birds;
+
+    private Dimensions dimensions;
+    private GameState game;
+    private HeadlessState state;
+    private GuardBee bee;
+
+    @Setup
+    public void setUp() throws WorldLoadException {
+        dimensions = new TileGrid(TILES, Fixtures.WINDOW);
+        final ChickenFarmer player = new ChickenFarmer(400, 400);
+        final EnemyManager enemies = new EnemyManager(dimensions);
+        final Random random = new Random(4);
+        for (int i = 0; i < birds; i += 1) {
+            enemies.addBird(
+                    new Magpie(
+                            random.nextInt(Fixtures.WINDOW),
+                            random.nextInt(Fixtures.WINDOW / 2),
+                            player));
+        }
+        game =
+                new JavaBeanGameState(
+                        WorldBuilder.fromTiles(
+                                WorldBuilder.fromString(dimensions, Fixtures.map(TILES, 1))),
+                        player,
+                        new TinyInventory(5, 0, 0),
+                        new NpcManager(),
+                        enemies,
+                        new Pathfinder(dimensions));
+        state = new HeadlessState(dimensions, 0);
+        bee = new GuardBee(FROM.getX(), FROM.getY(), TO);
+    }
+
+    @Benchmark
+    public GuardBee tick() {
+        if (bee.isMarkedForRemoval() || bee.distanceFrom(TO) < dimensions.tileSize()) {
+            // start the crossing again, roughly once every few hundred ticks
+            bee = new GuardBee(FROM.getX(), FROM.getY(), TO);
+        }
+        bee.tick(state, game);
+        return bee;
+    }
+}
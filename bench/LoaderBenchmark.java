@@ -0,0 +1,74 @@
+package benchmarks;
+
+import builder.tiles.Tile;
+import builder.world.OverlayBuilder;
+import builder.world.SpawnerDetails;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Parsing map and details text, as {@code JavaBeanFarm} does when it is constructed. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class LoaderBenchmark {
+
+    @Param({"25", "100", "200"})
+    public int tiles;
+
+    @Param({"4", "200"})
+    public int spawners;
+
+    private Dimensions dimensions;
+    private String map;
+    private String details;
+
+    @Setup
+    public void setUp() {
+        dimensions = new TileGrid(tiles, Fixtures.WINDOW);
+        map = Fixtures.map(tiles, 1);
+        details = Fixtures.details(spawners, spawners, 1);
+    }
+
+    @Benchmark
+    public List<Tile> worldFromString() throws WorldLoadException {
+        return WorldBuilder.fromString(dimensions, map);
+    }
+
+    @Benchmark
+    public List<String> getSection() throws IOException {
+        return OverlayBuilder.getSection("pigeonspawner", details);
+    }
+
+    @Benchmark
+    public List<SpawnerDetails> magpieSpawnDetails() throws IOException {
+        return OverlayBuilder.getMagpieSpawnDetailsFromString(details);
+    }
+
+    @Benchmark
+    public List<SpawnerDetails> eagleSpawnDetails() throws IOException {
+        return OverlayBuilder.getEagleSpawnDetailsFromString(details);
+    }
+
+    @Benchmark
+    public List<SpawnerDetails> pigeonSpawnDetails() throws IOException {
+        return OverlayBuilder.getPigeonSpawnDetailsFromString(details);
+    }
+}
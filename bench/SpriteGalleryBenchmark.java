@@ -0,0 +1,54 @@
+package benchmarks;
+
+import builder.ui.SpriteGallery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Initialising {@link SpriteGallery}, which reads every art file under {@code resources/art}.
+ *
+ * <p>A class is only initialised once per class loader, so each invocation loads the game and
+ * engine classes afresh in a new loader. That includes loading the classes themselves, which is
+ * also paid when the game starts. Run from the directory that holds {@code resources}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpriteGalleryBenchmark {
+
+    private URL[] classpath;
+
+    @Setup
+    public void setUp() {
+        classpath =
+                new URL[] {
+                    SpriteGallery.class.getProtectionDomain().getCodeSource().getLocation(),
+                    engine.art.sprites.SpriteGroup.class
+                            .getProtectionDomain()
+                            .getCodeSource()
+                            .getLocation()
+                };
+    }
+
+    @Benchmark
+    public Class<?> initialise() throws Exception {
+        // parented to the platform loader so the game and engine classes can't come from the
+        // application loader, where they are already initialised
+        try (URLClassLoader loader =
+                new URLClassLoader(classpath, ClassLoader.getPlatformClassLoader())) {
+            return Class.forName(SpriteGallery.class.getName(), true, loader);
+        }
+    }
+}
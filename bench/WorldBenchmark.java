@@ -0,0 +1,85 @@
+package benchmarks;
+
+import builder.entities.resources.Cabbage;
+import builder.tiles.Tile;
+import builder.world.BeanWorld;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Tile lookups on a {@link BeanWorld}, which scan every tile in the world. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldBenchmark {
+
+    @Param({"25", "100", "200"})
+    public int tiles;
+
+    private Dimensions dimensions;
+    private BeanWorld world;
+    private int[] xs;
+    private int[] ys;
+    private int next;
+    private final List<Tile> scratch = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws WorldLoadException {
+        dimensions = new TileGrid(tiles, Fixtures.WINDOW);
+        world = WorldBuilder.fromTiles(WorldBuilder.fromString(dimensions, Fixtures.map(tiles, 1)));
+        final Random random = new Random(2);
+        xs = new int[1024];
+        ys = new int[1024];
+        for (int i = 0; i < xs.length; i += 1) {
+            xs[i] = random.nextInt(Fixtures.WINDOW);
+            ys[i] = random.nextInt(Fixtures.WINDOW);
+        }
+    }
+
+    @Benchmark
+    public List<Tile> tilesAtPosition() {
+        next = (next + 1) & (xs.length - 1);
+        return world.tilesAtPosition(xs[next], ys[next], dimensions);
+    }
+
+    @Benchmark
+    public List<Tile> collectTilesAtPosition() {
+        next = (next + 1) & (xs.length - 1);
+        scratch.clear();
+        world.collectTilesAtPosition(xs[next], ys[next], dimensions, scratch);
+        return scratch;
+    }
+
+    /** The query pigeon spawners make when a pigeon is due. */
+    @Benchmark
+    public List<Tile> tileSelectorCabbages() {
+        return world.tileSelector(
+                tile -> {
+                    for (Entity entity : tile.getStackedEntities()) {
+                        if (entity instanceof Cabbage) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+    }
+}
@@ -0,0 +1,29 @@
+#!/bin/sh
+# Builds bench/target/benchmarks.jar, a self-contained JMH runner for the benchmarks in bench/.
+#
+# JMH isn't checked in. Put these jars (or newer) in bench/lib, or point JMH_LIB elsewhere:
+#   jmh-core-1.37.jar  jmh-generator-annprocess-1.37.jar  jopt-simple-5.0.4.jar
+#   commons-math3-3.6.1.jar
+set -e
+cd "$(dirname "$0")/.."
+
+JMH_LIB="${JMH_LIB:-bench/lib}"
+OUT=bench/target
+rm -rf "$OUT"
+mkdir -p "$OUT/classes"
+
+# the game itself: every source in a builder package
+javac -encoding UTF-8 -d "$OUT/classes" -cp lib/engine.jar \
+    $(grep -rl --include='*.java' '^package builder' . | grep -v -e '^./bench/' -e '^./test/')
+
+# the benchmarks, with JMH's annotation processor generating the harness around them
+javac -encoding UTF-8 -d "$OUT/classes" \
+    -cp "$OUT/classes:lib/engine.jar:$JMH_LIB/*" -processorpath "$JMH_LIB/*" bench/*.java
+
+# fold the engine and JMH into the jar so it runs with plain java -jar
+for jar in lib/engine.jar "$JMH_LIB"/*.jar; do
+    (cd "$OUT/classes" && jar xf "$OLDPWD/$jar")
+done
+rm -f "$OUT"/classes/META-INF/*.SF "$OUT"/classes/META-INF/*.RSA "$OUT"/classes/META-INF/*.DSA
+jar --create --file "$OUT/benchmarks.jar" --main-class org.openjdk.jmh.Main -C "$OUT/classes" .
+echo "Built $OUT/benchmarks.jar"
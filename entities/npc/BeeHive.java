@@ -2,12 +2,17 @@ package builder.entities.npc;
 
 import builder.GameState;
 import builder.entities.npc.enemies.Enemy;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.timing.RepeatingTimer;
 
+import java.io.IOException;
+
 /** Spawns bees it fires at enemy's within a set range */
 public class BeeHive extends Npc {
 
@@ -21,7 +26,7 @@ public class BeeHive extends Npc {
     private static final SpriteGroup art = SpriteGallery.hive;
 
     private boolean loaded = true; // armed to fire when timer finished & enemy in range
-    private final RepeatingTimer timer = new RepeatingTimer(TIMER);
+    private final RepeatingTimer timer = new SaveableRepeatingTimer(TIMER);
     private boolean wasFinished = false;
 
     public BeeHive(int x, int y) {
@@ -64,8 +69,38 @@ public class BeeHive extends Npc {
 
         final int detect = DETECTION_DISTANCE;
         if (nearest != null && bestD2 <= detect * detect) {
-            game.getNpcs().npcs.add(new GuardBee(x0, y0, nearest));
+            game.getNpcs().add(new GuardBee(x0, y0, nearest));
             this.loaded = false;
             this.wasFinished = true;
         }
-    }}
\ No newline at end of file
+    }
+
+    /**
+     * Write this hive's position and firing state.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        this.saveMotion(out);
+        out.writeBoolean(this.loaded);
+        out.writeBoolean(this.wasFinished);
+        out.writeTimer(this.timer);
+    }
+
+    /**
+     * Read back a hive written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The hive as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static BeeHive restore(SnapshotReader in) throws IOException {
+        final BeeHive hive = new BeeHive(0, 0);
+        hive.restoreMotion(in);
+        hive.loaded = in.readBoolean();
+        hive.wasFinished = in.readBoolean();
+        in.readTimer().advance(hive.timer);
+        return hive;
+    }
+}
\ No newline at end of file
@@ -2,6 +2,9 @@ package builder.entities.npc;
 
 import builder.GameState;
 import builder.entities.npc.enemies.Enemy;
+import builder.save.SaveableFixedTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -9,6 +12,10 @@ import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A highly trained Guard Bee... don't think about that too much. This is our projectile class,
  * basically a bullet.
@@ -19,9 +26,13 @@ public class GuardBee extends Npc implements Expirable {
     private final int spawnY;
     private static final int SPEED = 2;
     private static final SpriteGroup art = SpriteGallery.bee;
-    private FixedTimer lifespan = new FixedTimer(300);
+    private FixedTimer lifespan = new SaveableFixedTimer(300);
     private final HasPosition trackedTarget;
 
+    // Every position passed through this frame, tested against nearby enemies in one go
+    private final Sweep sweep = new Sweep();
+    private final List<Enemy> nearby = new ArrayList<>();
+
     // Integer step planning (Bresenham-style), persisted across frames
     private boolean stepInit = false;
     private int aimX, aimY;
@@ -123,6 +134,7 @@ public class GuardBee extends Npc implements Expirable {
 
         // Sub-step budget for this frame
         int budget = SPEED;
+        sweep.clear();
 
         // Axis-stall breakers (trigger one frame earlier)
         boolean forcedX = false;
@@ -137,7 +149,7 @@ public class GuardBee extends Npc implements Expirable {
             this.setSpeed(1);
             this.setDirection(dirX > 0 ? 0 : 180);
             this.move();
-            if (hitEnemyIfClose(state, game)) return;
+            sweep.add(this.getX(), this.getY());
             jitterXSign = -jitterXSign;
             budget--;
             forcedX = true;
@@ -151,7 +163,7 @@ public class GuardBee extends Npc implements Expirable {
             this.setSpeed(1);
             this.setDirection(dirY > 0 ? 90 : 270);
             this.move();
-            if (hitEnemyIfClose(state, game)) return;
+            sweep.add(this.getX(), this.getY());
             jitterYSign = -jitterYSign;
             budget--;
             forcedY = true;
@@ -171,28 +183,28 @@ public class GuardBee extends Npc implements Expirable {
                     // primary step on X
                     this.setDirection(step_sx > 0 ? 0 : 180);
                     this.move();
-                    if (hitEnemyIfClose(state, game)) return;
+                    sweep.add(this.getX(), this.getY());
 
                     step_err += step_dy;
                     if (step_err >= step_dx && this.getY() != aimY) {
                         // secondary step on Y
                         this.setDirection(step_sy > 0 ? 90 : 270);
                         this.move();
-                        if (hitEnemyIfClose(state, game)) return;
+                        sweep.add(this.getX(), this.getY());
                         step_err -= step_dx;
                     }
                 } else {
                     // primary step on Y
                     this.setDirection(step_sy > 0 ? 90 : 270);
                     this.move();
-                    if (hitEnemyIfClose(state, game)) return;
+                    sweep.add(this.getX(), this.getY());
 
                     step_err += step_dx;
                     if (step_err >= step_dy && this.getX() != aimX) {
                         // secondary step on X
                         this.setDirection(step_sx > 0 ? 0 : 180);
                         this.move();
-                        if (hitEnemyIfClose(state, game)) return;
+                        sweep.add(this.getX(), this.getY());
                         step_err -= step_dy;
                     }
                 }
@@ -200,6 +212,11 @@ public class GuardBee extends Npc implements Expirable {
         }
         this.setSpeed(SPEED);
 
+        // Test the whole frame's movement at once, including where it ended up in case we
+        // started the frame overlapped
+        sweep.add(this.getX(), this.getY());
+        if (hitEnemyAlongSweep(state, game)) return;
+
         // Update stall counters
         if (this.getX() == lastX) {
             stallXFrames++;
@@ -214,9 +231,6 @@ public class GuardBee extends Npc implements Expirable {
         lastX = this.getX();
         lastY = this.getY();
 
-        // Final safety check in case we started the frame overlapped
-        if (hitEnemyIfClose(state, game)) return;
-
         this.updateArtBasedOnDirection();
         lifespan.tick();
         if (lifespan.isFinished()) {
@@ -234,11 +248,68 @@ public class GuardBee extends Npc implements Expirable {
             if (!processed) {
                 // Otherwise, defer despawn by 1 frame to avoid vanishing "from afar" on
                 // the same frame as a bird that was removed elsewhere.
-                this.setLifespan(new FixedTimer(1));
+                this.setLifespan(new SaveableFixedTimer(1));
             }
         }
     }
 
+    /**
+     * Write this bee's target, flight and steering state.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.spawnX);
+        out.writeInt(this.spawnY);
+        out.writeRef(this.trackedTarget);
+        this.saveMotion(out);
+        out.writeTimer(this.lifespan);
+        out.writeBoolean(this.stepInit);
+        out.writeInt(this.aimX);
+        out.writeInt(this.aimY);
+        out.writeInt(this.step_dx);
+        out.writeInt(this.step_dy);
+        out.writeInt(this.step_sx);
+        out.writeInt(this.step_sy);
+        out.writeInt(this.step_err);
+        out.writeInt(this.lastX);
+        out.writeInt(this.lastY);
+        out.writeInt(this.stallXFrames);
+        out.writeInt(this.stallYFrames);
+        out.writeInt(this.jitterXSign);
+        out.writeInt(this.jitterYSign);
+    }
+
+    /**
+     * Read back a bee written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The bee as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static GuardBee restore(SnapshotReader in) throws IOException {
+        final GuardBee bee = new GuardBee(in.readInt(), in.readInt(), in.readRef());
+        bee.restoreMotion(in);
+        bee.lifespan = in.readTimer().toFixed();
+        bee.stepInit = in.readBoolean();
+        bee.aimX = in.readInt();
+        bee.aimY = in.readInt();
+        bee.step_dx = in.readInt();
+        bee.step_dy = in.readInt();
+        bee.step_sx = in.readInt();
+        bee.step_sy = in.readInt();
+        bee.step_err = in.readInt();
+        bee.lastX = in.readInt();
+        bee.lastY = in.readInt();
+        bee.stallXFrames = in.readInt();
+        bee.stallYFrames = in.readInt();
+        bee.jitterXSign = in.readInt();
+        bee.jitterYSign = in.readInt();
+        bee.updateArtBasedOnDirection();
+        return bee;
+    }
+
     private void setCardinalDirection(int dx, int dy) {
         if (dx == 0 && dy == 0) return;
         if (Math.abs(dx) >= Math.abs(dy)) {
@@ -248,26 +319,25 @@ public class GuardBee extends Npc implements Expirable {
         }
     }
 
-    private boolean hitEnemyIfClose(EngineState state, GameState game) {
+    private boolean hitEnemyAlongSweep(EngineState state, GameState game) {
         final int tile = state.getDimensions().tileSize();
 
-        Enemy closest = null;
-        int best = Integer.MAX_VALUE;
-
-        // 选最近且在 tileSize 内的敌人
-        for (Enemy enemy : game.getEnemies().getALl()) {
-            int d = this.distanceFrom(enemy);
-            if (d <= tile && d < best) {
-                best = d;
-                closest = enemy;
-            }
-        }
-
-        if (closest != null) {
-            this.setX(closest.getX());
-            this.setY(closest.getY());
-
-            closest.markForRemoval();
+        // only enemies within tileSize of the movement's bounding box can be hit
+        nearby.clear();
+        game.getEnemies()
+                .collectBirdsWithin(
+                        sweep.minX() - tile,
+                        sweep.minY() - tile,
+                        sweep.maxX() + tile,
+                        sweep.maxY() + tile,
+                        nearby);
+        final Enemy hit = sweep.firstHit(nearby, tile);
+
+        if (hit != null) {
+            this.setX(hit.getX());
+            this.setY(hit.getY());
+
+            hit.markForRemoval();
             this.markForRemoval();
             return true;
         }
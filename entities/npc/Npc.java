@@ -3,11 +3,15 @@ package builder.entities.npc;
 import builder.GameState;
 import builder.Tickable;
 import builder.Interactable;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 
 import engine.EngineState;
 import engine.game.Entity;
 import engine.game.HasPosition;
 
+import java.io.IOException;
+
 public class
     Npc extends Entity implements Interactable, Tickable, Directable {
 
@@ -55,6 +59,37 @@ public class
     @Override
     public void interact(EngineState state, GameState game) {}
 
+    /**
+     * Write where this npc is, which way it is heading, how fast, and whether it is to be removed,
+     * for {@link #restoreMotion(SnapshotReader)}.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    protected void saveMotion(SnapshotWriter out) throws IOException {
+        out.writeInt(this.getX());
+        out.writeInt(this.getY());
+        out.writeInt(this.direction);
+        out.writeInt((int) this.speed);
+        out.writeBoolean(this.isMarkedForRemoval());
+    }
+
+    /**
+     * Read back what {@link #saveMotion(SnapshotWriter)} wrote.
+     *
+     * @param in Where to read from.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    protected void restoreMotion(SnapshotReader in) throws IOException {
+        this.setX(in.readInt());
+        this.setY(in.readInt());
+        this.direction = in.readInt();
+        this.speed = in.readInt();
+        if (in.readBoolean()) {
+            this.markForRemoval();
+        }
+    }
+
     /**
      * Return how far away this npc is from the given position
      *
@@ -3,23 +3,47 @@ package builder.entities.npc;
 import builder.GameState;
 import builder.Tickable;
 import builder.Interactable;
+import builder.profiling.EntityDespawnEvent;
+import builder.profiling.EntitySpawnEvent;
 import builder.ui.RenderableGroup;
 
 import engine.EngineState;
 import engine.renderer.Renderable;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class NpcManager implements Interactable, Tickable, RenderableGroup {
 
-    // Active NPCs on the field
-    public final ArrayList<Npc> npcs = new ArrayList<>();
+    // Active NPCs on the field, in spawn order (render and interact order)
+    private final ArrayList<Npc> npcs = new ArrayList<>();
+
+    // Per-type buckets, kept in step with npcs on every add and cleanup
+    private final ArrayList<BeeHive> hives = new ArrayList<>();
+    private final ArrayList<Scarecrow> scarecrows = new ArrayList<>();
+    private final ArrayList<GuardBee> guardBees = new ArrayList<>();
+    private final ArrayList<Npc> others = new ArrayList<>();
+
+    // Read-only views handed out by the getters, so queries never copy
+    private final List<Npc> npcsView = Collections.unmodifiableList(npcs);
+    private final List<BeeHive> hivesView = Collections.unmodifiableList(hives);
+    private final List<Scarecrow> scarecrowsView = Collections.unmodifiableList(scarecrows);
+    private final List<GuardBee> guardBeesView = Collections.unmodifiableList(guardBees);
+
+    // Reused by interact, which never runs re-entrantly
+    private final ArrayList<Interactable> interactablesScratch = new ArrayList<>();
 
     // Newly requested NPCs to add at a safe point
     private final ArrayList<Npc> pendingAdd = new ArrayList<>();
 
+    // Runs the per-type tick loops, sequentially unless told otherwise
+    private TickPool tickPool = TickPool.SEQUENTIAL;
+
+    // Told about every NPC added and removed, e.g. by an autosave
+    private Consumer<Npc> watcher;
+
     public NpcManager() {}
 
     /** Queue an NPC to be managed (safe to call during any phase). */
@@ -32,30 +56,166 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
         pendingAdd.add(npc);
     }
 
+    /**
+     * Start managing an NPC immediately, filing it under its type bucket as well as the full list.
+     *
+     * <p>Unlike {@link #spawn(Npc)} this must not be called while the manager is ticking.
+     *
+     * @param npc the NPC to start ticking, interacting and rendering.
+     */
+    public void add(Npc npc) {
+        EntitySpawnEvent.emit(npc, npc.getX(), npc.getY());
+        file(npc);
+        if (watcher != null) {
+            watcher.accept(npc);
+        }
+    }
+
+    /**
+     * Have the given watcher told whenever an NPC starts being managed by {@link #add(Npc)}, and
+     * whenever an NPC marked for removal is cleaned up. NPCs brought back from a save are not
+     * reported.
+     *
+     * @param watcher Told about each NPC added or removed, or null to stop watching.
+     */
+    public void watch(Consumer<Npc> watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Start managing an NPC brought back from a save, which spawned before the save was made and
+     * so is not recorded as spawning again.
+     *
+     * <p>Like {@link #add(Npc)} this must not be called while the manager is ticking.
+     *
+     * @param npc the NPC to start ticking, interacting and rendering.
+     */
+    public void restore(Npc npc) {
+        file(npc);
+    }
+
+    private void file(Npc npc) {
+        npcs.add(npc);
+        if (npc instanceof BeeHive hive) {
+            hives.add(hive);
+        } else if (npc instanceof Scarecrow scarecrow) {
+            scarecrows.add(scarecrow);
+        } else if (npc instanceof GuardBee guardBee) {
+            guardBees.add(guardBee);
+        } else {
+            others.add(npc);
+        }
+    }
+
     private void flushPendingAdds() {
         if (!pendingAdd.isEmpty()) {
-            npcs.addAll(pendingAdd);
+            for (int i = 0; i < pendingAdd.size(); i += 1) {
+                add(pendingAdd.get(i));
+            }
             pendingAdd.clear();
         }
     }
 
     /** Remove any NPCs that were marked for removal. */
     public void cleanup() {
-        Iterator<Npc> it = npcs.iterator();
-        while (it.hasNext()) {
-            if (it.next().isMarkedForRemoval()) {
-                it.remove();
+        if (EntityDespawnEvent.enabled()) {
+            for (int i = 0; i < npcs.size(); i += 1) {
+                Npc npc = npcs.get(i);
+                if (npc.isMarkedForRemoval()) {
+                    EntityDespawnEvent.emit(npc, npc.getX(), npc.getY());
+                }
+            }
+        }
+        if (watcher != null) {
+            for (int i = 0; i < npcs.size(); i += 1) {
+                if (npcs.get(i).isMarkedForRemoval()) {
+                    watcher.accept(npcs.get(i));
+                }
+            }
+        }
+        removeMarked(npcs);
+        removeMarked(hives);
+        removeMarked(scarecrows);
+        removeMarked(guardBees);
+        removeMarked(others);
+    }
+
+    private static void removeMarked(List<? extends Npc> list) {
+        for (int i = list.size() - 1; i >= 0; i -= 1) {
+            if (list.get(i).isMarkedForRemoval()) {
+                list.remove(i);
             }
         }
     }
 
+    /**
+     * Choose how hives, guard bees and scarecrows are ticked. Their ticks only touch their own
+     * state, the enemies they hit and the inventory, so they may be ticked in parallel.
+     *
+     * @param tickPool the pool to tick them on, e.g. {@link TickPool#SEQUENTIAL}.
+     */
+    public void setTickPool(TickPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+    /**
+     * @return a read-only live view of every managed NPC, in the order they were added.
+     */
+    public List<Npc> getAll() {
+        return npcsView;
+    }
+
+    /**
+     * @return a read-only live view of every managed {@link BeeHive}.
+     */
+    public List<BeeHive> getHives() {
+        return hivesView;
+    }
+
+    /**
+     * @return a read-only live view of every managed {@link Scarecrow}.
+     */
+    public List<Scarecrow> getScarecrows() {
+        return scarecrowsView;
+    }
+
+    /**
+     * @return a read-only live view of every managed {@link GuardBee}.
+     */
+    public List<GuardBee> getGuardBees() {
+        return guardBeesView;
+    }
+
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanup();
 
-        for (Npc npc : npcs) {
+        // one loop per type keeps each call site monomorphic; hives, bees and scarecrows never
+        // touch each other's state during their tick, so this matches ticking in spawn order
+        tickPool.tick(
+                hives,
+                state,
+                game,
+                (hive, engine, view) -> {
+                    if (!hive.isMarkedForRemoval()) hive.tick(engine, view);
+                });
+        tickPool.tick(
+                guardBees,
+                state,
+                game,
+                (guardBee, engine, view) -> {
+                    if (!guardBee.isMarkedForRemoval()) guardBee.tick(engine, view);
+                });
+        tickPool.tick(
+                scarecrows,
+                state,
+                game,
+                (scarecrow, engine, view) -> {
+                    if (!scarecrow.isMarkedForRemoval()) scarecrow.tick(engine, view);
+                });
+        for (int i = 0; i < others.size(); i += 1) {
+            Npc npc = others.get(i);
             if (npc.isMarkedForRemoval()) continue;
-
             npc.tick(state, game);
         }
     }
@@ -67,16 +227,18 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
 
         // Build interactables from a snapshot for stability
         ArrayList<Interactable> interactables = getInteractablesSnapshot();
-        for (Interactable interactable : interactables) {
-            interactable.interact(state, game);
+        for (int i = 0; i < interactables.size(); i += 1) {
+            interactables.get(i).interact(state, game);
         }
+        interactables.clear();
     }
 
     private ArrayList<Interactable> getInteractablesSnapshot() {
-        ArrayList<Interactable> list = new ArrayList<>();
-        for (Npc npc : new ArrayList<>(npcs)) {
-            if (npc instanceof Interactable) {
-                list.add((Interactable) npc);
+        ArrayList<Interactable> list = interactablesScratch;
+        list.clear();
+        for (int i = 0; i < npcs.size(); i += 1) {
+            if (npcs.get(i) instanceof Interactable interactable) {
+                list.add(interactable);
             }
         }
         return list;
@@ -87,4 +249,3 @@ public class NpcManager implements Interactable, Tickable, RenderableGroup {
         return new ArrayList<>(this.npcs);
     }
 }
-
@@ -1,16 +1,17 @@
 package builder.entities.npc;
 
 import builder.GameState;
-import builder.entities.npc.enemies.Enemy;
 import builder.entities.npc.enemies.EnemyManager;
 import builder.entities.npc.enemies.Magpie;
 import builder.entities.npc.enemies.Pigeon;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 
-import java.util.ArrayList;
+import java.io.IOException;
 
 public class Scarecrow extends Npc {
 
@@ -32,31 +33,44 @@ public class Scarecrow extends Npc {
     public void interact(EngineState state, GameState game) {
         super.interact(state, game);
         EnemyManager enemies = game.getEnemies();
-        final ArrayList<Magpie> magpies = new ArrayList<>();
-        final ArrayList<Pigeon> pigeons = new ArrayList<>();
-        for (Enemy bird : enemies.Birds) {
-            if (bird instanceof Magpie) {
-                magpies.add((Magpie) bird);
-            }
-            if (bird instanceof Pigeon) {
-                pigeons.add((Pigeon) bird);
-            }
-        }
 
         final int scareRadius = state.getDimensions().tileSize() * 4;
 
-        for (Magpie magpie : magpies) {
+        for (Magpie magpie : enemies.getMagpies()) {
             if (this.distanceFrom(magpie) < scareRadius) {
                 magpie.attacking = false;
                 // trigger the scare animation
             }
         }
 
-        for (Pigeon pigeon : pigeons) {
+        for (Pigeon pigeon : enemies.getPigeons()) {
             if (this.distanceFrom(pigeon) < scareRadius) {
                 pigeon.attacking = false;
                 // trigger the scare animation
             }
         }
     }
+
+    /**
+     * Write this scarecrow's position.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        this.saveMotion(out);
+    }
+
+    /**
+     * Read back a scarecrow written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The scarecrow as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static Scarecrow restore(SnapshotReader in) throws IOException {
+        final Scarecrow scarecrow = new Scarecrow(0, 0);
+        scarecrow.restoreMotion(in);
+        return scarecrow;
+    }
 }
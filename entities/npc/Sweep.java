@@ -0,0 +1,124 @@
+package builder.entities.npc;
+
+import engine.game.HasPosition;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The positions an entity passed through during one frame, so the whole movement can be tested
+ * against other entities in a single query instead of after every step.
+ *
+ * <p>Positions are tested in the order they were added, so {@link #firstHit(List, int)} reports
+ * the same hit as checking after each step and stopping at the first one would have.
+ */
+public class Sweep {
+
+    private int[] xs = new int[8];
+    private int[] ys = new int[8];
+    private int length = 0;
+
+    /** Forget every position added so far, ready for the next frame. */
+    public void clear() {
+        this.length = 0;
+    }
+
+    /**
+     * Record the next position along the movement.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     */
+    public void add(int x, int y) {
+        if (length == xs.length) {
+            xs = Arrays.copyOf(xs, length * 2);
+            ys = Arrays.copyOf(ys, length * 2);
+        }
+        xs[length] = x;
+        ys[length] = y;
+        length += 1;
+    }
+
+    /**
+     * @return The number of positions recorded.
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * @return The smallest x-axis coordinate along the movement.
+     */
+    public int minX() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, xs[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return The smallest y-axis coordinate along the movement.
+     */
+    public int minY() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, ys[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return The largest x-axis coordinate along the movement.
+     */
+    public int maxX() {
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, xs[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return The largest y-axis coordinate along the movement.
+     */
+    public int maxY() {
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, ys[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Find the first candidate the movement comes within the given distance of. At the first
+     * position with any candidate in range, the closest one is returned, ties going to the earliest
+     * in the list. Distances are measured as in {@link Npc#distanceFrom(HasPosition)}.
+     *
+     * @param candidates The entities that could be hit, e.g. from a broad-phase query.
+     * @param radius The distance in pixels at or under which a candidate counts as hit.
+     * @return The candidate hit first, or null if the movement hits nothing.
+     */
+    public <T extends HasPosition> T firstHit(List<T> candidates, int radius) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            T closest = null;
+            int best = Integer.MAX_VALUE;
+            for (T candidate : candidates) {
+                final int deltaX = candidate.getX() - xs[i];
+                final int deltaY = candidate.getY() - ys[i];
+                final int distance = (int) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+                if (distance <= radius && distance < best) {
+                    best = distance;
+                    closest = candidate;
+                }
+            }
+            if (closest != null) {
+                return closest;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,139 @@
+package builder.entities.npc;
+
+import builder.BufferedGameState;
+import builder.GameState;
+
+import engine.EngineState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Ticks a batch of entities, either one after another on the calling thread or split across a
+ * fork-join pool.
+ *
+ * <p>In parallel, each worker ticks a contiguous run of the batch, in order, against its own
+ * {@link BufferedGameState}. Inventory changes are queued in that worker's command buffer rather
+ * than made, and once every worker has finished the buffers are committed in batch order. This
+ * replays the changes in exactly the order a sequential tick would have made them.
+ *
+ * <p>A batch may only be ticked in parallel if no member reads or writes another member's state,
+ * or reads shared state another member writes, during its tick. Everything outside the batch must
+ * hold still while it ticks, so members always see the previous phase's positions. Each entity
+ * must appear in the batch once.
+ */
+public class TickPool {
+
+    /**
+     * Ticks a single entity.
+     *
+     * <p>The engine state is passed in rather than captured, so callers can pass the same lambda
+     * every tick instead of allocating a new one.
+     */
+    @FunctionalInterface
+    public interface Ticker<T> {
+        /**
+         * @param entity The entity to tick.
+         * @param state The state of the engine.
+         * @param game The state of the game to tick the entity against.
+         */
+        void tick(T entity, EngineState state, GameState game);
+    }
+
+    /** Ticks every batch on the calling thread, in order. */
+    public static final TickPool SEQUENTIAL = new TickPool(null, 1);
+
+    /** The smallest number of entities worth handing to a worker by default. */
+    public static final int DEFAULT_GRAIN = 64;
+
+    private final ForkJoinPool pool;
+    private final int grain;
+
+    /**
+     * Construct a pool that ticks batches on the given fork-join pool.
+     *
+     * @requires grain &gt; 0
+     * @param pool The pool to run workers on, or null to tick on the calling thread.
+     * @param grain The smallest number of entities to hand to a single worker. Smaller batches are
+     *     ticked on the calling thread.
+     */
+    public TickPool(ForkJoinPool pool, int grain) {
+        assert grain > 0;
+        this.pool = pool;
+        this.grain = grain;
+    }
+
+    /**
+     * Construct a pool that ticks batches on the common fork-join pool.
+     *
+     * @return A parallel tick pool with the default grain.
+     */
+    public static TickPool parallel() {
+        return new TickPool(ForkJoinPool.commonPool(), DEFAULT_GRAIN);
+    }
+
+    /**
+     * @return Whether this pool ever ticks entities off the calling thread.
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Tick every entity in the batch.
+     *
+     * @param batch The entities to tick, in the order a sequential tick would visit them.
+     * @param state The state of the engine.
+     * @param game The state of the game to tick against.
+     * @param tick Ticks a single entity against the given game state.
+     */
+    public <T> void tick(List<T> batch, EngineState state, GameState game, Ticker<T> tick) {
+        final int size = batch.size();
+        final int workers = pool == null ? 1 : Math.min(pool.getParallelism(), size / grain);
+        if (workers < 2) {
+            for (int i = 0; i < size; i++) {
+                tick.tick(batch.get(i), state, game);
+            }
+            return;
+        }
+
+        final List<BufferedGameState> buffers = new ArrayList<>(workers);
+        final List<Callable<Void>> runs = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            final int start = size * worker / workers;
+            final int end = size * (worker + 1) / workers;
+            final BufferedGameState buffer = new BufferedGameState(game);
+            buffers.add(buffer);
+            runs.add(
+                    () -> {
+                        for (int i = start; i < end; i++) {
+                            tick.tick(batch.get(i), state, buffer);
+                        }
+                        return null;
+                    });
+        }
+        for (Future<Void> run : pool.invokeAll(runs)) {
+            try {
+                run.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while ticking in parallel", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Parallel tick failed", e.getCause());
+            }
+        }
+        for (BufferedGameState buffer : buffers) {
+            buffer.commit();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package builder.entities.npc.enemies;
 
 import builder.GameState;
 import builder.entities.npc.Expirable;
+import builder.save.SaveableFixedTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -9,10 +12,12 @@ import engine.art.sprites.SpriteGroup;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.io.IOException;
+
 public class Eagle extends Enemy implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.eagle;
-    private FixedTimer lifespan = new FixedTimer(5000);
+    private FixedTimer lifespan = new SaveableFixedTimer(5000);
     public HasPosition trackedTarget;
     private boolean attacking = true;
     private int spawnX = 0;
@@ -79,9 +84,7 @@ public class Eagle extends Enemy implements Expirable {
         this.move();
 
         if (attacking) {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.setDirection(headingTowardsTarget(game));
             if (trackedTarget.getY() > this.getY()) {
                 this.setSprite(art.getSprite("down"));
             } else {
@@ -104,4 +107,46 @@ public class Eagle extends Enemy implements Expirable {
             game.getInventory().addFood(this.food);
         }
     }
+
+    /** Steer by the shared player flow field when chasing the player, otherwise fly straight. */
+    private int headingTowardsTarget(GameState game) {
+        if (trackedTarget == game.getPlayer()) {
+            return game.getEnemies().getPlayerField().headingFrom(this.getX(), this.getY());
+        }
+        double deltaX = trackedTarget.getX() - this.getX();
+        double deltaY = trackedTarget.getY() - this.getY();
+        return (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+    }
+
+    /**
+     * Write this eagle's target, flight and the food it is carrying.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.spawnX);
+        out.writeInt(this.spawnY);
+        out.writeRef(this.trackedTarget);
+        this.saveMotion(out);
+        out.writeTimer(this.lifespan);
+        out.writeBoolean(this.attacking);
+        out.writeInt(this.food);
+    }
+
+    /**
+     * Read back an eagle written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The eagle as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static Eagle restore(SnapshotReader in) throws IOException {
+        final Eagle eagle = new Eagle(in.readInt(), in.readInt(), in.readRef());
+        eagle.restoreMotion(in);
+        eagle.lifespan = in.readTimer().toFixed();
+        eagle.attacking = in.readBoolean();
+        eagle.food = in.readInt();
+        return eagle;
+    }
 }
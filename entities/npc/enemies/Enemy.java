@@ -6,6 +6,13 @@ import builder.entities.npc.Npc;
 import engine.EngineState;
 
 public class Enemy extends Npc {
+
+    // position of this bird in the manager's spawn order, as of the last broad-phase rebuild
+    int broadPhaseIndex;
+
+    // whether the manager has reported this bird's spawn and not yet its despawn
+    boolean spawnReported;
+
     public Enemy(int x, int y) {
         super(x, y);
     }
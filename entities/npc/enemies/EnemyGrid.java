@@ -0,0 +1,99 @@
+package builder.entities.npc.enemies;
+
+import engine.renderer.Dimensions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A broad phase over bird positions: every bird is filed in a bucket per tile, so a query only
+ * looks at birds in the tiles it overlaps. Birds off the edge of the window are filed in the
+ * nearest edge bucket.
+ *
+ * <p>The buckets are rebuilt lazily on the first query after {@link #invalidate()}. Queries may
+ * run concurrently with each other, but not with changes to the birds.
+ */
+final class EnemyGrid {
+
+    private final int tileSize;
+    private final int size;
+
+    // per-bucket singly linked lists of indices into the bird list, -1 terminated
+    private final int[] head;
+    private int[] next = new int[16];
+    private volatile boolean valid = false;
+
+    EnemyGrid(Dimensions dimensions) {
+        this.tileSize = dimensions.tileSize();
+        this.size = Math.max(1, dimensions.windowSize() / dimensions.tileSize());
+        this.head = new int[size * size];
+    }
+
+    /** Mark the buckets as out of date, e.g. because birds have moved, spawned or despawned. */
+    void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Add every bird within the given rectangle (inclusive) to the result, in list order.
+     *
+     * @param birds Every bird, in the order results should be reported.
+     */
+    void collect(List<Enemy> birds, int minX, int minY, int maxX, int maxY, List<Enemy> result) {
+        if (!valid) {
+            synchronized (this) {
+                if (!valid) {
+                    rebuild(birds);
+                }
+            }
+        }
+        final int start = result.size();
+        final int minCol = bucketOf(minX);
+        final int maxCol = bucketOf(maxX);
+        final int minRow = bucketOf(minY);
+        final int maxRow = bucketOf(maxY);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                for (int i = head[row * size + col]; i >= 0; i = next[i]) {
+                    final Enemy bird = birds.get(i);
+                    if (bird.getX() >= minX
+                            && bird.getX() <= maxX
+                            && bird.getY() >= minY
+                            && bird.getY() <= maxY) {
+                        result.add(bird);
+                    }
+                }
+            }
+        }
+        // buckets are each in spawn order, so an insertion sort merges them cheaply
+        for (int i = start + 1; i < result.size(); i++) {
+            final Enemy bird = result.get(i);
+            int j = i - 1;
+            while (j >= start && result.get(j).broadPhaseIndex > bird.broadPhaseIndex) {
+                result.set(j + 1, result.get(j));
+                j -= 1;
+            }
+            result.set(j + 1, bird);
+        }
+    }
+
+    private void rebuild(List<Enemy> birds) {
+        Arrays.fill(head, -1);
+        if (next.length < birds.size()) {
+            next = new int[Math.max(birds.size(), next.length * 2)];
+        }
+        // file in reverse so each bucket lists its birds in spawn order
+        for (int i = birds.size() - 1; i >= 0; i--) {
+            final Enemy bird = birds.get(i);
+            bird.broadPhaseIndex = i; // a bird listed twice keeps its first index
+            final int bucket = bucketOf(bird.getY()) * size + bucketOf(bird.getX());
+            next[i] = head[bucket];
+            head[bucket] = i;
+        }
+        valid = true;
+    }
+
+    private int bucketOf(int coordinate) {
+        return Math.clamp(Math.floorDiv(coordinate, tileSize), 0, size - 1);
+    }
+}
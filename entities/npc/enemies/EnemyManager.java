@@ -3,9 +3,13 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.Tickable;
 import builder.Interactable;
+import builder.entities.npc.TickPool;
 import builder.entities.npc.spawners.Spawner;
 import builder.player.Player;
+import builder.profiling.EntityDespawnEvent;
+import builder.profiling.EntitySpawnEvent;
 import builder.ui.RenderableGroup;
+import builder.world.FlowField;
 
 import engine.EngineState;
 import engine.game.HasPosition;
@@ -13,21 +17,76 @@ import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class EnemyManager implements Tickable, Interactable, RenderableGroup {
 
     public final ArrayList<Spawner> spawners = new ArrayList<>();
-    public final ArrayList<Enemy> Birds = new ArrayList<>();
     public int spawnX;
     public int spawnY;
 
-    public EnemyManager(Dimensions dimensions) {}
+    // Shared heading lookup for every bird chasing the player, refreshed once per tick
+    private final FlowField playerField;
+
+    // Broad phase over bird positions; birds only move while the manager ticks
+    private final EnemyGrid grid;
+
+    // Runs the eagle tick loop, sequentially unless told otherwise
+    private TickPool tickPool = TickPool.SEQUENTIAL;
+
+    // Every live bird, in spawn order (render order)
+    private final ArrayList<Enemy> birds = new ArrayList<>();
+
+    // Per-type buckets, kept in step with birds on every add and cleanup
+    private final ArrayList<Magpie> magpies = new ArrayList<>();
+    private final ArrayList<Pigeon> pigeons = new ArrayList<>();
+    private final ArrayList<Eagle> eagles = new ArrayList<>();
+
+    // Read-only views handed out by the getters, so queries never copy
+    private final List<Enemy> birdsView = Collections.unmodifiableList(birds);
+    private final List<Magpie> magpiesView = Collections.unmodifiableList(magpies);
+    private final List<Pigeon> pigeonsView = Collections.unmodifiableList(pigeons);
+    private final List<Eagle> eaglesView = Collections.unmodifiableList(eagles);
+
+    // Told about every registration and removal, e.g. by an autosave
+    private Consumer<Enemy> watcher;
+
+    public EnemyManager(Dimensions dimensions) {
+        this.playerField = new FlowField(dimensions);
+        this.grid = new EnemyGrid(dimensions);
+    }
 
     public void cleanup() {
-        for (int i = this.Birds.size() - 1; i >= 0; i -= 1) {
-            if (this.Birds.get(i).isMarkedForRemoval()) {
-                this.Birds.remove(i);
+        if (EntityDespawnEvent.enabled()) {
+            for (int i = 0; i < this.birds.size(); i += 1) {
+                Enemy bird = this.birds.get(i);
+                // birds registered twice appear twice here, but despawn once
+                if (bird.isMarkedForRemoval() && bird.spawnReported) {
+                    bird.spawnReported = false;
+                    EntityDespawnEvent.emit(bird, bird.getX(), bird.getY());
+                }
+            }
+        }
+        if (this.watcher != null) {
+            for (int i = 0; i < this.birds.size(); i += 1) {
+                if (this.birds.get(i).isMarkedForRemoval()) {
+                    this.watcher.accept(this.birds.get(i));
+                }
+            }
+        }
+        removeMarked(this.birds);
+        removeMarked(this.magpies);
+        removeMarked(this.pigeons);
+        removeMarked(this.eagles);
+        this.grid.invalidate();
+    }
+
+    private static void removeMarked(List<? extends Enemy> list) {
+        for (int i = list.size() - 1; i >= 0; i -= 1) {
+            if (list.get(i).isMarkedForRemoval()) {
+                list.remove(i);
             }
         }
     }
@@ -39,15 +98,67 @@ public class EnemyManager implements Tickable, Interactable, RenderableGroup {
         this.spawners.add(spawner);
     }
 
+    /**
+     * Register a bird with the manager, filing it under its type bucket as well as the full list.
+     *
+     * <p>Only the first registration of a bird is recorded as a spawn.
+     *
+     * @param bird the bird to start ticking and rendering.
+     */
+    public void addBird(Enemy bird) {
+        if (!bird.spawnReported) {
+            bird.spawnReported = true;
+            EntitySpawnEvent.emit(bird, bird.getX(), bird.getY());
+        }
+        this.file(bird);
+        if (this.watcher != null) {
+            this.watcher.accept(bird);
+        }
+    }
+
+    /**
+     * Have the given watcher told whenever a bird is registered, including a bird registered
+     * again, and whenever a bird marked for removal is cleaned up, once for each time it was
+     * registered. Birds brought back from a save are not reported.
+     *
+     * @param watcher Told about each bird registered or removed, or null to stop watching.
+     */
+    public void watch(Consumer<Enemy> watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Register a bird brought back from a save, which spawned before the save was made and so is
+     * not recorded as spawning again.
+     *
+     * @param bird the bird to start ticking and rendering.
+     */
+    public void restoreBird(Enemy bird) {
+        bird.spawnReported = true;
+        this.file(bird);
+    }
+
+    private void file(Enemy bird) {
+        this.birds.add(bird);
+        this.grid.invalidate();
+        if (bird instanceof Magpie magpie) {
+            this.magpies.add(magpie);
+        } else if (bird instanceof Pigeon pigeon) {
+            this.pigeons.add(pigeon);
+        } else if (bird instanceof Eagle eagle) {
+            this.eagles.add(eagle);
+        }
+    }
+
     public Magpie mkM(Player player) {
         final Magpie magpie = new Magpie(this.spawnX, this.spawnY, player);
-        this.Birds.add(magpie);
+        this.addBird(magpie);
         return magpie;
     }
 
     public Pigeon mkP(HasPosition hasPosition) {
         final Pigeon pigeon = new Pigeon(this.spawnX, this.spawnX, hasPosition);
-        this.Birds.add(pigeon);
+        this.addBird(pigeon);
         return pigeon;
     }
 
@@ -59,39 +170,93 @@ public class EnemyManager implements Tickable, Interactable, RenderableGroup {
     @Override
     public void tick(EngineState state, GameState game) {
         this.cleanup();
-        for (Spawner spawner : this.spawners) {
-            spawner.tick(state, game);
+        for (int i = 0; i < this.spawners.size(); i += 1) {
+            this.spawners.get(i).tick(state, game);
         }
-        for (Enemy bird : Birds) {
-            if (bird instanceof Magpie temp) {
-                temp.tick(state, game);
-            }
-            if (bird instanceof Eagle temp) {
-                temp.tick(state, game);
-            }
-            if (bird instanceof Pigeon temp) {
-                temp.tick(state, game);
-            }
+        this.playerField.update(game.getWorld(), game.getPlayer().getX(), game.getPlayer().getY());
+        // one loop per type keeps each call site monomorphic; birds of different types never
+        // touch the same state during their tick, so this matches ticking in spawn order
+        for (int i = 0; i < this.magpies.size(); i += 1) {
+            this.magpies.get(i).tick(state, game);
         }
+        this.tickPool.tick(
+                this.eagles, state, game, (eagle, engine, view) -> eagle.tick(engine, view));
+        for (int i = 0; i < this.pigeons.size(); i += 1) {
+            this.pigeons.get(i).tick(state, game);
+        }
+        this.grid.invalidate();
     }
 
     /**
-     * Get all {@link Magpie}s positions from the enemy manager.
+     * Choose how eagles are ticked. Eagles only touch their own state and make blind changes to
+     * the inventory, so they may be ticked in parallel. Magpies read the coins other magpies take
+     * and pigeons share the pathfinder's caches, so both always tick sequentially.
      *
-     * @return all {@link Magpie}s positions from the enemy manager.
+     * @param tickPool the pool to tick eagles on, e.g. {@link TickPool#SEQUENTIAL}.
      */
-    public ArrayList<Magpie> getMagpies() {
-        final ArrayList<Magpie> magpies = new ArrayList<Magpie>();
-        for (Enemy bird : Birds) {
-            if (bird instanceof Magpie temp) {
-                magpies.add(temp);
-            }
-        }
-        return magpies;
+    public void setTickPool(TickPool tickPool) {
+        this.tickPool = tickPool;
+    }
+
+    /**
+     * Get the flow field leading towards the player, as of this tick.
+     *
+     * @return the flow field birds chasing the player steer by.
+     */
+    public FlowField getPlayerField() {
+        return this.playerField;
     }
 
-    public ArrayList<Enemy> getALl() {
-        return this.Birds;
+    /**
+     * Get all {@link Magpie}s from the enemy manager.
+     *
+     * @return a read-only live view of every {@link Magpie} in the enemy manager.
+     */
+    public List<Magpie> getMagpies() {
+        return this.magpiesView;
+    }
+
+    /**
+     * Get all {@link Pigeon}s from the enemy manager.
+     *
+     * @return a read-only live view of every {@link Pigeon} in the enemy manager.
+     */
+    public List<Pigeon> getPigeons() {
+        return this.pigeonsView;
+    }
+
+    /**
+     * Get all {@link Eagle}s from the enemy manager.
+     *
+     * @return a read-only live view of every {@link Eagle} in the enemy manager.
+     */
+    public List<Eagle> getEagles() {
+        return this.eaglesView;
+    }
+
+    /**
+     * Get every bird in the enemy manager, in the order they were spawned.
+     *
+     * @return a read-only live view of every {@link Enemy} in the enemy manager.
+     */
+    public List<Enemy> getALl() {
+        return this.birdsView;
+    }
+
+    /**
+     * Collect every bird whose position lies within the given rectangle, edges included.
+     *
+     * <p>Birds are found through a per-tile broad phase, so the cost depends on how many birds are
+     * near the rectangle rather than on how many there are in total.
+     *
+     * @param minX The left edge of the rectangle in pixels.
+     * @param minY The top edge of the rectangle in pixels.
+     * @param maxX The right edge of the rectangle in pixels.
+     * @param maxY The bottom edge of the rectangle in pixels.
+     * @param result The list to add the birds to, in the order they were spawned.
+     */
+    public void collectBirdsWithin(int minX, int minY, int maxX, int maxY, List<Enemy> result) {
+        this.grid.collect(this.birds, minX, minY, maxX, maxY, result);
     }
 
     /**
@@ -107,6 +272,6 @@ public class EnemyManager implements Tickable, Interactable, RenderableGroup {
 
     @Override
     public List<Renderable> render() {
-        return new ArrayList<>(this.Birds);
+        return new ArrayList<>(this.birds);
     }
 }
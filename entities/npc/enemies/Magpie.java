@@ -3,6 +3,10 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.entities.npc.Expirable;
 import builder.player.Player;
+import builder.save.SaveableFixedTimer;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.ui.SpriteGallery;
 
 import engine.EngineState;
@@ -11,15 +15,17 @@ import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 import engine.timing.RepeatingTimer;
 
+import java.io.IOException;
+
 public class Magpie extends Enemy implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.magpie;
-    private FixedTimer lifespan = new FixedTimer(10000);
+    private FixedTimer lifespan = new SaveableFixedTimer(10000);
     public HasPosition trackedTarget;
     public Boolean attacking;
     public int coins = 0;
 
-    private RepeatingTimer directionalUpdateTimer = new RepeatingTimer(30);
+    private RepeatingTimer directionalUpdateTimer = new SaveableRepeatingTimer(30);
 
     private final int spawnX;
     private final int spawnY;
@@ -55,9 +61,7 @@ public class Magpie extends Enemy implements Expirable {
             this.markForRemoval();
         }
         if (this.attacking) {
-            double deltaX = trackedTarget.getX() - this.getX();
-            double deltaY = trackedTarget.getY() - this.getY();
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.setDirection(headingTowardsTarget(game));
             /** target is below */
             if (trackedTarget.getY() > this.getY()) {
                 this.setSprite(art.getSprite("down"));
@@ -99,6 +103,50 @@ public class Magpie extends Enemy implements Expirable {
         }
     }
 
+    /** Steer by the shared player flow field when chasing the player, otherwise fly straight. */
+    private int headingTowardsTarget(GameState game) {
+        if (trackedTarget == game.getPlayer()) {
+            return game.getEnemies().getPlayerField().headingFrom(this.getX(), this.getY());
+        }
+        double deltaX = trackedTarget.getX() - this.getX();
+        double deltaY = trackedTarget.getY() - this.getY();
+        return (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+    }
+
     @Override
     public void interact(EngineState engine, GameState game) {}
+
+    /**
+     * Write this magpie's target, flight and the coins it is carrying.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.spawnX);
+        out.writeInt(this.spawnY);
+        out.writeRef(this.trackedTarget);
+        this.saveMotion(out);
+        out.writeTimer(this.lifespan);
+        out.writeTimer(this.directionalUpdateTimer);
+        out.writeBoolean(this.attacking);
+        out.writeInt(this.coins);
+    }
+
+    /**
+     * Read back a magpie written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The magpie as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static Magpie restore(SnapshotReader in) throws IOException {
+        final Magpie magpie = new Magpie(in.readInt(), in.readInt(), in.readRef());
+        magpie.restoreMotion(in);
+        magpie.lifespan = in.readTimer().toFixed();
+        magpie.directionalUpdateTimer = in.readTimer().toRepeating();
+        magpie.attacking = in.readBoolean();
+        magpie.coins = in.readInt();
+        return magpie;
+    }
 }
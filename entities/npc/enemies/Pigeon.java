@@ -3,8 +3,13 @@ package builder.entities.npc.enemies;
 import builder.GameState;
 import builder.entities.npc.Expirable;
 import builder.entities.resources.Cabbage;
+import builder.save.SaveableFixedTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.tiles.Tile;
 import builder.ui.SpriteGallery;
+import builder.world.Path;
+import builder.world.Pathfinder;
 
 import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
@@ -12,12 +17,14 @@ import engine.game.Entity;
 import engine.game.HasPosition;
 import engine.timing.FixedTimer;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 public class Pigeon extends Enemy implements Expirable {
 
     private static final SpriteGroup art = SpriteGallery.pigeon;
-    private FixedTimer lifespan = new FixedTimer(3000);
+    private FixedTimer lifespan = new SaveableFixedTimer(3000);
     private HasPosition trackedTarget;
     public Boolean attacking = true;
     private int spawnX = 0;
@@ -86,9 +93,7 @@ public class Pigeon extends Enemy implements Expirable {
             // do nothing
         }
         if (this.trackedTarget != null && this.attacking) {
-            double deltaX = (this.trackedTarget.getX() - this.getX());
-            double deltaY = (this.trackedTarget.getY() - this.getY());
-            this.setDirection((int) Math.toDegrees(Math.atan2(deltaY, deltaX)));
+            this.setDirection(headingTowardsTarget(game));
             if (this.trackedTarget.getY() > this.getY()) {
                 this.setSprite(art.getSprite("down"));
             } else {
@@ -159,4 +164,59 @@ public class Pigeon extends Enemy implements Expirable {
             this.attacking = false;
         }
     }
+
+    /**
+     * Head for the tracked target, routing around anything blocking the straight line to it, or
+     * straight at it if the game has no pathfinder.
+     */
+    private int headingTowardsTarget(GameState game) {
+        final Pathfinder paths = game.getPathfinder();
+        final int targetX = trackedTarget.getX();
+        final int targetY = trackedTarget.getY();
+        int aimX = targetX;
+        int aimY = targetY;
+        if (paths != null
+                && !paths.hasLineOfSight(
+                        game.getWorld(), this.getX(), this.getY(), targetX, targetY)) {
+            final Optional<Path> path =
+                    paths.find(game.getWorld(), this.getX(), this.getY(), targetX, targetY);
+            if (path.isPresent() && path.get().length() > 1) {
+                aimX = path.get().getX(1);
+                aimY = path.get().getY(1);
+            }
+        }
+        double deltaX = aimX - this.getX();
+        double deltaY = aimY - this.getY();
+        return (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+    }
+
+    /**
+     * Write this pigeon's target and flight.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.spawnX);
+        out.writeInt(this.spawnY);
+        out.writeRef(this.trackedTarget);
+        this.saveMotion(out);
+        out.writeTimer(this.lifespan);
+        out.writeBoolean(this.attacking);
+    }
+
+    /**
+     * Read back a pigeon written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The pigeon as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static Pigeon restore(SnapshotReader in) throws IOException {
+        final Pigeon pigeon = new Pigeon(in.readInt(), in.readInt(), in.readRef());
+        pigeon.restoreMotion(in);
+        pigeon.lifespan = in.readTimer().toFixed();
+        pigeon.attacking = in.readBoolean();
+        return pigeon;
+    }
 }
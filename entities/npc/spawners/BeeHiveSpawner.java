@@ -42,13 +42,13 @@ public class BeeHiveSpawner extends Npc implements Interactable {
         int sy = (this.getY() / ts) * ts + half;
 
         // avoid duplicate hive on the same snapped cell
-        for (var npc : game.getNpcs().npcs) {
-            if (npc instanceof BeeHive && npc.getX() == sx && npc.getY() == sy) {
+        for (BeeHive hive : game.getNpcs().getHives()) {
+            if (hive.getX() == sx && hive.getY() == sy) {
                 return;
             }
         }
 
-        game.getNpcs().npcs.add(new BeeHive(sx, sy));
+        game.getNpcs().add(new BeeHive(sx, sy));
         spawned++;
     }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package builder.entities.npc.spawners;
 
 import builder.GameState;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
+import builder.save.TimerState;
 
 import engine.EngineState;
-import engine.timing.RepeatingTimer;
 import engine.timing.TickTimer;
 
+import java.io.IOException;
+
 public class MagpieSpawner implements Spawner {
 
     private int x = 0;
@@ -15,13 +20,13 @@ public class MagpieSpawner implements Spawner {
     public MagpieSpawner(int x, int y) {
         this.x = x;
         this.y = y;
-        this.timer = new RepeatingTimer(360);
+        this.timer = new SaveableRepeatingTimer(360);
     }
 
     public MagpieSpawner(int x, int y, int duration) {
         this.x = x;
         this.y = y;
-        this.timer = new RepeatingTimer(duration);
+        this.timer = new SaveableRepeatingTimer(duration);
     }
 
     @Override
@@ -35,7 +40,7 @@ public class MagpieSpawner implements Spawner {
         if (this.getTimer().isFinished()) {
             game.getEnemies().spawnX = this.getX();
             game.getEnemies().spawnY = this.getY();
-            game.getEnemies().Birds.add(game.getEnemies().mkM(game.getPlayer()));
+            game.getEnemies().addBird(game.getEnemies().mkM(game.getPlayer()));
         }
     }
 
@@ -58,4 +63,32 @@ public class MagpieSpawner implements Spawner {
     public void setY(int y) {
         this.y = y;
     }
+
+    /**
+     * Write where this spawner is and how long until its next bird.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.x);
+        out.writeInt(this.y);
+        out.writeTimer(this.timer);
+    }
+
+    /**
+     * Read back a magpie spawner written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The spawner as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static MagpieSpawner restore(SnapshotReader in) throws IOException {
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final TimerState timer = in.readTimer();
+        final MagpieSpawner spawner = new MagpieSpawner(x, y, timer.length());
+        timer.advance(spawner.timer);
+        return spawner;
+    }
 }
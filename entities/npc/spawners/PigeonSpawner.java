@@ -2,6 +2,10 @@ package builder.entities.npc.spawners;
 
 import builder.GameState;
 import builder.entities.resources.Cabbage;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
+import builder.save.TimerState;
 import builder.tiles.Tile;
 
 import engine.EngineState;
@@ -10,6 +14,7 @@ import engine.game.HasPosition;
 import engine.timing.RepeatingTimer;
 import engine.timing.TickTimer;
 
+import java.io.IOException;
 import java.util.List;
 
 public class PigeonSpawner implements Spawner {
@@ -25,7 +30,7 @@ public class PigeonSpawner implements Spawner {
     public PigeonSpawner(int x, int y, int duration) {
         this.x = x;
         this.y = y;
-        this.timer = new RepeatingTimer(duration);
+        this.timer = new SaveableRepeatingTimer(duration);
     }
 
     @Override
@@ -36,6 +41,8 @@ public class PigeonSpawner implements Spawner {
     @Override
     public void tick(EngineState state, GameState game) {
         this.timer.tick();
+        // looking for cabbages means visiting every tile, so only do it when a pigeon is due
+        if (!this.timer.isFinished()) return;
 
         List<Tile> tilesWithCabbage =
                 game.getWorld().tileSelector(tile -> {
@@ -54,11 +61,9 @@ public class PigeonSpawner implements Spawner {
             if (d < best) { best = d; closest = t; }
         }
 
-        if (this.timer.isFinished()) {
-            game.getEnemies().spawnX = this.getX();
-            game.getEnemies().spawnY = this.getY();
-            game.getEnemies().Birds.add(game.getEnemies().mkP(closest));
-        }
+        game.getEnemies().spawnX = this.getX();
+        game.getEnemies().spawnY = this.getY();
+        game.getEnemies().addBird(game.getEnemies().mkP(closest));
     }
 
     public int distanceFrom(HasPosition pos) {
@@ -71,4 +76,32 @@ public class PigeonSpawner implements Spawner {
     @Override public void setX(int x) { this.x = x; }
     @Override public int getY() { return this.y; }
     @Override public void setY(int y) { this.y = y; }
+
+    /**
+     * Write where this spawner is and how long until its next bird.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.x);
+        out.writeInt(this.y);
+        out.writeTimer(this.timer);
+    }
+
+    /**
+     * Read back a pigeon spawner written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The spawner as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static PigeonSpawner restore(SnapshotReader in) throws IOException {
+        final int x = in.readInt();
+        final int y = in.readInt();
+        final TimerState timer = in.readTimer();
+        final PigeonSpawner spawner = new PigeonSpawner(x, y, timer.length());
+        timer.advance(spawner.timer);
+        return spawner;
+    }
 }
@@ -2,16 +2,21 @@ package builder.entities.npc.spawners;
 
 import builder.GameState;
 import builder.entities.npc.Scarecrow;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 
 import engine.EngineState;
 import engine.timing.RepeatingTimer;
 import engine.timing.TickTimer;
 
+import java.io.IOException;
+
 public class ScarecrowSpawner implements Spawner {
 
     private int x = 0;
     private int y = 0;
-    private RepeatingTimer timer = new RepeatingTimer(300);
+    private RepeatingTimer timer = new SaveableRepeatingTimer(300);
 
     public ScarecrowSpawner(int x, int y) {
         this.x = x;
@@ -52,4 +57,29 @@ public class ScarecrowSpawner implements Spawner {
     public void setY(int y) {
         this.y = y;
     }
+
+    /**
+     * Write where this spawner is and how far along its timer is.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.x);
+        out.writeInt(this.y);
+        out.writeTimer(this.timer);
+    }
+
+    /**
+     * Read back a scarecrow spawner written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The spawner as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static ScarecrowSpawner restore(SnapshotReader in) throws IOException {
+        final ScarecrowSpawner spawner = new ScarecrowSpawner(in.readInt(), in.readInt());
+        spawner.timer = in.readTimer().toRepeating();
+        return spawner;
+    }
 }
@@ -2,6 +2,8 @@ package builder.entities.resources;
 
 import builder.GameState;
 import builder.entities.Interactable;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.tiles.Dirt;
 import builder.ui.SpriteGallery;
 
@@ -9,6 +11,8 @@ import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Entity;
 
+import java.io.IOException;
+
 /**
  * An entity planted (stacked on) {@link Dirt} that grows and can be
  * collected by the player once grown. A cabbage is initially rendered as 'default' within {@link
@@ -58,8 +62,17 @@ public class Cabbage extends Entity implements Interactable {
      */
     @Override
     public void tick(EngineState state) {
+        grow(1);
+    }
 
-        if (growthState < 4) {
+    /**
+     * Progress the cabbage's growth as if it had been ticked the given number of times, e.g. to
+     * catch up a cabbage restored from before those ticks.
+     *
+     * @param ticks How many ticks to grow for.
+     */
+    public void grow(int ticks) {
+        for (int i = 0; i < ticks && growthState < 4; i += 1) {
             ticksSinceStage += 1;
             if (ticksSinceStage >= GROWTH_INTERVAL_TICKS) {
                 growthState += 1;
@@ -101,4 +114,36 @@ public class Cabbage extends Entity implements Interactable {
             this.markForRemoval();
         }
     }
+
+    /**
+     * Write where this cabbage is and how far it has grown.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.getX());
+        out.writeInt(this.getY());
+        out.writeInt(this.growthState);
+        out.writeInt(this.ticksSinceStage);
+        out.writeBoolean(this.isMarkedForRemoval());
+    }
+
+    /**
+     * Read back a cabbage written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The cabbage as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static Cabbage restore(SnapshotReader in) throws IOException {
+        final Cabbage cabbage = new Cabbage(in.readInt(), in.readInt());
+        cabbage.growthState = in.readInt();
+        cabbage.ticksSinceStage = in.readInt();
+        if (in.readBoolean()) {
+            cabbage.markForRemoval();
+        }
+        cabbage.updateArt();
+        return cabbage;
+    }
 }
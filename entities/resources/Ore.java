@@ -4,6 +4,8 @@ import builder.GameState;
 import builder.entities.Usable;
 import builder.inventory.items.Jackhammer;
 import builder.player.Player;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 import builder.tiles.OreVein;
 import builder.ui.SpriteGallery;
 
@@ -11,6 +13,8 @@ import engine.EngineState;
 import engine.art.sprites.SpriteGroup;
 import engine.game.Entity;
 
+import java.io.IOException;
+
 /**
  * An entity that is stacked on an {@link OreVein} and yields coins when
  * mined. The ore initially has 10 coins and can be mined by the player using the jackhammer. The
@@ -48,6 +52,13 @@ public class Ore extends Entity implements Usable {
         this.setSprite(art.getSprite("default"));
     }
 
+    /**
+     * @return How many coins are left to mine from the ore.
+     */
+    public int getCoins() {
+        return coins;
+    }
+
     /**
      * Progress the state of the ore, updating the sprite to render.
      *
@@ -59,7 +70,11 @@ public class Ore extends Entity implements Usable {
      */
     @Override
     public void tick(EngineState state) {
+        updateArt();
+    }
 
+    /** Updates the displayed art of this entity based on how much of it remains. */
+    private void updateArt() {
         final double remainingRatio = (double) coins / COIN_VALUE;
         if (remainingRatio > 0.9) {
             this.setSprite(art.getSprite("default"));
@@ -96,4 +111,32 @@ public class Ore extends Entity implements Usable {
             nextMineTick = now + MINE_CADENCE_TICKS; // enforce 5-tick cadence
         }
     }
+
+    /**
+     * Write how much of this ore remains and when it can next be mined.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(this.coins);
+        out.writeInt(this.nextMineTick);
+        out.writeBoolean(this.isMarkedForRemoval());
+    }
+
+    /**
+     * Bring this ore to the state written by {@link #save(SnapshotWriter)}. An ore is always
+     * created along with its {@link OreVein}, so it is restored in place rather than recreated.
+     *
+     * @param in Where to read from.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public void restore(SnapshotReader in) throws IOException {
+        this.coins = in.readInt();
+        this.nextMineTick = in.readInt();
+        if (in.readBoolean()) {
+            this.markForRemoval();
+        }
+        updateArt();
+    }
 }
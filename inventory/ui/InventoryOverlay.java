@@ -70,7 +70,7 @@ public class InventoryOverlay implements Overlay {
     public void tick(EngineState state, GameState game) {
         Inventory inventory = game.getInventory();
         for (int i = 1; i <= slots; i++) {
-            char character = (i + "").charAt(0); // invariant slots <= 9 ensures sane behaviour
+            char character = (char) ('0' + i); // invariant slots <= 9 ensures sane behaviour
             if (state.getKeys().isDown(character)) {
                 inventory.setActiveSlot(i - 1); // offset slot index by -1
             }
@@ -25,6 +25,10 @@ public class ResourceOverlay implements Overlay {
     private final TextWithIcon foodDisplay;
     private final TextWithIcon coinDisplay;
 
+    // the displays rebuild their letters on every update, so only update them on a change
+    private int shownFood = -1;
+    private int shownCoins = -1;
+
     private static final int HORIZONTAL_INSET = 40;
     private static final int VERTICAL_INSET = 40;
 
@@ -46,8 +50,16 @@ public class ResourceOverlay implements Overlay {
      */
     @Override
     public void tick(EngineState state, GameState game) {
-        this.foodDisplay.update(game.getInventory().getFood() + "");
-        this.coinDisplay.update(game.getInventory().getCoins() + "");
+        final int food = game.getInventory().getFood();
+        if (food != shownFood) {
+            this.foodDisplay.update(food + "");
+            shownFood = food;
+        }
+        final int coins = game.getInventory().getCoins();
+        if (coins != shownCoins) {
+            this.coinDisplay.update(coins + "");
+            shownCoins = coins;
+        }
     }
 
     /**
@@ -0,0 +1,31 @@
+package scenarios.mocks;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** The policy made by {@link RecordingPolicy#changesOnly()}. */
+class ChangesOnly implements RecordingPolicy {
+
+    private final Map<String, Recorded> last = new HashMap<>();
+
+    @Override
+    public boolean records(int frame, Renderable renderable) {
+        final Recorded recorded = last.get(renderable.getID());
+        if (recorded != null
+                && recorded.x == renderable.getX()
+                && recorded.y == renderable.getY()
+                && recorded.sprite == renderable.getSprite()) {
+            return false;
+        }
+        last.put(
+                renderable.getID(),
+                new Recorded(renderable.getX(), renderable.getY(), renderable.getSprite()));
+        return true;
+    }
+
+    /** How a renderable looked when it was last recorded. */
+    private record Recorded(int x, int y, Sprite sprite) {}
+}
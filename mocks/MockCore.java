@@ -5,15 +5,19 @@ import engine.core.Core;
 import engine.core.Debug;
 import engine.renderer.Renderable;
 import scenarios.analysers.AnalyserManager;
+import scenarios.analysers.StreamingAnalyser;
 
 import java.util.List;
 
 /**
- * Mock the core, configuring a specific engine state via {@link #setState(EngineState)}.
+ * Mock the core, configuring a specific engine state via {@link #setState(EngineState)}. What it
+ * records can be narrowed with {@link #setRecordingPolicy(RecordingPolicy)}.
  */
 public class MockCore extends Core {
 
     private final AnalyserManager record;
+    private final StreamingAnalyser live;
+    private RecordingPolicy policy = RecordingPolicy.everything();
     private EngineState currentState;
 
     /**
@@ -22,20 +26,57 @@ public class MockCore extends Core {
      * @param record An analyser to record to.
      */
     public MockCore(AnalyserManager record) {
+        this(record, null);
+    }
+
+    /**
+     * Construct a new core mock that answers questions about render events as they happen,
+     * without recording them.
+     *
+     * @param live An analyser whose questions have already been asked.
+     */
+    public MockCore(StreamingAnalyser live) {
+        this(null, live);
+    }
+
+    /**
+     * Construct a new core mock that both logs all render events and answers questions about them
+     * as they happen.
+     *
+     * @param record An analyser to record to, or null.
+     * @param live An analyser whose questions have already been asked, or null.
+     */
+    public MockCore(AnalyserManager record, StreamingAnalyser live) {
         super(new Debug(false));
         this.record = record;
+        this.live = live;
     }
 
     @Override
     public void draw(List<Renderable> renderables) {
-        if (record == null) {
+        if (live != null) {
+            live.record(currentState.currentTick(), renderables);
+        }
+        final int frame = currentState.currentTick();
+        if (record == null || !policy.recordsFrame(frame)) {
             return;
         }
         for (Renderable renderable : renderables) {
-            this.record.add(currentState.currentTick(), renderable);
+            if (policy.records(frame, renderable)) {
+                this.record.add(frame, renderable);
+            }
         }
     }
 
+    /**
+     * Set which render events to record from now on. A streaming analyser still sees every frame.
+     *
+     * @param policy The policy to record by, {@link RecordingPolicy#everything()} by default.
+     */
+    public void setRecordingPolicy(RecordingPolicy policy) {
+        this.policy = policy;
+    }
+
     /**
      * Set the engine state to use when queried.
      *
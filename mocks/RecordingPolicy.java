@@ -0,0 +1,127 @@
+package scenarios.mocks;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.util.Set;
+
+/**
+ * Decides which render events a {@link MockCore} records, so a test only pays for the frames it
+ * asks about. Policies are combined with {@link #and(RecordingPolicy)}, e.g. to record only the
+ * eagles, every tenth frame.
+ *
+ * <p>Analysers only see what was recorded: a renderable left out of a frame was not in that frame
+ * as far as they can tell, so a test should only ask about what its policy records.
+ */
+public interface RecordingPolicy {
+
+    /**
+     * Decide if anything drawn during a frame should be recorded, before looking at what was
+     * drawn.
+     *
+     * @param frame The current frame number.
+     * @return If any renderable in the frame may be recorded.
+     */
+    default boolean recordsFrame(int frame) {
+        return true;
+    }
+
+    /**
+     * Decide if a renderable drawn during a frame that {@link #recordsFrame(int)} allows should be
+     * recorded.
+     *
+     * @param frame The current frame number.
+     * @param renderable The renderable drawn.
+     * @return If the renderable should be recorded for this frame.
+     */
+    boolean records(int frame, Renderable renderable);
+
+    /**
+     * @param other Another policy.
+     * @return A policy that records only what both policies record.
+     */
+    default RecordingPolicy and(RecordingPolicy other) {
+        final RecordingPolicy self = this;
+        return new RecordingPolicy() {
+            @Override
+            public boolean recordsFrame(int frame) {
+                return self.recordsFrame(frame) && other.recordsFrame(frame);
+            }
+
+            @Override
+            public boolean records(int frame, Renderable renderable) {
+                return self.records(frame, renderable) && other.records(frame, renderable);
+            }
+        };
+    }
+
+    /**
+     * @return A policy that records everything, as a {@link MockCore} does by default.
+     */
+    static RecordingPolicy everything() {
+        return (frame, renderable) -> true;
+    }
+
+    /**
+     * @param labels The sprite groups to record.
+     * @return A policy that only records renderables drawn with sprites from the given groups.
+     */
+    static RecordingPolicy spriteGroups(String... labels) {
+        final Set<String> groups = Set.of(labels);
+        return (frame, renderable) -> {
+            final Sprite sprite = renderable.getSprite();
+            return sprite != null && groups.contains(sprite.getGroup());
+        };
+    }
+
+    /**
+     * @requires interval > 0
+     * @param interval How many frames apart to record.
+     * @return A policy that only records frames 0, interval, 2 * interval and so on.
+     */
+    static RecordingPolicy everyNthFrame(int interval) {
+        assert interval > 0;
+        return new RecordingPolicy() {
+            @Override
+            public boolean recordsFrame(int frame) {
+                return frame % interval == 0;
+            }
+
+            @Override
+            public boolean records(int frame, Renderable renderable) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param start The first frame to record.
+     * @param end The last frame to record.
+     * @return A policy that only records frames from start to end, inclusive.
+     */
+    static RecordingPolicy betweenFrames(int start, int end) {
+        return new RecordingPolicy() {
+            @Override
+            public boolean recordsFrame(int frame) {
+                return frame >= start && frame <= end;
+            }
+
+            @Override
+            public boolean records(int frame, Renderable renderable) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Make a policy that records a renderable the first time it is drawn, and after that only on
+     * frames where it has moved or changed sprite since it was last recorded. The policy remembers
+     * every renderable it has seen, so each core needs its own, and it should come last when
+     * combined with {@link #and(RecordingPolicy)}, so it only sees what would be recorded.
+     *
+     * @return A policy that only records changes.
+     */
+    static RecordingPolicy changesOnly() {
+        return new ChangesOnly();
+    }
+}
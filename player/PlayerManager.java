@@ -11,14 +11,17 @@ import builder.entities.npc.BeeHive;
 import builder.entities.npc.Scarecrow;
 import builder.inventory.Inventory;
 import builder.inventory.items.HiveHammer;
+import builder.save.SnapshotReader;
+import builder.save.SnapshotWriter;
 
 import engine.EngineState;
 import engine.game.Direction;
-import engine.game.Position;
 import engine.input.MouseState;
 import engine.renderer.Dimensions;
 import engine.renderer.Renderable;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +35,9 @@ public class PlayerManager implements Tickable, RenderableGroup {
 
     private final ChickenFarmer player;
 
+    // reused for every tile lookup so a tick doesn't allocate a list per lookup
+    private final List<Tile> tilesScratch = new ArrayList<>();
+
     // hotbar handling
     private int heldSlot = 0;              // 0..4  -> keys '1'..'5'
     private boolean lastKey1 = false;
@@ -91,8 +97,10 @@ public class PlayerManager implements Tickable, RenderableGroup {
         // hotbar: 1..5 switch
         handleHotbar(state, game.getInventory());
 
-        List<Tile> underPlayer =
-                world.tilesAtPosition(player.getX(), player.getY(), state.getDimensions());
+        List<Tile> underPlayer = tilesScratch;
+        underPlayer.clear();
+        world.collectTilesAtPosition(
+                player.getX(), player.getY(), state.getDimensions(), underPlayer);
         interact(state, game, underPlayer);
         if (state.getMouse().isLeftPressed()) {
             use(state, game, underPlayer);
@@ -140,13 +148,21 @@ public class PlayerManager implements Tickable, RenderableGroup {
     }
 
     private void tryMove(Direction direction, World world, Dimensions dimensions) {
-        Position nextPosition = new Position(player.getX(), player.getY()).shift(direction, 1);
+        int nextX = player.getX();
+        int nextY = player.getY();
+        switch (direction) {
+            case NORTH -> nextY -= 1;
+            case SOUTH -> nextY += 1;
+            case EAST -> nextX += 1;
+            case WEST -> nextX -= 1;
+        }
 
-        List<Tile> underPlayer =
-                world.tilesAtPosition(nextPosition.getX(), nextPosition.getY(), dimensions);
+        List<Tile> underPlayer = tilesScratch;
+        underPlayer.clear();
+        world.collectTilesAtPosition(nextX, nextY, dimensions, underPlayer);
         boolean blocked = false;
-        for (Tile tile : underPlayer) {
-            if (!tile.canWalkThrough()) {
+        for (int i = 0; i < underPlayer.size(); i += 1) {
+            if (!underPlayer.get(i).canWalkThrough()) {
                 blocked = true;
             }
         }
@@ -156,8 +172,8 @@ public class PlayerManager implements Tickable, RenderableGroup {
     }
 
     public void interact(EngineState state, GameState game, List<Tile> underPlayer) {
-        for (Tile tile : underPlayer) {
-            tile.interact(state, game);
+        for (int i = 0; i < underPlayer.size(); i += 1) {
+            underPlayer.get(i).interact(state, game);
         }
 
         boolean leftDown = state.getMouse().isLeftPressed();
@@ -176,7 +192,7 @@ public class PlayerManager implements Tickable, RenderableGroup {
 
                 int[] pos = firstFreeHiveSpot(game, snapX, snapY, ts);
                 if (pos != null) {
-                    game.getNpcs().npcs.add(new BeeHive(pos[0], pos[1]));
+                    game.getNpcs().add(new BeeHive(pos[0], pos[1]));
                     hivesPlacedThisRun += 1;
                     hiveRepeatCooldown = HIVE_AUTO_COOLDOWN;
                 }
@@ -202,14 +218,14 @@ public class PlayerManager implements Tickable, RenderableGroup {
             int snapY = (py / ts) * ts + half;
 
             boolean exists = false;
-            for (var npc : game.getNpcs().npcs) {
-                if (npc instanceof Scarecrow && npc.getX() == snapX && npc.getY() == snapY) {
+            for (Scarecrow scarecrow : game.getNpcs().getScarecrows()) {
+                if (scarecrow.getX() == snapX && scarecrow.getY() == snapY) {
                     exists = true;
                     break;
                 }
             }
             if (!exists) {
-                game.getNpcs().npcs.add(new Scarecrow(snapX, snapY));
+                game.getNpcs().add(new Scarecrow(snapX, snapY));
             }
             armScarecrowNextFrame = false;
         }
@@ -218,8 +234,8 @@ public class PlayerManager implements Tickable, RenderableGroup {
     }
 
     private boolean isHiveAt(GameState game, int x, int y) {
-        for (var npc : game.getNpcs().npcs) {
-            if (npc instanceof BeeHive && npc.getX() == x && npc.getY() == y) {
+        for (BeeHive hive : game.getNpcs().getHives()) {
+            if (hive.getX() == x && hive.getY() == y) {
                 return true;
             }
         }
@@ -254,7 +270,7 @@ public class PlayerManager implements Tickable, RenderableGroup {
         if (pos == null) {
             return false;
         }
-        game.getNpcs().npcs.add(new BeeHive(pos[0], pos[1]));
+        game.getNpcs().add(new BeeHive(pos[0], pos[1]));
         hivesPlacedThisRun += 1;
         return true;
     }
@@ -276,8 +292,8 @@ public class PlayerManager implements Tickable, RenderableGroup {
         if (held instanceof Item item) {
             this.player.use(item);
         }
-        for (Tile tile : underPlayer) {
-            if (tile instanceof Usable usable) {
+        for (int i = 0; i < underPlayer.size(); i += 1) {
+            if (underPlayer.get(i) instanceof Usable usable) {
                 usable.use(state, game);
             }
         }
@@ -287,4 +303,58 @@ public class PlayerManager implements Tickable, RenderableGroup {
     public List<Renderable> render() {
         return List.of(player);
     }
+
+    /**
+     * Write where the player is, along with the hotbar and placement state carried between
+     * frames. The player's animations are cosmetic and restart on restore.
+     *
+     * @param out Where to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(player.getX());
+        out.writeInt(player.getY());
+        out.writeInt(heldSlot);
+        out.writeBoolean(lastKey1);
+        out.writeBoolean(lastKey2);
+        out.writeBoolean(lastKey3);
+        out.writeBoolean(lastKey4);
+        out.writeBoolean(lastKey5);
+        out.writeBoolean(pressed4ThisFrame);
+        out.writeBoolean(pressed5ThisFrame);
+        out.writeBoolean(lastLeftDown);
+        out.writeBoolean(armHiveNextFrame);
+        out.writeBoolean(armScarecrowNextFrame);
+        out.writeInt(armHiveOnTick);
+        out.writeInt(armScarecrowOnTick);
+        out.writeInt(hiveRepeatCooldown);
+        out.writeInt(hivesPlacedThisRun);
+    }
+
+    /**
+     * Read back a player manager written by {@link #save(SnapshotWriter)}.
+     *
+     * @param in Where to read from.
+     * @return The player manager as it was saved.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    public static PlayerManager restore(SnapshotReader in) throws IOException {
+        final PlayerManager manager = new PlayerManager(in.readInt(), in.readInt());
+        manager.heldSlot = in.readInt();
+        manager.lastKey1 = in.readBoolean();
+        manager.lastKey2 = in.readBoolean();
+        manager.lastKey3 = in.readBoolean();
+        manager.lastKey4 = in.readBoolean();
+        manager.lastKey5 = in.readBoolean();
+        manager.pressed4ThisFrame = in.readBoolean();
+        manager.pressed5ThisFrame = in.readBoolean();
+        manager.lastLeftDown = in.readBoolean();
+        manager.armHiveNextFrame = in.readBoolean();
+        manager.armScarecrowNextFrame = in.readBoolean();
+        manager.armHiveOnTick = in.readInt();
+        manager.armScarecrowOnTick = in.readInt();
+        manager.hiveRepeatCooldown = in.readInt();
+        manager.hivesPlacedThisRun = in.readInt();
+        return manager;
+    }
 }
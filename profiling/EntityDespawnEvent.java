@@ -0,0 +1,50 @@
+package builder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded by Java Flight Recorder when an NPC or enemy that was marked for removal is dropped.
+ *
+ * <p>Disabled unless turned on in the recording's settings, e.g. {@code
+ * -XX:StartFlightRecording:+builder.EntityDespawn#enabled=true}.
+ */
+@Name("builder.EntityDespawn")
+@Label("Entity Despawn")
+@Description("An NPC or enemy stopped being ticked and rendered")
+@Category({"Java Bean Farm", "Entities"})
+@Enabled(false)
+@StackTrace(false)
+public class EntityDespawnEvent extends EntityEvent {
+
+    private static final EventType TYPE = EventType.getEventType(EntityDespawnEvent.class);
+
+    /**
+     * @return Whether despawns are being recorded, so callers can skip looking for them if not.
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Record that an entity despawned, if the event is enabled.
+     *
+     * @param entity The entity, named by its class.
+     * @param x The entity's last x position in pixels.
+     * @param y The entity's last y position in pixels.
+     */
+    public static void emit(Object entity, int x, int y) {
+        final EntityDespawnEvent event = new EntityDespawnEvent();
+        if (event.shouldCommit()) {
+            event.type = entity.getClass().getSimpleName();
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package builder.profiling;
+
+import jdk.jfr.Label;
+
+/** The fields shared by {@link EntitySpawnEvent} and {@link EntityDespawnEvent}. */
+abstract class EntityEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+}
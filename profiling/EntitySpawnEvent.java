@@ -0,0 +1,40 @@
+package builder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded by Java Flight Recorder when an NPC or enemy starts being managed.
+ *
+ * <p>Disabled unless turned on in the recording's settings, e.g. {@code
+ * -XX:StartFlightRecording:+builder.EntitySpawn#enabled=true}.
+ */
+@Name("builder.EntitySpawn")
+@Label("Entity Spawn")
+@Description("An NPC or enemy started being ticked and rendered")
+@Category({"Java Bean Farm", "Entities"})
+@Enabled(false)
+@StackTrace(false)
+public class EntitySpawnEvent extends EntityEvent {
+
+    /**
+     * Record that an entity spawned, if the event is enabled.
+     *
+     * @param entity The entity, named by its class.
+     * @param x The entity's x position in pixels.
+     * @param y The entity's y position in pixels.
+     */
+    public static void emit(Object entity, int x, int y) {
+        final EntitySpawnEvent event = new EntitySpawnEvent();
+        if (event.shouldCommit()) {
+            event.type = entity.getClass().getSimpleName();
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+}
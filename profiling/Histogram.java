@@ -0,0 +1,114 @@
+package builder.profiling;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of non-negative values, e.g. nanosecond durations.
+ *
+ * <p>Values are counted in buckets that each cover an eighth of a power of two, so recording is a
+ * couple of bit operations and an array increment, and any percentile is reported to within
+ * 12.5% of the true value. Values below eight are counted exactly.
+ *
+ * <p>One thread records; other threads may read at any time and see approximately current
+ * values.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long max;
+    private long total;
+
+    /**
+     * Count one occurrence of the given value.
+     *
+     * @param value The value to count, clamped to zero if negative.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketOf(value)] += 1;
+        count += 1;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * @return How many values have been recorded.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return The largest value recorded, or zero if none have been.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * @return The mean of the values recorded, or zero if none have been.
+     */
+    public double mean() {
+        final long recorded = count;
+        return recorded == 0 ? 0 : (double) total / recorded;
+    }
+
+    /**
+     * Find the value that the given percentage of recorded values are at or below.
+     *
+     * @param percentile The percentage, from 0 to 100.
+     * @return The upper edge of the bucket the percentile falls in, never more than {@link #max()}.
+     */
+    public long percentile(double percentile) {
+        final long recorded = count;
+        if (recorded == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket += 1) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperEdgeOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /** Forget every recorded value. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        max = 0;
+        total = 0;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperEdgeOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        final long sub = bucket % SUB_BUCKETS;
+        final int shift = exponent - SUB_BITS;
+        final long lower = (SUB_BUCKETS + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package builder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded by Java Flight Recorder while the sprite gallery loads one of its sprite groups,
+ * spanning the load. Loads that fail are recorded too, marked as failed.
+ */
+@Name("builder.SpriteLoad")
+@Label("Sprite Load")
+@Description("Loading a sprite group into the sprite gallery")
+@Category({"Java Bean Farm", "Loading"})
+public class SpriteLoadEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Group")
+    public String group;
+
+    @Label("Failed")
+    @Description("Whether the group could not be loaded")
+    public boolean failed;
+}
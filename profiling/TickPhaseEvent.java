@@ -0,0 +1,31 @@
+package builder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded by Java Flight Recorder for each phase of a farm tick, spanning the phase. Committed
+ * by {@link TickProfiler}; see there for the phases.
+ *
+ * <p>Disabled unless turned on in the recording's settings, e.g. {@code
+ * -XX:StartFlightRecording:+builder.TickPhase#enabled=true}.
+ */
+@Name("builder.TickPhase")
+@Label("Tick Phase")
+@Description("One phase of a farm tick")
+@Category({"Java Bean Farm", "Tick"})
+@Enabled(false)
+@StackTrace(false)
+public class TickPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Tick")
+    @Description("How many ticks the profiler has started before this one")
+    long tick;
+}
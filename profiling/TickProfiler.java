@@ -0,0 +1,251 @@
+package builder.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import jdk.jfr.EventType;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Times each phase of a game's tick into {@link Histogram}s, and counts the entities alive at the
+ * end of each tick.
+ *
+ * <p>A tick is timed by taking a timestamp with {@link #start()}, passing it to {@link
+ * #lap(Phase, long)} at the end of each phase, and ending with {@link #finish(long, int, int)}:
+ *
+ * <pre>{@code
+ * long time = profiler.start();
+ * overlays.tick(...);
+ * time = profiler.lap(Phase.OVERLAYS, time);
+ * ...
+ * profiler.finish(time, npcCount, enemyCount);
+ * }</pre>
+ *
+ * <p>While disabled, {@link #start()} hands back {@link #OFF} and the other methods return as soon
+ * as they see it, so an untimed tick costs a volatile read and a check of the recording settings.
+ * Enabling or disabling takes effect from the next tick. Profiling starts disabled unless the
+ * {@code builder.profile} system property is true.
+ *
+ * <p>Independently of whether it is enabled, the profiler also commits a {@link TickPhaseEvent}
+ * for every phase while a flight recording has them turned on.
+ *
+ * <p>Ticks must be timed on one thread at a time; the results may be read from any thread.
+ */
+public class TickProfiler implements TickProfilerMXBean {
+
+    /** The phases of a tick, in the order they run. */
+    public enum Phase {
+        OVERLAYS,
+        PLAYER,
+        NPCS,
+        ENEMIES,
+        WORLD,
+        PLAYER_INTERACT,
+        NPC_INTERACT,
+        CLEANUP,
+        AUTOSAVE
+    }
+
+    /** The timestamp handed out for a tick that isn't being timed. */
+    public static final long OFF = Long.MIN_VALUE;
+
+    private static final String TICK = "TICK";
+    private static final Phase LAST_PHASE = Phase.values()[Phase.values().length - 1];
+    private static final EventType PHASE_EVENTS = EventType.getEventType(TickPhaseEvent.class);
+
+    private final Histogram[] phases = new Histogram[Phase.values().length];
+    private final Histogram ticks = new Histogram();
+    private final Histogram npcs = new Histogram();
+    private final Histogram enemies = new Histogram();
+
+    private volatile boolean enabled = Boolean.getBoolean("builder.profile");
+    // set from any thread, acted on by the ticking thread so histograms only have one writer
+    private volatile boolean resetRequested;
+    private long tickStart;
+    private long started;
+    private boolean timing;
+    private TickPhaseEvent event;
+
+    /** Construct a new profiler with nothing timed yet. */
+    public TickProfiler() {
+        for (int i = 0; i < phases.length; i += 1) {
+            phases[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Begin timing a tick.
+     *
+     * @return The current time, or {@link #OFF} if neither profiling nor phase events are enabled.
+     */
+    public long start() {
+        started += 1;
+        timing = enabled;
+        if (PHASE_EVENTS.isEnabled()) {
+            event = new TickPhaseEvent();
+            event.begin();
+        } else {
+            event = null;
+            if (!timing) {
+                return OFF;
+            }
+        }
+        if (timing && resetRequested) {
+            resetRequested = false;
+            for (Histogram phase : phases) {
+                phase.reset();
+            }
+            ticks.reset();
+            npcs.reset();
+            enemies.reset();
+        }
+        tickStart = System.nanoTime();
+        return tickStart;
+    }
+
+    /**
+     * End a phase of the tick.
+     *
+     * @param phase The phase that just ended.
+     * @param since The time the phase began, as returned by {@link #start()} or the previous lap.
+     * @return The time the next phase begins, or {@link #OFF} if this tick isn't being timed.
+     */
+    public long lap(Phase phase, long since) {
+        if (since == OFF) {
+            return OFF;
+        }
+        if (event != null) {
+            event.phase = phase.name();
+            event.tick = started;
+            event.commit();
+            if (phase == LAST_PHASE) {
+                event = null;
+            } else {
+                event = new TickPhaseEvent();
+                event.begin();
+            }
+        }
+        final long now = System.nanoTime();
+        if (timing) {
+            phases[phase.ordinal()].record(now - since);
+        }
+        return now;
+    }
+
+    /**
+     * End the tick.
+     *
+     * @param since The time returned by the last lap.
+     * @param npcCount How many NPCs are alive at the end of the tick.
+     * @param enemyCount How many enemies are alive at the end of the tick.
+     */
+    public void finish(long since, int npcCount, int enemyCount) {
+        if (!timing || since == OFF) {
+            return;
+        }
+        ticks.record(System.nanoTime() - tickStart);
+        npcs.record(npcCount);
+        enemies.record(enemyCount);
+    }
+
+    /**
+     * @param phase A phase of the tick.
+     * @return How long the phase has taken, in nanoseconds.
+     */
+    public Histogram phase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * @return How long whole ticks have taken, in nanoseconds.
+     */
+    public Histogram ticks() {
+        return ticks;
+    }
+
+    /**
+     * @return How many NPCs were alive at the end of each tick.
+     */
+    public Histogram npcs() {
+        return npcs;
+    }
+
+    /**
+     * @return How many enemies were alive at the end of each tick.
+     */
+    public Histogram enemies() {
+        return enemies;
+    }
+
+    /**
+     * Make this profiler available to JMX clients such as JConsole.
+     *
+     * @param name Distinguishes this profiler from those of other games in the same process.
+     * @return The name the profiler was registered under.
+     * @throws JMException If the name is malformed or already taken.
+     */
+    public ObjectName register(String name) throws JMException {
+        final ObjectName objectName =
+                new ObjectName("builder:type=TickProfiler,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.count();
+    }
+
+    @Override
+    public Map<String, Double> getP50Micros() {
+        return micros(histogram -> histogram.percentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return micros(histogram -> histogram.percentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        return micros(Histogram::max);
+    }
+
+    @Override
+    public Map<String, Long> getEntityCounts() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("npcsP50", npcs.percentile(50));
+        counts.put("npcsMax", npcs.max());
+        counts.put("enemiesP50", enemies.percentile(50));
+        counts.put("enemiesMax", enemies.max());
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        resetRequested = true;
+    }
+
+    private Map<String, Double> micros(ToLongFunction<Histogram> statistic) {
+        final Map<String, Double> result = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            result.put(phase.name(), statistic.applyAsLong(phase(phase)) / 1000.0);
+        }
+        result.put(TICK, statistic.applyAsLong(ticks) / 1000.0);
+        return result;
+    }
+}
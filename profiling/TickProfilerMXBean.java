@@ -0,0 +1,48 @@
+package builder.profiling;
+
+import java.util.Map;
+
+/**
+ * The management interface of a {@link TickProfiler}, e.g. for inspecting a running game from
+ * JConsole. Durations are in microseconds and keyed by phase name.
+ */
+public interface TickProfilerMXBean {
+
+    /**
+     * @return Whether ticks are currently being timed.
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled Whether to time ticks from the next tick on.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return How many ticks have been timed since the last reset.
+     */
+    long getTicks();
+
+    /**
+     * @return The median duration of each phase and of the whole tick.
+     */
+    Map<String, Double> getP50Micros();
+
+    /**
+     * @return The 99th percentile duration of each phase and of the whole tick.
+     */
+    Map<String, Double> getP99Micros();
+
+    /**
+     * @return The longest duration of each phase and of the whole tick.
+     */
+    Map<String, Double> getMaxMicros();
+
+    /**
+     * @return The median and largest number of NPCs and enemies alive at the end of a tick.
+     */
+    Map<String, Long> getEntityCounts();
+
+    /** Forget everything timed so far, as of the next timed tick. */
+    void reset();
+}
@@ -0,0 +1,29 @@
+package builder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded by Java Flight Recorder while a map is turned into tiles or a section of a details
+ * file is read, spanning the work. Loads that fail are recorded too, marked as failed.
+ */
+@Name("builder.WorldLoad")
+@Label("World Load")
+@Description("Parsing a map or a section of a details file")
+@Category({"Java Bean Farm", "Loading"})
+public class WorldLoadEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("\"map\", or the name of the details section")
+    public String source;
+
+    @Label("Entries")
+    @Description("How many tiles or details lines were read")
+    public int entries;
+
+    @Label("Failed")
+    @Description("Whether the map or section could not be read")
+    public boolean failed;
+}
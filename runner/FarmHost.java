@@ -0,0 +1,200 @@
+package builder.runner;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.renderer.Dimensions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs many independent games side by side without windows, e.g. to evaluate lots of map and
+ * details combinations.
+ *
+ * <p>Each game is built and ticked on its own virtual thread by default, so there can be thousands
+ * of them while only one carrier thread per core does the work. Every {@link #SLICE_TICKS} ticks a
+ * game yields its carrier to any other game waiting for one, so one slow game cannot hold up the
+ * rest. A game can also be given a time limit, after which it stops early.
+ *
+ * <p>Games must not share mutable state with each other; {@code JavaBeanFarm} instances don't.
+ */
+public class FarmHost implements AutoCloseable {
+
+    /** How many ticks a game runs before giving other games a turn. */
+    public static final int SLICE_TICKS = 32;
+
+    /**
+     * Supplies the engine state each tick of a game is simulated with.
+     */
+    @FunctionalInterface
+    public interface Input {
+        /**
+         * @param dimensions The dimensions of the game.
+         * @param tick The tick about to be simulated, starting at zero.
+         * @return The engine state to tick the game with.
+         */
+        EngineState at(Dimensions dimensions, int tick);
+
+        /** No input at all, see {@link HeadlessState}. */
+        Input NONE = HeadlessState::new;
+    }
+
+    /**
+     * A game to run and what to report about it afterwards.
+     *
+     * @param name A name to report the result under.
+     * @param dimensions The dimensions of the game.
+     * @param factory Builds the game, on the thread that will tick it.
+     * @param ticks How many ticks to run the game for.
+     * @param input The engine state for each tick.
+     * @param timeLimit How long the game may run before it is stopped early, or null for no limit.
+     * @param report Extracts the result from the game once it has finished.
+     */
+    public record Job<G extends Game, R>(
+            String name,
+            Dimensions dimensions,
+            Callable<G> factory,
+            int ticks,
+            Input input,
+            Duration timeLimit,
+            Function<? super G, R> report) {
+
+        /**
+         * A job with no input and no time limit.
+         *
+         * @return The job.
+         */
+        public static <G extends Game, R> Job<G, R> of(
+                String name,
+                Dimensions dimensions,
+                Callable<G> factory,
+                int ticks,
+                Function<? super G, R> report) {
+            return new Job<>(name, dimensions, factory, ticks, Input.NONE, null, report);
+        }
+    }
+
+    /**
+     * What happened when a game was run.
+     *
+     * @param name The name of the job.
+     * @param ticks How many ticks were run.
+     * @param elapsedNanos How long building and ticking the game took.
+     * @param timedOut Whether the game was stopped early by its time limit.
+     * @param value The job's report on the game, or null if it failed.
+     * @param failure What went wrong, or null if the game ran successfully.
+     */
+    public record Result<R>(
+            String name,
+            int ticks,
+            long elapsedNanos,
+            boolean timedOut,
+            R value,
+            Throwable failure) {
+
+        /**
+         * @return Whether the game was built and run without throwing.
+         */
+        public boolean succeeded() {
+            return failure == null;
+        }
+
+        /**
+         * @return The average ticks simulated per second.
+         */
+        public double ticksPerSecond() {
+            return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+        }
+    }
+
+    private final ExecutorService executor;
+
+    /** Construct a host that runs each game on its own virtual thread. */
+    public FarmHost() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Construct a host that runs games on the given executor, e.g. a work-stealing pool.
+     *
+     * @param executor The executor to run games on. Closed along with the host.
+     */
+    public FarmHost(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Start running a game.
+     *
+     * @param job The game to run.
+     * @return The result, once the game has finished. Failures are reported in the result
+     *     rather than thrown.
+     */
+    public <G extends Game, R> Future<Result<R>> submit(Job<G, R> job) {
+        return executor.submit(() -> run(job));
+    }
+
+    /**
+     * Run every game and wait for them all to finish.
+     *
+     * @param jobs The games to run.
+     * @return The result of each job, in the same order.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public <G extends Game, R> List<Result<R>> runAll(List<Job<G, R>> jobs)
+            throws InterruptedException {
+        final List<Future<Result<R>>> pending = new ArrayList<>(jobs.size());
+        for (Job<G, R> job : jobs) {
+            pending.add(submit(job));
+        }
+        final List<Result<R>> results = new ArrayList<>(jobs.size());
+        for (Future<Result<R>> future : pending) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // run reports its own failures, so only the executor itself can get here
+                throw new IllegalStateException("Farm host executor failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static <G extends Game, R> Result<R> run(Job<G, R> job) {
+        final long start = System.nanoTime();
+        final long deadline =
+                job.timeLimit() == null ? Long.MAX_VALUE : start + job.timeLimit().toNanos();
+        int tick = 0;
+        try {
+            final G game = job.factory().call();
+            boolean timedOut = false;
+            while (tick < job.ticks()) {
+                game.tick(job.input().at(job.dimensions(), tick));
+                tick += 1;
+                if (tick % SLICE_TICKS == 0) {
+                    if (System.nanoTime() > deadline) {
+                        timedOut = true;
+                        break;
+                    }
+                    Thread.yield();
+                }
+            }
+            final R value = job.report().apply(game);
+            return new Result<>(job.name(), tick, System.nanoTime() - start, timedOut, value, null);
+        } catch (Exception | AssertionError e) {
+            return new Result<>(job.name(), tick, System.nanoTime() - start, false, null, e);
+        }
+    }
+
+    /** Stop accepting games and wait for those already running to finish. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,72 @@
+package builder.runner;
+
+import engine.EngineState;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+
+import java.util.List;
+
+/**
+ * The engine state of a game running without a window: no keys are held and the mouse sits
+ * unpressed in the top-left corner.
+ *
+ * @param dimensions The dimensions of the game.
+ * @param currentTick The tick being simulated.
+ */
+public record HeadlessState(Dimensions dimensions, int currentTick) implements EngineState {
+
+    private static final NoInput NO_INPUT = new NoInput();
+
+    @Override
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public MouseState getMouse() {
+        return NO_INPUT;
+    }
+
+    @Override
+    public KeyState getKeys() {
+        return NO_INPUT;
+    }
+
+    private static class NoInput implements MouseState, KeyState {
+        @Override
+        public int getMouseX() {
+            return 0;
+        }
+
+        @Override
+        public int getMouseY() {
+            return 0;
+        }
+
+        @Override
+        public boolean isLeftPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isMiddlePressed() {
+            return false;
+        }
+
+        @Override
+        public List<Character> getDown() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isDown(char key) {
+            return false;
+        }
+    }
+}
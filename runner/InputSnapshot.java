@@ -0,0 +1,87 @@
+package builder.runner;
+
+import engine.input.KeyState;
+import engine.input.MouseState;
+
+import java.util.List;
+
+/**
+ * The mouse and keys as they were at one moment, copied so another thread can read them while the
+ * input they were copied from keeps changing.
+ *
+ * @param mouseX The x-axis (horizontal) coordinate of the mouse in pixels.
+ * @param mouseY The y-axis (vertical) coordinate of the mouse in pixels.
+ * @param leftPressed Whether the left mouse button was held.
+ * @param rightPressed Whether the right mouse button was held.
+ * @param middlePressed Whether the middle mouse button was held.
+ * @param down The keys that were held.
+ */
+public record InputSnapshot(
+        int mouseX,
+        int mouseY,
+        boolean leftPressed,
+        boolean rightPressed,
+        boolean middlePressed,
+        List<Character> down)
+        implements MouseState, KeyState {
+
+    /** No keys held and the mouse unpressed in the top-left corner. */
+    public static final InputSnapshot NONE =
+            new InputSnapshot(0, 0, false, false, false, List.of());
+
+    public InputSnapshot {
+        down = List.copyOf(down); // so later changes to the list given are not seen
+    }
+
+    /**
+     * Copy the current state of the mouse and keys. Call this on the thread that updates them.
+     *
+     * @param mouse The mouse to copy.
+     * @param keys The keys to copy.
+     * @return The mouse and keys as they are now.
+     */
+    public static InputSnapshot of(MouseState mouse, KeyState keys) {
+        return new InputSnapshot(
+                mouse.getMouseX(),
+                mouse.getMouseY(),
+                mouse.isLeftPressed(),
+                mouse.isRightPressed(),
+                mouse.isMiddlePressed(),
+                keys.getDown());
+    }
+
+    @Override
+    public int getMouseX() {
+        return mouseX;
+    }
+
+    @Override
+    public int getMouseY() {
+        return mouseY;
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return leftPressed;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return rightPressed;
+    }
+
+    @Override
+    public boolean isMiddlePressed() {
+        return middlePressed;
+    }
+
+    @Override
+    public List<Character> getDown() {
+        return down;
+    }
+
+    @Override
+    public boolean isDown(char key) {
+        return down.contains(key);
+    }
+}
@@ -0,0 +1,183 @@
+package builder.runner;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Everything needed to draw one simulated tick: the id, position and sprite of each renderable,
+ * along with where it was drawn on the tick before so the renderer can interpolate between them.
+ *
+ * <p>Snapshots are read-only to everyone but the simulation thread that captures them, and a
+ * snapshot is never captured into while a renderer holds it. A snapshot finds each renderable's
+ * previous position by looking its id up in the snapshot of the tick before, through an index of
+ * that snapshot's ids kept alongside its positions, so capturing allocates nothing once its
+ * arrays are large enough.
+ */
+public final class RenderSnapshot {
+
+    private int tick = -1;
+    private long capturedAt;
+    private int size = 0;
+    private String[] ids = new String[64];
+    private Sprite[] sprites = new Sprite[64];
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private int[] previousXs = new int[64];
+    private int[] previousYs = new int[64];
+    // open addressing by id hash, holding draw-order index + 1, or 0 where empty
+    private int[] index = new int[128];
+
+    RenderSnapshot() {}
+
+    /**
+     * Record the given renderables.
+     *
+     * @requires previous != this
+     * @param previous The snapshot of the tick before, to find where each renderable was.
+     */
+    void capture(
+            int tick, long capturedAt, List<Renderable> renderables, RenderSnapshot previous) {
+        assert previous != this;
+        this.tick = tick;
+        this.capturedAt = capturedAt;
+        this.size = renderables.size();
+        if (size > ids.length) {
+            final int capacity = Math.max(size, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            sprites = Arrays.copyOf(sprites, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            previousXs = Arrays.copyOf(previousXs, capacity);
+            previousYs = Arrays.copyOf(previousYs, capacity);
+        }
+        if (size * 2 > index.length) {
+            index = new int[Integer.highestOneBit(size * 2) * 2];
+        } else {
+            Arrays.fill(index, 0);
+        }
+        for (int i = 0; i < size; i++) {
+            final Renderable renderable = renderables.get(i);
+            final int x = renderable.getX();
+            final int y = renderable.getY();
+            final String id = renderable.getID();
+            ids[i] = id;
+            sprites[i] = renderable.getSprite();
+            xs[i] = x;
+            ys[i] = y;
+            index(i);
+            // draw order rarely changes between ticks, so try the same place first
+            final int last =
+                    i < previous.size && id != null && id.equals(previous.ids[i])
+                            ? i
+                            : previous.indexOf(id);
+            previousXs[i] = last < 0 ? x : previous.xs[last];
+            previousYs[i] = last < 0 ? y : previous.ys[last];
+        }
+        Arrays.fill(ids, size, ids.length, null);
+        Arrays.fill(sprites, size, sprites.length, null);
+    }
+
+    /** Add a renderable to the index, replacing any earlier renderable with the same id. */
+    private void index(int i) {
+        if (ids[i] == null) {
+            return;
+        }
+        final int mask = index.length - 1;
+        int slot = ids[i].hashCode() & mask;
+        while (index[slot] != 0 && !ids[i].equals(ids[index[slot] - 1])) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = i + 1;
+    }
+
+    /**
+     * @param id The id of a renderable.
+     * @return The draw-order index of the last renderable with the id, or -1 if there is none.
+     */
+    int indexOf(String id) {
+        if (id == null || size == 0) {
+            return -1;
+        }
+        final int mask = index.length - 1;
+        int slot = id.hashCode() & mask;
+        while (index[slot] != 0) {
+            if (id.equals(ids[index[slot] - 1])) {
+                return index[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return The tick this snapshot was captured after, or -1 if nothing has been captured.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} at which the snapshot was captured.
+     */
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * @return The number of renderables in the snapshot, in draw order.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The id of the renderable.
+     */
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The sprite the renderable was showing.
+     */
+    public Sprite getSprite(int index) {
+        return sprites[index];
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The x-axis (horizontal) coordinate of the renderable in pixels.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The y-axis (vertical) coordinate of the renderable in pixels.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The x-axis coordinate on the previous tick, or the current one if it is new.
+     */
+    public int getPreviousX(int index) {
+        return previousXs[index];
+    }
+
+    /**
+     * @param index The draw-order index of the renderable.
+     * @return The y-axis coordinate on the previous tick, or the current one if it is new.
+     */
+    public int getPreviousY(int index) {
+        return previousYs[index];
+    }
+}
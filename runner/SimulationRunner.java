@@ -0,0 +1,277 @@
+package builder.runner;
+
+import engine.EngineState;
+import engine.art.sprites.Sprite;
+import engine.core.Core;
+import engine.game.Game;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a game's simulation on its own thread at a fixed tick rate, separately from drawing.
+ *
+ * <p>Where {@link engine.Engine} ticks and then draws on one thread, here a dedicated simulation
+ * thread ticks the game at a fixed rate and, after every tick, captures a {@link RenderSnapshot}
+ * of {@link Game#render()}. Snapshots are handed to the render thread through a lock-free triple
+ * buffer, so whichever thread calls {@link #renderFrame()} always draws the most recent tick
+ * without ever blocking the simulation, and a slow frame never delays a tick.
+ *
+ * <p>The core's input is only ever read on the render thread, where it is updated: every frame
+ * copies it into an {@link InputSnapshot}, and each tick is given the latest copy, so the game
+ * never sees the mouse or keys change partway through a tick.
+ *
+ * <p>Because frames and ticks no longer line up, positions can be smoothed with an {@link
+ * Interpolation} between where each renderable was on the previous tick and where it is now.
+ */
+public class SimulationRunner {
+
+    /** The tick rate used when none is given, matching {@link engine.Engine}. */
+    public static final int DEFAULT_TICKS_PER_SECOND = 60;
+
+    // how far behind the simulation may fall before it stops trying to catch up
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    /** Blends a coordinate between its position on the previous tick and the latest tick. */
+    @FunctionalInterface
+    public interface Interpolation {
+
+        /** Draw everything exactly where it was on the latest tick. */
+        Interpolation NONE = (previous, current, alpha) -> current;
+
+        /** Move everything in a straight line from the previous tick to the latest tick. */
+        Interpolation LINEAR =
+                (previous, current, alpha) ->
+                        (int) Math.round(previous + (current - previous) * alpha);
+
+        /**
+         * @param previous The coordinate on the previous tick.
+         * @param current The coordinate on the latest tick.
+         * @param alpha How far through the next tick period the frame is, from 0 to 1.
+         * @return The coordinate to draw at.
+         */
+        int blend(int previous, int current, double alpha);
+    }
+
+    private final Game game;
+    private final Dimensions dimensions;
+    private final Core core;
+    private final long tickNanos;
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private volatile Interpolation interpolation = Interpolation.NONE;
+    // copied by the render thread, read by the simulation thread
+    private volatile InputSnapshot input = InputSnapshot.NONE;
+
+    // simulation thread state
+    private RenderSnapshot previous = new RenderSnapshot();
+    private volatile int tick = 0;
+
+    // render thread state
+    private final List<Renderable> frame = new ArrayList<>();
+    private final List<FrameRenderable> framePool = new ArrayList<>();
+
+    private volatile boolean running = false;
+    private volatile Throwable failure = null;
+    private Thread thread;
+
+    /**
+     * Construct a runner ticking the game at {@link #DEFAULT_TICKS_PER_SECOND}.
+     *
+     * @param game The game to simulate.
+     * @param dimensions The dimensions of the game window.
+     * @param core The core to read input from and draw frames to.
+     */
+    public SimulationRunner(Game game, Dimensions dimensions, Core core) {
+        this(game, dimensions, core, DEFAULT_TICKS_PER_SECOND);
+    }
+
+    /**
+     * Construct a runner ticking the game at the given rate.
+     *
+     * @requires ticksPerSecond &gt; 0
+     * @param game The game to simulate.
+     * @param dimensions The dimensions of the game window.
+     * @param core The core to read input from and draw frames to.
+     * @param ticksPerSecond How many times a second to tick the game.
+     */
+    public SimulationRunner(Game game, Dimensions dimensions, Core core, int ticksPerSecond) {
+        assert ticksPerSecond > 0;
+        this.game = game;
+        this.dimensions = dimensions;
+        this.core = core;
+        this.tickNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+    }
+
+    /**
+     * Choose how positions are blended between ticks when drawing.
+     *
+     * @param interpolation The blending to use, {@link Interpolation#NONE} by default.
+     */
+    public void setInterpolation(Interpolation interpolation) {
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Start ticking the game on a new simulation thread.
+     *
+     * @throws IllegalStateException If the runner has already been started.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Simulation runner already started");
+        }
+        running = true;
+        thread = new Thread(this::simulate, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the simulation thread after its current tick and wait for it to finish.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    /**
+     * @return Whether the simulation thread is still ticking.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return The number of ticks simulated so far.
+     */
+    public int getTickCount() {
+        return tick;
+    }
+
+    /**
+     * Draw the most recent tick to the core, blended by the current {@link Interpolation}, and
+     * copy the core's input for the ticks that follow. Call this from the render thread at
+     * whatever rate it runs.
+     *
+     * @return The snapshot that was drawn.
+     * @throws IllegalStateException If the simulation thread has failed.
+     */
+    public RenderSnapshot renderFrame() {
+        if (failure != null) {
+            throw new IllegalStateException("Simulation thread failed", failure);
+        }
+        input = InputSnapshot.of(core, core);
+        final RenderSnapshot snapshot = snapshots.acquire();
+        final long sinceTick = System.nanoTime() - snapshot.getCapturedAt();
+        final double alpha = Math.clamp(sinceTick / (double) tickNanos, 0, 1);
+        final Interpolation blend = interpolation;
+        while (framePool.size() < snapshot.size()) {
+            framePool.add(new FrameRenderable());
+        }
+        frame.clear();
+        for (int i = 0; i < snapshot.size(); i++) {
+            final FrameRenderable renderable = framePool.get(i);
+            renderable.id = snapshot.getId(i);
+            renderable.sprite = snapshot.getSprite(i);
+            renderable.x = blend.blend(snapshot.getPreviousX(i), snapshot.getX(i), alpha);
+            renderable.y = blend.blend(snapshot.getPreviousY(i), snapshot.getY(i), alpha);
+            frame.add(renderable);
+        }
+        core.draw(frame);
+        return snapshot;
+    }
+
+    private void simulate() {
+        long next = System.nanoTime();
+        try {
+            while (running) {
+                final long now = System.nanoTime();
+                if (now < next) {
+                    LockSupport.parkNanos(next - now);
+                    continue;
+                }
+                step();
+                next += tickNanos;
+                if (now - next > MAX_CATCH_UP_TICKS * tickNanos) {
+                    next = now; // too far behind, drop the backlog rather than spiral
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            running = false;
+        }
+    }
+
+    private void step() {
+        game.tick(new RunnerState(dimensions, input, tick));
+        final RenderSnapshot snapshot = snapshots.back();
+        snapshot.capture(tick, System.nanoTime(), game.render(), previous);
+        snapshots.publish();
+        // only ever read from now on, by the renderer and by the next capture
+        previous = snapshot;
+        tick += 1;
+    }
+
+    /**
+     * The engine state handed to the game on the simulation thread.
+     *
+     * @param dimensions The dimensions of the game window.
+     * @param input The input last copied by the render thread.
+     * @param currentTick The tick being simulated.
+     */
+    private record RunnerState(Dimensions dimensions, InputSnapshot input, int currentTick)
+            implements EngineState {
+        @Override
+        public Dimensions getDimensions() {
+            return dimensions;
+        }
+
+        @Override
+        public MouseState getMouse() {
+            return input;
+        }
+
+        @Override
+        public KeyState getKeys() {
+            return input;
+        }
+    }
+
+    /** A renderable drawn from a snapshot, reused from frame to frame by the render thread. */
+    private static class FrameRenderable implements Renderable {
+        private String id;
+        private Sprite sprite;
+        private int x;
+        private int y;
+
+        @Override
+        public String getID() {
+            return id;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return sprite;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package builder.runner;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands values from one writer thread to one reader thread without either ever waiting.
+ *
+ * <p>There are three slots: the writer fills its back slot and publishes it by swapping it with
+ * the middle slot; the reader swaps its front slot with the middle slot whenever something new has
+ * been published. The writer therefore never touches the slot being read, and the reader always
+ * gets the most recently published value, skipping any it was too slow to see.
+ */
+public final class TripleBuffer<T> {
+
+    // set on the middle index when it holds a slot the reader has not picked up yet
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final T[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // only touched by the writer
+    private int front = 2; // only touched by the reader
+
+    /**
+     * @param factory Makes each of the three slots.
+     */
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory) {
+        this.slots = (T[]) new Object[] {factory.get(), factory.get(), factory.get()};
+    }
+
+    /** The slot the writer is free to fill. Writer thread only. */
+    public T back() {
+        return slots[back];
+    }
+
+    /** Make the back slot the latest value and take a new, free back slot. Writer thread only. */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /** The latest published value, or the one read last if nothing newer exists. Reader only. */
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return slots[front];
+    }
+}
@@ -0,0 +1,846 @@
+package builder.save;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.Npc;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.resources.Cabbage;
+import builder.inventory.Inventory;
+import builder.player.PlayerManager;
+import builder.tiles.Dirt;
+import builder.tiles.OreVein;
+import builder.tiles.Tile;
+import builder.world.BeanWorld;
+import builder.world.WorldLoadException;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Autosaves a farm as it is played, by journaling what changes each tick rather than writing the
+ * whole farm out again.
+ *
+ * <p>A journal directory holds numbered generations, each a full {@link FarmSnapshot} checkpoint,
+ * {@code checkpoint-N.snap}, and an append-only, memory-mapped log of what happened after it,
+ * {@code journal-N.log}. Every {@link #record(int)} appends a frame to the log holding
+ *
+ * <ol>
+ *   <li>the tick the frame was recorded on,
+ *   <li>each bird or NPC that started or stopped being managed since the last frame (see {@link
+ *       EnemyManager#watch} and {@link NpcManager#watch}), by its id,
+ *   <li>each tile that was placed or changed since the last frame (see {@link Tile#watch}), as its
+ *       index in the world, the tile itself and what is stacked on it, and
+ *   <li>the state of each of the player, inventory, spawners, birds and NPCs that differs from the
+ *       state it was last logged with, along with the final state of anything that stopped being
+ *       managed.
+ * </ol>
+ *
+ * <p>Each state is written into memory and compared with the last one logged, and only written to
+ * the log if it differs. So a scarecrow standing still, an inventory nobody touched and the tile
+ * under an idle player are not logged again, while a bird, whose position and timers move on
+ * every tick, is logged on every frame it is alive.
+ *
+ * <p>Every so many frames a new generation is started with a fresh checkpoint, which keeps the log
+ * short. A generation's log is created before its checkpoint, and older generations are only
+ * deleted once the checkpoint is complete, so {@link #recover(Path)} always finds a checkpoint and
+ * a log that go together. The generation before the newest is kept too, so if the newest
+ * checkpoint is lost the farm can still be recovered as of the tick before it was written.
+ *
+ * <p>A frame is written with a zero length, then filled in and its length written last. The log
+ * is mapped, so a frame is safe once recorded even if the game then crashes; a frame cut short by
+ * the machine going down is ignored, along with anything after it.
+ *
+ * <p>Tiles the log doesn't mention carry on as they were in the checkpoint. A growing cabbage is
+ * only logged when it moves on to its next stage, and is grown the rest of the way on recovery.
+ */
+public class FarmJournal implements Closeable {
+
+    /** Incremented whenever the layout changes; journals of other versions are rejected. */
+    public static final int VERSION = 2;
+
+    private static final int MAGIC = 0x4A42464A; // "JBFJ"
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    // how a bird or NPC starting or stopping being managed is logged, followed by its id
+    private static final int BIRD_JOINS = 'b';
+    private static final int NPC_JOINS = 'n';
+    private static final int LEAVES = 'l';
+    // what an NPC stacked on a tile is logged as, followed by its id
+    private static final int STACKED_NPC = 'n';
+    // what each state logged is the state of; an entity's is followed by its id
+    private static final int PLAYER_STATE = 'p';
+    private static final int INVENTORY_STATE = 'i';
+    private static final int SPAWNERS_STATE = 's';
+    private static final int ENTITY_STATE = 'e';
+    private static final int NO_MORE_STATES = 0;
+
+    private static final String CHECKPOINT = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".snap";
+    private static final String JOURNAL = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int checkpointInterval;
+    private final Dimensions dimensions;
+    private final PlayerManager player;
+    private final Inventory inventory;
+    private final BeanWorld world;
+    private final EnemyManager enemies;
+    private final NpcManager npcs;
+
+    // tiles placed or changed since the last frame, in the order they were first reported
+    private final Set<Tile> changed = new LinkedHashSet<>();
+    private final Consumer<Tile> watcher = changed::add;
+    // birds and NPCs that started or stopped being managed since the last frame, in order
+    private final List<Membership> membership = new ArrayList<>();
+    private final Consumer<Npc> memberWatcher =
+            npc -> membership.add(new Membership(npc, npc.isMarkedForRemoval()));
+    // the state each part of the farm was last logged with
+    private final Map<Object, byte[]> logged = new IdentityHashMap<>();
+    // each tile's index in the world, which its id no longer matches once entities are defined
+    private final Map<Tile, Integer> tileIndex = new IdentityHashMap<>();
+    private final List<Npc> leaving = new ArrayList<>();
+
+    private int generation;
+    private int frames;
+    private MappedAppender log;
+    private SnapshotWriter out;
+    private States states;
+
+    /** A bird or NPC starting to be managed, or stopping. */
+    private record Membership(Npc entity, boolean leaves) {}
+
+    /**
+     * Construct a journal of the given farm's parts. Nothing is written until the first {@link
+     * #record(int)}, which writes the first checkpoint.
+     *
+     * @param directory Where to keep the journal, created if need be. Any generations already in
+     *     it are superseded.
+     * @param checkpointInterval How many frames to log before starting a new generation.
+     * @param dimensions The dimensions of the farm.
+     * @param player The player manager.
+     * @param inventory The player's inventory.
+     * @param world The world, which will report changes to its tiles to this journal.
+     * @param enemies The spawners and birds, which will report birds coming and going.
+     * @param npcs The NPCs, which will report NPCs coming and going.
+     * @throws IOException If the directory cannot be created or listed.
+     */
+    public FarmJournal(
+            Path directory,
+            int checkpointInterval,
+            Dimensions dimensions,
+            PlayerManager player,
+            Inventory inventory,
+            BeanWorld world,
+            EnemyManager enemies,
+            NpcManager npcs)
+            throws IOException {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException(
+                    "Checkpoint interval must be positive: " + checkpointInterval);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.checkpointInterval = checkpointInterval;
+        this.dimensions = dimensions;
+        this.player = player;
+        this.inventory = inventory;
+        this.world = world;
+        this.enemies = enemies;
+        this.npcs = npcs;
+        this.generation =
+                Math.max(
+                        0,
+                        Math.max(
+                                latest(directory, CHECKPOINT, CHECKPOINT_SUFFIX),
+                                latest(directory, JOURNAL, JOURNAL_SUFFIX)));
+        world.watch(watcher);
+        enemies.watch(memberWatcher::accept);
+        npcs.watch(memberWatcher);
+    }
+
+    /**
+     * Log everything that changed since the last frame, or write a checkpoint if it is time for
+     * one. Must be called between ticks.
+     *
+     * @param tick The tick that has just finished.
+     * @throws IOException If the journal cannot be written to.
+     */
+    public void record(int tick) throws IOException {
+        if (log == null || frames >= checkpointInterval) {
+            checkpoint(tick);
+            return;
+        }
+        final long start = log.appendInt(0);
+        out.writeInt(tick);
+        // first, so the tiles and states after can refer to whatever joined
+        out.writeInt(membership.size());
+        for (Membership change : membership) {
+            final Npc entity = change.entity();
+            if (change.leaves()) {
+                out.writeByte(LEAVES);
+                leaving.add(entity);
+            } else {
+                out.writeByte(entity instanceof Enemy ? BIRD_JOINS : NPC_JOINS);
+                if (!out.isDefined(entity)) {
+                    out.define(entity);
+                }
+            }
+            out.writeInt(out.idOf(entity));
+        }
+        membership.clear();
+
+        out.writeInt(changed.size());
+        for (Tile tile : changed) {
+            writeTile(tile);
+        }
+        changed.clear();
+
+        logState(PLAYER_STATE, player);
+        logState(INVENTORY_STATE, inventory);
+        logState(SPAWNERS_STATE, enemies);
+        for (Enemy bird : enemies.getALl()) {
+            logState(ENTITY_STATE, bird);
+        }
+        for (Npc npc : npcs.getAll()) {
+            logState(ENTITY_STATE, npc);
+        }
+        for (Npc entity : leaving) {
+            logState(ENTITY_STATE, entity);
+        }
+        for (Npc entity : leaving) {
+            logged.remove(entity);
+        }
+        leaving.clear();
+        out.writeByte(NO_MORE_STATES);
+
+        out.writeInt(MAGIC);
+        out.flush();
+        log.putInt(start, (int) (log.position() - start - Integer.BYTES));
+        frames += 1;
+    }
+
+    /**
+     * Start a new generation with a full checkpoint of the farm as it is now, then delete the
+     * generations before the previous one. Must be called between ticks.
+     *
+     * @param tick The tick that has just finished.
+     * @throws IOException If the checkpoint or new log cannot be written.
+     */
+    public void checkpoint(int tick) throws IOException {
+        final int next = generation + 1;
+        startLog(next, tick);
+
+        final Path partial = directory.resolve(CHECKPOINT + next + ".partial");
+        try (FileChannel channel =
+                FileChannel.open(
+                        partial,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            FarmSnapshot.write(channel, dimensions, player, inventory, world, enemies, npcs);
+            channel.force(true);
+        }
+        Files.move(
+                partial,
+                directory.resolve(CHECKPOINT + next + CHECKPOINT_SUFFIX),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        generation = next;
+        deleteBefore(generation - 1);
+    }
+
+    /**
+     * Stop journaling, making sure everything logged so far is on disk. The farm stops reporting
+     * changes to this journal.
+     *
+     * @throws IOException If the log cannot be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        world.unwatch(watcher);
+        enemies.watch(null);
+        npcs.watch(null);
+        if (log != null) {
+            log.force();
+            log.close();
+            log = null;
+        }
+    }
+
+    /**
+     * A farm recovered from a journal.
+     *
+     * @param farm The farm as of the last complete frame, or the checkpoint if there are none.
+     * @param tick The tick that frame or checkpoint was recorded on.
+     */
+    public record Recovery(JavaBeanFarm farm, int tick) {}
+
+    /**
+     * Read back the farm from the latest checkpoint in a journal directory and replay its log.
+     *
+     * @param directory A directory written by a {@link FarmJournal}.
+     * @return The farm as of the last complete frame, and that frame's tick.
+     * @throws IOException If the directory or its files cannot be read.
+     * @throws WorldLoadException If there is no checkpoint, or the checkpoint or log is malformed.
+     */
+    public static Recovery recover(Path directory) throws IOException, WorldLoadException {
+        final int generation = latest(directory, CHECKPOINT, CHECKPOINT_SUFFIX);
+        if (generation < 0) {
+            throw new WorldLoadException("No checkpoint in " + directory);
+        }
+        final FarmSnapshot.Contents checkpoint;
+        try (FileChannel channel =
+                FileChannel.open(directory.resolve(CHECKPOINT + generation + CHECKPOINT_SUFFIX))) {
+            checkpoint = FarmSnapshot.readContents(new SnapshotReader(channel));
+        }
+        try (FileChannel channel =
+                FileChannel.open(directory.resolve(JOURNAL + generation + JOURNAL_SUFFIX))) {
+            return new Replay(checkpoint, generation).replay(channel);
+        }
+    }
+
+    private void startLog(int next, int tick) throws IOException {
+        if (log != null) {
+            log.close();
+        }
+        log =
+                new MappedAppender(
+                        FileChannel.open(
+                                directory.resolve(JOURNAL + next + JOURNAL_SUFFIX),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE));
+        out = new SnapshotWriter(log);
+        states = new States(out);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(next);
+        out.writeInt(tick);
+        out.flush();
+        log.force();
+        frames = 0;
+
+        // the checkpoint about to be written covers every change so far
+        changed.clear();
+        membership.clear();
+        logged.clear();
+        tileIndex.clear();
+        final List<Tile> tiles = world.allTiles();
+        for (int i = 0; i < tiles.size(); i += 1) {
+            out.define(tiles.get(i));
+            tileIndex.put(tiles.get(i), i);
+        }
+        defineEntities(out, player, enemies, npcs);
+
+        logged.put(player, states.write(player).toByteArray());
+        logged.put(inventory, states.write(inventory).toByteArray());
+        logged.put(enemies, states.write(enemies).toByteArray());
+        for (Enemy bird : enemies.getALl()) {
+            logged.put(bird, states.write(bird).toByteArray());
+        }
+        for (Npc npc : npcs.getAll()) {
+            logged.put(npc, states.write(npc).toByteArray());
+        }
+    }
+
+    // ids after the tiles', in the same order as Replay gives them to the checkpoint's entities
+    private static void defineEntities(
+            SnapshotWriter out, PlayerManager player, EnemyManager enemies, NpcManager npcs) {
+        out.define(player.getPlayer());
+        for (Enemy bird : enemies.getALl()) {
+            if (!out.isDefined(bird)) {
+                out.define(bird);
+            }
+        }
+        for (Npc npc : npcs.getAll()) {
+            out.define(npc);
+        }
+    }
+
+    private void writeTile(Tile tile) throws IOException {
+        Integer index = tileIndex.get(tile);
+        if (index == null) {
+            // placed since the last frame; tiles are only ever added to the end of the world
+            index = tileIndex.size();
+            tileIndex.put(tile, index);
+            out.define(tile);
+        }
+        out.writeInt(index);
+        FarmSnapshot.writeTile(out, tile);
+
+        final List<Entity> stack = FarmSnapshot.stackOf(tile);
+        out.writeInt(stack.size());
+        for (Entity entity : stack) {
+            if (entity instanceof Npc npc && out.isDefined(npc)) {
+                out.writeByte(STACKED_NPC);
+                out.writeInt(out.idOf(npc));
+            } else {
+                FarmSnapshot.writeStacked(out, entity);
+            }
+        }
+    }
+
+    // log part of the farm's state, if it differs from the state it was last logged with
+    private void logState(int kind, Object part) throws IOException {
+        final byte[] last = logged.get(part);
+        if (states.write(part).matches(last)) {
+            return;
+        }
+        final byte[] state = states.toByteArray();
+        logged.put(part, state);
+        out.writeByte(kind);
+        if (kind == ENTITY_STATE) {
+            out.writeInt(out.idOf(part));
+        }
+        out.writeInt(state.length);
+        out.write(state);
+    }
+
+    private void deleteBefore(int current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+                final int number =
+                        Math.max(
+                                generationOf(name, CHECKPOINT, CHECKPOINT_SUFFIX),
+                                generationOf(name, JOURNAL, JOURNAL_SUFFIX));
+                if (number >= 0 && number < current) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            // a log still mapped can't be deleted everywhere; it is tried again next time
+        }
+    }
+
+    private static int latest(Path directory, String prefix, String suffix) throws IOException {
+        int latest = -1;
+        if (!Files.isDirectory(directory)) {
+            return latest;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+                latest = Math.max(latest, generationOf(name, prefix, suffix));
+            }
+        }
+        return latest;
+    }
+
+    private static int generationOf(String name, String prefix, String suffix) {
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return -1;
+        }
+        try {
+            final int end = name.length() - suffix.length();
+            return Integer.parseInt(name.substring(prefix.length(), end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the state of one part of the farm at a time into memory, referring to objects by the
+     * ids of another writer, so it can be compared with the state last logged.
+     */
+    private static class States implements WritableByteChannel {
+        private final SnapshotWriter out;
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        States(SnapshotWriter ids) {
+            this.out = new SnapshotWriter(this, ids);
+        }
+
+        /** Write the state of a part of the farm, in place of the last state written. */
+        States write(Object part) throws IOException {
+            size = 0;
+            switch (part) {
+                case PlayerManager player -> player.save(out);
+                case Inventory inventory -> FarmSnapshot.writeInventory(out, inventory);
+                case EnemyManager enemies -> FarmSnapshot.writeSpawners(out, enemies);
+                case Enemy bird -> FarmSnapshot.writeBird(out, bird);
+                case Npc npc -> FarmSnapshot.writeNpc(out, npc);
+                default -> throw new IOException("Cannot journal " + part);
+            }
+            out.flush();
+            return this;
+        }
+
+        /** Whether the state last written is the given one. */
+        boolean matches(byte[] state) {
+            return state != null && Arrays.equals(bytes, 0, size, state, 0, state.length);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            final int length = source.remaining();
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+            source.get(bytes, size, length);
+            size += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /** Applies a log to the contents of its checkpoint. */
+    private static class Replay {
+        private final FarmSnapshot.Contents checkpoint;
+        private final int generation;
+        private final List<Tile> tiles;
+        // each tile's id, by its index in the world
+        private final List<Integer> tileIds = new ArrayList<>();
+        // what is stacked on each tile, with a managed NPC standing in as its id
+        private final List<List<Object>> stacks = new ArrayList<>();
+        // the tick each tile was last logged on, or the checkpoint's tick
+        private int[] loggedOn;
+        private int ids;
+
+        private int tick;
+        private final int playerId;
+        private byte[] player;
+        private byte[] inventory;
+        private byte[] spawners;
+        // the latest state of every bird and NPC ever managed, by id
+        private final Map<Integer, byte[]> birds = new TreeMap<>();
+        private final Map<Integer, byte[]> npcs = new TreeMap<>();
+        // the ids of the birds and NPCs being managed, in the order they were registered
+        private final List<Integer> managedBirds = new ArrayList<>();
+        private final List<Integer> managedNpcs = new ArrayList<>();
+
+        Replay(FarmSnapshot.Contents checkpoint, int generation) throws IOException {
+            this.checkpoint = checkpoint;
+            this.generation = generation;
+            this.tiles = new ArrayList<>(checkpoint.tiles());
+
+            // give the checkpoint's contents the ids the journal gave the farm they came from
+            final SnapshotWriter out =
+                    new SnapshotWriter(Channels.newChannel(OutputStream.nullOutputStream()));
+            for (Tile tile : tiles) {
+                tileIds.add(tileIds.size());
+                out.define(tile);
+            }
+            defineEntities(out, checkpoint.player(), checkpoint.enemies(), checkpoint.npcs());
+            playerId = tiles.size();
+
+            final States states = new States(out);
+            player = states.write(checkpoint.player()).toByteArray();
+            inventory = states.write(checkpoint.inventory()).toByteArray();
+            spawners = states.write(checkpoint.enemies()).toByteArray();
+            for (Enemy bird : checkpoint.enemies().getALl()) {
+                birds.put(out.idOf(bird), states.write(bird).toByteArray());
+                managedBirds.add(out.idOf(bird));
+            }
+            for (Npc npc : checkpoint.npcs().getAll()) {
+                npcs.put(out.idOf(npc), states.write(npc).toByteArray());
+                managedNpcs.add(out.idOf(npc));
+            }
+            for (List<Entity> stack : checkpoint.stacks()) {
+                final List<Object> entries = new ArrayList<>(stack.size());
+                for (Entity entity : stack) {
+                    entries.add(out.isDefined(entity) ? (Object) out.idOf(entity) : entity);
+                }
+                stacks.add(entries);
+            }
+            ids = playerId + 1 + birds.size() + npcs.size();
+        }
+
+        Recovery replay(FileChannel channel) throws IOException, WorldLoadException {
+            final int complete = completeFrames(channel);
+            final SnapshotReader in = new SnapshotReader(channel);
+            if (in.readInt() != MAGIC) {
+                throw new WorldLoadException("Not a farm journal");
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new WorldLoadException(
+                        "Journal is version " + version + ", expected " + VERSION);
+            }
+            if (in.readInt() != generation) {
+                throw new WorldLoadException("Journal does not go with its checkpoint");
+            }
+            tick = in.readInt();
+            loggedOn = new int[tiles.size()];
+            Arrays.fill(loggedOn, tick);
+
+            for (int i = 0; i < complete; i += 1) {
+                in.readInt(); // the frame's length, already checked
+                readFrame(in);
+            }
+            return new Recovery(finish(), tick);
+        }
+
+        private void readFrame(SnapshotReader in) throws IOException, WorldLoadException {
+            tick = in.readInt();
+            final int changes = FarmSnapshot.count(in);
+            for (int i = 0; i < changes; i += 1) {
+                readMembership(in);
+            }
+            final int records = FarmSnapshot.count(in);
+            for (int i = 0; i < records; i += 1) {
+                readTile(in);
+            }
+            for (int kind = in.readByte(); kind != NO_MORE_STATES; kind = in.readByte()) {
+                readState(in, kind);
+            }
+            if (in.readInt() != MAGIC) {
+                throw new WorldLoadException("Journal frame does not end where expected");
+            }
+        }
+
+        private void readMembership(SnapshotReader in) throws IOException, WorldLoadException {
+            final int kind = in.readByte();
+            final int id = in.readInt();
+            if (kind == LEAVES) {
+                if (!birds.containsKey(id) && !npcs.containsKey(id)) {
+                    throw new WorldLoadException("Journal refers to unknown entity " + id);
+                }
+                // a bird registered more than once leaves each of its places
+                managedBirds.removeIf(managed -> managed == id);
+                managedNpcs.removeIf(managed -> managed == id);
+                return;
+            }
+            if (kind != BIRD_JOINS && kind != NPC_JOINS) {
+                throw unknown("change", kind);
+            }
+            final Map<Integer, byte[]> known = kind == BIRD_JOINS ? birds : npcs;
+            if (id == ids) {
+                // its state is logged later in the same frame
+                known.put(id, null);
+                ids += 1;
+            } else if (!known.containsKey(id)) {
+                throw new WorldLoadException("Journal refers to unknown entity " + id);
+            }
+            (kind == BIRD_JOINS ? managedBirds : managedNpcs).add(id);
+        }
+
+        private void readState(SnapshotReader in, int kind) throws IOException, WorldLoadException {
+            final int id = kind == ENTITY_STATE ? in.readInt() : -1;
+            final byte[] state = in.readBytes(FarmSnapshot.count(in));
+            switch (kind) {
+                case PLAYER_STATE -> player = state;
+                case INVENTORY_STATE -> inventory = state;
+                case SPAWNERS_STATE -> spawners = state;
+                case ENTITY_STATE -> {
+                    if (birds.containsKey(id)) {
+                        birds.put(id, state);
+                    } else if (npcs.containsKey(id)) {
+                        npcs.put(id, state);
+                    } else {
+                        throw new WorldLoadException("Journal refers to unknown entity " + id);
+                    }
+                }
+                default -> throw unknown("state", kind);
+            }
+        }
+
+        private void readTile(SnapshotReader in) throws IOException, WorldLoadException {
+            final int index = in.readInt();
+            if (index == tiles.size()) {
+                tiles.add(FarmSnapshot.readTile(in));
+                tileIds.add(ids);
+                ids += 1;
+                stacks.add(List.of());
+                if (index == loggedOn.length) {
+                    loggedOn = Arrays.copyOf(loggedOn, Math.max(16, index * 2));
+                }
+            } else if (index >= 0 && index < tiles.size()) {
+                update(in, tiles.get(index));
+            } else {
+                throw new WorldLoadException("Journal refers to unknown tile " + index);
+            }
+            loggedOn[index] = tick;
+
+            final int size = FarmSnapshot.count(in);
+            final List<Object> stack = new ArrayList<>(size);
+            for (int i = 0; i < size; i += 1) {
+                final int kind = in.readByte();
+                if (kind != STACKED_NPC) {
+                    stack.add(FarmSnapshot.readStacked(in, kind));
+                    continue;
+                }
+                final int id = in.readInt();
+                if (!npcs.containsKey(id)) {
+                    throw new WorldLoadException("Tile " + index + " has unknown NPC " + id);
+                }
+                stack.add(id);
+            }
+            stacks.set(index, stack);
+        }
+
+        // tiles are never replaced, only changed in the few ways a tile can change
+        private static void update(SnapshotReader in, Tile tile)
+                throws IOException, WorldLoadException {
+            final int symbol = in.readByte();
+            final int x = in.readInt();
+            final int y = in.readInt();
+            if (x != tile.getX() || y != tile.getY()) {
+                throw new WorldLoadException("Journal moves a tile to " + x + ", " + y);
+            }
+            if (symbol == 't' && tile instanceof Dirt dirt && !dirt.isTilled()) {
+                dirt.till();
+            } else if (symbol != FarmSnapshot.symbolOf(tile)) {
+                throw new WorldLoadException(
+                        "Journal changes a '"
+                                + (char) FarmSnapshot.symbolOf(tile)
+                                + "' tile to '"
+                                + (char) symbol
+                                + "'");
+            }
+            if (in.readBoolean()) {
+                tile.markForRemoval();
+            }
+            if (tile instanceof OreVein vein) {
+                vein.getOre().restore(in);
+            }
+        }
+
+        /**
+         * Bring back every bird and NPC ever managed from its latest state, in the order they were
+         * given ids so each refers only to what came before it, then manage those still managed.
+         */
+        private JavaBeanFarm finish() throws IOException, WorldLoadException {
+            final ByteArrayOutputStream all = new ByteArrayOutputStream();
+            all.write(player);
+            all.write(inventory);
+            all.write(spawners);
+            for (Map<Integer, byte[]> entities : List.of(birds, npcs)) {
+                for (Map.Entry<Integer, byte[]> entity : entities.entrySet()) {
+                    if (entity.getValue() == null) {
+                        throw new WorldLoadException("No state for entity " + entity.getKey());
+                    }
+                    all.write(entity.getValue());
+                }
+            }
+            final SnapshotReader in =
+                    new SnapshotReader(
+                            Channels.newChannel(new ByteArrayInputStream(all.toByteArray())));
+            for (int i = 0; i < tiles.size(); i += 1) {
+                in.define(tileIds.get(i), tiles.get(i));
+            }
+            final PlayerManager restoredPlayer = PlayerManager.restore(in);
+            in.define(playerId, restoredPlayer.getPlayer());
+            final Inventory restoredInventory = FarmSnapshot.readInventory(in);
+            final EnemyManager enemies = new EnemyManager(checkpoint.dimensions());
+            FarmSnapshot.readSpawners(in, enemies);
+
+            final Map<Integer, Npc> entities = new HashMap<>();
+            for (int id : birds.keySet()) {
+                final Enemy bird = FarmSnapshot.readBird(in, in.readByte());
+                in.define(id, bird);
+                entities.put(id, bird);
+            }
+            for (int id : npcs.keySet()) {
+                final Npc npc = FarmSnapshot.readNpc(in, in.readByte());
+                in.define(id, npc);
+                entities.put(id, npc);
+            }
+            for (int id : managedBirds) {
+                enemies.restoreBird((Enemy) entities.get(id));
+            }
+            final NpcManager restoredNpcs = new NpcManager();
+            for (int id : managedNpcs) {
+                restoredNpcs.restore(entities.get(id));
+            }
+
+            final List<List<Entity>> placed = new ArrayList<>(stacks.size());
+            for (int i = 0; i < tiles.size(); i += 1) {
+                final List<Entity> stack = new ArrayList<>(stacks.get(i).size());
+                for (Object entry : stacks.get(i)) {
+                    final Entity entity =
+                            entry instanceof Integer id ? entities.get(id) : (Entity) entry;
+                    if (entity instanceof Cabbage cabbage) {
+                        cabbage.grow(tick - loggedOn[i]);
+                    }
+                    tiles.get(i).placeOn(entity);
+                    stack.add(entity);
+                }
+                placed.add(stack);
+            }
+            return new FarmSnapshot.Contents(
+                            checkpoint.dimensions(),
+                            restoredPlayer,
+                            restoredInventory,
+                            tiles,
+                            placed,
+                            enemies,
+                            restoredNpcs)
+                    .toFarm();
+        }
+
+        private static WorldLoadException unknown(String what, int kind) {
+            return new WorldLoadException("Unknown journal " + what + " '" + (char) kind + "'");
+        }
+
+        // how many frames, from the start of the log, were written in full
+        private static int completeFrames(FileChannel channel) throws IOException {
+            final ByteBuffer word = ByteBuffer.allocate(Integer.BYTES);
+            final long size = channel.size();
+            long position = HEADER_BYTES;
+            int complete = 0;
+            while (position + Integer.BYTES <= size) {
+                final int length = readInt(channel, word, position);
+                final long end = position + Integer.BYTES + length;
+                if (length < 2 * Integer.BYTES
+                        || end > size
+                        || readInt(channel, word, end - Integer.BYTES) != MAGIC) {
+                    break;
+                }
+                complete += 1;
+                position = end;
+            }
+            return complete;
+        }
+
+        private static int readInt(FileChannel channel, ByteBuffer word, long position)
+                throws IOException {
+            word.clear();
+            while (word.hasRemaining()) {
+                if (channel.read(word, position + word.position()) < 0) {
+                    return 0;
+                }
+            }
+            return word.getInt(0);
+        }
+    }
+}
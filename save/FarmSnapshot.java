@@ -0,0 +1,723 @@
+package builder.save;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.BeeHive;
+import builder.entities.npc.GuardBee;
+import builder.entities.npc.Npc;
+import builder.entities.npc.NpcManager;
+import builder.entities.npc.Scarecrow;
+import builder.entities.npc.enemies.Eagle;
+import builder.entities.npc.enemies.Enemy;
+import builder.entities.npc.enemies.EnemyManager;
+import builder.entities.npc.enemies.Magpie;
+import builder.entities.npc.enemies.Pigeon;
+import builder.entities.npc.spawners.EagleSpawner;
+import builder.entities.npc.spawners.MagpieSpawner;
+import builder.entities.npc.spawners.PigeonSpawner;
+import builder.entities.npc.spawners.ScarecrowSpawner;
+import builder.entities.npc.spawners.Spawner;
+import builder.entities.resources.Cabbage;
+import builder.inventory.Inventory;
+import builder.inventory.TinyInventory;
+import builder.inventory.items.Bucket;
+import builder.inventory.items.HiveHammer;
+import builder.inventory.items.Hoe;
+import builder.inventory.items.Item;
+import builder.inventory.items.Jackhammer;
+import builder.inventory.items.Pole;
+import builder.player.PlayerManager;
+import builder.tiles.Dirt;
+import builder.tiles.Grass;
+import builder.tiles.OreVein;
+import builder.tiles.Tile;
+import builder.tiles.TileFactory;
+import builder.tiles.Water;
+import builder.world.BeanWorld;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import engine.game.Entity;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary snapshot format of a whole {@link JavaBeanFarm}: the world's tiles and what is stacked
+ * on them, the NPCs and birds, the spawners and how far along their timers are, and the player and
+ * their inventory.
+ *
+ * <p>A snapshot is a sequence of big-endian values, in this order:
+ *
+ * <ol>
+ *   <li>the magic number {@code JBFS} and the format {@link #VERSION},
+ *   <li>the window size and tile size,
+ *   <li>the player manager and the inventory,
+ *   <li>every tile, in world order, as its map symbol, position and removal flag (an ore vein is
+ *       followed by its ore),
+ *   <li>the spawners, then every bird, each as a one-letter kind and its own fields (or, for a
+ *       bird listed more than once, a reference to its first entry),
+ *   <li>every NPC, the same way,
+ *   <li>what is stacked on each tile, in world order, and finally
+ *   <li>the magic number again.
+ * </ol>
+ *
+ * <p>Each section only refers back to earlier ones, e.g. a pigeon to the tile it is flying at and
+ * a guard bee to the bird it is chasing, so a snapshot is read in one pass as it streams in.
+ * Reading produces the same game the snapshot was written from, except that animation frames,
+ * entity ids and anything cached from the tiles start over.
+ */
+public class FarmSnapshot {
+
+    /** Incremented whenever the layout changes; snapshots of other versions are rejected. */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4A424653; // "JBFS"
+
+    // stack entries other than NPCs, which are written with their own kinds
+    private static final int CABBAGE = 'c';
+    private static final int MANAGED_NPC = 'r';
+
+    // a bird that appears more than once in the enemy manager
+    private static final int REPEAT = 'r';
+
+    private FarmSnapshot() {}
+
+    /**
+     * Write a snapshot of a farm's parts to a channel.
+     *
+     * @param channel Where to write the snapshot. Left open.
+     * @param dimensions The dimensions of the farm.
+     * @param player The player manager.
+     * @param inventory The player's inventory.
+     * @param world The world.
+     * @param enemies The spawners and birds.
+     * @param npcs The NPCs.
+     * @throws IOException If the channel cannot be written to, or the farm has something in it
+     *     this format doesn't know how to save.
+     */
+    public static void write(
+            WritableByteChannel channel,
+            Dimensions dimensions,
+            PlayerManager player,
+            Inventory inventory,
+            BeanWorld world,
+            EnemyManager enemies,
+            NpcManager npcs)
+            throws IOException {
+        final SnapshotWriter out = new SnapshotWriter(channel);
+        writeHeader(out, dimensions);
+        writePlayer(out, player, inventory);
+
+        final List<Tile> tiles = world.allTiles();
+        out.writeInt(tiles.size());
+        for (int i = 0; i < tiles.size(); i += 1) {
+            writeTile(out, tiles.get(i));
+            out.define(tiles.get(i));
+        }
+
+        writeEnemies(out, enemies);
+        writeNpcs(out, npcs);
+
+        for (int i = 0; i < tiles.size(); i += 1) {
+            final List<Entity> stack = stackOf(tiles.get(i));
+            out.writeInt(stack.size());
+            for (Entity entity : stack) {
+                writeStacked(out, entity);
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.flush();
+    }
+
+    /**
+     * Read a farm back from a snapshot written by {@link #write}.
+     *
+     * @param channel Where to read the snapshot from. Left open.
+     * @return The farm as it was saved.
+     * @throws IOException If the channel cannot be read from or ends early.
+     * @throws WorldLoadException If the channel doesn't hold a snapshot of this version, or the
+     *     snapshot is malformed.
+     */
+    public static JavaBeanFarm read(ReadableByteChannel channel)
+            throws IOException, WorldLoadException {
+        final Contents contents = readContents(new SnapshotReader(channel));
+        final List<Tile> tiles = contents.tiles();
+        for (int i = 0; i < tiles.size(); i += 1) {
+            for (Entity entity : contents.stacks().get(i)) {
+                tiles.get(i).placeOn(entity);
+            }
+        }
+        return contents.toFarm();
+    }
+
+    /**
+     * Everything read from a snapshot, before what is stacked on each tile has been placed on it.
+     *
+     * @param dimensions The dimensions of the farm.
+     * @param player The player manager.
+     * @param inventory The player's inventory.
+     * @param tiles Every tile, in world order.
+     * @param stacks What is stacked on each tile, besides an ore vein's own ore.
+     * @param enemies The spawners and birds.
+     * @param npcs The NPCs.
+     */
+    record Contents(
+            Dimensions dimensions,
+            PlayerManager player,
+            Inventory inventory,
+            List<Tile> tiles,
+            List<List<Entity>> stacks,
+            EnemyManager enemies,
+            NpcManager npcs) {
+
+        /**
+         * @return A farm made of these contents. Stacks must already have been placed.
+         */
+        JavaBeanFarm toFarm() {
+            // the world places tiles in reverse, so hand them over backwards to keep their order
+            final BeanWorld world = WorldBuilder.fromTiles(tiles.reversed());
+            return new JavaBeanFarm(dimensions, world, player, npcs, enemies, inventory);
+        }
+    }
+
+    /**
+     * Read a whole snapshot, leaving stacks to be placed by the caller.
+     *
+     * @param in Where to read the snapshot from.
+     * @return What the snapshot holds.
+     * @throws IOException If the snapshot cannot be read or ends early.
+     * @throws WorldLoadException If the snapshot is of another version or malformed.
+     */
+    static Contents readContents(SnapshotReader in) throws IOException, WorldLoadException {
+        final Dimensions dimensions = readHeader(in);
+        final PlayerManager player = PlayerManager.restore(in);
+        in.define(player.getPlayer());
+        final Inventory inventory = readInventory(in);
+
+        final int tileCount = count(in);
+        final List<Tile> tiles = new ArrayList<>(tileCount);
+        for (int i = 0; i < tileCount; i += 1) {
+            final Tile tile = readTile(in);
+            tiles.add(tile);
+            in.define(tile);
+        }
+
+        final EnemyManager enemies = readEnemies(in, dimensions);
+        final NpcManager npcs = readNpcs(in);
+
+        final List<List<Entity>> stacks = new ArrayList<>(tileCount);
+        for (int i = 0; i < tileCount; i += 1) {
+            stacks.add(readStack(in));
+        }
+
+        if (in.readInt() != MAGIC) {
+            throw new WorldLoadException("Snapshot does not end where expected");
+        }
+        return new Contents(dimensions, player, inventory, tiles, stacks, enemies, npcs);
+    }
+
+    private static void writeHeader(SnapshotWriter out, Dimensions dimensions)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(dimensions.windowSize());
+        out.writeInt(dimensions.tileSize());
+    }
+
+    private static Dimensions readHeader(SnapshotReader in)
+            throws IOException, WorldLoadException {
+        if (in.readInt() != MAGIC) {
+            throw new WorldLoadException("Not a farm snapshot");
+        }
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new WorldLoadException(
+                    "Snapshot is version " + version + ", expected " + VERSION);
+        }
+        final int windowSize = in.readInt();
+        final int tileSize = in.readInt();
+        if (tileSize <= 0 || windowSize <= 0 || windowSize % tileSize != 0) {
+            throw new WorldLoadException(
+                    "Malformed dimensions: window " + windowSize + ", tile " + tileSize);
+        }
+        return new TileGrid(windowSize / tileSize, windowSize);
+    }
+
+    /**
+     * Write the player manager, defining the player, then the inventory.
+     *
+     * @param out Where to write.
+     * @param player The player manager.
+     * @param inventory The player's inventory.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    static void writePlayer(SnapshotWriter out, PlayerManager player, Inventory inventory)
+            throws IOException {
+        player.save(out);
+        out.define(player.getPlayer());
+        writeInventory(out, inventory);
+    }
+
+    /**
+     * Write a tile's kind, position and removal flag, and the state of an ore vein's ore.
+     *
+     * @param out Where to write.
+     * @param tile The tile.
+     * @throws IOException If the snapshot cannot be written, or the tile is of an unknown kind.
+     */
+    static void writeTile(SnapshotWriter out, Tile tile) throws IOException {
+        out.writeByte(symbolOf(tile));
+        out.writeInt(tile.getX());
+        out.writeInt(tile.getY());
+        out.writeBoolean(tile.isMarkedForRemoval());
+        if (tile instanceof OreVein vein) {
+            vein.getOre().save(out);
+        }
+    }
+
+    /**
+     * Read back a tile written by {@link #writeTile}, with nothing but its own ore stacked on it.
+     *
+     * @param in Where to read from.
+     * @return A new tile.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the tile is of an unknown kind.
+     */
+    static Tile readTile(SnapshotReader in) throws IOException, WorldLoadException {
+        final char symbol = (char) in.readByte();
+        final Tile tile;
+        try {
+            tile = TileFactory.fromSymbol(in.readInt(), in.readInt(), symbol);
+        } catch (IllegalArgumentException e) {
+            throw new WorldLoadException("Unknown tile symbol: '" + symbol + "'");
+        }
+        if (in.readBoolean()) {
+            tile.markForRemoval();
+        }
+        if (tile instanceof OreVein vein) {
+            vein.getOre().restore(in);
+        }
+        return tile;
+    }
+
+    /**
+     * @param tile A tile.
+     * @return What is stacked on the tile, besides an ore vein's own ore.
+     */
+    static List<Entity> stackOf(Tile tile) {
+        final List<Entity> stack = tile.getStackedEntities();
+        if (tile instanceof OreVein vein) {
+            stack.remove(vein.getOre());
+        }
+        return stack;
+    }
+
+    private static List<Entity> readStack(SnapshotReader in)
+            throws IOException, WorldLoadException {
+        final int size = count(in);
+        if (size == 0) {
+            return List.of();
+        }
+        final List<Entity> stack = new ArrayList<>(size);
+        for (int i = 0; i < size; i += 1) {
+            stack.add(readStacked(in, in.readByte()));
+        }
+        return stack;
+    }
+
+    /**
+     * Write the spawners, then every bird, defining each.
+     *
+     * @param out Where to write.
+     * @param enemies The spawners and birds.
+     * @throws IOException If the snapshot cannot be written, or there is a spawner or bird of an
+     *     unknown kind.
+     */
+    static void writeEnemies(SnapshotWriter out, EnemyManager enemies) throws IOException {
+        writeSpawners(out, enemies);
+        final List<Enemy> birds = enemies.getALl();
+        out.writeInt(birds.size());
+        for (Enemy bird : birds) {
+            if (out.isDefined(bird)) {
+                // magpies and pigeons are registered twice, and must stay one bird
+                out.writeByte(REPEAT);
+                out.writeRef(bird);
+                continue;
+            }
+            writeBird(out, bird);
+            out.define(bird);
+        }
+    }
+
+    /**
+     * Read back the spawners and birds written by {@link #writeEnemies}.
+     *
+     * @param in Where to read from.
+     * @param dimensions The dimensions of the farm.
+     * @return A new enemy manager holding them.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the snapshot is malformed.
+     */
+    static EnemyManager readEnemies(SnapshotReader in, Dimensions dimensions)
+            throws IOException, WorldLoadException {
+        final EnemyManager enemies = new EnemyManager(dimensions);
+        readSpawners(in, enemies);
+        final int birdCount = count(in);
+        for (int i = 0; i < birdCount; i += 1) {
+            final int kind = in.readByte();
+            if (kind == REPEAT) {
+                if (!(in.readRef() instanceof Enemy bird)) {
+                    throw new WorldLoadException(
+                            "Repeated bird refers to something besides a bird");
+                }
+                enemies.restoreBird(bird);
+                continue;
+            }
+            final Enemy bird = readBird(in, kind);
+            enemies.restoreBird(bird);
+            in.define(bird);
+        }
+        return enemies;
+    }
+
+    /**
+     * Write where birds spawn from, then the spawners.
+     *
+     * @param out Where to write.
+     * @param enemies The spawners and birds.
+     * @throws IOException If the snapshot cannot be written, or there is a spawner of an unknown
+     *     kind.
+     */
+    static void writeSpawners(SnapshotWriter out, EnemyManager enemies) throws IOException {
+        out.writeInt(enemies.spawnX);
+        out.writeInt(enemies.spawnY);
+        out.writeInt(enemies.spawners.size());
+        for (Spawner spawner : enemies.spawners) {
+            writeSpawner(out, spawner);
+        }
+    }
+
+    /**
+     * Read back what {@link #writeSpawners} wrote into an enemy manager.
+     *
+     * @param in Where to read from.
+     * @param enemies The enemy manager to set the spawn point of and add the spawners to.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the snapshot is malformed.
+     */
+    static void readSpawners(SnapshotReader in, EnemyManager enemies)
+            throws IOException, WorldLoadException {
+        enemies.spawnX = in.readInt();
+        enemies.spawnY = in.readInt();
+        final int spawnerCount = count(in);
+        for (int i = 0; i < spawnerCount; i += 1) {
+            enemies.add(readSpawner(in));
+        }
+    }
+
+    /**
+     * Write every NPC, defining each.
+     *
+     * @param out Where to write.
+     * @param npcs The NPCs.
+     * @throws IOException If the snapshot cannot be written, or there is an NPC of an unknown
+     *     kind.
+     */
+    static void writeNpcs(SnapshotWriter out, NpcManager npcs) throws IOException {
+        final List<Npc> all = npcs.getAll();
+        out.writeInt(all.size());
+        for (Npc npc : all) {
+            writeNpc(out, npc);
+            out.define(npc);
+        }
+    }
+
+    /**
+     * Read back the NPCs written by {@link #writeNpcs}.
+     *
+     * @param in Where to read from.
+     * @return A new NPC manager holding them.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the snapshot is malformed.
+     */
+    static NpcManager readNpcs(SnapshotReader in) throws IOException, WorldLoadException {
+        final NpcManager npcs = new NpcManager();
+        final int npcCount = count(in);
+        for (int i = 0; i < npcCount; i += 1) {
+            final Npc npc = readNpc(in, in.readByte());
+            npcs.restore(npc);
+            in.define(npc);
+        }
+        return npcs;
+    }
+
+    /**
+     * Write the inventory's capacity, coins, food, active slot and items.
+     *
+     * @param out Where to write.
+     * @param inventory The inventory.
+     * @throws IOException If the snapshot cannot be written, or an item is of an unknown kind.
+     */
+    static void writeInventory(SnapshotWriter out, Inventory inventory) throws IOException {
+        out.writeInt(inventory.getCapacity());
+        out.writeInt(inventory.getCoins());
+        out.writeInt(inventory.getFood());
+        out.writeInt(inventory.getActiveSlot());
+        for (int i = 0; i < inventory.getCapacity(); i += 1) {
+            final Item item = inventory.getItem(i);
+            out.writeByte(
+                    switch (item) {
+                        case null -> 0;
+                        case Bucket bucket -> 'b';
+                        case Hoe hoe -> 'h';
+                        case Jackhammer jackhammer -> 'j';
+                        case HiveHammer hiveHammer -> 'v';
+                        case Pole pole -> 'p';
+                        default -> throw cannotSave(item);
+                    });
+        }
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The inventory written after the player manager.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the inventory is malformed.
+     */
+    static Inventory readInventory(SnapshotReader in)
+            throws IOException, WorldLoadException {
+        final int capacity = in.readInt();
+        if (capacity <= 0 || capacity > 10) {
+            throw new WorldLoadException("Malformed inventory capacity: " + capacity);
+        }
+        final Inventory inventory = new TinyInventory(capacity, in.readInt(), in.readInt());
+        final int active = in.readInt();
+        for (int i = 0; i < capacity; i += 1) {
+            final int kind = in.readByte();
+            inventory.setItem(
+                    i,
+                    switch (kind) {
+                        case 0 -> null;
+                        case 'b' -> new Bucket();
+                        case 'h' -> new Hoe();
+                        case 'j' -> new Jackhammer();
+                        case 'v' -> new HiveHammer();
+                        case 'p' -> new Pole();
+                        default -> throw unknown("item", kind);
+                    });
+        }
+        if (active < 0 || active >= capacity) {
+            throw new WorldLoadException("Malformed active slot: " + active);
+        }
+        inventory.setActiveSlot(active);
+        return inventory;
+    }
+
+    /**
+     * @param tile A tile.
+     * @return The map symbol of the tile's kind.
+     * @throws IOException If the tile is of a kind that can't be saved.
+     */
+    static int symbolOf(Tile tile) throws IOException {
+        return switch (tile) {
+            case Dirt dirt -> dirt.isTilled() ? 't' : 'd';
+            case Grass grass -> 'g';
+            case Water water -> 'w';
+            case OreVein vein -> 'o';
+            default -> throw cannotSave(tile);
+        };
+    }
+
+    private static void writeSpawner(SnapshotWriter out, Spawner spawner) throws IOException {
+        switch (spawner) {
+            case MagpieSpawner magpies -> {
+                out.writeByte('m');
+                magpies.save(out);
+            }
+            case EagleSpawner eagles -> {
+                out.writeByte('e');
+                eagles.save(out);
+            }
+            case PigeonSpawner pigeons -> {
+                out.writeByte('p');
+                pigeons.save(out);
+            }
+            case ScarecrowSpawner scarecrows -> {
+                out.writeByte('s');
+                scarecrows.save(out);
+            }
+            default -> throw cannotSave(spawner);
+        }
+    }
+
+    private static Spawner readSpawner(SnapshotReader in) throws IOException, WorldLoadException {
+        final int kind = in.readByte();
+        return switch (kind) {
+            case 'm' -> MagpieSpawner.restore(in);
+            case 'e' -> EagleSpawner.restore(in);
+            case 'p' -> PigeonSpawner.restore(in);
+            case 's' -> ScarecrowSpawner.restore(in);
+            default -> throw unknown("spawner", kind);
+        };
+    }
+
+    /**
+     * Write a bird as a one-letter kind and its own fields.
+     *
+     * @param out Where to write.
+     * @param bird The bird.
+     * @throws IOException If the snapshot cannot be written, or the bird is of an unknown kind.
+     */
+    static void writeBird(SnapshotWriter out, Enemy bird) throws IOException {
+        switch (bird) {
+            case Magpie magpie -> {
+                out.writeByte('m');
+                magpie.save(out);
+            }
+            case Eagle eagle -> {
+                out.writeByte('e');
+                eagle.save(out);
+            }
+            case Pigeon pigeon -> {
+                out.writeByte('p');
+                pigeon.save(out);
+            }
+            default -> throw cannotSave(bird);
+        }
+    }
+
+    /**
+     * Read back a bird written by {@link #writeBird}.
+     *
+     * @param in Where to read from.
+     * @param kind The kind of bird, already read.
+     * @return A new bird.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the bird is of an unknown kind.
+     */
+    static Enemy readBird(SnapshotReader in, int kind) throws IOException, WorldLoadException {
+        return switch (kind) {
+            case 'm' -> Magpie.restore(in);
+            case 'e' -> Eagle.restore(in);
+            case 'p' -> Pigeon.restore(in);
+            default -> throw unknown("bird", kind);
+        };
+    }
+
+    /**
+     * Write an NPC as a one-letter kind and its own fields.
+     *
+     * @param out Where to write.
+     * @param npc The NPC.
+     * @throws IOException If the snapshot cannot be written, or the NPC is of an unknown kind.
+     */
+    static void writeNpc(SnapshotWriter out, Npc npc) throws IOException {
+        switch (npc) {
+            case BeeHive hive -> {
+                out.writeByte('h');
+                hive.save(out);
+            }
+            case Scarecrow scarecrow -> {
+                out.writeByte('s');
+                scarecrow.save(out);
+            }
+            case GuardBee bee -> {
+                out.writeByte('b');
+                bee.save(out);
+            }
+            default -> throw cannotSave(npc);
+        }
+    }
+
+    /**
+     * Read back an NPC written by {@link #writeNpc}.
+     *
+     * @param in Where to read from.
+     * @param kind The kind of NPC, already read.
+     * @return A new NPC.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the NPC is of an unknown kind.
+     */
+    static Npc readNpc(SnapshotReader in, int kind) throws IOException, WorldLoadException {
+        return switch (kind) {
+            case 'h' -> BeeHive.restore(in);
+            case 's' -> Scarecrow.restore(in);
+            case 'b' -> GuardBee.restore(in);
+            default -> throw unknown("NPC", kind);
+        };
+    }
+
+    /**
+     * Write an entity stacked on a tile. An NPC that has been defined is written as a reference
+     * to it.
+     *
+     * @param out Where to write.
+     * @param entity The stacked entity.
+     * @throws IOException If the snapshot cannot be written, or the entity is of an unknown kind.
+     */
+    static void writeStacked(SnapshotWriter out, Entity entity) throws IOException {
+        if (entity instanceof Cabbage cabbage) {
+            out.writeByte(CABBAGE);
+            cabbage.save(out);
+        } else if (entity instanceof Npc npc && out.isDefined(npc)) {
+            // a hive or scarecrow placed on a tile is also managed, and must stay one object
+            out.writeByte(MANAGED_NPC);
+            out.writeRef(npc);
+        } else if (entity instanceof Npc npc) {
+            writeNpc(out, npc);
+        } else {
+            throw cannotSave(entity);
+        }
+    }
+
+    /**
+     * Read back an entity written by {@link #writeStacked}.
+     *
+     * @param in Where to read from.
+     * @param kind The kind of entity, already read.
+     * @return The stacked entity.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the snapshot is malformed.
+     */
+    static Entity readStacked(SnapshotReader in, int kind)
+            throws IOException, WorldLoadException {
+        if (kind == CABBAGE) {
+            return Cabbage.restore(in);
+        }
+        if (kind == MANAGED_NPC) {
+            if (!(in.readRef() instanceof Npc npc) || npc instanceof Enemy) {
+                throw new WorldLoadException("Stacked entity refers to something besides an NPC");
+            }
+            return npc;
+        }
+        return readNpc(in, kind);
+    }
+
+    /**
+     * @param in Where to read from.
+     * @return The next int, which counts what follows.
+     * @throws IOException If the snapshot cannot be read.
+     * @throws WorldLoadException If the count is negative.
+     */
+    static int count(SnapshotReader in) throws IOException, WorldLoadException {
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new WorldLoadException("Malformed count: " + count);
+        }
+        return count;
+    }
+
+    private static IOException cannotSave(Object object) {
+        return new IOException("Cannot save a " + object.getClass().getName());
+    }
+
+    private static WorldLoadException unknown(String what, int kind) {
+        return new WorldLoadException("Unknown " + what + " kind: '" + (char) kind + "'");
+    }
+}
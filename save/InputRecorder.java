@@ -0,0 +1,258 @@
+package builder.save;
+
+import builder.JavaBeanFarm;
+
+import engine.EngineState;
+import engine.game.Game;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Records the input a farm is played with, tick by tick, so {@link InputReplay} can play the game
+ * back as it happened, e.g. to reproduce a bug.
+ *
+ * <p>A recorder stands in for the farm it records: give it to the engine in place of the farm, and
+ * every tick it writes down the engine's state before passing it on. A recording holds
+ *
+ * <ol>
+ *   <li>the magic number {@code JBFR}, the format {@link #VERSION}, the window size and tile size
+ *       and how many ticks apart keyframes are, followed by
+ *   <li>a keyframe, then the ticks up to the next keyframe, and so on.
+ * </ol>
+ *
+ * <p>A keyframe is the tick it was taken before and a length-prefixed {@link FarmSnapshot}, which
+ * lets a replay start from there rather than from the first tick. A tick is only what changed
+ * since the tick before: a byte of flags saying whether the tick number skipped, the mouse moved,
+ * its buttons changed or different keys were held, followed by just those changes, as
+ * variable-length ints. A tick where nothing changed is a single byte. Each keyframe starts the
+ * comparison over, from no keys held and the mouse unpressed in the top-left corner, so ticks can
+ * be read from any keyframe on.
+ *
+ * <p>Every tick is written out as it is recorded, so a recording is usable up to the tick a game
+ * crashed on. A keyframe's length is written last, so one cut short is ignored.
+ */
+public class InputRecorder implements Game, Closeable {
+
+    /** Incremented whenever the layout changes; recordings of other versions are rejected. */
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x4A424652; // "JBFR"
+
+    // what each entry starts with: a keyframe, the end of the recording, or a tick's flags
+    static final int KEYFRAME = 0x80;
+    static final int END = 0x40;
+    static final int TICK_SKIPPED = 0x01;
+    static final int MOUSE_MOVED = 0x02;
+    static final int BUTTONS_CHANGED = 0x04;
+    static final int KEYS_CHANGED = 0x08;
+
+    static final int LEFT = 0x01;
+    static final int RIGHT = 0x02;
+    static final int MIDDLE = 0x04;
+
+    private final JavaBeanFarm farm;
+    private final int keyframeInterval;
+    private final FileChannel channel;
+    private final SnapshotWriter out;
+
+    private boolean started;
+    private int nextKeyframe;
+    private final Input previous = new Input();
+
+    /**
+     * Construct a recorder that records a farm's input to a file, replacing anything already
+     * there. Nothing is written until the first tick, which always starts with a keyframe.
+     *
+     * @requires keyframeInterval > 0
+     * @param farm The farm to record, and pass the engine's state on to.
+     * @param file Where to write the recording.
+     * @param keyframeInterval How many ticks apart to take keyframes.
+     * @throws IOException If the file cannot be created.
+     */
+    public InputRecorder(JavaBeanFarm farm, Path file, int keyframeInterval) throws IOException {
+        assert keyframeInterval > 0;
+        this.farm = farm;
+        this.keyframeInterval = keyframeInterval;
+        this.channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new SnapshotWriter(channel);
+    }
+
+    /**
+     * Record the engine's state, then tick the farm with it.
+     *
+     * @param state The state of the engine, including the mouse, keyboard information and
+     *     dimension. Useful for processing keyboard presses or mouse movement.
+     * @throws UncheckedIOException If the recording cannot be written to.
+     * @throws IllegalStateException If the tick isn't later than the last one recorded.
+     */
+    @Override
+    public void tick(EngineState state) {
+        try {
+            record(state);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Recording input failed", e);
+        }
+        farm.tick(state);
+    }
+
+    @Override
+    public List<Renderable> render() {
+        return farm.render();
+    }
+
+    /**
+     * Finish the recording and close its file.
+     *
+     * @throws IOException If the recording cannot be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            out.writeByte(END);
+            out.flush();
+        }
+    }
+
+    private void record(EngineState state) throws IOException {
+        final int tick = state.currentTick();
+        if (!started) {
+            writeHeader(state.getDimensions());
+            nextKeyframe = tick;
+            started = true;
+        } else if (tick <= previous.tick) {
+            throw new IllegalStateException(
+                    "Tick " + tick + " recorded after tick " + previous.tick);
+        }
+        if (tick >= nextKeyframe) {
+            writeKeyframe(tick);
+            nextKeyframe = tick + keyframeInterval;
+        }
+        writeTick(state, tick);
+        out.flush();
+    }
+
+    private void writeHeader(Dimensions dimensions) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(dimensions.windowSize());
+        out.writeInt(dimensions.tileSize());
+        out.writeInt(keyframeInterval);
+    }
+
+    private void writeKeyframe(int tick) throws IOException {
+        out.writeByte(KEYFRAME);
+        out.writeInt(tick);
+        out.writeInt(0);
+        out.flush();
+        final long start = channel.position();
+        farm.save(channel);
+        // only now is the keyframe complete, so only now does it get a length
+        final ByteBuffer length =
+                ByteBuffer.allocate(Integer.BYTES)
+                        .putInt(0, Math.toIntExact(channel.position() - start));
+        channel.write(length, start - Integer.BYTES);
+        previous.reset(tick - 1);
+    }
+
+    private void writeTick(EngineState state, int tick) throws IOException {
+        final MouseState mouse = state.getMouse();
+        final KeyState keys = state.getKeys();
+        final int x = mouse.getMouseX();
+        final int y = mouse.getMouseY();
+        final int buttons = buttonsOf(mouse);
+        final List<Character> down = keys.getDown();
+
+        int flags = 0;
+        if (tick != previous.tick + 1) {
+            flags |= TICK_SKIPPED;
+        }
+        if (x != previous.mouseX || y != previous.mouseY) {
+            flags |= MOUSE_MOVED;
+        }
+        if (buttons != previous.buttons) {
+            flags |= BUTTONS_CHANGED;
+        }
+        if (!down.equals(previous.keys)) {
+            flags |= KEYS_CHANGED;
+        }
+
+        out.writeByte(flags);
+        if ((flags & TICK_SKIPPED) != 0) {
+            writeVarInt(tick - previous.tick - 1);
+        }
+        if ((flags & MOUSE_MOVED) != 0) {
+            writeVarInt(zigzag(x - previous.mouseX));
+            writeVarInt(zigzag(y - previous.mouseY));
+        }
+        if ((flags & BUTTONS_CHANGED) != 0) {
+            out.writeByte(buttons);
+        }
+        if ((flags & KEYS_CHANGED) != 0) {
+            writeVarInt(down.size());
+            for (char key : down) {
+                writeVarInt(key);
+            }
+        }
+        previous.set(
+                tick,
+                x,
+                y,
+                buttons,
+                (flags & KEYS_CHANGED) != 0 ? List.copyOf(down) : previous.keys);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int buttonsOf(MouseState mouse) {
+        return (mouse.isLeftPressed() ? LEFT : 0)
+                | (mouse.isRightPressed() ? RIGHT : 0)
+                | (mouse.isMiddlePressed() ? MIDDLE : 0);
+    }
+
+    /** The input of the tick before, which the next tick is written as changes to. */
+    static class Input {
+        int tick;
+        int mouseX;
+        int mouseY;
+        int buttons;
+        List<Character> keys = List.of();
+
+        void reset(int tick) {
+            set(tick, 0, 0, 0, List.of());
+        }
+
+        void set(int tick, int mouseX, int mouseY, int buttons, List<Character> keys) {
+            this.tick = tick;
+            this.mouseX = mouseX;
+            this.mouseY = mouseY;
+            this.buttons = buttons;
+            this.keys = keys;
+        }
+    }
+}
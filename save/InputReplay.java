@@ -0,0 +1,391 @@
+package builder.save;
+
+import builder.JavaBeanFarm;
+import builder.world.WorldLoadException;
+
+import engine.EngineState;
+import engine.input.KeyState;
+import engine.input.MouseState;
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays back a recording made by {@link InputRecorder}, feeding the recorded engine states to the
+ * farm as fast as it can tick.
+ *
+ * <p>{@link #seek(int)} gives the farm as it was just before any recorded tick, by loading the
+ * last keyframe taken at or before it and playing on from there, so it never has to go back
+ * further than the keyframe interval. Keyframes are found by one pass over the recording when it
+ * is opened, which skips over the snapshots themselves and is cheap next to ticking the farm.
+ *
+ * <p>States are given to the farm directly, with the tick numbers they were recorded with, rather
+ * than through an {@link engine.Engine}, which always counts ticks from zero. A replay plays out
+ * as the recorded game did, with everything in the same place and the same inventory, since
+ * nothing the farm does is random: a keyframe and the input after it decide everything. Keyframes
+ * don't hold animation frames, so after a seek an animated sprite, e.g. the player walking, may
+ * show a different frame of its animation than it did when recorded.
+ */
+public class InputReplay implements Closeable {
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final Dimensions dimensions;
+    private final List<Keyframe> keyframes = new ArrayList<>();
+    private int endTick;
+
+    // where the reader is up to, and the last tick it read, which the next is written relative to
+    private SnapshotReader in;
+    private long position;
+    private final InputRecorder.Input previous = new InputRecorder.Input();
+    private EngineState upcoming;
+
+    private InputReplay(FileChannel channel, Dimensions dimensions) {
+        this.channel = channel;
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Open a recording to replay. A recording that was cut short, e.g. by the game crashing, is
+     * replayed up to its last complete tick.
+     *
+     * @param file The recording.
+     * @return The replay, ready to {@link #seek(int)}.
+     * @throws IOException If the file cannot be read.
+     * @throws WorldLoadException If the file isn't a recording, or it is malformed.
+     */
+    public static InputReplay open(Path file) throws IOException, WorldLoadException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            final InputReplay replay = new InputReplay(channel, readHeader(channel));
+            replay.index();
+            return replay;
+        } catch (IOException | WorldLoadException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The dimensions of the recorded game.
+     */
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return The first tick recorded.
+     */
+    public int firstTick() {
+        return keyframes.getFirst().tick();
+    }
+
+    /**
+     * @return One past the last tick recorded.
+     */
+    public int endTick() {
+        return endTick;
+    }
+
+    /**
+     * Rebuild the farm as it was just before the given tick, and carry on the replay from there.
+     * Positions, inventory and the rest of the game's state match the recording, but animations
+     * restart from the keyframe, so their frames may not.
+     *
+     * @requires firstTick() <= tick <= endTick()
+     * @param tick The tick to replay next.
+     * @return The farm, ready to be given the states from {@link #next()}, or to {@link
+     *     #play(JavaBeanFarm, int)}.
+     * @throws IOException If the recording cannot be read.
+     * @throws WorldLoadException If the keyframe is malformed.
+     */
+    public JavaBeanFarm seek(int tick) throws IOException, WorldLoadException {
+        assert firstTick() <= tick && tick <= endTick;
+        Keyframe keyframe = keyframes.getFirst();
+        for (Keyframe candidate : keyframes) {
+            if (candidate.tick() > tick) {
+                break;
+            }
+            keyframe = candidate;
+        }
+        channel.position(keyframe.snapshot());
+        final JavaBeanFarm farm = JavaBeanFarm.load(channel);
+        moveTo(keyframe.snapshot() + keyframe.length());
+        previous.reset(keyframe.tick() - 1);
+        advance();
+        play(farm, tick);
+        return farm;
+    }
+
+    /**
+     * Tick a farm with every recorded state before the given tick, as fast as it will go.
+     *
+     * @param farm The farm, as it was just before the next tick to replay, e.g. from {@link
+     *     #seek(int)}.
+     * @param tick The tick to stop before.
+     * @throws IOException If the recording cannot be read.
+     */
+    public void play(JavaBeanFarm farm, int tick) throws IOException {
+        while (hasNext() && upcoming.currentTick() < tick) {
+            farm.tick(next());
+        }
+    }
+
+    /**
+     * @return If there are recorded ticks left to replay.
+     */
+    public boolean hasNext() {
+        return upcoming != null;
+    }
+
+    /**
+     * @requires hasNext()
+     * @return The state of the engine on the next recorded tick.
+     * @throws IOException If the recording cannot be read.
+     */
+    public EngineState next() throws IOException {
+        assert hasNext();
+        final EngineState state = upcoming;
+        advance();
+        return state;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static Dimensions readHeader(FileChannel channel)
+            throws IOException, WorldLoadException {
+        final SnapshotReader in = new SnapshotReader(channel);
+        if (in.readInt() != InputRecorder.MAGIC) {
+            throw new WorldLoadException("Not an input recording");
+        }
+        final int version = in.readInt();
+        if (version != InputRecorder.VERSION) {
+            throw new WorldLoadException(
+                    "Recording is version " + version + ", expected " + InputRecorder.VERSION);
+        }
+        final int windowSize = in.readInt();
+        final int tileSize = in.readInt();
+        if (tileSize <= 0 || windowSize <= 0 || windowSize % tileSize != 0) {
+            throw new WorldLoadException(
+                    "Malformed dimensions: window " + windowSize + ", tile " + tileSize);
+        }
+        in.readInt(); // the keyframe interval, which the keyframes themselves say more exactly
+        return new TileGrid(windowSize / tileSize, windowSize);
+    }
+
+    /** Find every complete keyframe, and the last complete tick. */
+    private void index() throws IOException, WorldLoadException {
+        moveTo(HEADER_BYTES);
+        endTick = Integer.MIN_VALUE;
+        try {
+            while (true) {
+                final int entry = readByte();
+                if (entry == InputRecorder.END) {
+                    break;
+                }
+                if (entry != InputRecorder.KEYFRAME && keyframes.isEmpty()) {
+                    throw new WorldLoadException("Recording doesn't start with a keyframe");
+                }
+                if (entry == InputRecorder.KEYFRAME) {
+                    final Keyframe keyframe = readKeyframe();
+                    if (keyframe == null) {
+                        break;
+                    }
+                    keyframes.add(keyframe);
+                    endTick = keyframe.tick();
+                } else {
+                    readTick(entry);
+                    endTick = previous.tick + 1;
+                }
+            }
+        } catch (EOFException e) {
+            // the game stopped partway through writing an entry, so the one before was the last
+        }
+        if (keyframes.isEmpty()) {
+            throw new WorldLoadException("Recording has no complete keyframe");
+        }
+    }
+
+    /** Read the next tick into upcoming, skipping keyframes, or clear it at the end. */
+    private void advance() throws IOException {
+        upcoming = null;
+        try {
+            while (upcoming == null) {
+                final int entry = readByte();
+                if (entry == InputRecorder.END) {
+                    return;
+                }
+                if (entry == InputRecorder.KEYFRAME) {
+                    if (readKeyframe() == null) {
+                        return;
+                    }
+                } else {
+                    upcoming = readTick(entry);
+                }
+            }
+        } catch (EOFException e) {
+            // cut short, as index() found
+        }
+    }
+
+    /**
+     * Read a keyframe's details and skip past its snapshot.
+     *
+     * @return The keyframe, or null if it was never finished.
+     */
+    private Keyframe readKeyframe() throws IOException {
+        final int tick = readInt();
+        final int length = readInt();
+        final Keyframe keyframe = new Keyframe(tick, position, length);
+        if (length <= 0 || position + length > channel.size()) {
+            return null;
+        }
+        moveTo(position + length);
+        previous.reset(tick - 1);
+        return keyframe;
+    }
+
+    private EngineState readTick(int flags) throws IOException {
+        if ((flags & ~0x0F) != 0) {
+            throw new IOException("Malformed tick flags " + flags + " at " + (position - 1));
+        }
+        int tick = previous.tick + 1;
+        int mouseX = previous.mouseX;
+        int mouseY = previous.mouseY;
+        int buttons = previous.buttons;
+        List<Character> keys = previous.keys;
+        if ((flags & InputRecorder.TICK_SKIPPED) != 0) {
+            tick += readVarInt();
+        }
+        if ((flags & InputRecorder.MOUSE_MOVED) != 0) {
+            mouseX += unzigzag(readVarInt());
+            mouseY += unzigzag(readVarInt());
+        }
+        if ((flags & InputRecorder.BUTTONS_CHANGED) != 0) {
+            buttons = readByte();
+        }
+        if ((flags & InputRecorder.KEYS_CHANGED) != 0) {
+            final Character[] down = new Character[readVarInt()];
+            for (int i = 0; i < down.length; i += 1) {
+                down[i] = (char) readVarInt();
+            }
+            keys = List.of(down);
+        }
+        previous.set(tick, mouseX, mouseY, buttons, keys);
+        return new RecordedState(dimensions, tick, mouseX, mouseY, buttons, keys);
+    }
+
+    private void moveTo(long position) throws IOException {
+        channel.position(position);
+        this.position = position;
+        in = new SnapshotReader(channel);
+    }
+
+    private int readByte() throws IOException {
+        position += Byte.BYTES;
+        return in.readByte() & 0xFF;
+    }
+
+    private int readInt() throws IOException {
+        position += Integer.BYTES;
+        return in.readInt();
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int part = readByte();
+            value |= (part & 0x7F) << shift;
+            if ((part & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length int at " + position);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Where a keyframe's snapshot is in the recording.
+     *
+     * @param tick The tick the keyframe was taken before.
+     * @param snapshot Where its snapshot starts.
+     * @param length How long its snapshot is.
+     */
+    private record Keyframe(int tick, long snapshot, int length) {}
+
+    /** The state of the engine on a recorded tick. */
+    private record RecordedState(
+            Dimensions dimensions,
+            int currentTick,
+            int mouseX,
+            int mouseY,
+            int buttons,
+            List<Character> keys)
+            implements EngineState, MouseState, KeyState {
+
+        @Override
+        public Dimensions getDimensions() {
+            return dimensions;
+        }
+
+        @Override
+        public MouseState getMouse() {
+            return this;
+        }
+
+        @Override
+        public KeyState getKeys() {
+            return this;
+        }
+
+        @Override
+        public int getMouseX() {
+            return mouseX;
+        }
+
+        @Override
+        public int getMouseY() {
+            return mouseY;
+        }
+
+        @Override
+        public boolean isLeftPressed() {
+            return (buttons & InputRecorder.LEFT) != 0;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return (buttons & InputRecorder.RIGHT) != 0;
+        }
+
+        @Override
+        public boolean isMiddlePressed() {
+            return (buttons & InputRecorder.MIDDLE) != 0;
+        }
+
+        @Override
+        public List<Character> getDown() {
+            return keys;
+        }
+
+        @Override
+        public boolean isDown(char key) {
+            return keys.contains(key);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package builder.save;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Appends to a file through memory mappings, mapping a region at a time from wherever the last
+ * region filled up. A write is a copy into memory: it is in the operating system's hands as soon
+ * as it returns, so it survives the game crashing, but not the machine unless {@link #force()} is
+ * called first.
+ *
+ * <p>Mapping a region extends the file with zeros, so a reader finds zeros wherever nothing has
+ * been written yet.
+ */
+class MappedAppender implements WritableByteChannel {
+
+    private static final int REGION = 4 << 20;
+
+    private final FileChannel file;
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    /**
+     * Construct an appender that writes from the start of the given file.
+     *
+     * @param file The file to append to, open for reading and writing. Closed by {@link
+     *     #close()}.
+     * @throws IOException If the file cannot be mapped.
+     */
+    MappedAppender(FileChannel file) throws IOException {
+        this.file = file;
+        this.region = file.map(FileChannel.MapMode.READ_WRITE, 0, REGION);
+    }
+
+    /**
+     * @return Where the next byte will be written.
+     */
+    long position() {
+        return regionStart + region.position();
+    }
+
+    /**
+     * Append an int, e.g. as a placeholder to fill in later with {@link #putInt(long, int)}.
+     *
+     * @param value The int to append.
+     * @return Where the int was written.
+     * @throws IOException If the file cannot be mapped any further.
+     */
+    long appendInt(int value) throws IOException {
+        if (region.remaining() < Integer.BYTES) {
+            nextRegion();
+        }
+        final long at = position();
+        region.putInt(value);
+        return at;
+    }
+
+    /**
+     * Overwrite an int that has already been appended.
+     *
+     * @param at Where the int was appended.
+     * @param value Its new value.
+     * @throws IOException If an earlier region has to be mapped again and cannot be.
+     */
+    void putInt(long at, int value) throws IOException {
+        if (at >= regionStart) {
+            region.putInt((int) (at - regionStart), value);
+        } else {
+            file.map(FileChannel.MapMode.READ_WRITE, at, Integer.BYTES).putInt(0, value);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+        final int written = source.remaining();
+        while (source.hasRemaining()) {
+            if (!region.hasRemaining()) {
+                nextRegion();
+            }
+            final int length = Math.min(source.remaining(), region.remaining());
+            region.put(region.position(), source, source.position(), length);
+            region.position(region.position() + length);
+            source.position(source.position() + length);
+        }
+        return written;
+    }
+
+    /**
+     * Make sure everything appended so far is on disk.
+     *
+     * @throws IOException If the file cannot be written to.
+     */
+    void force() throws IOException {
+        region.force();
+        file.force(true);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return file.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private void nextRegion() throws IOException {
+        // a full region is never touched again, bar the odd length filled in, so push it out now
+        // and let force() deal with the current region alone
+        region.force();
+        // start the next region exactly where this one ends up, so nothing is ever skipped
+        regionStart = position();
+        region = file.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION);
+    }
+}
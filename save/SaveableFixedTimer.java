@@ -0,0 +1,44 @@
+package builder.save;
+
+import engine.timing.FixedTimer;
+import engine.timing.TimerDuration;
+
+/**
+ * A {@link FixedTimer} that keeps count of how far along it is, so it can be saved without
+ * reaching into the engine's timer. Any fixed timer the farm saves must be one of these.
+ */
+public class SaveableFixedTimer extends FixedTimer {
+
+    private final int duration;
+    private int progress;
+
+    /**
+     * @requires duration > 0
+     * @param duration How many ticks until the timer finishes.
+     */
+    public SaveableFixedTimer(int duration) {
+        super(duration);
+        this.duration = duration;
+    }
+
+    /**
+     * @param duration How many ticks until the timer finishes.
+     */
+    public SaveableFixedTimer(TimerDuration duration) {
+        this(duration.getDuration());
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+        // the engine's timer stops for good on the tick after reaching its duration
+        progress = Math.min(progress + 1, duration + 1);
+    }
+
+    /**
+     * @return How far along the timer is.
+     */
+    public TimerState state() {
+        return new TimerState(false, duration, progress);
+    }
+}
@@ -0,0 +1,44 @@
+package builder.save;
+
+import engine.timing.RepeatingTimer;
+import engine.timing.TimerDuration;
+
+/**
+ * A {@link RepeatingTimer} that keeps count of how far along it is, so it can be saved without
+ * reaching into the engine's timer. Any repeating timer the farm saves must be one of these.
+ */
+public class SaveableRepeatingTimer extends RepeatingTimer {
+
+    private final int interval;
+    private int progress;
+
+    /**
+     * @requires interval > 0
+     * @param interval How many ticks between each time the timer finishes.
+     */
+    public SaveableRepeatingTimer(int interval) {
+        super(interval);
+        this.interval = interval;
+    }
+
+    /**
+     * @param duration How many ticks between each time the timer finishes.
+     */
+    public SaveableRepeatingTimer(TimerDuration duration) {
+        this(duration.getDuration());
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+        // the engine's timer counts 1 to interval, then starts over at 1
+        progress = progress == interval ? 1 : progress + 1;
+    }
+
+    /**
+     * @return How far along the timer is.
+     */
+    public TimerState state() {
+        return new TimerState(true, interval, progress);
+    }
+}
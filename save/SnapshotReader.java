@@ -0,0 +1,178 @@
+package builder.save;
+
+import engine.game.HasPosition;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads back the values written by a {@link SnapshotWriter}, in the same order, from a channel
+ * through a fixed buffer.
+ */
+public class SnapshotReader {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).limit(0);
+    private final List<Object> defined = new ArrayList<>();
+
+    /**
+     * Construct a reader that reads from the given channel.
+     *
+     * @param channel Where to read the snapshot from.
+     */
+    public SnapshotReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @return The next byte.
+     * @throws IOException If the channel cannot be read from or has ended.
+     */
+    public int readByte() throws IOException {
+        require(Byte.BYTES);
+        return buffer.get();
+    }
+
+    /**
+     * @return The next boolean.
+     * @throws IOException If the channel cannot be read from or has ended.
+     */
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    /**
+     * @return The next int.
+     * @throws IOException If the channel cannot be read from or has ended.
+     */
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    /**
+     * @param length How many bytes to read.
+     * @return The next bytes, as they were written.
+     * @throws IOException If the channel cannot be read from or has ended.
+     */
+    byte[] readBytes(int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        for (int start = 0; start < length; ) {
+            require(1);
+            final int chunk = Math.min(buffer.remaining(), length - start);
+            buffer.get(bytes, start, chunk);
+            start += chunk;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return How far along the next timer was when it was written.
+     * @throws IOException If the channel cannot be read from or has ended, or the timer is
+     *     malformed.
+     */
+    public TimerState readTimer() throws IOException {
+        final boolean repeating = readBoolean();
+        final int length = readInt();
+        final int progress = readInt();
+        if (length <= 0 || progress < 0 || progress > length + 1) {
+            throw new IOException(
+                    "Malformed timer: length " + length + ", progress " + progress);
+        }
+        return new TimerState(repeating, length, progress);
+    }
+
+    /**
+     * Give the object the next id, matching the order the writer defined objects in.
+     *
+     * @param object An object that may be referred to later in the snapshot.
+     */
+    public void define(Object object) {
+        defined.add(object);
+    }
+
+    /**
+     * Give the object the given id, e.g. when objects are brought back out of the order they
+     * were defined in. Any ids skipped over stay undefined until given an object.
+     *
+     * @param id The id the writer gave the object.
+     * @param object The object.
+     */
+    void define(int id, Object object) {
+        while (defined.size() <= id) {
+            defined.add(null);
+        }
+        defined.set(id, object);
+    }
+
+    /**
+     * @return The object the next reference refers to, a stand-in for an object that was never
+     *     defined, or null.
+     * @throws IOException If the channel cannot be read from or has ended, or the reference is to
+     *     something that hasn't been defined yet or has no position.
+     */
+    public HasPosition readRef() throws IOException {
+        final int id = readInt();
+        if (id == SnapshotWriter.NULL_REF) {
+            return null;
+        }
+        if (id == SnapshotWriter.POSITION_REF) {
+            return new FixedPosition(readInt(), readInt());
+        }
+        if (id < 0 || id >= defined.size()) {
+            throw new IOException("Reference to undefined object " + id);
+        }
+        if (!(defined.get(id) instanceof HasPosition target)) {
+            throw new IOException("Reference to object " + id + " which has no position");
+        }
+        return target;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Snapshot ended early");
+            }
+        }
+        buffer.flip();
+    }
+
+    /** Where a target that no longer exists was when the snapshot was taken. */
+    private static class FixedPosition implements HasPosition {
+        private int x;
+        private int y;
+
+        FixedPosition(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public void setY(int y) {
+            this.y = y;
+        }
+    }
+}
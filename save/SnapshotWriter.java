@@ -0,0 +1,178 @@
+package builder.save;
+
+import engine.game.HasPosition;
+import engine.timing.TickTimer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the primitive values of a snapshot to a channel through a fixed buffer, so a snapshot of
+ * any size is streamed out without being held in memory.
+ *
+ * <p>Objects that others refer to, e.g. the tile a pigeon is flying at, are given an id with
+ * {@link #define(Object)} as they are written. Later references to them are written as that id
+ * with {@link #writeRef(HasPosition)}, and resolved by {@link SnapshotReader#readRef()}.
+ */
+public class SnapshotWriter {
+
+    static final int NULL_REF = -1;
+    static final int POSITION_REF = -2;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final Map<Object, Integer> ids;
+    private final List<Object> defined;
+
+    /**
+     * Construct a writer that writes to the given channel. Nothing is guaranteed to reach the
+     * channel until {@link #flush()} is called.
+     *
+     * @param channel Where to write the snapshot.
+     */
+    public SnapshotWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.ids = new IdentityHashMap<>();
+        this.defined = new ArrayList<>();
+    }
+
+    /**
+     * Construct a writer that writes to the given channel, referring to objects by the ids
+     * another writer gave them, including any it defines from now on.
+     *
+     * @param channel Where to write.
+     * @param shared The writer whose ids to use.
+     */
+    SnapshotWriter(WritableByteChannel channel, SnapshotWriter shared) {
+        this.channel = channel;
+        this.ids = shared.ids;
+        this.defined = shared.defined;
+    }
+
+    /**
+     * @param value The byte to write, from its lowest eight bits.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeByte(int value) throws IOException {
+        require(Byte.BYTES);
+        buffer.put((byte) value);
+    }
+
+    /**
+     * @param value The boolean to write.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * @param value The int to write.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeInt(int value) throws IOException {
+        require(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * @param bytes The bytes to write as they are, e.g. those another writer wrote.
+     * @throws IOException If the channel cannot be written to.
+     */
+    void write(byte[] bytes) throws IOException {
+        for (int start = 0; start < bytes.length; ) {
+            require(1);
+            final int length = Math.min(buffer.remaining(), bytes.length - start);
+            buffer.put(bytes, start, length);
+            start += length;
+        }
+    }
+
+    /**
+     * Write how far along a timer is, to be recreated by {@link SnapshotReader#readTimer()}.
+     *
+     * @param timer A {@link SaveableRepeatingTimer} or {@link SaveableFixedTimer}.
+     * @throws IOException If the channel cannot be written to.
+     * @throws IllegalArgumentException If the timer is of any other kind.
+     */
+    public void writeTimer(TickTimer timer) throws IOException {
+        final TimerState state = TimerState.of(timer);
+        writeBoolean(state.repeating());
+        writeInt(state.length());
+        writeInt(state.progress());
+    }
+
+    /**
+     * Give the object the next id, for later references to it. Objects must be defined in the
+     * order the reader will define them.
+     *
+     * @param object An object that may be referred to later in the snapshot.
+     */
+    public void define(Object object) {
+        ids.put(object, defined.size());
+        defined.add(object);
+    }
+
+    /**
+     * @param object Any object.
+     * @return The id the object was given by {@link #define(Object)}, or -1 if it has none.
+     */
+    int idOf(Object object) {
+        final Integer id = ids.get(object);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param object Any object.
+     * @return Whether the object has been given an id with {@link #define(Object)}.
+     */
+    public boolean isDefined(Object object) {
+        return ids.containsKey(object);
+    }
+
+    /**
+     * Write a reference to something with a position. An object that was never defined, e.g. a
+     * bird that has since been removed, is written as a stand-in at its current position.
+     *
+     * @param target The object to refer to, or null.
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void writeRef(HasPosition target) throws IOException {
+        if (target == null) {
+            writeInt(NULL_REF);
+            return;
+        }
+        final Integer id = ids.get(target);
+        if (id != null) {
+            writeInt(id);
+        } else {
+            writeInt(POSITION_REF);
+            writeInt(target.getX());
+            writeInt(target.getY());
+        }
+    }
+
+    /**
+     * Write everything buffered so far to the channel.
+     *
+     * @throws IOException If the channel cannot be written to.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
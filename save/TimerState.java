@@ -0,0 +1,66 @@
+package builder.save;
+
+import engine.timing.TickTimer;
+
+/**
+ * How far along one of the farm's timers is, so it can be saved and recreated.
+ *
+ * <p>The engine's timers don't expose their progress, so the farm uses {@link
+ * SaveableRepeatingTimer} and {@link SaveableFixedTimer}, which count their own ticks. A timer is
+ * recreated by constructing a new one of the same length and ticking it {@code progress} times,
+ * which leaves it in exactly the state it was saved in.
+ *
+ * @param repeating Whether the timer is a repeating timer rather than a fixed one.
+ * @param length The interval of a repeating timer or the duration of a fixed one, in ticks.
+ * @param progress How many ticks a new timer of the same length must be ticked to catch up.
+ */
+public record TimerState(boolean repeating, int length, int progress) {
+
+    /**
+     * @param timer A {@link SaveableRepeatingTimer} or {@link SaveableFixedTimer}.
+     * @return How far along the timer is.
+     * @throws IllegalArgumentException If the timer is of any other kind, including the engine's
+     *     own timers, whose progress can't be read.
+     */
+    public static TimerState of(TickTimer timer) {
+        if (timer instanceof SaveableRepeatingTimer repeating) {
+            return repeating.state();
+        }
+        if (timer instanceof SaveableFixedTimer fixed) {
+            return fixed.state();
+        }
+        throw new IllegalArgumentException(
+                "Cannot save a "
+                        + timer.getClass().getName()
+                        + ", only a SaveableRepeatingTimer or SaveableFixedTimer");
+    }
+
+    /**
+     * @return A new repeating timer in the saved state.
+     */
+    public SaveableRepeatingTimer toRepeating() {
+        final SaveableRepeatingTimer timer = new SaveableRepeatingTimer(length);
+        advance(timer);
+        return timer;
+    }
+
+    /**
+     * @return A new fixed timer in the saved state.
+     */
+    public SaveableFixedTimer toFixed() {
+        final SaveableFixedTimer timer = new SaveableFixedTimer(length);
+        advance(timer);
+        return timer;
+    }
+
+    /**
+     * Bring a timer that has never been ticked up to the saved state.
+     *
+     * @param timer A new timer of the saved kind and length.
+     */
+    public void advance(TickTimer timer) {
+        for (int i = 0; i < progress; i += 1) {
+            timer.tick();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package builder.stress;
+
+import builder.JavaBeanFarm;
+import builder.profiling.Histogram;
+import builder.profiling.TickProfiler;
+import builder.runner.HeadlessState;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates a {@link StressScenario} at each of several map sizes, runs each one headless and
+ * prints how tick times scale with the size of the map, as CSV on standard output.
+ *
+ * <p>Usage: {@code StressDriver [seed] [ticks] [sizes...] [--write dir]}, e.g. {@code StressDriver
+ * 1 2000 25 50 100 200 --write stress-out}. Sizes are tiles along each side of the map. With
+ * {@code --write}, each scenario's map and details files are also written to the directory, so a
+ * slow size can be reopened in the game.
+ *
+ * <p>Scenarios run one after another on the calling thread; running them side by side would have
+ * them compete for cores and skew each other's timings. Each is ticked for a warm-up period
+ * before timing starts so the JIT has settled.
+ */
+public class StressDriver {
+
+    private static final long DEFAULT_SEED = 1;
+    private static final int DEFAULT_TICKS = 2000;
+    private static final int[] DEFAULT_SIZES = {25, 50, 100, 200};
+
+    /** One row of the report. */
+    private record Result(
+            int tiles, long p50, long p99, long max, double mean, double ticksPerSecond,
+            long enemiesMax) {
+
+        @Override
+        public String toString() {
+            return tiles
+                    + ","
+                    + micros(p50)
+                    + ","
+                    + micros(p99)
+                    + ","
+                    + micros(max)
+                    + ","
+                    + String.format(Locale.ROOT, "%.1f", mean / 1000)
+                    + ","
+                    + String.format(Locale.ROOT, "%.0f", ticksPerSecond)
+                    + ","
+                    + enemiesMax;
+        }
+
+        private static String micros(long nanos) {
+            return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+        }
+    }
+
+    private StressDriver() {}
+
+    /**
+     * Run the driver.
+     *
+     * @param args The seed, number of timed ticks and map sizes, each optional, then optionally
+     *     {@code --write} and a directory.
+     * @throws IOException If a scenario cannot be written.
+     * @throws WorldLoadException If a generated scenario cannot be loaded.
+     */
+    public static void main(String[] args) throws IOException, WorldLoadException {
+        long seed = DEFAULT_SEED;
+        int ticks = DEFAULT_TICKS;
+        final List<Integer> sizes = new ArrayList<>();
+        Path write = null;
+        int positional = 0;
+        for (int i = 0; i < args.length; i += 1) {
+            if (args[i].equals("--write")) {
+                write = Path.of(args[++i]);
+            } else if (positional == 0) {
+                seed = Long.parseLong(args[i]);
+                positional += 1;
+            } else if (positional == 1) {
+                ticks = Integer.parseInt(args[i]);
+                positional += 1;
+            } else {
+                sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+        if (sizes.isEmpty()) {
+            for (int size : DEFAULT_SIZES) {
+                sizes.add(size);
+            }
+        }
+
+        System.out.println("tiles,p50_us,p99_us,max_us,mean_us,ticks_per_sec,enemies_max");
+        for (int size : sizes) {
+            final StressScenario scenario = StressScenario.of(size, seed);
+            if (write != null) {
+                StressGenerator.write(scenario, write, "stress-" + size);
+            }
+            System.out.println(run(scenario, ticks));
+        }
+    }
+
+    private static Result run(StressScenario scenario, int ticks)
+            throws IOException, WorldLoadException {
+        final Dimensions dimensions = new TileGrid(scenario.tiles(), scenario.windowSize());
+        final JavaBeanFarm farm =
+                new JavaBeanFarm(
+                        dimensions,
+                        new StringReader(StressGenerator.map(scenario)),
+                        new StringReader(StressGenerator.details(scenario)));
+        final TickProfiler profiler = farm.getProfiler();
+
+        // as long again untimed, so spawners have had a chance to fill the sky too
+        int tick = 0;
+        profiler.setEnabled(false);
+        while (tick < ticks) {
+            farm.tick(new HeadlessState(dimensions, tick));
+            tick += 1;
+        }
+
+        profiler.setEnabled(true);
+        final long start = System.nanoTime();
+        for (int i = 0; i < ticks; i += 1) {
+            farm.tick(new HeadlessState(dimensions, tick));
+            tick += 1;
+        }
+        final long elapsed = System.nanoTime() - start;
+        profiler.setEnabled(false);
+
+        final Histogram times = profiler.ticks();
+        return new Result(
+                scenario.tiles(),
+                times.percentile(50),
+                times.percentile(99),
+                times.max(),
+                times.mean(),
+                ticks * 1e9 / elapsed,
+                profiler.enemies().max());
+    }
+}
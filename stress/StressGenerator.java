@@ -0,0 +1,152 @@
+package builder.stress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Writes the map and details files for a {@link StressScenario}, in the formats read by {@code
+ * WorldBuilder} and {@code OverlayBuilder}.
+ *
+ * <p>The terrain, cabbages and each kind of spawner are drawn from their own random streams, all
+ * derived from the scenario's seed, so changing how many eagle spawners there are doesn't move the
+ * cabbages.
+ */
+public class StressGenerator {
+
+    private StressGenerator() {}
+
+    /**
+     * @param scenario The scenario to generate.
+     * @return One line per row of tiles, one symbol per tile.
+     */
+    public static String map(StressScenario scenario) {
+        final int tiles = scenario.tiles();
+        final StringBuilder map = new StringBuilder(tiles * (tiles + 1));
+        final char[] row = new char[tiles];
+        final Random terrain = new Random(scenario.seed());
+        for (int y = 0; y < tiles; y += 1) {
+            for (int x = 0; x < tiles; x += 1) {
+                row[x] = tileAt(scenario.terrain(), terrain);
+            }
+            map.append(row).append('\n');
+        }
+        return map.toString();
+    }
+
+    /**
+     * @param scenario The scenario to generate.
+     * @return The farmer, cabbage and spawner sections of the details file.
+     */
+    public static String details(StressScenario scenario) {
+        final StringJoiner details = new StringJoiner("\n");
+        final int middle = scenario.windowSize() / 2;
+        section(details, "chickenFarmer", "|x:" + middle + " y:" + middle + " coins:10 food:10");
+        section(details, "cabbages", cabbages(scenario));
+        section(details, "magpiespawner", spawners(scenario, scenario.magpies(), 1));
+        section(details, "eaglespawner", spawners(scenario, scenario.eagles(), 2));
+        section(details, "pigeonspawner", spawners(scenario, scenario.pigeons(), 3));
+        return details.toString();
+    }
+
+    /**
+     * Write the scenario's files into the given directory, as {@code name.map} and {@code
+     * name.details}.
+     *
+     * @param scenario The scenario to generate.
+     * @param directory Where to write the files. Created if it doesn't exist.
+     * @param name What to call the files.
+     * @return The path of the map file. The details file sits next to it.
+     * @throws IOException If the files cannot be written.
+     */
+    public static Path write(StressScenario scenario, Path directory, String name)
+            throws IOException {
+        Files.createDirectories(directory);
+        final Path map = directory.resolve(name + ".map");
+        Files.writeString(map, map(scenario));
+        Files.writeString(directory.resolve(name + ".details"), details(scenario));
+        return map;
+    }
+
+    private static char tileAt(StressScenario.Terrain terrain, Random random) {
+        int roll = random.nextInt(terrain.total());
+        if ((roll -= terrain.grass()) < 0) {
+            return 'g';
+        }
+        if ((roll -= terrain.dirt()) < 0) {
+            return 'd';
+        }
+        if ((roll -= terrain.water()) < 0) {
+            return 'w';
+        }
+        if ((roll -= terrain.tilled()) < 0) {
+            return 't';
+        }
+        return 'o';
+    }
+
+    private static String[] cabbages(StressScenario scenario) {
+        // replay the terrain stream so cabbages only land on dirt, tilled or not
+        final Random terrain = new Random(scenario.seed());
+        final Random cabbages = new Random(scenario.seed() * 31 + 1);
+        final int half = scenario.tileSize() / 2;
+        final StringJoiner lines = new StringJoiner("\n");
+        for (int y = 0; y < scenario.tiles(); y += 1) {
+            for (int x = 0; x < scenario.tiles(); x += 1) {
+                final char tile = tileAt(scenario.terrain(), terrain);
+                final boolean dirt = tile == 'd' || tile == 't';
+                if (dirt && cabbages.nextDouble() < scenario.cabbageDensity()) {
+                    lines.add(
+                            "|x:"
+                                    + (x * scenario.tileSize() + half)
+                                    + " y:"
+                                    + (y * scenario.tileSize() + half));
+                }
+            }
+        }
+        return lines.length() == 0 ? new String[0] : lines.toString().split("\n");
+    }
+
+    private static String[] spawners(
+            StressScenario scenario, StressScenario.Spawners spawners, int stream) {
+        final Random random = new Random(scenario.seed() * 31 + 1 + stream);
+        final int edge = scenario.windowSize() - 1;
+        final String[] lines = new String[spawners.count()];
+        for (int i = 0; i < lines.length; i += 1) {
+            // somewhere along one of the four edges
+            final int along = random.nextInt(edge + 1);
+            final int x;
+            final int y;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    x = along;
+                    y = 0;
+                }
+                case 1 -> {
+                    x = edge;
+                    y = along;
+                }
+                case 2 -> {
+                    x = along;
+                    y = edge;
+                }
+                default -> {
+                    x = 0;
+                    y = along;
+                }
+            }
+            lines[i] = "|x:" + x + " y:" + y + " duration:" + spawners.interval();
+        }
+        return lines;
+    }
+
+    private static void section(StringJoiner details, String name, String... lines) {
+        details.add(":" + name + ":");
+        for (String line : lines) {
+            details.add(line);
+        }
+        details.add("end;").add("");
+    }
+}
@@ -0,0 +1,96 @@
+package builder.stress;
+
+/**
+ * The shape of a generated stress scenario. The same scenario always generates the same map and
+ * details files.
+ *
+ * @param tiles How many tiles along each side of the square map.
+ * @param tileSize How many pixels along each side of a tile.
+ * @param terrain How likely each kind of tile is.
+ * @param cabbageDensity The chance, from 0 to 1, that a dirt tile starts with a cabbage on it.
+ * @param magpies The magpie spawners to place.
+ * @param eagles The eagle spawners to place.
+ * @param pigeons The pigeon spawners to place.
+ * @param seed Seeds every random choice the generator makes.
+ */
+public record StressScenario(
+        int tiles,
+        int tileSize,
+        Terrain terrain,
+        double cabbageDensity,
+        Spawners magpies,
+        Spawners eagles,
+        Spawners pigeons,
+        long seed) {
+
+    /** The tile size used by {@link #of(int, long)}, in pixels. */
+    public static final int DEFAULT_TILE_SIZE = 32;
+
+    /**
+     * Relative weights of each kind of tile. A tile is grass with probability {@code grass / total}
+     * and so on.
+     *
+     * @param grass Weight of grass tiles.
+     * @param dirt Weight of untilled dirt tiles. Cabbages start on dirt of either kind.
+     * @param water Weight of water tiles, which block the player.
+     * @param tilled Weight of dirt tiles that start tilled.
+     * @param ore Weight of ore vein tiles.
+     */
+    public record Terrain(int grass, int dirt, int water, int tilled, int ore) {
+
+        /** Mostly grass and dirt, with a little of everything else. */
+        public static final Terrain FARMLAND = new Terrain(12, 4, 1, 2, 1);
+
+        int total() {
+            return grass + dirt + water + tilled + ore;
+        }
+    }
+
+    /**
+     * Spawners of one kind of bird, spread around the edges of the map.
+     *
+     * @param count How many spawners to place.
+     * @param interval How many ticks each spawner waits between birds.
+     */
+    public record Spawners(int count, int interval) {
+
+        /** No spawners at all. */
+        public static final Spawners NONE = new Spawners(0, 1);
+    }
+
+    /**
+     * A farmland scenario whose spawner count grows with the length of the map's edges.
+     *
+     * @param tiles How many tiles along each side of the square map.
+     * @param seed Seeds every random choice the generator makes.
+     * @return The scenario.
+     */
+    public static StressScenario of(int tiles, long seed) {
+        final int spawners = Math.max(1, tiles / 16);
+        return new StressScenario(
+                tiles,
+                DEFAULT_TILE_SIZE,
+                Terrain.FARMLAND,
+                0.05,
+                new Spawners(spawners, 400),
+                new Spawners(spawners, 600),
+                new Spawners(spawners, 300),
+                seed);
+    }
+
+    /**
+     * @param tiles How many tiles along each side of the square map.
+     * @return The same scenario on a map of a different size.
+     */
+    public StressScenario withTiles(int tiles) {
+        return new StressScenario(
+                tiles, tileSize, terrain, cabbageDensity, magpies, eagles, pigeons, seed);
+    }
+
+    /**
+     * @return How many pixels along each side of the window, as the game's dimensions need it.
+     */
+    public int windowSize() {
+        return tiles * tileSize;
+    }
+}
@@ -1,10 +1,7 @@
 package scenarios;
 
-import builder.JavaBeanFarm;
 import builder.world.WorldLoadException;
 
-import engine.Engine;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
@@ -15,11 +12,10 @@ import org.junit.Test;
 import scenarios.analysers.AnalyserManager;
 import scenarios.analysers.MovementAnalyser;
 import scenarios.analysers.RenderableAnalyser;
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
 import scenarios.details.ScenarioDetails;
-import scenarios.mocks.MockCore;
-import scenarios.mocks.MockEngineState;
 
-import java.io.FileReader;
 import java.io.IOException;
 
 /**
@@ -37,32 +33,36 @@ public class BeeAttackEagleSimulationTest {
     private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
     private AnalyserManager data;
 
-    @Before
-    public void setUp() throws IOException, WorldLoadException {
+    private static final ScenarioJob.InputScript INPUT =
+            (state, tick) -> {
+                if (tick == 0) { // set to hive hammer
+                    return state.leftClick().press('4');
+                }
+                return state.leftClick().press('w'); // go up the screen
+            };
+    private static final ScenarioJob SCENARIO =
+            new ScenarioJob(
+                    "bees attack eagle",
+                    dimensions,
+                    "resources/testmaps/beeSlowEagleSpawnTest.map",
+                    details(),
+                    INPUT,
+                    TICKS);
+
+    static {
+        ScenarioFixtures.prefetch(SCENARIO);
+    }
+
+    private static ScenarioDetails details() {
         ScenarioDetails details = new ScenarioDetails(380, 420, 9, 6);
         details.addCabbage(380, 350);
         details.addEagleSpawner(800, 400, 300);
-        final Game game =
-                new JavaBeanFarm(
-                        dimensions,
-                        new FileReader("resources/testmaps/beeSlowEagleSpawnTest.map"),
-                        details.toReader());
-
-        data = new AnalyserManager();
-        final MockCore core = new MockCore(data);
-        final Engine engine = new Engine(game, dimensions, core);
-        MockEngineState state = new MockEngineState(dimensions).leftClick();
-        for (int i = 0; i < TICKS; i += 1) {
-            MockEngineState currentState = state.withFrame(i);
-            if (i == 0) { // set to hive hammer
-                currentState = currentState.press('4');
-            } else { // go up the screen
-                currentState = currentState.press('w');
-            }
+        return details;
+    }
 
-            core.setState(currentState);
-            engine.tick();
-        }
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        data = ScenarioFixtures.recorded(SCENARIO);
     }
 
     /** Confirm the 3 hives were placed at different locations and not all at the same location. */
@@ -1,13 +1,10 @@
 package scenarios;
 
-import builder.JavaBeanFarm;
 import builder.entities.npc.BeeHive;
 import builder.entities.npc.GuardBee;
 import builder.entities.npc.enemies.Magpie;
 import builder.world.WorldLoadException;
 
-import engine.Engine;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
@@ -19,11 +16,10 @@ import scenarios.analysers.AnalyserManager;
 import scenarios.analysers.FrameRecord;
 import scenarios.analysers.MovementAnalyser;
 import scenarios.analysers.RenderableAnalyser;
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
 import scenarios.details.ScenarioDetails;
-import scenarios.mocks.MockCore;
-import scenarios.mocks.MockEngineState;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -48,30 +44,27 @@ public class BeeSimulationTest {
     private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
     private AnalyserManager data;
 
-    @Before
-    public void setUp() throws IOException, WorldLoadException {
+    // on frame 40, flip to hive placer, and keep the key and mouse held from then on
+    private static final ScenarioJob.InputScript INPUT =
+            (state, tick) -> tick >= 40 ? state.press('4').leftClick() : state;
+    private static final ScenarioJob SCENARIO =
+            new ScenarioJob(
+                    "bees", dimensions, "resources/testmaps/beeTest.map", details(), INPUT, TICKS);
+
+    static {
+        ScenarioFixtures.prefetch(SCENARIO);
+    }
+
+    private static ScenarioDetails details() {
         ScenarioDetails details = new ScenarioDetails(PLAYER_X, PLAYER_Y, 9, 2);
         details.addCabbage(380, 350);
         details.addMagpieSpawner(0, 0, 100);
-        final Game game =
-                new JavaBeanFarm(
-                        dimensions,
-                        new FileReader("resources/testmaps/beeTest.map"),
-                        details.toReader());
-
-        data = new AnalyserManager();
-        final MockCore core = new MockCore(data);
-        final Engine engine = new Engine(game, dimensions, core);
-        MockEngineState state = new MockEngineState(dimensions);
-        for (int i = 0; i < TICKS; i += 1) {
-            state = state.withFrame(i);
-            if (i == 40) { // flip to hive placer
-                state = state.press('4').leftClick();
-            }
+        return details;
+    }
 
-            core.setState(state);
-            engine.tick();
-        }
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        data = ScenarioFixtures.recorded(SCENARIO);
     }
 
     /**
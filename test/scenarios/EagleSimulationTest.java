@@ -1,26 +1,25 @@
 package scenarios;
 
-import builder.JavaBeanFarm;
 import builder.world.WorldLoadException;
 
-import engine.Engine;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 
 import scenarios.analysers.AnalyserManager;
 import scenarios.analysers.LetterAnalyser;
 import scenarios.analysers.MovementAnalyser;
 import scenarios.analysers.RenderableAnalyser;
+import scenarios.analysers.StreamingAnalyser;
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
 import scenarios.details.ScenarioDetails;
-import scenarios.mocks.MockCore;
-import scenarios.mocks.MockEngineState;
+import scenarios.mocks.RecordingPolicy;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,42 +34,59 @@ import java.util.List;
  */
 public class EagleSimulationTest {
 
-    private final int centerX = 400;
-    private final int centerY = 400;
+    private static final int centerX = 400;
+    private static final int centerY = 400;
     private static final int SIZE = 800;
     private static final int TILES_PER_ROW = 10;
     private static final int TICKS = 530;
     private static AnalyserManager data;
     private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
 
-    @Before
-    public void setUp() throws IOException, WorldLoadException {
+    // the tiles are most of what is drawn, and no test here asks about them
+    private static final ScenarioJob SCENARIO =
+            ScenarioJob.of(
+                            "eagles",
+                            dimensions,
+                            "resources/testmaps/eagleTest.map",
+                            details(),
+                            TICKS)
+                    .withPolicy(() -> RecordingPolicy.spriteGroups("eagle", "letters"));
+
+    // answered as the scenario runs, rather than from what was recorded
+    private static final StreamingAnalyser live = new StreamingAnalyser();
+    private static final StreamingAnalyser.Count eagles = live.count("eagle");
+    private static final StreamingAnalyser.Count players = live.count("chickenFarmer");
+    private static final StreamingAnalyser.Count defaults = live.count("default");
+    private static final StreamingAnalyser.Check eagleNearPlayer =
+            live.visitedRadialArea("eagle", centerX, centerY, dimensions.tileSize());
+    private static final StreamingAnalyser.Check playerStayed =
+            live.stayedInRadialArea("chickenFarmer", centerX, centerY, 2);
+
+    static {
+        ScenarioFixtures.prefetch(SCENARIO);
+    }
+
+    @BeforeClass
+    public static void answerQuestions() throws IOException, WorldLoadException {
+        ScenarioFixtures.answer(SCENARIO, live);
+    }
+
+    private static ScenarioDetails details() {
         ScenarioDetails details = new ScenarioDetails(centerX, centerY, 1, 8);
         details.addEagleSpawner(0, 0, 200);
         details.addEagleSpawner(500, 0, 300);
-        final Game game =
-                new JavaBeanFarm(
-                        dimensions,
-                        new FileReader("resources/testmaps/eagleTest.map"),
-                        details.toReader());
-        data = new AnalyserManager();
-        final MockCore core = new MockCore(data);
-        final Engine engine = new Engine(game, dimensions, core);
-        MockEngineState state = new MockEngineState(dimensions);
-        for (int i = 0; i < TICKS; i += 1) {
-            state = state.withFrame(i);
-            core.setState(state);
-            engine.tick();
-        }
+        return details;
+    }
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        data = ScenarioFixtures.recorded(SCENARIO);
     }
 
     /** Check that the correct number of eagles were spawned over the sim tests lifespan. */
     @Test
     public void hasCorrectNumberOfEagles() {
-        Assert.assertEquals(
-                "expected 3 unique eagles found after 500 ticks",
-                3,
-                data.getBySpriteGroup(("eagle")).size());
+        Assert.assertEquals("expected 3 unique eagles found after 500 ticks", 3, eagles.get());
     }
 
     /**
@@ -172,18 +188,14 @@ public class EagleSimulationTest {
                 eaglesCloseToPlayer += 1;
             }
         }
-        final boolean playerSpawnedAt400x400 =
-                data.every(
-                        "chickenFarmer",
-                        player -> {
-                            final int chickenFarmerX = player.getFirstFrame().getX();
-                            final int chickenFarmerY = player.getFirstFrame().getY();
-                            return chickenFarmerX == centerX && chickenFarmerY == centerY;
-                        });
+        Assert.assertEquals("expected 1 chicken farmer", 1, players.get());
         Assert.assertTrue(
                 "Chicken farmer should have been spawned at 400,400 the center of the screen as per"
                         + " the .details file",
-                playerSpawnedAt400x400);
+                playerStayed.get());
+        Assert.assertTrue(
+                "an eagle should have gotten within tileSize of the player",
+                eagleNearPlayer.get());
         Assert.assertEquals(
                 "2 of the 3 eagles should have gotten close (within 2x tileSize) to the player",
                 2,
@@ -193,10 +205,7 @@ public class EagleSimulationTest {
     /** Should have no default sprites! */
     @Test
     public void noDefaultSprites() {
-        Assert.assertEquals(
-                "0 default sprites should have been spawned!",
-                0,
-                data.getBySpriteGroup("default").size());
+        Assert.assertEquals("0 default sprites should have been spawned!", 0, defaults.get());
     }
 
     /**
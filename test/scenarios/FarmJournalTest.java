@@ -0,0 +1,230 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.save.FarmJournal;
+import builder.world.WorldLoadException;
+
+import scenarios.mocks.MockEngineState;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Autosave a seeded game with a checkpoint every 50 frames, then recover it from the journal as
+ * it was left, with its newest log cut off partway through a frame, and with its newest checkpoint
+ * gone. Each time the farm should come back as it was on the last tick the journal still has
+ * whole, and play on from there as the original did. Longer games, with birds and NPCs coming and
+ * going, should recover from one long log, and a farm left idle should log little.
+ */
+public class FarmJournalTest {
+
+    private static final long SEED = 5;
+    private static final int CHECKPOINT_INTERVAL = 50;
+    // not a multiple of the interval, so the last frame is partway through a generation
+    private static final int TICKS = 180;
+    private static final int TICKS_AFTER_RECOVERY = 100;
+    private static final int LOG_HEADER_BYTES = 4 * Integer.BYTES;
+    // long enough for birds to be eaten and driven off, and NPCs to be placed
+    private static final int LONG_TICKS = 900;
+    // before the first bird spawns
+    private static final int IDLE_TICKS = 60;
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path journal;
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        journal = folder.getRoot().toPath().resolve("journal");
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        farm.autosave(journal, CHECKPOINT_INTERVAL);
+        for (int tick = 0; tick < TICKS; tick += 1) {
+            farm.tick(SeededFarms.input(SEED, tick));
+        }
+        farm.stopAutosave();
+    }
+
+    /** @return The newest generation in the journal directory, by its checkpoint. */
+    private int newestGeneration() throws IOException {
+        try (Stream<Path> files = Files.list(journal)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("checkpoint-") && name.endsWith(".snap"))
+                    .mapToInt(name -> Integer.parseInt(name.replaceAll("\\D", "")))
+                    .max()
+                    .orElseThrow();
+        }
+    }
+
+    private Path checkpoint(int generation) {
+        return journal.resolve("checkpoint-" + generation + ".snap");
+    }
+
+    private Path log(int generation) {
+        return journal.resolve("journal-" + generation + ".log");
+    }
+
+    /** @return Each whole frame in a log, in order, without its length. */
+    private static List<ByteBuffer> frames(Path log) throws IOException {
+        final List<ByteBuffer> frames = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(log)) {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            long frame = LOG_HEADER_BYTES;
+            while (channel.read(length.clear(), frame) == Integer.BYTES
+                    && length.getInt(0) > 0) {
+                final ByteBuffer contents = ByteBuffer.allocate(length.getInt(0));
+                channel.read(contents, frame + Integer.BYTES);
+                frames.add(contents.flip());
+                frame += Integer.BYTES + length.getInt(0);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Recover the journal, and check it comes back on the given tick and plays on from there the
+     * same as a farm played straight through.
+     */
+    private void assertRecoversTo(int tick) throws IOException, WorldLoadException {
+        assertRecoversTo(journal, tick);
+    }
+
+    private static void assertRecoversTo(Path journal, int tick)
+            throws IOException, WorldLoadException {
+        final FarmJournal.Recovery recovery = FarmJournal.recover(journal);
+        Assert.assertEquals(tick, recovery.tick());
+
+        final JavaBeanFarm expected = SeededFarms.create(SEED);
+        for (int i = 0; i <= tick; i += 1) {
+            expected.tick(SeededFarms.input(SEED, i));
+        }
+        // sprites and overlays are only brought up to date by a tick, so compare from the next
+        final JavaBeanFarm recovered = recovery.farm();
+        for (int i = tick + 1; i <= tick + TICKS_AFTER_RECOVERY; i += 1) {
+            expected.tick(SeededFarms.input(SEED, i));
+            recovered.tick(SeededFarms.input(SEED, i));
+            Assert.assertEquals(
+                    "Tick " + i, SeededFarms.describe(expected), SeededFarms.describe(recovered));
+        }
+    }
+
+    /** Confirm a journal left partway between checkpoints recovers to its last frame. */
+    @Test
+    public void recoversBetweenCheckpoints() throws IOException, WorldLoadException {
+        assertRecoversTo(TICKS - 1);
+    }
+
+    /** Confirm a frame cut off partway through is ignored, recovering to the one before it. */
+    @Test
+    public void ignoresTornFrame() throws IOException, WorldLoadException {
+        final Path log = log(newestGeneration());
+        try (FileChannel channel =
+                FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            long frame = LOG_HEADER_BYTES;
+            long last = -1;
+            int lastLength = 0;
+            while (channel.read(length.clear(), frame) == Integer.BYTES
+                    && length.getInt(0) > 0) {
+                last = frame;
+                lastLength = length.getInt(0);
+                frame += Integer.BYTES + lastLength;
+            }
+            Assert.assertTrue("The newest log has no frames", last >= 0);
+            channel.truncate(last + Integer.BYTES + lastLength / 2);
+        }
+        assertRecoversTo(TICKS - 2);
+    }
+
+    /**
+     * Confirm that without the newest checkpoint, the generation before it is recovered as of its
+     * last frame, the tick before the missing checkpoint was written.
+     */
+    @Test
+    public void fallsBackWithoutNewestCheckpoint() throws IOException, WorldLoadException {
+        final int newest = newestGeneration();
+        Assert.assertTrue(Files.exists(checkpoint(newest - 1)));
+        Assert.assertTrue(Files.exists(log(newest - 1)));
+
+        // a log's header ends with the tick its checkpoint was written after
+        final int checkpointTick;
+        try (FileChannel channel = FileChannel.open(log(newest))) {
+            final ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+            channel.read(header, 0);
+            checkpointTick = header.getInt(LOG_HEADER_BYTES - Integer.BYTES);
+        }
+        Files.delete(checkpoint(newest));
+        assertRecoversTo(checkpointTick - 1);
+    }
+
+    /**
+     * Confirm a game in which birds spawn and are removed, and NPCs are placed, recovers from a
+     * single checkpoint and the log of everything since.
+     */
+    @Test
+    public void recoversBirdsAndNpcsComingAndGoing() throws IOException, WorldLoadException {
+        final Path longJournal = folder.getRoot().toPath().resolve("long");
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        farm.autosave(longJournal, LONG_TICKS);
+        int mostBirds = 0;
+        boolean birdsLeft = false;
+        for (int tick = 0; tick < LONG_TICKS; tick += 1) {
+            farm.tick(SeededFarms.input(SEED, tick));
+            final int birds = farm.getGameState().getEnemies().getALl().size();
+            birdsLeft |= birds < mostBirds;
+            mostBirds = Math.max(mostBirds, birds);
+        }
+        farm.stopAutosave();
+        Assert.assertTrue("No birds left", birdsLeft);
+        Assert.assertFalse(farm.getGameState().getNpcs().getAll().isEmpty());
+        Assert.assertFalse(Files.exists(longJournal.resolve("checkpoint-2.snap")));
+        assertRecoversTo(longJournal, LONG_TICKS - 1);
+    }
+
+    /**
+     * Confirm a farm nobody is playing, before any bird spawns, logs the same small frame every
+     * tick, for the spawners' timers, rather than the player, inventory or the tile the player
+     * stands on.
+     */
+    @Test
+    public void idleFramesAreSmall() throws IOException, WorldLoadException {
+        final Path idleJournal = folder.getRoot().toPath().resolve("idle");
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        farm.autosave(idleJournal, IDLE_TICKS);
+        for (int tick = 0; tick < IDLE_TICKS; tick += 1) {
+            farm.tick(new MockEngineState(SeededFarms.dimensions, tick));
+        }
+        farm.stopAutosave();
+        Assert.assertTrue(farm.getGameState().getEnemies().getALl().isEmpty());
+
+        final List<ByteBuffer> frames = frames(idleJournal.resolve("journal-1.log"));
+        Assert.assertEquals(IDLE_TICKS - 1, frames.size());
+        final Set<Integer> lengths = new HashSet<>();
+        for (ByteBuffer frame : frames) {
+            // a frame starts with its tick, how many birds and NPCs came or went, then how many
+            // tiles changed
+            Assert.assertEquals("Birds or NPCs came or went", 0, frame.getInt(Integer.BYTES));
+            Assert.assertEquals("Tiles changed", 0, frame.getInt(2 * Integer.BYTES));
+            lengths.add(frame.remaining());
+        }
+        Assert.assertEquals(1, lengths.size());
+        // the whole farm, as the checkpoint holds it, is many times as much
+        final long checkpoint = Files.size(idleJournal.resolve("checkpoint-1.snap"));
+        final int length = frames.getFirst().remaining();
+        Assert.assertTrue(length + " of " + checkpoint, length * 40 < checkpoint);
+    }
+}
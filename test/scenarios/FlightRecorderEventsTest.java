@@ -0,0 +1,172 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.enemies.Enemy;
+import builder.world.OverlayBuilder;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Load and play farms while recording the farm's Java Flight Recorder events, and check loads are
+ * recorded whether or not they succeed, and each bird's spawn and despawn is recorded once.
+ */
+public class FlightRecorderEventsTest {
+
+    private static final String WORLD_LOAD = "builder.WorldLoad";
+    private static final String SPAWN = "builder.EntitySpawn";
+    private static final String DESPAWN = "builder.EntityDespawn";
+    private static final long SEED = 2;
+    private static final int TICKS = 3000;
+    private static final Set<String> BIRDS = Set.of("Magpie", "Pigeon", "Eagle");
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Some work that may fail, to record the events of. */
+    @FunctionalInterface
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    /** Do some work and collect the given events it records. */
+    private List<RecordedEvent> record(Work work, String... names) throws Exception {
+        final Path file = folder.newFile().toPath();
+        try (Recording recording = new Recording()) {
+            for (String name : names) {
+                recording.enable(name);
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> worldLoads(List<RecordedEvent> events, String source) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(WORLD_LOAD))
+                .filter(event -> source.equals(event.getString("source")))
+                .toList();
+    }
+
+    /** How many of the given events there are for each type of bird. */
+    private static Map<String, Integer> countByType(List<RecordedEvent> events, String name) {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)
+                    && BIRDS.contains(event.getString("type"))) {
+                counts.merge(event.getString("type"), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> countByType(Set<Enemy> birds) {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (Enemy bird : birds) {
+            counts.merge(bird.getClass().getSimpleName(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /** Confirm loading a farm records the map and each details section it reads. */
+    @Test
+    public void recordsLoads() throws Exception {
+        final List<RecordedEvent> events = record(() -> SeededFarms.create(SEED), WORLD_LOAD);
+        final List<RecordedEvent> maps = worldLoads(events, "map");
+        Assert.assertEquals(1, maps.size());
+        Assert.assertFalse(maps.getFirst().getBoolean("failed"));
+        Assert.assertEquals(
+                SeededFarms.TILES_PER_ROW * SeededFarms.TILES_PER_ROW,
+                maps.getFirst().getInt("entries"));
+        final List<RecordedEvent> spawners = worldLoads(events, "eaglespawner");
+        Assert.assertEquals(1, spawners.size());
+        Assert.assertFalse(spawners.getFirst().getBoolean("failed"));
+        Assert.assertEquals(1, spawners.getFirst().getInt("entries"));
+    }
+
+    /** Confirm a missing details section and a malformed map are recorded as failed loads. */
+    @Test
+    public void recordsFailedLoads() throws Exception {
+        final List<RecordedEvent> events =
+                record(
+                        () -> {
+                            Assert.assertThrows(
+                                    IOException.class,
+                                    () -> OverlayBuilder.getSection("missing", ":other:\nend;"));
+                            Assert.assertThrows(
+                                    WorldLoadException.class,
+                                    () ->
+                                            WorldBuilder.fromString(
+                                                    SeededFarms.dimensions, "not a map"));
+                        },
+                        WORLD_LOAD);
+        final List<RecordedEvent> sections = worldLoads(events, "missing");
+        Assert.assertEquals(1, sections.size());
+        Assert.assertTrue(sections.getFirst().getBoolean("failed"));
+        final List<RecordedEvent> maps = worldLoads(events, "map");
+        Assert.assertEquals(1, maps.size());
+        Assert.assertTrue(maps.getFirst().getBoolean("failed"));
+    }
+
+    /**
+     * Confirm every bird that appears is recorded spawning once, however many times it is
+     * registered, every bird that goes is recorded despawning once, and loading a save records
+     * neither.
+     */
+    @Test
+    public void recordsEachSpawnAndDespawnOnce() throws Exception {
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        final Set<Enemy> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<RecordedEvent> events =
+                record(
+                        () -> {
+                            for (int tick = 0; tick < TICKS; tick += 1) {
+                                farm.tick(SeededFarms.input(SEED, tick));
+                                seen.addAll(farm.getGameState().getEnemies().getALl());
+                            }
+                        },
+                        SPAWN,
+                        DESPAWN);
+        final Set<Enemy> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(seen);
+        gone.removeAll(farm.getGameState().getEnemies().getALl());
+        Assert.assertFalse("No birds went during the game", gone.isEmpty());
+        Assert.assertEquals(countByType(seen), countByType(events, SPAWN));
+        Assert.assertEquals(countByType(gone), countByType(events, DESPAWN));
+
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        farm.save(Channels.newChannel(snapshot));
+        final List<RecordedEvent> loading =
+                record(
+                        () ->
+                                JavaBeanFarm.load(
+                                        Channels.newChannel(
+                                                new ByteArrayInputStream(
+                                                        snapshot.toByteArray()))),
+                        SPAWN,
+                        DESPAWN);
+        Assert.assertEquals(List.of(), loading);
+    }
+}
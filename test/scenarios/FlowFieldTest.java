@@ -0,0 +1,204 @@
+package scenarios;
+
+import builder.tiles.Water;
+import builder.world.BeanWorld;
+import builder.world.FlowField;
+import builder.world.WorldLoadException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Point flow fields at targets on seeded maps of grass and water, and check every cell's distance
+ * and direction against a plain breadth-first search over the same cells. Cells that can see the
+ * target, and cells with no route to it, should be aimed straight at it.
+ */
+public class FlowFieldTest {
+
+    private static final int TILES = 24;
+    private static final int SEEDS = 20;
+    // the step each heading of FlowField#directionAt takes, in heading order 0, 45, ... 315
+    private static final int[] STEP_X = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final int[] STEP_Y = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    /** How many steps each cell is from the target, or -1 where there is no route. */
+    private static int[][] steps(char[][] map, int targetCol, int targetRow) {
+        final int[][] steps = new int[map.length][map.length];
+        for (int[] row : steps) {
+            Arrays.fill(row, FlowField.NO_ROUTE);
+        }
+        if (!TileMaps.open(map, targetCol, targetRow)) {
+            return steps;
+        }
+        final ArrayDeque<int[]> queue = new ArrayDeque<>();
+        steps[targetRow][targetCol] = 0;
+        queue.add(new int[] {targetCol, targetRow});
+        while (!queue.isEmpty()) {
+            final int[] cell = queue.poll();
+            for (int i = 0; i < STEP_X.length; i += 1) {
+                final int col = cell[0] + STEP_X[i];
+                final int row = cell[1] + STEP_Y[i];
+                if (TileMaps.canStep(map, cell[0], cell[1], col, row)
+                        && steps[row][col] == FlowField.NO_ROUTE) {
+                    steps[row][col] = steps[cell[1]][cell[0]] + 1;
+                    queue.add(new int[] {col, row});
+                }
+            }
+        }
+        return steps;
+    }
+
+    /** The heading straight from a position to the target. */
+    private static int straightAt(int x, int y, int targetX, int targetY) {
+        return (int) Math.toDegrees(Math.atan2(targetY - y, targetX - x));
+    }
+
+    private static FlowField field(char[][] map, BeanWorld world, int targetCol, int targetRow) {
+        final FlowField field = new FlowField(TileMaps.dimensions(map));
+        field.update(world, TileMaps.centre(targetCol), TileMaps.centre(targetRow));
+        return field;
+    }
+
+    /**
+     * Check every cell of a field: its distance matches a breadth-first search, its direction is an
+     * allowed step one closer to the target, and its heading is straight at the target where it
+     * can see the target or has no route, and along its direction otherwise. A cell that can see
+     * the target must also be as few steps from it as if nothing were in the way.
+     */
+    private static void assertField(
+            String message, char[][] map, FlowField field, int targetCol, int targetRow) {
+        final int[][] steps = steps(map, targetCol, targetRow);
+        final int targetX = TileMaps.centre(targetCol);
+        final int targetY = TileMaps.centre(targetRow);
+        for (int row = 0; row < map.length; row += 1) {
+            for (int col = 0; col < map.length; col += 1) {
+                final String cell = message + ", cell " + col + "," + row;
+                final int x = TileMaps.centre(col);
+                final int y = TileMaps.centre(row);
+                Assert.assertEquals(cell, steps[row][col], field.distanceAt(x, y));
+                final int direction = field.directionAt(x, y);
+                if (steps[row][col] <= 0) {
+                    Assert.assertEquals(cell, FlowField.NO_ROUTE, direction);
+                } else {
+                    final int nextCol = col + STEP_X[direction / 45];
+                    final int nextRow = row + STEP_Y[direction / 45];
+                    Assert.assertTrue(cell, TileMaps.canStep(map, col, row, nextCol, nextRow));
+                    Assert.assertEquals(cell, steps[row][col] - 1, steps[nextRow][nextCol]);
+                }
+                final boolean sees = field.hasLineOfSight(x, y);
+                if (sees) {
+                    final int unobstructed =
+                            Math.max(Math.abs(targetCol - col), Math.abs(targetRow - row));
+                    Assert.assertEquals(cell, unobstructed, steps[row][col]);
+                }
+                final int heading =
+                        sees || steps[row][col] == FlowField.NO_ROUTE
+                                ? straightAt(x, y, targetX, targetY)
+                                : direction;
+                Assert.assertEquals(cell, heading, field.headingFrom(x, y));
+            }
+        }
+    }
+
+    /** Confirm fields on seeded maps route every cell as a breadth-first search does. */
+    @Test
+    public void routesMatchBreadthFirstSearch() throws WorldLoadException {
+        for (long seed = 1; seed <= SEEDS; seed += 1) {
+            final char[][] map = TileMaps.randomMap(TILES, seed);
+            final SplittableRandom random = new SplittableRandom(seed);
+            int targetCol;
+            int targetRow;
+            do {
+                targetCol = random.nextInt(TILES);
+                targetRow = random.nextInt(TILES);
+            } while (!TileMaps.open(map, targetCol, targetRow));
+            final BeanWorld world = TileMaps.world(map);
+            final FlowField field = field(map, world, targetCol, targetRow);
+            assertField("Seed " + seed, map, field, targetCol, targetRow);
+        }
+    }
+
+    /** Confirm every cell of an open field sees the target and is aimed straight at it. */
+    @Test
+    public void openFieldAimsStraight() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(TILES);
+        final FlowField field = field(map, TileMaps.world(map), 5, 17);
+        for (int row = 0; row < TILES; row += 1) {
+            for (int col = 0; col < TILES; col += 1) {
+                Assert.assertTrue(
+                        field.hasLineOfSight(TileMaps.centre(col), TileMaps.centre(row)));
+            }
+        }
+        assertField("Open", map, field, 5, 17);
+        // between cell centres too
+        Assert.assertEquals(
+                straightAt(13, 7, TileMaps.centre(5), TileMaps.centre(17)),
+                field.headingFrom(13, 7));
+    }
+
+    /**
+     * Confirm a wall between a cell and the target blocks its sight, so it steers around the wall
+     * rather than straight into it, while the cells past the wall still see the target.
+     */
+    @Test
+    public void steersAroundWall() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(TILES);
+        for (int row = 8; row <= 12; row += 1) {
+            map[row][7] = 'w';
+        }
+        final FlowField field = field(map, TileMaps.world(map), 10, 10);
+        assertField("Wall", map, field, 10, 10);
+        final int x = TileMaps.centre(4);
+        final int y = TileMaps.centre(10);
+        Assert.assertFalse(field.hasLineOfSight(x, y));
+        Assert.assertNotEquals(straightAt(x, y, TileMaps.centre(10), y), field.headingFrom(x, y));
+        Assert.assertTrue(field.hasLineOfSight(TileMaps.centre(8), TileMaps.centre(10)));
+    }
+
+    /**
+     * Confirm cells walled off from the target, and every cell when the target is in water, have
+     * no route and are aimed straight at the target, as is a position outside the world.
+     */
+    @Test
+    public void unreachableAimsStraight() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(TILES);
+        for (int i = 3; i <= 9; i += 1) {
+            map[3][i] = 'w';
+            map[9][i] = 'w';
+            map[i][3] = 'w';
+            map[i][9] = 'w';
+        }
+        final BeanWorld world = TileMaps.world(map);
+        final FlowField field = field(map, world, 15, 15);
+        assertField("Walled off", map, field, 15, 15);
+        Assert.assertEquals(
+                FlowField.NO_ROUTE, field.distanceAt(TileMaps.centre(6), TileMaps.centre(6)));
+
+        final FlowField inWater = field(map, world, 3, 3);
+        assertField("Target in water", map, inWater, 3, 3);
+
+        final int targetX = TileMaps.centre(15);
+        final int targetY = TileMaps.centre(15);
+        Assert.assertEquals(FlowField.NO_ROUTE, field.directionAt(-10, 50));
+        Assert.assertEquals(FlowField.NO_ROUTE, field.distanceAt(-10, 50));
+        Assert.assertEquals(straightAt(-10, 50, targetX, targetY), field.headingFrom(-10, 50));
+    }
+
+    /** Confirm placing a tile rebuilds the field even though the target hasn't moved. */
+    @Test
+    public void placedTileRebuildsField() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(TILES);
+        final BeanWorld world = TileMaps.world(map);
+        final FlowField field = field(map, world, 10, 10);
+        for (int row = 5; row <= 15; row += 1) {
+            world.place(new Water(12 * TileMaps.TILE_SIZE, row * TileMaps.TILE_SIZE));
+            map[row][12] = 'w';
+        }
+        field.update(world, TileMaps.centre(10), TileMaps.centre(10));
+        assertField("After placing", map, field, 10, 10);
+    }
+}
@@ -0,0 +1,77 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.entities.resources.Cabbage;
+import builder.tiles.Tile;
+import builder.world.World;
+import builder.world.WorldLoadException;
+
+import engine.game.Entity;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Play a seeded farm, then plant and clear cabbages partway through a tick, and check the farm's
+ * cached tile selections see each change straight away while still answering repeated questions
+ * from the cache.
+ */
+public class FrameCachedWorldTest {
+
+    private static final long SEED = 3;
+    private static final int TICKS = 200;
+    // the same object every time, so it can be answered from the cache
+    private static final Predicate<Tile> HAS_CABBAGE =
+            tile -> {
+                for (Entity entity : tile.getStackedEntities()) {
+                    if (entity instanceof Cabbage) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+
+    /** A tile without a cabbage on it. */
+    private static Tile bareTile(World world) {
+        for (Tile tile : world.allTiles()) {
+            if (!HAS_CABBAGE.test(tile)) {
+                return tile;
+            }
+        }
+        throw new AssertionError("Every tile has a cabbage");
+    }
+
+    /**
+     * Confirm a cabbage planted partway through a tick, and one cleared away, are seen by the next
+     * selection in the same tick.
+     */
+    @Test
+    public void plantingMidTickIsSelected() throws IOException, WorldLoadException {
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        for (int tick = 0; tick < TICKS; tick += 1) {
+            farm.tick(SeededFarms.input(SEED, tick));
+        }
+        final World world = farm.getGameState().getWorld();
+        final List<Tile> before = world.tileSelector(HAS_CABBAGE);
+        Assert.assertSame("Asked twice in a tick", before, world.tileSelector(HAS_CABBAGE));
+
+        final Tile tile = bareTile(world);
+        final Cabbage cabbage = new Cabbage(tile.getX(), tile.getY());
+        tile.placeOn(cabbage);
+        final List<Tile> planted = world.tileSelector(HAS_CABBAGE);
+        Assert.assertEquals(before.size() + 1, planted.size());
+        Assert.assertTrue(planted.contains(tile));
+
+        // cleared from the stack when the tile next ticks, which may also be mid-tick
+        cabbage.markForRemoval();
+        Assert.assertSame(planted, world.tileSelector(HAS_CABBAGE));
+        tile.tick(SeededFarms.input(SEED, TICKS - 1));
+        final List<Tile> cleared = world.tileSelector(HAS_CABBAGE);
+        Assert.assertFalse(cleared.contains(tile));
+        Assert.assertEquals(before, cleared);
+    }
+}
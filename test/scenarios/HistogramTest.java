@@ -0,0 +1,115 @@
+package scenarios;
+
+import builder.profiling.Histogram;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Record known distributions of values into a {@link Histogram} and check every percentile it
+ * reports is exact below eight, and otherwise no less than the true value and within 12.5% above
+ * it.
+ */
+public class HistogramTest {
+
+    private static final double[] PERCENTILES = {0, 1, 10, 25, 50, 75, 90, 99, 99.9, 100};
+
+    /** The value the given percentage of the sorted values are at or below. */
+    private static long truePercentile(long[] sorted, double percentile) {
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * sorted.length));
+        return sorted[(int) rank - 1];
+    }
+
+    /** Record the values and check each percentile is within the stated bound. */
+    private static void assertWithinBound(String message, long[] values) {
+        final Histogram histogram = new Histogram();
+        for (long value : values) {
+            histogram.record(value);
+        }
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        Assert.assertEquals(message, values.length, histogram.count());
+        Assert.assertEquals(message, sorted[sorted.length - 1], histogram.max());
+        for (double percentile : PERCENTILES) {
+            final long expected = truePercentile(sorted, percentile);
+            final long reported = histogram.percentile(percentile);
+            final String at = message + ", p" + percentile;
+            Assert.assertTrue(at + ": " + reported + " < " + expected, reported >= expected);
+            Assert.assertTrue(
+                    at + ": " + reported + " more than 12.5% over " + expected,
+                    reported - expected <= expected / 8);
+        }
+    }
+
+    /** Confirm values below eight are counted exactly. */
+    @Test
+    public void smallValuesAreExact() {
+        final Histogram histogram = new Histogram();
+        for (int value = 0; value < 8; value += 1) {
+            histogram.record(value);
+        }
+        for (int value = 0; value < 8; value += 1) {
+            Assert.assertEquals(value, histogram.percentile(100.0 * (value + 1) / 8));
+        }
+        Assert.assertEquals(3.5, histogram.mean(), 0);
+    }
+
+    /** Confirm every value from 1 to 100000 is reported to within 12.5%. */
+    @Test
+    public void uniformWithinBound() {
+        final long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i += 1) {
+            values[i] = i + 1;
+        }
+        assertWithinBound("Uniform", values);
+    }
+
+    /**
+     * Confirm values spread over many powers of two, as tick durations are, are reported to
+     * within 12.5%.
+     */
+    @Test
+    public void skewedWithinBound() {
+        final SplittableRandom random = new SplittableRandom(35);
+        for (int trial = 0; trial < 50; trial += 1) {
+            final long[] values = new long[1 + random.nextInt(5000)];
+            for (int i = 0; i < values.length; i += 1) {
+                values[i] = (long) Math.exp(random.nextDouble() * 40);
+            }
+            assertWithinBound("Trial " + trial, values);
+        }
+    }
+
+    /** Confirm each bucket's edges are reported to within 12.5%, up to the largest value. */
+    @Test
+    public void bucketEdgesWithinBound() {
+        for (int exponent = 3; exponent < 63; exponent += 1) {
+            for (long sub = 0; sub < 8; sub += 1) {
+                final long lower = (8 + sub) << (exponent - 3);
+                final long upper = lower + (1L << (exponent - 3)) - 1;
+                assertWithinBound("Lower edge " + lower, new long[] {lower});
+                assertWithinBound("Upper edge " + upper, new long[] {upper, 0});
+            }
+        }
+        assertWithinBound("Largest", new long[] {Long.MAX_VALUE, 1});
+    }
+
+    /** Confirm negative values count as zero, and an empty or reset histogram reports zero. */
+    @Test
+    public void negativeAndEmpty() {
+        final Histogram histogram = new Histogram();
+        Assert.assertEquals(0, histogram.percentile(50));
+        Assert.assertEquals(0, histogram.mean(), 0);
+        histogram.record(-5);
+        Assert.assertEquals(1, histogram.count());
+        Assert.assertEquals(0, histogram.percentile(100));
+        histogram.record(1000);
+        histogram.reset();
+        Assert.assertEquals(0, histogram.count());
+        Assert.assertEquals(0, histogram.max());
+        Assert.assertEquals(0, histogram.percentile(100));
+    }
+}
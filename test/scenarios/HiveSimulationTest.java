@@ -1,10 +1,7 @@
 package scenarios;
 
-import builder.JavaBeanFarm;
 import builder.world.WorldLoadException;
 
-import engine.Engine;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
@@ -15,11 +12,11 @@ import org.junit.Test;
 import scenarios.analysers.AnalyserManager;
 import scenarios.analysers.MovementAnalyser;
 import scenarios.analysers.RenderableAnalyser;
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
 import scenarios.details.ScenarioDetails;
-import scenarios.mocks.MockCore;
-import scenarios.mocks.MockEngineState;
+import scenarios.mocks.RecordingPolicy;
 
-import java.io.FileReader;
 import java.io.IOException;
 
 /**
@@ -39,30 +36,38 @@ public class HiveSimulationTest {
     private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
     private AnalyserManager data;
 
-    @Before
-    public void setUp() throws IOException, WorldLoadException {
+    private static final ScenarioJob.InputScript INPUT =
+            (state, tick) -> {
+                if (tick == 3) { // flip to hive hammer
+                    return state.leftClick().press('4');
+                }
+                return state.leftClick();
+            };
+    // only the hive is asked about, and whether anything was drawn with a default sprite
+    private static final ScenarioJob SCENARIO =
+            new ScenarioJob(
+                            "hive",
+                            dimensions,
+                            "resources/testmaps/beeTest.map",
+                            details(),
+                            INPUT,
+                            TICKS)
+                    .withPolicy(() -> RecordingPolicy.spriteGroups("hive", "default"));
+
+    static {
+        ScenarioFixtures.prefetch(SCENARIO);
+    }
+
+    private static ScenarioDetails details() {
         ScenarioDetails details = new ScenarioDetails(PLAYER_X, PLAYER_Y, 9, 2);
         details.addCabbage(380, 350);
         details.addMagpieSpawner(0, 0, 100);
-        final Game game =
-                new JavaBeanFarm(
-                        dimensions,
-                        new FileReader("resources/testmaps/beeTest.map"),
-                        details.toReader());
-
-        data = new AnalyserManager();
-        final MockCore core = new MockCore(data);
-        final Engine engine = new Engine(game, dimensions, core);
-        MockEngineState state = new MockEngineState(dimensions).leftClick();
-        for (int i = 0; i < TICKS; i += 1) {
-            state = state.withFrame(i);
-            if (i == 3) { // flip to hive hammer
-                core.setState(state.press('4'));
-            } else {
-                core.setState(state);
-            }
-            engine.tick();
-        }
+        return details;
+    }
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        data = ScenarioFixtures.recorded(SCENARIO);
     }
 
     /** Confirm 1 hive was spawned and that it was spawned at/near the correct location. */
@@ -0,0 +1,102 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.save.InputRecorder;
+import builder.save.InputReplay;
+import builder.world.WorldLoadException;
+
+import engine.EngineState;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record a game with keyframes every 200 ticks, then replay it from different ticks. Wherever the
+ * replay starts, every tick after should leave the farm as it was on that tick of the recording.
+ */
+public class InputReplayTest {
+
+    private static final long SEED = 3;
+    private static final int TICKS = 700;
+    private static final int KEYFRAME_INTERVAL = 200;
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path recording;
+    // what the farm looked like before each tick, and after the last
+    private final List<List<String>> recorded = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        recording = folder.getRoot().toPath().resolve("game.jbfr");
+        final JavaBeanFarm farm = SeededFarms.create(SEED);
+        try (InputRecorder recorder = new InputRecorder(farm, recording, KEYFRAME_INTERVAL)) {
+            for (int tick = 0; tick < TICKS; tick += 1) {
+                recorded.add(SeededFarms.describe(farm));
+                recorder.tick(SeededFarms.input(SEED, tick));
+            }
+            recorded.add(SeededFarms.describe(farm));
+        }
+    }
+
+    /**
+     * Seek to the given tick and replay the rest of the recording, checking the farm after every
+     * tick.
+     */
+    private void assertReplayMatchesFrom(int start) throws IOException, WorldLoadException {
+        try (InputReplay replay = InputReplay.open(recording)) {
+            Assert.assertEquals(0, replay.firstTick());
+            Assert.assertEquals(TICKS, replay.endTick());
+            final JavaBeanFarm farm = replay.seek(start);
+            for (int tick = start; tick < TICKS; tick += 1) {
+                Assert.assertTrue("Recording ended before tick " + tick, replay.hasNext());
+                final EngineState state = replay.next();
+                Assert.assertEquals(tick, state.currentTick());
+                farm.tick(state);
+                Assert.assertEquals(
+                        "After tick " + tick, recorded.get(tick + 1), SeededFarms.describe(farm));
+            }
+            Assert.assertFalse(replay.hasNext());
+        }
+    }
+
+    /** Confirm replaying from the first tick plays out as recorded. */
+    @Test
+    public void replayFromStartMatchesRecording() throws IOException, WorldLoadException {
+        assertReplayMatchesFrom(0);
+    }
+
+    /** Confirm seeking to a keyframe plays out as recorded from there. */
+    @Test
+    public void seekToKeyframeMatchesRecording() throws IOException, WorldLoadException {
+        assertReplayMatchesFrom(2 * KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Confirm seeking between keyframes, which loads the keyframe before and plays on to the tick,
+     * plays out as recorded from there.
+     */
+    @Test
+    public void seekBetweenKeyframesMatchesRecording() throws IOException, WorldLoadException {
+        assertReplayMatchesFrom(2 * KEYFRAME_INTERVAL + 117);
+    }
+
+    /** Confirm seeking to the end gives the farm as the recording left it. */
+    @Test
+    public void seekToEndMatchesRecording() throws IOException, WorldLoadException {
+        try (InputReplay replay = InputReplay.open(recording)) {
+            final JavaBeanFarm farm = replay.seek(TICKS - 1);
+            farm.tick(replay.next());
+            Assert.assertFalse(replay.hasNext());
+            Assert.assertEquals(recorded.get(TICKS), SeededFarms.describe(farm));
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package scenarios;
 
-import builder.JavaBeanFarm;
 import builder.ui.SpriteGallery;
 import builder.world.WorldLoadException;
 
-import engine.Engine;
 import engine.art.sprites.SpriteGroup;
-import engine.game.Game;
 import engine.renderer.Dimensions;
 import engine.renderer.TileGrid;
 
@@ -18,11 +15,10 @@ import scenarios.analysers.AnalyserManager;
 import scenarios.analysers.LetterAnalyser;
 import scenarios.analysers.MovementAnalyser;
 import scenarios.analysers.RenderableAnalyser;
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
 import scenarios.details.ScenarioDetails;
-import scenarios.mocks.MockCore;
-import scenarios.mocks.MockEngineState;
 
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -53,39 +49,47 @@ public class InventorySimulationTest {
     private static final SpriteGroup art = SpriteGallery.inventory;
     private static AnalyserManager data;
 
-    @Before
-    public void setUp() throws IOException, WorldLoadException {
+    private static final ScenarioJob.InputScript INPUT =
+            (state, tick) -> {
+                state = state.leftClick();
+                if (tick / 3 == 0) {
+                    return state.press('5');
+                } else if (tick / 3 == 1) {
+                    return state.press('4');
+                } else if (tick / 3 == 2) {
+                    return state.press('3');
+                } else if (tick / 3 == 3) {
+                    return state.press('2');
+                } else if (tick / 3 == 4) {
+                    return state.press('1');
+                } else {
+                    return state.press('1');
+                }
+            };
+    private static final ScenarioJob SCENARIO =
+            new ScenarioJob(
+                    "inventory",
+                    dimensions,
+                    "resources/testmaps/inventoryTest.map",
+                    details(),
+                    INPUT,
+                    TICKS);
+
+    static {
+        ScenarioFixtures.prefetch(SCENARIO);
+    }
+
+    private static ScenarioDetails details() {
         ScenarioDetails details = new ScenarioDetails(340, 400, 1, 3);
         details.addCabbage(340, 400);
         details.addCabbage(380, 400);
         details.addCabbage(325, 430);
-        final Game game =
-                new JavaBeanFarm(
-                        dimensions,
-                        new FileReader("resources/testmaps/inventoryTest.map"),
-                        details.toReader());
-
-        data = new AnalyserManager();
-        final MockCore core = new MockCore(data);
-        final Engine engine = new Engine(game, dimensions, core);
-        for (int i = 0; i < TICKS; i += 1) {
-            MockEngineState state = new MockEngineState(dimensions, i).leftClick();
-            if (i / 3 == 0) {
-                state = state.press('5');
-            } else if (i / 3 == 1) {
-                state = state.press('4');
-            } else if (i / 3 == 2) {
-                state = state.press('3');
-            } else if (i / 3 == 3) {
-                state = state.press('2');
-            } else if (i / 3 == 4) {
-                state = state.press('1');
-            } else {
-                state = state.press('1');
-            }
-            core.setState(state);
-            engine.tick();
-        }
+        return details;
+    }
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        data = ScenarioFixtures.recorded(SCENARIO);
     }
 
     /** Confirm the cabbages on the map on frame 0 match the expected number of 3. */
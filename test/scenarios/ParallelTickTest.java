@@ -0,0 +1,54 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.TickPool;
+import builder.stress.StressScenario;
+import builder.world.WorldLoadException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Play seeded games twice, once ticking NPCs and birds one after another and once split across
+ * several threads, and check both farms show and carry the same things after every tick. Eagles
+ * spawn every few ticks, so dozens of them tick in parallel and steal food from the player through
+ * queued inventory changes. Each worker is handed as few as one entity, so even small batches of
+ * hives and guard bees are ticked in parallel too.
+ */
+public class ParallelTickTest {
+
+    private static final int SEEDS = 4;
+    private static final int TICKS = 1500;
+    private static final int WORKERS = 4;
+    private static final StressScenario.Spawners EAGLES = new StressScenario.Spawners(8, 20);
+
+    private final ForkJoinPool pool = new ForkJoinPool(WORKERS);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /** Confirm a farm ticked in parallel plays out as it does ticked sequentially. */
+    @Test
+    public void parallelTickMatchesSequential() throws IOException, WorldLoadException {
+        for (long seed = 1; seed <= SEEDS; seed += 1) {
+            final JavaBeanFarm sequential = SeededFarms.create(seed, EAGLES);
+            final JavaBeanFarm parallel = SeededFarms.create(seed, EAGLES);
+            sequential.setTickPool(TickPool.SEQUENTIAL);
+            parallel.setTickPool(new TickPool(pool, 1));
+            for (int tick = 0; tick < TICKS; tick += 1) {
+                sequential.tick(SeededFarms.input(seed, tick));
+                parallel.tick(SeededFarms.input(seed, tick));
+                Assert.assertEquals(
+                        "Seed " + seed + ", tick " + tick,
+                        SeededFarms.describe(sequential),
+                        SeededFarms.describe(parallel));
+            }
+        }
+    }
+}
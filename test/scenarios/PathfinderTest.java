@@ -0,0 +1,277 @@
+package scenarios;
+
+import builder.tiles.Water;
+import builder.world.BeanWorld;
+import builder.world.Path;
+import builder.world.Pathfinder;
+import builder.world.WorldLoadException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Find routes across seeded maps of grass and water, and check each against a plain Dijkstra
+ * search over the same cells: a route must only step between neighbouring open cells without
+ * cutting a corner of water, cost what its steps add up to, and be as cheap as the cheapest, or
+ * for long routes planned over clusters, nearly so. Routes should also change when a tile is
+ * placed in their way, and be empty where there are none.
+ */
+public class PathfinderTest {
+
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    private static final int SEEDS = 10;
+    private static final int ROUTES_PER_SEED = 40;
+    // long enough that most routes span several clusters, and are planned over the cluster graph
+    private static final int LONG_MAP_TILES = 48;
+    private static final int CLUSTER_SIZE = 8;
+    private static final double LONG_ROUTE_SLACK = 1.25;
+
+    /** Find a route between the centres of two cells. */
+    private static Optional<Path> find(
+            Pathfinder pathfinder,
+            BeanWorld world,
+            int fromCol,
+            int fromRow,
+            int toCol,
+            int toRow) {
+        return pathfinder.find(
+                world,
+                TileMaps.centre(fromCol),
+                TileMaps.centre(fromRow),
+                TileMaps.centre(toCol),
+                TileMaps.centre(toRow));
+    }
+
+    /** The cells a route passes through, or an empty list if there is none. */
+    private static List<String> waypoints(Optional<Path> found) {
+        final List<String> cells = new ArrayList<>();
+        found.ifPresent(
+                path -> {
+                    for (int i = 0; i < path.length(); i += 1) {
+                        cells.add(
+                                path.getX(i) / TileMaps.TILE_SIZE
+                                        + ","
+                                        + path.getY(i) / TileMaps.TILE_SIZE);
+                    }
+                });
+        return cells;
+    }
+
+    /** The cost of the cheapest route between two cells, or -1 if there isn't one. */
+    private static int cheapest(char[][] map, int fromCol, int fromRow, int toCol, int toRow) {
+        if (!TileMaps.open(map, fromCol, fromRow) || !TileMaps.open(map, toCol, toRow)) {
+            return -1;
+        }
+        final int size = map.length;
+        final int[] cost = new int[size * size];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        final PriorityQueue<int[]> open = new PriorityQueue<>((a, b) -> a[0] - b[0]);
+        cost[fromRow * size + fromCol] = 0;
+        open.add(new int[] {0, fromCol, fromRow});
+        while (!open.isEmpty()) {
+            final int[] next = open.poll();
+            final int col = next[1];
+            final int row = next[2];
+            if (next[0] > cost[row * size + col]) {
+                continue;
+            }
+            if (col == toCol && row == toRow) {
+                return next[0];
+            }
+            for (int dy = -1; dy <= 1; dy += 1) {
+                for (int dx = -1; dx <= 1; dx += 1) {
+                    if (!TileMaps.canStep(map, col, row, col + dx, row + dy)) {
+                        continue;
+                    }
+                    final int through = next[0] + (dx != 0 && dy != 0 ? DIAGONAL : STRAIGHT);
+                    final int cell = (row + dy) * size + col + dx;
+                    if (through < cost[cell]) {
+                        cost[cell] = through;
+                        open.add(new int[] {through, col + dx, row + dy});
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check a route runs between the centres of the given cells one allowed step at a time, and
+     * costs what its steps add up to.
+     */
+    private static void assertValidRoute(
+            String message,
+            char[][] map,
+            Path path,
+            int fromCol,
+            int fromRow,
+            int toCol,
+            int toRow) {
+        Assert.assertEquals(message, TileMaps.centre(fromCol), path.getX(0));
+        Assert.assertEquals(message, TileMaps.centre(fromRow), path.getY(0));
+        Assert.assertEquals(message, TileMaps.centre(toCol), path.getX(path.length() - 1));
+        Assert.assertEquals(message, TileMaps.centre(toRow), path.getY(path.length() - 1));
+        int cost = 0;
+        for (int i = 1; i < path.length(); i += 1) {
+            final int col = path.getX(i - 1) / TileMaps.TILE_SIZE;
+            final int row = path.getY(i - 1) / TileMaps.TILE_SIZE;
+            final int nextCol = path.getX(i) / TileMaps.TILE_SIZE;
+            final int nextRow = path.getY(i) / TileMaps.TILE_SIZE;
+            Assert.assertTrue(
+                    message + ", step " + i + " of " + path,
+                    TileMaps.canStep(map, col, row, nextCol, nextRow));
+            cost += col != nextCol && row != nextRow ? DIAGONAL : STRAIGHT;
+        }
+        Assert.assertEquals(message, cost, path.getCost());
+    }
+
+    /**
+     * Find routes between random cells of a map, checking each is valid, and that a route is only
+     * found where there is one.
+     *
+     * @return The ratio of the dearest route found to the cheapest possible.
+     */
+    private static double checkRoutes(char[][] map, Pathfinder pathfinder, long seed)
+            throws WorldLoadException {
+        final BeanWorld world = TileMaps.world(map);
+        final SplittableRandom random = new SplittableRandom(seed);
+        double worst = 1;
+        for (int i = 0; i < ROUTES_PER_SEED; i += 1) {
+            final int fromCol = random.nextInt(map.length);
+            final int fromRow = random.nextInt(map.length);
+            final int toCol = random.nextInt(map.length);
+            final int toRow = random.nextInt(map.length);
+            final String message =
+                    "Seed " + seed + ", " + fromCol + "," + fromRow + " to " + toCol + "," + toRow;
+            final Optional<Path> found = find(pathfinder, world, fromCol, fromRow, toCol, toRow);
+            final int best = cheapest(map, fromCol, fromRow, toCol, toRow);
+            Assert.assertEquals(message, best >= 0, found.isPresent());
+            if (found.isPresent()) {
+                assertValidRoute(message, map, found.get(), fromCol, fromRow, toCol, toRow);
+                if (best > 0) {
+                    worst = Math.max(worst, (double) found.get().getCost() / best);
+                }
+            }
+        }
+        return worst;
+    }
+
+    /** Confirm routes short enough to be searched cell by cell are as cheap as possible. */
+    @Test
+    public void shortRoutesAreCheapest() throws WorldLoadException {
+        for (long seed = 1; seed <= SEEDS; seed += 1) {
+            final char[][] map = TileMaps.randomMap(24, seed);
+            final double worst = checkRoutes(map, new Pathfinder(TileMaps.dimensions(map)), seed);
+            Assert.assertEquals("Seed " + seed, 1, worst, 0);
+        }
+    }
+
+    /**
+     * Confirm routes planned over the cluster graph are valid and no more than a quarter dearer
+     * than the cheapest.
+     */
+    @Test
+    public void longRoutesAreValid() throws WorldLoadException {
+        for (long seed = 1; seed <= SEEDS; seed += 1) {
+            final char[][] map = TileMaps.randomMap(LONG_MAP_TILES, seed);
+            final Pathfinder pathfinder =
+                    new Pathfinder(
+                            TileMaps.dimensions(map), Pathfinder.DEFAULT_CACHE_SIZE, CLUSTER_SIZE);
+            final double worst = checkRoutes(map, pathfinder, seed);
+            Assert.assertTrue(
+                    "Seed " + seed + " found a route " + worst + " times the cheapest",
+                    worst <= LONG_ROUTE_SLACK);
+        }
+    }
+
+    /**
+     * Confirm that after tiles are placed, the clusters rebuilt around them give the same long
+     * routes as a cluster graph built from scratch.
+     */
+    @Test
+    public void placedTilesRebuildClusters() throws WorldLoadException {
+        final char[][] map = TileMaps.randomMap(LONG_MAP_TILES, 0);
+        final BeanWorld world = TileMaps.world(map);
+        final Pathfinder pathfinder =
+                new Pathfinder(
+                        TileMaps.dimensions(map), Pathfinder.DEFAULT_CACHE_SIZE, CLUSTER_SIZE);
+        final SplittableRandom random = new SplittableRandom(0);
+        for (int round = 0; round < 10; round += 1) {
+            for (int i = 0; i < 5; i += 1) {
+                final int col = random.nextInt(map.length);
+                final int row = random.nextInt(map.length);
+                world.place(new Water(col * TileMaps.TILE_SIZE, row * TileMaps.TILE_SIZE));
+                map[row][col] = 'w';
+            }
+            final Pathfinder fresh =
+                    new Pathfinder(
+                            TileMaps.dimensions(map), Pathfinder.DEFAULT_CACHE_SIZE, CLUSTER_SIZE);
+            final BeanWorld rebuilt = TileMaps.world(map);
+            for (int i = 0; i < ROUTES_PER_SEED; i += 1) {
+                final int fromCol = random.nextInt(map.length);
+                final int fromRow = random.nextInt(map.length);
+                final int toCol = random.nextInt(map.length);
+                final int toRow = random.nextInt(map.length);
+                final String route = fromCol + "," + fromRow + " to " + toCol + "," + toRow;
+                Assert.assertEquals(
+                        "Round " + round + ", " + route,
+                        waypoints(find(fresh, rebuilt, fromCol, fromRow, toCol, toRow)),
+                        waypoints(find(pathfinder, world, fromCol, fromRow, toCol, toRow)));
+            }
+        }
+    }
+
+    /** Confirm a route is found again from the cache, until a tile placed on it moves it. */
+    @Test
+    public void placedTileReroutes() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(24);
+        final BeanWorld world = TileMaps.world(map);
+        final Pathfinder pathfinder = new Pathfinder(TileMaps.dimensions(map));
+        final Path straight = find(pathfinder, world, 2, 5, 20, 5).orElseThrow();
+        Assert.assertEquals(18 * STRAIGHT, straight.getCost());
+        Assert.assertSame(straight, find(pathfinder, world, 2, 5, 20, 5).orElseThrow());
+        Assert.assertEquals(1, pathfinder.getCacheHits());
+        Assert.assertEquals(1, pathfinder.getCacheMisses());
+
+        world.place(new Water(11 * TileMaps.TILE_SIZE, 5 * TileMaps.TILE_SIZE));
+        map[5][11] = 'w';
+        final Path around = find(pathfinder, world, 2, 5, 20, 5).orElseThrow();
+        Assert.assertEquals(2, pathfinder.getCacheMisses());
+        assertValidRoute("Around", map, around, 2, 5, 20, 5);
+        Assert.assertEquals(cheapest(map, 2, 5, 20, 5), around.getCost());
+    }
+
+    /**
+     * Confirm there is no route to a cell walled in by water, from or to a water cell, or from
+     * outside the world.
+     */
+    @Test
+    public void noRouteWhereUnreachable() throws WorldLoadException {
+        final char[][] map = TileMaps.grassMap(24);
+        for (int i = 8; i <= 12; i += 1) {
+            map[8][i] = 'w';
+            map[12][i] = 'w';
+            map[i][8] = 'w';
+            map[i][12] = 'w';
+        }
+        final BeanWorld world = TileMaps.world(map);
+        final Pathfinder pathfinder = new Pathfinder(TileMaps.dimensions(map));
+        Assert.assertTrue(find(pathfinder, world, 1, 1, 10, 10).isEmpty());
+        Assert.assertTrue(find(pathfinder, world, 10, 10, 1, 1).isEmpty());
+        Assert.assertTrue(find(pathfinder, world, 1, 1, 8, 10).isEmpty());
+        Assert.assertTrue(find(pathfinder, world, 8, 10, 1, 1).isEmpty());
+        Assert.assertTrue(find(pathfinder, world, 1, 1, 24, 1).isEmpty());
+        final int centre = TileMaps.centre(1);
+        Assert.assertTrue(pathfinder.find(world, -1, centre, centre, centre).isEmpty());
+        // the walled-in cells can still reach each other
+        Assert.assertTrue(find(pathfinder, world, 9, 9, 11, 11).isPresent());
+    }
+}
@@ -0,0 +1,182 @@
+package scenarios;
+
+import builder.ui.SpriteGallery;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.analysers.AnalyserManager;
+import scenarios.analysers.FrameRecord;
+import scenarios.analysers.RenderableAnalyser;
+import scenarios.mocks.MockCore;
+import scenarios.mocks.MockEngineState;
+import scenarios.mocks.RecordingPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draw made-up frames to a {@link MockCore} under each {@link RecordingPolicy}, and check exactly
+ * the frames and renderables the policy allows are recorded. Sampled and change-only recordings
+ * leave gaps that the recorded rows must not paper over: a renderable that stayed put is still
+ * only found on the frames that were recorded.
+ */
+public class RecordingPolicyTest {
+
+    private static final int FRAMES = 30;
+    private static final Sprite EAGLE = SpriteGallery.eagle.getSprite("default");
+    private static final Sprite EAGLE_UP = SpriteGallery.eagle.getSprite("up");
+    private static final Sprite GRASS = SpriteGallery.grass.getSprite("default");
+
+    /** A renderable as drawn on one frame. */
+    private record Drawn(String getID, int getX, int getY, Sprite getSprite)
+            implements Renderable {}
+
+    /** What to draw on a frame. */
+    @FunctionalInterface
+    private interface Scene {
+        List<Renderable> at(int frame);
+    }
+
+    /** Draw every frame of a scene to a core recording by the given policy. */
+    private static AnalyserManager record(RecordingPolicy policy, Scene scene) {
+        final AnalyserManager data = new AnalyserManager();
+        final MockCore core = new MockCore(data);
+        core.setRecordingPolicy(policy);
+        for (int frame = 0; frame < FRAMES; frame += 1) {
+            core.setState(new MockEngineState(frame));
+            core.draw(scene.at(frame));
+        }
+        return data;
+    }
+
+    /** A tile that never moves, drawn every frame. */
+    private static List<Renderable> still(int frame) {
+        return List.of(new Drawn("tile", 40, 40, GRASS));
+    }
+
+    private static List<Integer> frames(RenderableAnalyser renderable) {
+        final List<Integer> frames = new ArrayList<>();
+        for (FrameRecord frame : renderable.getFrames()) {
+            frames.add(frame.getFrame());
+        }
+        return frames;
+    }
+
+    private static List<Integer> frames(RenderableAnalyser renderable, int start, int end) {
+        final List<Integer> frames = new ArrayList<>();
+        for (FrameRecord frame : renderable.getFramesBetween(start, end)) {
+            frames.add(frame.getFrame());
+        }
+        return frames;
+    }
+
+    /** Check a renderable is found on exactly the given frames, and nowhere between them. */
+    private static void assertRecordedOn(RenderableAnalyser renderable, List<Integer> expected) {
+        Assert.assertEquals(expected, frames(renderable));
+        for (int frame = 0; frame < FRAMES; frame += 1) {
+            Assert.assertEquals(
+                    "Frame " + frame,
+                    expected.contains(frame),
+                    renderable.getFrame(frame) != null);
+        }
+    }
+
+    /** Confirm only renderables drawn with sprites of the given groups are recorded. */
+    @Test
+    public void spriteGroupsRecordsOnlyThoseGroups() {
+        final AnalyserManager data =
+                record(
+                        RecordingPolicy.spriteGroups("eagle"),
+                        frame ->
+                                List.of(
+                                        new Drawn("eagle", frame, 0, EAGLE),
+                                        new Drawn("tile", 40, 40, GRASS),
+                                        new Drawn("blank", 0, 0, null)));
+        Assert.assertEquals(1, data.getAll().size());
+        Assert.assertEquals(FRAMES, data.get("eagle").getFrames().size());
+        Assert.assertTrue(data.getBySpriteGroup("grass").isEmpty());
+    }
+
+    /**
+     * Confirm sampling every fifth frame records a still tile on just those frames, even though
+     * they share one row.
+     */
+    @Test
+    public void everyNthFrameLeavesGaps() {
+        final AnalyserManager data =
+                record(RecordingPolicy.everyNthFrame(5), RecordingPolicyTest::still);
+        final RenderableAnalyser tile = data.get("tile");
+        assertRecordedOn(tile, List.of(0, 5, 10, 15, 20, 25));
+        Assert.assertEquals(List.of(5, 10), frames(tile, 3, 12));
+    }
+
+    /**
+     * Confirm a still tile recorded on unevenly spaced frames, by a policy of the test's own, is
+     * found on just those frames rather than on every frame between them.
+     */
+    @Test
+    public void unevenGapsKeepTheirFrames() {
+        final List<Integer> recorded = List.of(0, 1, 2, 10, 20, 21, 29);
+        final RecordingPolicy policy =
+                new RecordingPolicy() {
+                    @Override
+                    public boolean recordsFrame(int frame) {
+                        return recorded.contains(frame);
+                    }
+
+                    @Override
+                    public boolean records(int frame, Renderable renderable) {
+                        return true;
+                    }
+                };
+        assertRecordedOn(record(policy, RecordingPolicyTest::still).get("tile"), recorded);
+    }
+
+    /** Confirm a window of frames, combined with sampling, records only where both agree. */
+    @Test
+    public void betweenFramesCombinesWithSampling() {
+        final AnalyserManager window =
+                record(RecordingPolicy.betweenFrames(10, 20), RecordingPolicyTest::still);
+        final List<Integer> expected = new ArrayList<>();
+        for (int frame = 10; frame <= 20; frame += 1) {
+            expected.add(frame);
+        }
+        assertRecordedOn(window.get("tile"), expected);
+
+        final AnalyserManager sampled =
+                record(
+                        RecordingPolicy.betweenFrames(10, 20)
+                                .and(RecordingPolicy.everyNthFrame(3)),
+                        RecordingPolicyTest::still);
+        assertRecordedOn(sampled.get("tile"), List.of(12, 15, 18));
+    }
+
+    /**
+     * Confirm only the first frame and frames where a renderable moved or changed sprite are
+     * recorded, and that combined with sampling a change is recorded on the next sampled frame.
+     */
+    @Test
+    public void changesOnlyRecordsChanges() {
+        final Scene scene =
+                frame -> {
+                    final int x = frame < 11 ? 0 : 10;
+                    final Sprite sprite = frame < 17 ? EAGLE : EAGLE_UP;
+                    return List.of(new Drawn("eagle", x, 0, sprite));
+                };
+        assertRecordedOn(
+                record(RecordingPolicy.changesOnly(), scene).get("eagle"), List.of(0, 11, 17));
+        assertRecordedOn(
+                record(RecordingPolicy.everyNthFrame(2).and(RecordingPolicy.changesOnly()), scene)
+                        .get("eagle"),
+                List.of(0, 12, 18));
+
+        // a still tile is recorded once, however long it is drawn
+        final RenderableAnalyser tile =
+                record(RecordingPolicy.changesOnly(), RecordingPolicyTest::still).get("tile");
+        assertRecordedOn(tile, List.of(0));
+    }
+}
@@ -0,0 +1,122 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.entities.npc.Npc;
+import builder.entities.npc.enemies.Enemy;
+import builder.inventory.Inventory;
+import builder.stress.StressGenerator;
+import builder.stress.StressScenario;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+import engine.renderer.TileGrid;
+
+import scenarios.mocks.MockEngineState;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Farms and player input made up from a seed, for tests that play the same game twice, e.g. once
+ * straight through and once from a save, and check both play out the same way.
+ */
+final class SeededFarms {
+
+    static final int TILES_PER_ROW = 20;
+    static final int SIZE = 800;
+    static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    // how many ticks the player keeps doing the same thing for
+    private static final int STRETCH = 37;
+    private static final char[] KEYS = {'w', 'a', 's', 'd', 'w', 'a', 's', 'd', '1', '2', '4', '5'};
+
+    private SeededFarms() {}
+
+    /**
+     * @param seed What to make the farm from.
+     * @return A farm with terrain, cabbages and all three kinds of spawner, spawning often enough
+     *     that there are birds about within a few hundred ticks.
+     */
+    static JavaBeanFarm create(long seed) throws IOException, WorldLoadException {
+        return create(seed, new StressScenario.Spawners(1, 170));
+    }
+
+    /**
+     * @param seed What to make the farm from.
+     * @param eagles The eagle spawners to place, in place of the usual one.
+     * @return A farm like {@link #create(long)}, but with the given eagle spawners.
+     */
+    static JavaBeanFarm create(long seed, StressScenario.Spawners eagles)
+            throws IOException, WorldLoadException {
+        final StressScenario scenario =
+                new StressScenario(
+                        TILES_PER_ROW,
+                        SIZE / TILES_PER_ROW,
+                        StressScenario.Terrain.FARMLAND,
+                        0.1,
+                        new StressScenario.Spawners(2, 90),
+                        eagles,
+                        new StressScenario.Spawners(2, 70),
+                        seed);
+        return new JavaBeanFarm(
+                dimensions,
+                new StringReader(StressGenerator.map(scenario)),
+                new StringReader(StressGenerator.details(scenario)));
+    }
+
+    /**
+     * The player walks about, sometimes with the mouse held down, and every so often picks
+     * something from the hotbar and holds the mouse down to use it, e.g. tilling dirt and placing
+     * hives and scarecrows.
+     *
+     * @param seed What the farm was made from.
+     * @param tick The tick to give input for.
+     * @return The engine's state on that tick.
+     */
+    static MockEngineState input(long seed, int tick) {
+        final SplittableRandom random = new SplittableRandom(seed * 31 + tick / STRETCH);
+        final char key = KEYS[random.nextInt(KEYS.length)];
+        final MockEngineState state = new MockEngineState(dimensions, tick).press(key);
+        return Character.isDigit(key) || random.nextInt(4) == 0 ? state.leftClick() : state;
+    }
+
+    /**
+     * Describe what a farm is showing and carrying, in enough detail that two farms playing out the
+     * same way have equal descriptions on every tick. The player's sprite is left out, as its
+     * animations start over when a farm is loaded.
+     *
+     * @param farm The farm to describe.
+     * @return One line per thing rendered, then the inventory and how many birds and NPCs there
+     *     are.
+     */
+    static List<String> describe(JavaBeanFarm farm) {
+        final Object player = farm.getGameState().getPlayer();
+        final List<String> lines = new ArrayList<>();
+        for (Renderable renderable : farm.render()) {
+            final String sprite =
+                    renderable == player ? "" : " " + renderable.getSprite().getLabel();
+            lines.add(
+                    renderable.getClass().getSimpleName()
+                            + " at "
+                            + renderable.getX()
+                            + ", "
+                            + renderable.getY()
+                            + sprite);
+        }
+        final Inventory inventory = farm.getInventory();
+        lines.add("coins " + inventory.getCoins() + ", food " + inventory.getFood());
+        for (int slot = 0; slot < inventory.getCapacity(); slot += 1) {
+            final Object item = inventory.getItem(slot);
+            final String held = item == null ? "-" : item.getClass().getSimpleName();
+            lines.add("slot " + slot + " " + held);
+        }
+        final List<Enemy> birds = farm.getGameState().getEnemies().getALl();
+        final List<Npc> npcs = farm.getGameState().getNpcs().getAll();
+        lines.add(birds.size() + " birds, " + npcs.size() + " NPCs");
+        return lines;
+    }
+}
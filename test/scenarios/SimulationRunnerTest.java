@@ -0,0 +1,282 @@
+package scenarios;
+
+import builder.runner.InputSnapshot;
+import builder.runner.RenderSnapshot;
+import builder.runner.SimulationRunner;
+import builder.runner.SimulationRunner.Interpolation;
+
+import engine.EngineState;
+import engine.art.sprites.Sprite;
+import engine.core.Core;
+import engine.core.Debug;
+import engine.game.Game;
+import engine.renderer.Renderable;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Run games on a {@link SimulationRunner} while drawing from the test thread, and check each frame
+ * is drawn from a whole tick with every renderable's previous position found by its id, and that
+ * input is only read on the drawing thread and never changes partway through a tick.
+ */
+public class SimulationRunnerTest {
+
+    private static final int TICKS_PER_SECOND = 1000;
+    private static final int TICKS = 60;
+    // from this tick on, enough renderables are drawn that the snapshots must grow
+    private static final int CROWDED = 20;
+    private static final int CROWD = 100;
+
+    /** A renderable as drawn on one tick. */
+    private record Drawn(String getID, int getX, int getY, Sprite getSprite)
+            implements Renderable {}
+
+    /**
+     * A game whose renderables move a known distance every tick: "a" and "b" swap draw order each
+     * tick, "c" is only drawn on even ticks, and a crowd joins later.
+     */
+    private static class Moving implements Game {
+        private int tick = 0;
+
+        /** Where each renderable is drawn on a tick, or null if it is not drawn on the tick. */
+        static Drawn at(String id, int tick) {
+            return switch (id.charAt(0)) {
+                case 'a' -> new Drawn(id, 10 * tick, -tick, null);
+                case 'b' -> new Drawn(id, 100 + 10 * tick, 5 * tick, null);
+                case 'c' -> tick % 2 == 0 ? new Drawn(id, 1000 + tick, tick, null) : null;
+                default -> {
+                    final int n = Integer.parseInt(id.substring(1));
+                    yield tick >= CROWDED ? new Drawn(id, n + tick, n - tick, null) : null;
+                }
+            };
+        }
+
+        @Override
+        public void tick(EngineState state) {
+            tick = state.currentTick();
+        }
+
+        @Override
+        public List<Renderable> render() {
+            final List<Renderable> renderables = new ArrayList<>();
+            final List<String> ids = new ArrayList<>(List.of("a", "b", "c"));
+            if (tick % 2 == 1) {
+                ids.set(0, "b");
+                ids.set(1, "a");
+            }
+            for (int n = 0; n < CROWD; n += 1) {
+                ids.add("n" + n);
+            }
+            for (String id : ids) {
+                final Drawn drawn = at(id, tick);
+                if (drawn != null) {
+                    renderables.add(drawn);
+                }
+            }
+            return renderables;
+        }
+    }
+
+    /** A core whose input is changed by the test, remembering what it was last asked to draw. */
+    private static class TestCore extends Core {
+        private final Thread owner = Thread.currentThread();
+        private final Map<String, Drawn> drawn = new TreeMap<>();
+        private int mouseX = 0;
+        private final List<Character> down = new ArrayList<>();
+        private boolean readElsewhere = false;
+
+        TestCore() {
+            super(new Debug(false));
+        }
+
+        @Override
+        public void draw(List<Renderable> renderables) {
+            drawn.clear();
+            for (Renderable renderable : renderables) {
+                drawn.put(
+                        renderable.getID(),
+                        new Drawn(
+                                renderable.getID(),
+                                renderable.getX(),
+                                renderable.getY(),
+                                renderable.getSprite()));
+            }
+        }
+
+        private void read() {
+            readElsewhere |= Thread.currentThread() != owner;
+        }
+
+        @Override
+        public int getMouseX() {
+            read();
+            return mouseX;
+        }
+
+        @Override
+        public int getMouseY() {
+            read();
+            return 0;
+        }
+
+        @Override
+        public boolean isLeftPressed() {
+            read();
+            return false;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            read();
+            return false;
+        }
+
+        @Override
+        public boolean isMiddlePressed() {
+            read();
+            return false;
+        }
+
+        @Override
+        public List<Character> getDown() {
+            read();
+            return down;
+        }
+
+        @Override
+        public boolean isDown(char key) {
+            read();
+            return down.contains(key);
+        }
+    }
+
+    private static SimulationRunner runner(Game game, TestCore core) {
+        return new SimulationRunner(game, new TileGrid(10, 400), core, TICKS_PER_SECOND);
+    }
+
+    /**
+     * Confirm every frame, while the game ticks, is drawn from one whole tick, with each
+     * renderable's previous position being where that renderable was on the tick before, even
+     * when the draw order changes, and its current position for anything new.
+     */
+    @Test
+    public void framesBlendWithPreviousTick() throws InterruptedException {
+        final TestCore core = new TestCore();
+        final SimulationRunner runner = runner(new Moving(), core);
+        final List<Double> alphas = new ArrayList<>();
+        // draw everything where it was on the tick before
+        runner.setInterpolation(
+                (previous, current, alpha) -> {
+                    alphas.add(alpha);
+                    return previous;
+                });
+        runner.start();
+        int frames = 0;
+        RenderSnapshot snapshot;
+        do {
+            snapshot = runner.renderFrame();
+            final int tick = snapshot.getTick();
+            if (tick < 0) {
+                continue;
+            }
+            frames += 1;
+            final int count = 3 - tick % 2 + (tick >= CROWDED ? CROWD : 0);
+            Assert.assertEquals("Tick " + tick, count, core.drawn.size());
+            for (Drawn drawn : core.drawn.values()) {
+                final Drawn now = Moving.at(drawn.getID(), tick);
+                final Drawn before = tick == 0 ? null : Moving.at(drawn.getID(), tick - 1);
+                final Drawn expected = before == null ? now : before;
+                Assert.assertEquals("Tick " + tick, expected.getX(), drawn.getX());
+                Assert.assertEquals("Tick " + tick, expected.getY(), drawn.getY());
+            }
+            for (int i = 0; i < snapshot.size(); i += 1) {
+                final Drawn now = Moving.at(snapshot.getId(i), tick);
+                Assert.assertEquals(now.getX(), snapshot.getX(i));
+                Assert.assertEquals(now.getY(), snapshot.getY(i));
+            }
+        } while (snapshot.getTick() < TICKS);
+        runner.stop();
+        Assert.assertTrue(frames > 0);
+        for (double alpha : alphas) {
+            Assert.assertTrue(alpha + " outside 0 to 1", alpha >= 0 && alpha <= 1);
+        }
+    }
+
+    /** Confirm the interpolations given blend as documented. */
+    @Test
+    public void interpolations() {
+        Assert.assertEquals(40, Interpolation.NONE.blend(10, 40, 0.5));
+        Assert.assertEquals(10, Interpolation.LINEAR.blend(10, 40, 0));
+        Assert.assertEquals(25, Interpolation.LINEAR.blend(10, 40, 0.5));
+        Assert.assertEquals(40, Interpolation.LINEAR.blend(10, 40, 1));
+        Assert.assertEquals(-5, Interpolation.LINEAR.blend(-10, 0, 0.5));
+    }
+
+    /**
+     * Confirm the game is only ever given a copy of the input, taken when a frame was drawn, that
+     * stays the same through the tick and after the core's own input changes, and that the core's
+     * input is only ever read on the thread drawing it.
+     */
+    @Test
+    public void inputIsCopiedWhenDrawing() throws InterruptedException {
+        final TestCore core = new TestCore();
+        final List<String> problems = new ArrayList<>();
+        final List<Integer> seen = new ArrayList<>();
+        final Game game =
+                new Game() {
+                    @Override
+                    public void tick(EngineState state) {
+                        final int x = state.getMouse().getMouseX();
+                        final List<Character> keys = List.copyOf(state.getKeys().getDown());
+                        if (!(state.getMouse() instanceof InputSnapshot)) {
+                            problems.add("Given " + state.getMouse());
+                        }
+                        Thread.onSpinWait();
+                        if (x != state.getMouse().getMouseX()
+                                || !keys.equals(state.getKeys().getDown())) {
+                            problems.add("Input changed during tick " + state.currentTick());
+                        }
+                        if (!keys.equals(x == 0 ? List.of() : List.of((char) ('a' + x)))) {
+                            problems.add("Keys " + keys + " with mouse at " + x);
+                        }
+                        seen.add(x);
+                    }
+
+                    @Override
+                    public List<Renderable> render() {
+                        return List.of();
+                    }
+                };
+        final SimulationRunner runner = runner(game, core);
+        runner.start();
+        for (int x = 1; x <= 5; x += 1) {
+            core.mouseX = x;
+            core.down.clear();
+            core.down.add((char) ('a' + x));
+            runner.renderFrame();
+            // changed after copying, and only seen once the next frame is drawn
+            core.mouseX = x + 100;
+            core.down.add('z');
+            final int copiedAt = runner.getTickCount();
+            while (runner.getTickCount() < copiedAt + 3) {
+                Thread.onSpinWait();
+            }
+        }
+        runner.stop();
+
+        Assert.assertEquals(List.of(), problems);
+        Assert.assertFalse("Core read off the drawing thread", core.readElsewhere);
+        for (int i = 1; i < seen.size(); i += 1) {
+            Assert.assertTrue(seen + " went back", seen.get(i) >= seen.get(i - 1));
+        }
+        Assert.assertEquals(5, (int) seen.getLast());
+        Assert.assertTrue(seen + " saw every frame's input", seen.containsAll(List.of(1, 2, 3, 4)));
+    }
+}
@@ -0,0 +1,96 @@
+package scenarios;
+
+import builder.JavaBeanFarm;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import scenarios.details.ScenarioDetails;
+import scenarios.mocks.MockEngineState;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The player paces left and right across a grass field with cabbages on it, while spawners wait
+ * out intervals far longer than the test. Once the JIT has warmed up, nothing spawns or despawns,
+ * so ticking the farm should not allocate at all.
+ */
+public class SteadyStateAllocationTest {
+
+    private static final int SIZE = 800;
+    private static final int TILES_PER_ROW = 25;
+    private static final int WARM_UP_TICKS = 20000;
+    private static final int MEASURED_TICKS = 1000;
+    private static final int ATTEMPTS = 3;
+    private static final Dimensions dimensions = new TileGrid(TILES_PER_ROW, SIZE);
+
+    private JavaBeanFarm game;
+    private MockEngineState[] states;
+
+    @Before
+    public void setUp() throws IOException, WorldLoadException {
+        ScenarioDetails details = new ScenarioDetails(400, 400, 3, 5);
+        details.addCabbage(300, 300);
+        details.addCabbage(500, 500);
+        details.addMagpieSpawner(0, 0, 1000000);
+        details.addEagleSpawner(SIZE, 0, 1000000);
+        details.addPigeonSpawner(0, SIZE, 1000000);
+        final String map = ("g".repeat(TILES_PER_ROW) + "\n").repeat(TILES_PER_ROW);
+        game = new JavaBeanFarm(dimensions, new StringReader(map), details.toReader());
+
+        // build every tick's input up front so only the farm's own allocations are measured
+        final int ticks = WARM_UP_TICKS + MEASURED_TICKS * ATTEMPTS;
+        states = new MockEngineState[ticks];
+        for (int i = 0; i < ticks; i += 1) {
+            final MockEngineState state = new MockEngineState(dimensions, i);
+            states[i] = (i / 40) % 2 == 0 ? state.press('a') : state.press('d');
+        }
+    }
+
+    /** Confirm a warmed-up tick with nothing spawning allocates nothing. */
+    @Test
+    public void steadyStateTickDoesNotAllocate() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(
+                threads instanceof com.sun.management.ThreadMXBean
+                        && ((com.sun.management.ThreadMXBean) threads)
+                                .isThreadAllocatedMemorySupported());
+        final com.sun.management.ThreadMXBean allocations =
+                (com.sun.management.ThreadMXBean) threads;
+        final long thread = Thread.currentThread().threadId();
+
+        int tick = 0;
+        while (tick < WARM_UP_TICKS) {
+            game.tick(states[tick]);
+            tick += 1;
+        }
+
+        // a measurement can catch the JIT recompiling something, so keep the best of a few
+        long fewest = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS && fewest > 0; attempt += 1) {
+            final long before = allocations.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEASURED_TICKS; i += 1) {
+                game.tick(states[tick]);
+                tick += 1;
+            }
+            fewest = Math.min(fewest, allocations.getThreadAllocatedBytes(thread) - before);
+        }
+
+        Assert.assertEquals(
+                "a warmed-up tick with nothing spawning should not allocate, but "
+                        + MEASURED_TICKS
+                        + " ticks allocated "
+                        + fewest
+                        + " bytes",
+                0,
+                fewest);
+    }
+}
@@ -0,0 +1,98 @@
+package scenarios;
+
+import builder.profiling.TickProfiler;
+import builder.profiling.TickProfiler.Phase;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Time ticks with a {@link TickProfiler} as a farm does, and check nothing is recorded while it is
+ * disabled, and enabling, disabling and resetting each take effect from the next tick.
+ */
+public class TickProfilerTest {
+
+    /** Time a tick through every phase, ending with the given entity counts. */
+    private static void tick(TickProfiler profiler, int npcs, int enemies) {
+        long time = profiler.start();
+        for (Phase phase : Phase.values()) {
+            time = profiler.lap(phase, time);
+        }
+        profiler.finish(time, npcs, enemies);
+    }
+
+    private static void assertTimed(TickProfiler profiler, long ticks) {
+        Assert.assertEquals(ticks, profiler.getTicks());
+        Assert.assertEquals(ticks, profiler.npcs().count());
+        Assert.assertEquals(ticks, profiler.enemies().count());
+        for (Phase phase : Phase.values()) {
+            Assert.assertEquals(phase.name(), ticks, profiler.phase(phase).count());
+        }
+    }
+
+    /** Confirm a disabled profiler records nothing and hands out {@link TickProfiler#OFF}. */
+    @Test
+    public void disabledRecordsNothing() {
+        final TickProfiler profiler = new TickProfiler();
+        profiler.setEnabled(false);
+        Assert.assertEquals(TickProfiler.OFF, profiler.start());
+        Assert.assertEquals(TickProfiler.OFF, profiler.lap(Phase.OVERLAYS, TickProfiler.OFF));
+        profiler.finish(TickProfiler.OFF, 3, 4);
+        for (int i = 0; i < 10; i += 1) {
+            tick(profiler, 3, 4);
+        }
+        assertTimed(profiler, 0);
+    }
+
+    /** Confirm enabling and disabling partway through a tick waits for the next tick. */
+    @Test
+    public void enablingTakesEffectNextTick() {
+        final TickProfiler profiler = new TickProfiler();
+        profiler.setEnabled(false);
+        long time = profiler.start();
+        profiler.setEnabled(true);
+        for (Phase phase : Phase.values()) {
+            time = profiler.lap(phase, time);
+        }
+        profiler.finish(time, 1, 1);
+        assertTimed(profiler, 0);
+
+        tick(profiler, 2, 5);
+        tick(profiler, 6, 1);
+        assertTimed(profiler, 2);
+        Assert.assertEquals(6, profiler.npcs().max());
+        Assert.assertEquals(5, profiler.enemies().max());
+
+        time = profiler.start();
+        profiler.setEnabled(false);
+        for (Phase phase : Phase.values()) {
+            time = profiler.lap(phase, time);
+        }
+        profiler.finish(time, 1, 1);
+        assertTimed(profiler, 3);
+        tick(profiler, 1, 1);
+        assertTimed(profiler, 3);
+    }
+
+    /**
+     * Confirm a reset leaves what was recorded until the next tick starts, which then starts from
+     * nothing.
+     */
+    @Test
+    public void resetTakesEffectNextTick() {
+        final TickProfiler profiler = new TickProfiler();
+        profiler.setEnabled(true);
+        for (int i = 0; i < 5; i += 1) {
+            tick(profiler, 10, 20);
+        }
+        profiler.reset();
+        assertTimed(profiler, 5);
+        Assert.assertEquals(10, profiler.npcs().max());
+
+        tick(profiler, 1, 2);
+        assertTimed(profiler, 1);
+        Assert.assertEquals(1, profiler.npcs().max());
+        Assert.assertEquals(2, profiler.enemies().max());
+        Assert.assertEquals(1, (long) profiler.getEntityCounts().get("npcsP50"));
+    }
+}
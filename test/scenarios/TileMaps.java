@@ -0,0 +1,86 @@
+package scenarios;
+
+import builder.world.BeanWorld;
+import builder.world.WorldBuilder;
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Square maps of grass and water, kept as rows of tile symbols so tests can work out for
+ * themselves where an entity may go, and the worlds built from them.
+ */
+final class TileMaps {
+
+    static final int TILE_SIZE = 40;
+
+    private TileMaps() {}
+
+    /**
+     * @param tiles How many tiles along each side.
+     * @param seed What to choose the water from.
+     * @return A map with water in about a quarter of its cells.
+     */
+    static char[][] randomMap(int tiles, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final char[][] map = new char[tiles][tiles];
+        for (char[] row : map) {
+            for (int col = 0; col < tiles; col += 1) {
+                row[col] = random.nextInt(4) == 0 ? 'w' : 'g';
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @param tiles How many tiles along each side.
+     * @return A map of nothing but grass.
+     */
+    static char[][] grassMap(int tiles) {
+        final char[][] map = new char[tiles][tiles];
+        for (char[] row : map) {
+            Arrays.fill(row, 'g');
+        }
+        return map;
+    }
+
+    static Dimensions dimensions(char[][] map) {
+        return new TileGrid(map.length, map.length * TILE_SIZE);
+    }
+
+    static BeanWorld world(char[][] map) throws WorldLoadException {
+        final StringBuilder text = new StringBuilder();
+        for (char[] row : map) {
+            text.append(row).append('\n');
+        }
+        return WorldBuilder.fromTiles(WorldBuilder.fromString(dimensions(map), text.toString()));
+    }
+
+    /** The pixel coordinate of the centre of the given column or row. */
+    static int centre(int cell) {
+        return cell * TILE_SIZE + TILE_SIZE / 2;
+    }
+
+    /** Whether a cell is inside the map and can be walked through. */
+    static boolean open(char[][] map, int col, int row) {
+        return row >= 0 && col >= 0 && row < map.length && col < map.length
+                && map[row][col] != 'w';
+    }
+
+    /**
+     * Whether a step between two cells is allowed: to a neighbouring open cell, and for a diagonal
+     * step, past two open cells.
+     */
+    static boolean canStep(char[][] map, int fromCol, int fromRow, int toCol, int toRow) {
+        final int dx = Math.abs(toCol - fromCol);
+        final int dy = Math.abs(toRow - fromRow);
+        return dx <= 1 && dy <= 1 && dx + dy > 0
+                && open(map, toCol, toRow)
+                && open(map, toCol, fromRow)
+                && open(map, fromCol, toRow);
+    }
+}
@@ -0,0 +1,90 @@
+package scenarios;
+
+import builder.save.SaveableFixedTimer;
+import builder.save.SaveableRepeatingTimer;
+import builder.save.TimerState;
+
+import engine.timing.FixedTimer;
+import engine.timing.RepeatingTimer;
+import engine.timing.TickTimer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Save timers at every point of their first few cycles, and check the recreated timer finishes on
+ * the same ticks as the original from then on. The engine's own timers can't be saved, and trying
+ * should fail rather than save the wrong progress.
+ */
+public class TimerStateTest {
+
+    private static final int[] LENGTHS = {1, 2, 3, 7};
+    private static final int TICKS_AFTER = 30;
+
+    /** Check two timers finish on the same ticks, ticking both as they go. */
+    private static void assertSameFrom(String message, TickTimer expected, TickTimer actual) {
+        Assert.assertEquals(message, expected.isFinished(), actual.isFinished());
+        for (int tick = 1; tick <= TICKS_AFTER; tick += 1) {
+            expected.tick();
+            actual.tick();
+            Assert.assertEquals(
+                    message + ", " + tick + " ticks later",
+                    expected.isFinished(),
+                    actual.isFinished());
+        }
+    }
+
+    /** Confirm a repeating timer saved after any number of ticks is recreated exactly. */
+    @Test
+    public void repeatingRoundTrips() {
+        for (int length : LENGTHS) {
+            for (int ticks = 0; ticks <= 3 * length; ticks += 1) {
+                final SaveableRepeatingTimer timer = new SaveableRepeatingTimer(length);
+                final RepeatingTimer plain = new RepeatingTimer(length);
+                for (int i = 0; i < ticks; i += 1) {
+                    timer.tick();
+                    plain.tick();
+                }
+                final TimerState state = TimerState.of(timer);
+                Assert.assertTrue(state.repeating());
+                Assert.assertEquals(length, state.length());
+                Assert.assertTrue(state.progress() <= length);
+                final String message = "Interval " + length + " after " + ticks;
+                assertSameFrom(message, plain, state.toRepeating());
+                assertSameFrom(message, timer, state.toRepeating());
+            }
+        }
+    }
+
+    /**
+     * Confirm a fixed timer saved after any number of ticks, including long after it stopped, is
+     * recreated exactly.
+     */
+    @Test
+    public void fixedRoundTrips() {
+        for (int length : LENGTHS) {
+            for (int ticks = 0; ticks <= 3 * length; ticks += 1) {
+                final SaveableFixedTimer timer = new SaveableFixedTimer(length);
+                final FixedTimer plain = new FixedTimer(length);
+                for (int i = 0; i < ticks; i += 1) {
+                    timer.tick();
+                    plain.tick();
+                }
+                final TimerState state = TimerState.of(timer);
+                Assert.assertFalse(state.repeating());
+                Assert.assertTrue(state.progress() <= length + 1);
+                final String message = "Duration " + length + " after " + ticks;
+                assertSameFrom(message, plain, state.toFixed());
+                assertSameFrom(message, timer, state.toFixed());
+            }
+        }
+    }
+
+    /** Confirm the engine's own timers, whose progress can't be read, are refused. */
+    @Test
+    public void engineTimersAreRefused() {
+        Assert.assertThrows(
+                IllegalArgumentException.class, () -> TimerState.of(new RepeatingTimer(5)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TimerState.of(new FixedTimer(5)));
+    }
+}
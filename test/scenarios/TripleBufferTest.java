@@ -0,0 +1,87 @@
+package scenarios;
+
+import builder.runner.TripleBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hand values through a {@link TripleBuffer}, and check the reader always gets the latest value
+ * published, the writer never fills the slot being read, and a value read on another thread is
+ * never half written.
+ */
+public class TripleBufferTest {
+
+    private static final int VALUES = 200_000;
+
+    /** Confirm the reader gets the latest value, and keeps it until a newer one is published. */
+    @Test
+    public void latestValueWins() {
+        final TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+        Assert.assertEquals(0, buffer.acquire()[0]);
+        buffer.back()[0] = 1;
+        buffer.publish();
+        buffer.back()[0] = 2;
+        buffer.publish();
+        Assert.assertEquals(2, buffer.acquire()[0]);
+        Assert.assertEquals(2, buffer.acquire()[0]);
+        buffer.back()[0] = 3;
+        Assert.assertEquals("Filling without publishing", 2, buffer.acquire()[0]);
+        buffer.publish();
+        Assert.assertEquals(3, buffer.acquire()[0]);
+    }
+
+    /** Confirm the back slot is never the one last read, however the two threads interleave. */
+    @Test
+    public void writerNeverFillsReadSlot() {
+        final TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+        final SplittableRandom random = new SplittableRandom(32);
+        int[] read = buffer.acquire();
+        int published = 0;
+        for (int i = 1; i <= 1000; i += 1) {
+            Assert.assertNotSame("Step " + i, read, buffer.back());
+            if (random.nextBoolean()) {
+                buffer.back()[0] = i;
+                buffer.publish();
+                published = i;
+            } else {
+                read = buffer.acquire();
+                Assert.assertEquals("Step " + i, published, read[0]);
+            }
+        }
+    }
+
+    /**
+     * Confirm a reader on another thread sees every value whole, never goes back to an older
+     * value, and ends up with the last value published.
+     */
+    @Test
+    public void handsOffAcrossThreads() throws InterruptedException {
+        final TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[8]);
+        final Thread writer =
+                new Thread(
+                        () -> {
+                            for (long value = 1; value <= VALUES; value += 1) {
+                                final long[] slot = buffer.back();
+                                for (int i = 0; i < slot.length; i += 1) {
+                                    slot[i] = value;
+                                }
+                                buffer.publish();
+                            }
+                        });
+        writer.start();
+        long last = 0;
+        while (last < VALUES) {
+            final long[] slot = buffer.acquire();
+            for (long part : slot) {
+                Assert.assertEquals("Half written", slot[0], part);
+            }
+            Assert.assertTrue(slot[0] + " after " + last, slot[0] >= last);
+            last = slot[0];
+        }
+        writer.join();
+        Assert.assertEquals(VALUES, buffer.acquire()[0]);
+    }
+}
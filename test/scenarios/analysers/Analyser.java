@@ -1,19 +1,22 @@
 package scenarios.analysers;
 
-import engine.art.sprites.Sprite;
 import engine.renderer.Renderable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * An analyser tracks the state of a unique renderable drawn to a screen during each game tick. The
  * analyser class can be used to query the history of a renderable throughout a test scenario.
+ *
+ * <p>Frames are kept in {@link FrameColumns} rather than as an object each, as a long scenario
+ * records far too many of them for that.
  */
 public abstract class Analyser {
 
     private final String id;
-    private final List<FrameRecord> frames = new ArrayList<>();
+    private FrameColumns frames = new FrameColumns();
+    // the frames of the analyser this was copied from, shared until a frame is added
+    private FrameColumns.Frames copiedFrom;
 
     /**
      * Construct a new empty analyser for a renderable of the given ID.
@@ -33,7 +36,13 @@ public abstract class Analyser {
      */
     public Analyser(String id, List<FrameRecord> frames) {
         this.id = id;
-        this.frames.addAll(frames);
+        if (frames instanceof FrameColumns.Frames copied) {
+            this.copiedFrom = copied;
+            return;
+        }
+        for (final FrameRecord frame : frames) {
+            this.frames.append(frame.getFrame(), frame.getX(), frame.getY(), frame.getSprite());
+        }
     }
 
     /**
@@ -53,12 +62,9 @@ public abstract class Analyser {
      *     during that given frame.
      */
     public FrameRecord getFrame(int frameCount) {
-        for (final FrameRecord frame : this.frames) {
-            if (frame.getFrame() == frameCount) {
-                return frame;
-            }
-        }
-        return null;
+        final FrameColumns.Frames frames = frames();
+        final int index = frames.indexOfFrame(frameCount);
+        return index < 0 ? null : frames.get(index);
     }
 
     /**
@@ -73,15 +79,20 @@ public abstract class Analyser {
     /**
      * Returns all the frames recorded by the analyser.
      *
-     * @return All frame records tracked by the analyser.
+     * @return All frame records tracked by the analyser, as a read-only list that doesn't include
+     *     frames added later.
      */
     public List<FrameRecord> getFrames() {
-        return frames;
+        return frames();
+    }
+
+    private FrameColumns.Frames frames() {
+        return copiedFrom != null ? copiedFrom : frames.view();
     }
 
     /**
      * Adds a {@link Renderable}s internal data to the frame Data for our entity analyzer, IF it
-     * matches the ID our Analyzer cares about.
+     * matches the ID our Analyzer cares about. Frames must be added in order.
      *
      * @param frame specific frame from {@link engine.EngineState} this is from
      * @param renderable specific {@link Renderable}
@@ -91,13 +102,16 @@ public abstract class Analyser {
         if (!this.id.equals(renderable.getID())) { // if id is not a valid match, don't add it
             return;
         }
-        frames.add(
-                new FrameData(frame, renderable.getX(), renderable.getY(), renderable.getSprite()));
+        if (copiedFrom != null) {
+            frames = copiedFrom.columns().copy(copiedFrom.size());
+            copiedFrom = null;
+        }
+        frames.append(frame, renderable.getX(), renderable.getY(), renderable.getSprite());
     }
 
     // return how many frames this was around for
     public int frameLifespan() {
-        return this.frames.size();
+        return this.getFrames().size();
     }
 
     /**
@@ -106,7 +120,8 @@ public abstract class Analyser {
      * @return a 2dVector {@link XyPair} containing the initial position for this Renderable.
      */
     public XyPair spawnPosition() {
-        return new XyPair(this.frames.getFirst().getX(), this.frames.getFirst().getY());
+        final FrameRecord first = this.getFirstFrame();
+        return new XyPair(first.getX(), first.getY());
     }
 
     /**
@@ -127,85 +142,73 @@ public abstract class Analyser {
      *
      * @param start starting frame
      * @param end ending frame
-     * @return all stored frames that fall between (inclusively) the given start and end frame
+     * @return all stored frames that fall between (inclusively) the given start and end frame, as
+     *     a read-only view of {@link #getFrames()}.
      */
     public List<FrameRecord> getFramesBetween(int start, int end) {
         assert start < end;
-        final List<FrameRecord> filteredFrames = new ArrayList<>();
-        for (final FrameRecord frameRecord : frames) {
-            if (frameRecord.getFrame() >= start && frameRecord.getFrame() <= end) {
-                filteredFrames.add(frameRecord);
-            }
-        }
-        return filteredFrames;
+        final FrameColumns.Frames frames = frames();
+        final int from = frames.indexFrom(start);
+        final int to = frames.indexAfter(end);
+        return frames.subList(from, Math.max(from, to));
     }
 
     /**
-     * Used to store frame data describing a {@link engine.renderer.Renderable} entities state for a
-     * frame in the renderer.
+     * Check if any recorded frame is in the given area, using the {@link TrajectoryIndex} rather
+     * than looking at every frame.
+     *
+     * @param area The area to check.
+     * @return If any frame is in the area.
      */
-    private static class FrameData implements FrameRecord {
-        private final int frame;
-        private final int x;
-        private final int y;
-        private final Sprite sprite;
-
-        /**
-         * Constructs a new instance to represent a single 'tick' or frame of a renderables state
-         * during the lifespan of a game using the given information.
-         *
-         * @param frameCount the current frame counting from 0 (for example frame 1 is the 2nd
-         *     frame)
-         * @param x horizontal coordinate of the {@link engine.renderer.Renderable} this frameData
-         *     is partially representing.
-         * @param y vertical coordinate of the {@link engine.renderer.Renderable} this frameData is
-         *     partially representing.
-         * @param sprite {@link Sprite} the current sprite being displayed for this frame of the
-         *     {@link engine.renderer.Renderable} this frame data is partially representing.
-         */
-        public FrameData(int frameCount, int x, int y, Sprite sprite) {
-            this.frame = frameCount;
-            this.x = x;
-            this.y = y;
-            this.sprite = sprite;
-        }
-
-        /**
-         * Returns a string representation of the frame data.
-         *
-         * @return A string representation of the frame data.
-         */
-        @Override
-        public String toString() {
-            return "FrameData [frame="
-                    + frame
-                    + ", x="
-                    + x
-                    + ", y="
-                    + y
-                    + ", sprite="
-                    + sprite.getLabel()
-                    + "]";
-        }
-
-        @Override
-        public int getX() {
-            return this.x;
-        }
+    boolean anyFrameIn(TrajectoryIndex.Area area) {
+        final FrameColumns.Frames frames = frames();
+        return frames.size() > 0 && frames.index().any(area, 0, frames.rowAt(frames.size() - 1));
+    }
 
-        @Override
-        public int getY() {
-            return this.y;
-        }
+    /**
+     * Check if every recorded frame is in the given area, using the {@link TrajectoryIndex} rather
+     * than looking at every frame.
+     *
+     * @param area The area to check.
+     * @return If every frame is in the area, including if there are none.
+     */
+    boolean everyFrameIn(TrajectoryIndex.Area area) {
+        final FrameColumns.Frames frames = frames();
+        return frames.size() == 0
+                || frames.index().every(area, 0, frames.rowAt(frames.size() - 1));
+    }
 
-        @Override
-        public Sprite getSprite() {
-            return this.sprite;
-        }
+    /**
+     * Check if any frame between (inclusively) the given start and end frame is in the given area,
+     * as {@link #anyFrameIn(TrajectoryIndex.Area)} does.
+     *
+     * @param area The area to check.
+     * @param start starting frame
+     * @param end ending frame
+     * @return If any frame between the given frames is in the area.
+     */
+    boolean anyFrameIn(TrajectoryIndex.Area area, int start, int end) {
+        assert start < end;
+        final FrameColumns.Frames frames = frames();
+        final int from = frames.indexFrom(start);
+        final int to = frames.indexAfter(end);
+        return from < to && frames.index().any(area, frames.rowAt(from), frames.rowAt(to - 1));
+    }
 
-        @Override
-        public int getFrame() {
-            return this.frame;
-        }
+    /**
+     * Check if every frame between (inclusively) the given start and end frame is in the given
+     * area, as {@link #everyFrameIn(TrajectoryIndex.Area)} does.
+     *
+     * @param area The area to check.
+     * @param start starting frame
+     * @param end ending frame
+     * @return If every frame between the given frames is in the area, including if there are none.
+     */
+    boolean everyFrameIn(TrajectoryIndex.Area area, int start, int end) {
+        assert start < end;
+        final FrameColumns.Frames frames = frames();
+        final int from = frames.indexFrom(start);
+        final int to = frames.indexAfter(end);
+        return from >= to || frames.index().every(area, frames.rowAt(from), frames.rowAt(to - 1));
     }
 }
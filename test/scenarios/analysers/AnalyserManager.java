@@ -10,10 +10,15 @@ import java.util.function.Predicate;
  * Responsible for holding all the generated {@link RenderableAnalyser}s identifiable by their
  * stringified UUIDS. Holds several useful predicate driven methods like .every, .count, .filter to
  * help with common checks when interrogating overall game state in our tests.
+ *
+ * <p>Analysers are also indexed by sprite group as they are added, in the order they spawned, so
+ * the sprite group queries only look at the analysers in that group.
  */
 public class AnalyserManager {
 
     private final Map<String, RenderableAnalyser> data = new HashMap<>();
+    private final Map<String, List<RenderableAnalyser>> groups = new HashMap<>();
+    private final Map<String, RenderableAnalyser> firstSpawned = new HashMap<>();
 
     /** Constructs a new empty AnalyserManager. */
     public AnalyserManager() {}
@@ -27,10 +32,22 @@ public class AnalyserManager {
      *     currently tracking.
      */
     public void add(int frame, Renderable renderable) {
-        if (!data.containsKey(renderable.getID())) {
-            data.put(renderable.getID(), new RenderableAnalyser(renderable.getID()));
+        final RenderableAnalyser existing = data.get(renderable.getID());
+        if (existing != null) {
+            existing.addFrameData(frame, renderable);
+            return;
+        }
+        final RenderableAnalyser analyser = new RenderableAnalyser(renderable.getID());
+        analyser.addFrameData(frame, renderable);
+        data.put(renderable.getID(), analyser);
+
+        // a sprite group is decided by the first frame, so it never changes after this
+        final String group = analyser.spriteGroup();
+        groups.computeIfAbsent(group, label -> new ArrayList<>()).add(analyser);
+        final RenderableAnalyser first = firstSpawned.get(group);
+        if (first == null || frame < first.getFirstFrame().getFrame()) {
+            firstSpawned.put(group, analyser);
         }
-        data.get(renderable.getID()).addFrameData(frame, renderable);
     }
 
     /**
@@ -50,15 +67,7 @@ public class AnalyserManager {
      * @return the first {@link RenderableAnalyser} spawned that belongs to the given spriteGroup.
      */
     public RenderableAnalyser getFirstSpawnedOfSpriteGroup(String label) {
-        int spawnTime = Integer.MAX_VALUE;
-        RenderableAnalyser renderable = null;
-        for (final RenderableAnalyser entry : this.getBySpriteGroup(label)) {
-            if (entry.getFirstFrame().getFrame() < spawnTime) {
-                spawnTime = entry.getFirstFrame().getFrame();
-                renderable = entry;
-            }
-        }
-        return renderable;
+        return firstSpawned.get(label);
     }
 
     /**
@@ -66,17 +75,11 @@ public class AnalyserManager {
      * against each {@link RenderableAnalyser}s spriteGroup.
      *
      * @param label spriteGroup label we wish to filter for.
-     * @return an *unsorted* list of {@link RenderableAnalyser}s filtered by the given label against
-     *     each {@link RenderableAnalyser}s spriteGroup.
+     * @return a list of {@link RenderableAnalyser}s filtered by the given label against each
+     *     {@link RenderableAnalyser}s spriteGroup, in the order they were first recorded.
      */
     public List<RenderableAnalyser> getBySpriteGroup(String label) {
-        final List<RenderableAnalyser> result = new ArrayList<>();
-        for (final RenderableAnalyser analyser : this.getAll()) {
-            if (Objects.equals(analyser.spriteGroup(), label)) {
-                result.add(analyser);
-            }
-        }
-        return result;
+        return new ArrayList<>(group(label));
     }
 
     /**
@@ -98,7 +101,7 @@ public class AnalyserManager {
      *     given conditional function.
      */
     public boolean every(String label, Predicate<RenderableAnalyser> func) {
-        for (final RenderableAnalyser analyser : getBySpriteGroup(label)) {
+        for (final RenderableAnalyser analyser : group(label)) {
             if (!func.test(analyser)) {
                 return false;
             }
@@ -112,7 +115,7 @@ public class AnalyserManager {
      */
     public int count(String label, Predicate<RenderableAnalyser> func) {
         int count = 0;
-        for (final RenderableAnalyser analyser : getBySpriteGroup(label)) {
+        for (final RenderableAnalyser analyser : group(label)) {
             if (func.test(analyser)) {
                 count++;
             }
@@ -132,11 +135,15 @@ public class AnalyserManager {
      */
     public List<RenderableAnalyser> filter(String label, Predicate<RenderableAnalyser> func) {
         final List<RenderableAnalyser> result = new ArrayList<>();
-        for (final RenderableAnalyser analyser : getBySpriteGroup(label)) {
+        for (final RenderableAnalyser analyser : group(label)) {
             if (func.test(analyser)) {
                 result.add(analyser);
             }
         }
         return result;
     }
+
+    private List<RenderableAnalyser> group(String label) {
+        return groups.getOrDefault(label, List.of());
+    }
 }
@@ -0,0 +1,462 @@
+package scenarios.analysers;
+
+import engine.art.sprites.Sprite;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The frames recorded by an {@link Analyser}, kept in primitive columns rather than as an object
+ * per frame.
+ *
+ * <p>Frames an equal number of frames apart where the renderable stayed put with the same sprite
+ * share a row, so a tile drawn every frame of a scenario, or every tenth frame when recording is
+ * sampled, costs one row however long it runs. Each row holds the first frame it covers, how many
+ * frames apart its frames are, the position, the sprite as an index into a dictionary of the
+ * sprites seen, and how many frames were recorded before it. Columns are split into chunks, so
+ * growing never copies more than a chunk.
+ *
+ * <p>Frames are read back through {@link #view()}, which makes a {@link FrameRecord} for a frame
+ * only when it is asked for. Frames are recorded in order, so the rows are in frame order too, and
+ * a frame is found by binary search. Where the renderable was over those rows is indexed by a
+ * {@link TrajectoryIndex} the first time it is asked about.
+ */
+final class FrameColumns {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK = 1 << CHUNK_BITS;
+    private static final int FIRST_CHUNK = 4;
+
+    private int[][] firsts = new int[1][FIRST_CHUNK];
+    private int[][] steps = new int[1][FIRST_CHUNK];
+    private int[][] xs = new int[1][FIRST_CHUNK];
+    private int[][] ys = new int[1][FIRST_CHUNK];
+    private int[][] sprites = new int[1][FIRST_CHUNK];
+    private int[][] starts = new int[1][FIRST_CHUNK];
+    private int rows;
+    private int size;
+
+    private Sprite[] dictionary = new Sprite[4];
+    private int spriteCount;
+    private int lastSprite = -1;
+
+    // built when first asked for, and rebuilt once more rows are asked about
+    private volatile TrajectoryIndex index;
+
+    /**
+     * Record another frame, no earlier than the last.
+     *
+     * @param frame The frame number.
+     * @param x The renderable's x position.
+     * @param y The renderable's y position.
+     * @param sprite The renderable's sprite.
+     */
+    void append(int frame, int x, int y, Sprite sprite) {
+        assert rows == 0 || frame >= lastFrame() : "frames must be added in order";
+        final int id = idOf(sprite);
+        if (rows > 0) {
+            final int last = rows - 1;
+            final int step = frame - lastFrame();
+            if (column(xs, last) == x
+                    && column(ys, last) == y
+                    && column(sprites, last) == id
+                    && step > 0) {
+                // a row of one frame takes its step from the second
+                if (size - column(starts, last) == 1) {
+                    steps[last >> CHUNK_BITS][last & (CHUNK - 1)] = step;
+                    size += 1;
+                    return;
+                }
+                if (column(steps, last) == step) {
+                    size += 1;
+                    return;
+                }
+            }
+        }
+        ensureRow(rows);
+        final int chunk = rows >> CHUNK_BITS;
+        final int slot = rows & (CHUNK - 1);
+        firsts[chunk][slot] = frame;
+        steps[chunk][slot] = 1;
+        xs[chunk][slot] = x;
+        ys[chunk][slot] = y;
+        sprites[chunk][slot] = id;
+        starts[chunk][slot] = size;
+        rows += 1;
+        size += 1;
+    }
+
+    /**
+     * @return How many frames have been recorded.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param count How many of the earliest frames to copy.
+     * @return A copy of the earliest frames, to be added to independently of these.
+     */
+    FrameColumns copy(int count) {
+        final FrameColumns copy = new FrameColumns();
+        final Frames frames = new Frames(this, count);
+        for (int i = 0; i < count; i += 1) {
+            copy.append(frames.frameAt(i), frames.xAt(i), frames.yAt(i), frames.spriteAt(i));
+        }
+        return copy;
+    }
+
+    /**
+     * @return The frames recorded so far, as a read-only list. Frames recorded later are not
+     *     included.
+     */
+    Frames view() {
+        return new Frames(this, size);
+    }
+
+    /**
+     * @param row A row.
+     * @return The x position of the frames in the row.
+     */
+    int xOfRow(int row) {
+        return column(xs, row);
+    }
+
+    /**
+     * @param row A row.
+     * @return The y position of the frames in the row.
+     */
+    int yOfRow(int row) {
+        return column(ys, row);
+    }
+
+    /**
+     * @param rows How many of the first rows need to be indexed.
+     * @return An index over at least that many rows.
+     */
+    TrajectoryIndex index(int rows) {
+        TrajectoryIndex current = index;
+        if (current == null || current.rows() < rows) {
+            current = new TrajectoryIndex(this, this.rows);
+            index = current;
+        }
+        return current;
+    }
+
+    private int lastFrame() {
+        final int last = rows - 1;
+        return column(firsts, last) + (size - 1 - column(starts, last)) * column(steps, last);
+    }
+
+    private int idOf(Sprite sprite) {
+        // a renderable mostly keeps its sprite from one frame to the next
+        if (lastSprite >= 0 && dictionary[lastSprite] == sprite) {
+            return lastSprite;
+        }
+        for (int id = 0; id < spriteCount; id += 1) {
+            if (dictionary[id] == sprite) {
+                lastSprite = id;
+                return id;
+            }
+        }
+        if (spriteCount == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, spriteCount * 2);
+        }
+        dictionary[spriteCount] = sprite;
+        lastSprite = spriteCount;
+        spriteCount += 1;
+        return lastSprite;
+    }
+
+    private void ensureRow(int row) {
+        final int chunk = row >> CHUNK_BITS;
+        if (chunk == firsts.length) {
+            firsts = addChunk(firsts);
+            steps = addChunk(steps);
+            xs = addChunk(xs);
+            ys = addChunk(ys);
+            sprites = addChunk(sprites);
+            starts = addChunk(starts);
+        } else if ((row & (CHUNK - 1)) == firsts[chunk].length) {
+            // the first chunk starts small, for the many renderables that never change
+            final int grown = Math.min(CHUNK, firsts[chunk].length * 2);
+            firsts[chunk] = Arrays.copyOf(firsts[chunk], grown);
+            steps[chunk] = Arrays.copyOf(steps[chunk], grown);
+            xs[chunk] = Arrays.copyOf(xs[chunk], grown);
+            ys[chunk] = Arrays.copyOf(ys[chunk], grown);
+            sprites[chunk] = Arrays.copyOf(sprites[chunk], grown);
+            starts[chunk] = Arrays.copyOf(starts[chunk], grown);
+        }
+    }
+
+    private static int[][] addChunk(int[][] column) {
+        final int[][] grown = Arrays.copyOf(column, column.length + 1);
+        grown[column.length] = new int[CHUNK];
+        return grown;
+    }
+
+    private static int column(int[][] column, int row) {
+        return column[row >> CHUNK_BITS][row & (CHUNK - 1)];
+    }
+
+    /**
+     * The first so many frames of some columns, as a list of {@link FrameRecord}s made when they
+     * are asked for.
+     */
+    static final class Frames extends AbstractList<FrameRecord> {
+
+        private final FrameColumns columns;
+        private final int size;
+        private final int lastRow;
+        // the row of the frame asked for last, as frames are mostly asked for in order
+        private int hint;
+
+        private Frames(FrameColumns columns, int size) {
+            this.columns = columns;
+            this.size = size;
+            this.lastRow = size == 0 ? 0 : columns.rowOf(size - 1, 0, columns.rows);
+        }
+
+        /**
+         * @return The columns these frames are read from.
+         */
+        FrameColumns columns() {
+            return columns;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public FrameRecord get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            final int row = rowOf(index);
+            return new FrameData(
+                    frameAt(row, index),
+                    column(columns.xs, row),
+                    column(columns.ys, row),
+                    columns.dictionary[column(columns.sprites, row)]);
+        }
+
+        @Override
+        public Iterator<FrameRecord> iterator() {
+            return new Iterator<>() {
+                private int index;
+                private int row;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public FrameRecord next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    if (row < lastRow && column(columns.starts, row + 1) <= index) {
+                        row += 1;
+                    }
+                    final FrameRecord frame =
+                            new FrameData(
+                                    frameAt(row, index),
+                                    column(columns.xs, row),
+                                    column(columns.ys, row),
+                                    columns.dictionary[column(columns.sprites, row)]);
+                    index += 1;
+                    return frame;
+                }
+            };
+        }
+
+        /**
+         * @param frame A frame number.
+         * @return Where that frame is in the list, or -1 if it wasn't recorded.
+         */
+        int indexOfFrame(int frame) {
+            final int index = indexFrom(frame);
+            return index < size && frameAt(index) == frame ? index : -1;
+        }
+
+        /**
+         * @param frame A frame number.
+         * @return Where the first frame numbered at least the given one is in the list, or the
+         *     size of the list if there is none.
+         */
+        int indexFrom(int frame) {
+            if (size == 0) {
+                return 0;
+            }
+            // find the first row to end at or after the frame, as rows are in frame order
+            int low = 0;
+            int high = lastRow + 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (lastFrameOf(middle) < frame) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low > lastRow) {
+                return size;
+            }
+            final int first = column(columns.firsts, low);
+            final int step = column(columns.steps, low);
+            // the first frame in the row at or after the one asked for
+            return column(columns.starts, low) + Math.max(0, (frame - first + step - 1) / step);
+        }
+
+        /**
+         * @param frame A frame number.
+         * @return Where the first frame numbered after the given one is in the list, or the size
+         *     of the list if there is none.
+         */
+        int indexAfter(int frame) {
+            return frame == Integer.MAX_VALUE ? size : indexFrom(frame + 1);
+        }
+
+        /**
+         * @param index Where a frame is in the list.
+         * @return The row the frame is in.
+         */
+        int rowAt(int index) {
+            return rowOf(index);
+        }
+
+        /**
+         * @requires size() > 0
+         * @return An index over where the renderable was, covering every row of these frames.
+         */
+        TrajectoryIndex index() {
+            return columns.index(lastRow + 1);
+        }
+
+        int frameAt(int index) {
+            return frameAt(rowOf(index), index);
+        }
+
+        int xAt(int index) {
+            return column(columns.xs, rowOf(index));
+        }
+
+        int yAt(int index) {
+            return column(columns.ys, rowOf(index));
+        }
+
+        Sprite spriteAt(int index) {
+            return columns.dictionary[column(columns.sprites, rowOf(index))];
+        }
+
+        private int lastFrameOf(int row) {
+            final int end = row == lastRow ? size : column(columns.starts, row + 1);
+            return frameAt(row, end - 1);
+        }
+
+        private int frameAt(int row, int index) {
+            return column(columns.firsts, row)
+                    + (index - column(columns.starts, row)) * column(columns.steps, row);
+        }
+
+        private int rowOf(int index) {
+            final int hinted = hint;
+            if (column(columns.starts, hinted) <= index
+                    && (hinted == lastRow || column(columns.starts, hinted + 1) > index)) {
+                return hinted;
+            }
+            final int row = columns.rowOf(index, 0, lastRow + 1);
+            hint = row;
+            return row;
+        }
+    }
+
+    /** The last row, of those in [from, to), that starts at or before the given frame index. */
+    private int rowOf(int index, int from, int to) {
+        int low = from;
+        int high = to - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (column(starts, middle) <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Used to store frame data describing a {@link engine.renderer.Renderable} entities state for a
+     * frame in the renderer.
+     */
+    private static class FrameData implements FrameRecord {
+        private final int frame;
+        private final int x;
+        private final int y;
+        private final Sprite sprite;
+
+        /**
+         * Constructs a new instance to represent a single 'tick' or frame of a renderables state
+         * during the lifespan of a game using the given information.
+         *
+         * @param frameCount the current frame counting from 0 (for example frame 1 is the 2nd
+         *     frame)
+         * @param x horizontal coordinate of the {@link engine.renderer.Renderable} this frameData
+         *     is partially representing.
+         * @param y vertical coordinate of the {@link engine.renderer.Renderable} this frameData is
+         *     partially representing.
+         * @param sprite {@link Sprite} the current sprite being displayed for this frame of the
+         *     {@link engine.renderer.Renderable} this frame data is partially representing.
+         */
+        public FrameData(int frameCount, int x, int y, Sprite sprite) {
+            this.frame = frameCount;
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+
+        /**
+         * Returns a string representation of the frame data.
+         *
+         * @return A string representation of the frame data.
+         */
+        @Override
+        public String toString() {
+            return "FrameData [frame="
+                    + frame
+                    + ", x="
+                    + x
+                    + ", y="
+                    + y
+                    + ", sprite="
+                    + sprite.getLabel()
+                    + "]";
+        }
+
+        @Override
+        public int getX() {
+            return this.x;
+        }
+
+        @Override
+        public int getY() {
+            return this.y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return this.sprite;
+        }
+
+        @Override
+        public int getFrame() {
+            return this.frame;
+        }
+    }
+}
@@ -5,6 +5,9 @@ import java.util.List;
 /**
  * The movement analyser composes {@link RenderableAnalyser} and includes helpful query methods
  * about the movement of the renderable.
+ *
+ * <p>Area queries are answered through a {@link TrajectoryIndex} over the frames, so asking about
+ * many areas of a long trajectory doesn't walk every frame each time.
  */
 public class MovementAnalyser extends Analyser {
 
@@ -97,13 +100,7 @@ public class MovementAnalyser extends Analyser {
      */
     public boolean stayedInRadialArea(int x, int y, int radialDistance) {
         assert radialDistance > 1;
-        for (final FrameRecord frame : this.getFrames()) {
-            final boolean inRange = distanceFrom(frame, x, y) <= radialDistance;
-            if (!inRange) {
-                return false;
-            }
-        }
-        return true;
+        return everyFrameIn(new TrajectoryIndex.Circle(x, y, radialDistance));
     }
 
     /**
@@ -116,13 +113,7 @@ public class MovementAnalyser extends Analyser {
      */
     public boolean visitedRadialArea(int x, int y, int radialDistance) {
         assert radialDistance > 1;
-        for (final FrameRecord frame : this.getFrames()) {
-            final boolean inRange = distanceFrom(frame, x, y) <= radialDistance;
-            if (inRange) {
-                return true;
-            }
-        }
-        return false;
+        return anyFrameIn(new TrajectoryIndex.Circle(x, y, radialDistance));
     }
 
     /**
@@ -140,22 +131,7 @@ public class MovementAnalyser extends Analyser {
         assert h > 1; // prevent Nans and also nonsensical results you should not be checking a 1x1
         // pixel with this method
 
-        final int leftEdge = x - w / 2;
-        final int topEdge = y - h / 2;
-        final int rightEdge = x + w / 2;
-        final int bottomEdge = y + h / 2;
-        for (final FrameRecord frame : this.getFrames()) {
-            final boolean isLeftOfRightEdge = frame.getX() <= rightEdge;
-            final boolean isRightOfLeftEdge = frame.getX() >= leftEdge;
-            final boolean isBelowTopEdge = frame.getY() >= topEdge;
-            final boolean isAboveBottomEdge = frame.getY() <= bottomEdge;
-            final boolean withinEdges =
-                    (isLeftOfRightEdge && isRightOfLeftEdge && isBelowTopEdge && isAboveBottomEdge);
-            if (withinEdges) {
-                return true;
-            }
-        }
-        return false;
+        return anyFrameIn(new TrajectoryIndex.Rectangle(x, y, w, h));
     }
 
     /**
@@ -174,25 +150,7 @@ public class MovementAnalyser extends Analyser {
         assert h > 1; // prevent Nans and also nonsensical results you should not be checking a 1x1
         // pixel with this method
 
-        final int leftEdge = x - w / 2;
-        final int topEdge = y - h / 2;
-        final int rightEdge = x + w / 2;
-        final int bottomEdge = y + h / 2;
-        for (final FrameRecord frame : this.getFrames()) {
-            final boolean isLeftOfRightEdge = frame.getX() <= rightEdge;
-            final boolean isRightOfLeftEdge = frame.getX() >= leftEdge;
-            final boolean isBelowTopEdge = frame.getY() >= topEdge;
-            final boolean isAboveBottomEdge = frame.getY() <= bottomEdge;
-            final boolean notWithinEdges =
-                    !(isLeftOfRightEdge
-                            && isRightOfLeftEdge
-                            && isBelowTopEdge
-                            && isAboveBottomEdge);
-            if (notWithinEdges) {
-                return false;
-            }
-        }
-        return true;
+        return everyFrameIn(new TrajectoryIndex.Rectangle(x, y, w, h));
     }
 
     /**
@@ -212,25 +170,6 @@ public class MovementAnalyser extends Analyser {
         assert w > 1;
         assert h > 1;
         assert start < end;
-        final List<FrameRecord> frames = this.getFramesBetween(start, end);
-        final int leftEdge = x - w / 2;
-        final int topEdge = y - h / 2;
-        final int rightEdge = x + w / 2;
-        final int bottomEdge = y + h / 2;
-        for (final FrameRecord frame : frames) {
-            final boolean isLeftOfRightEdge = frame.getX() <= rightEdge;
-            final boolean isRightOfLeftEdge = frame.getX() >= leftEdge;
-            final boolean isBelowTopEdge = frame.getY() >= topEdge;
-            final boolean isAboveBottomEdge = frame.getY() <= bottomEdge;
-            final boolean notWithinEdges =
-                    !(isLeftOfRightEdge
-                            && isRightOfLeftEdge
-                            && isBelowTopEdge
-                            && isAboveBottomEdge);
-            if (notWithinEdges) {
-                return false;
-            }
-        }
-        return true;
+        return everyFrameIn(new TrajectoryIndex.Rectangle(x, y, w, h), start, end);
     }
 }
@@ -24,12 +24,7 @@ public class RenderableAnalyser extends Analyser {
      * @return if the entity was rendered on the given frame
      */
     public boolean wasInFrame(int targetFrame) {
-        for (final FrameRecord frameRecord : this.getFrames()) {
-            if (frameRecord.getFrame() == targetFrame) {
-                return true;
-            }
-        }
-        return false;
+        return this.getFrame(targetFrame) != null;
     }
 
     /**
@@ -107,13 +102,7 @@ public class RenderableAnalyser extends Analyser {
      */
     public boolean wasWithinDistanceofBetweenFrames(
             int x, int y, int distance, int start, int end) {
-        for (final FrameRecord frameData : this.getFramesBetween(start, end)) {
-            final int actualDistance = distanceFrom(frameData, x, y);
-            if (actualDistance <= distance) {
-                return true;
-            }
-        }
-        return false;
+        return anyFrameIn(new TrajectoryIndex.Circle(x, y, distance), start, end);
     }
 
     /**
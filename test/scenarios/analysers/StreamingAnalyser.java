@@ -0,0 +1,352 @@
+package scenarios.analysers;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Answers questions about a scenario while it runs, rather than keeping every frame of every
+ * renderable to be asked about afterwards like an {@link AnalyserManager}.
+ *
+ * <p>Questions are asked before the simulation starts, e.g. {@link #count(String)} or {@link
+ * #visitedRadialArea(String, int, int, int)}, and each returns a handle whose answer is
+ * brought up to date by every frame passed to {@link #record(int, List)}. Only the answers so far
+ * are kept, along with the renderables currently alive in sprite groups that are counted or timed,
+ * so a scenario can run for as long as it likes.
+ *
+ * <p>A frame is checked against the questions about the sprite group it is drawn with. For counts
+ * and lifespans, a renderable belongs to the sprite group of the first sprite it is drawn with,
+ * and is taken to have despawned as soon as a frame is drawn without it.
+ */
+public class StreamingAnalyser {
+
+    private final Map<String, List<Check>> checks = new HashMap<>();
+    private final Map<String, List<Count>> counts = new HashMap<>();
+    private final Map<String, List<Lifespans>> lifespans = new HashMap<>();
+    private final Map<String, Sighting> alive = new HashMap<>();
+    private final CurrentFrame current = new CurrentFrame();
+
+    /** Constructs a new StreamingAnalyser with no questions asked yet. */
+    public StreamingAnalyser() {}
+
+    /**
+     * Update every question with the renderables drawn during a frame.
+     *
+     * @param frame The current frame number according to {@link engine.EngineState#currentTick()}.
+     * @param renderables Everything drawn during the frame.
+     */
+    public void record(int frame, List<Renderable> renderables) {
+        for (final Renderable renderable : renderables) {
+            final Sprite sprite = renderable.getSprite();
+            final String group = sprite == null ? null : sprite.getGroup();
+
+            final List<Check> groupChecks = checks.get(group);
+            if (groupChecks != null) {
+                current.set(frame, renderable.getX(), renderable.getY(), sprite);
+                for (final Check check : groupChecks) {
+                    check.accept(current);
+                }
+            }
+
+            if (counts.containsKey(group) || lifespans.containsKey(group)) {
+                Sighting sighting = alive.get(renderable.getID());
+                if (sighting == null) {
+                    sighting = new Sighting(group);
+                    alive.put(renderable.getID(), sighting);
+                    for (final Count count : counts.getOrDefault(group, List.of())) {
+                        count.spawned += 1;
+                    }
+                }
+                sighting.lastFrame = frame;
+                sighting.frames += 1;
+            }
+        }
+
+        // anything that wasn't drawn this frame has despawned
+        final Iterator<Sighting> sightings = alive.values().iterator();
+        while (sightings.hasNext()) {
+            final Sighting sighting = sightings.next();
+            if (sighting.lastFrame != frame) {
+                for (final Lifespans lifespan : lifespans.getOrDefault(sighting.group, List.of())) {
+                    lifespan.accept(sighting.frames);
+                }
+                sightings.remove();
+            }
+        }
+    }
+
+    /**
+     * Ask how many renderables of a sprite group spawn.
+     *
+     * @param label spriteGroup label we wish to count.
+     * @return The count, kept up to date as frames are recorded.
+     */
+    public Count count(String label) {
+        final Count count = new Count();
+        counts.computeIfAbsent(label, group -> new ArrayList<>()).add(count);
+        return count;
+    }
+
+    /**
+     * Ask how many frames each renderable of a sprite group is drawn for.
+     *
+     * @param label spriteGroup label we wish to time.
+     * @return The lifespans, kept up to date as frames are recorded.
+     */
+    public Lifespans lifespans(String label) {
+        final Lifespans lifespan = new Lifespans(label);
+        lifespans.computeIfAbsent(label, group -> new ArrayList<>()).add(lifespan);
+        return lifespan;
+    }
+
+    /**
+     * Ask if any frame of any renderable in a sprite group matches a condition.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param func conditional function, given a frame that is only valid during the call.
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check anyFrame(String label, Predicate<FrameRecord> func) {
+        return addCheck(label, new Check(func, false));
+    }
+
+    /**
+     * Ask if every frame of every renderable in a sprite group matches a condition. Holds until a
+     * frame doesn't, including while nothing in the group has been drawn.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param func conditional function, given a frame that is only valid during the call.
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check everyFrame(String label, Predicate<FrameRecord> func) {
+        return addCheck(label, new Check(func, true));
+    }
+
+    /**
+     * Ask if any renderable in a sprite group was at any point in the given rectangular area, as
+     * {@link MovementAnalyser#visitedRectangularArea(int, int, int, int)} does for one.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param x center horizontal coordinate for the rectangle.
+     * @param y center vertical coordinate for the rectangle.
+     * @param w width for the rectangle.
+     * @param h height for the rectangle.
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check visitedRectangularArea(String label, int x, int y, int w, int h) {
+        assert w > 1;
+        assert h > 1;
+        return anyFrame(label, frame -> inRectangle(frame, x, y, w, h));
+    }
+
+    /**
+     * Ask if every renderable in a sprite group stayed in the given rectangular area for every
+     * frame, as {@link MovementAnalyser#stayedInRectangularArea(int, int, int, int)} does for one.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param x center horizontal coordinate for the rectangle.
+     * @param y center vertical coordinate for the rectangle.
+     * @param w width for the rectangle.
+     * @param h height for the rectangle.
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check stayedInRectangularArea(String label, int x, int y, int w, int h) {
+        assert w > 1;
+        assert h > 1;
+        return everyFrame(label, frame -> inRectangle(frame, x, y, w, h));
+    }
+
+    /**
+     * Ask if any renderable in a sprite group was at any point in the given radial area, as {@link
+     * MovementAnalyser#visitedRadialArea(int, int, int)} does for one.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param x horizontal position
+     * @param y vertical position
+     * @param radialDistance radial distance measured from the given x,y
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check visitedRadialArea(String label, int x, int y, int radialDistance) {
+        assert radialDistance > 1;
+        final TrajectoryIndex.Circle circle = new TrajectoryIndex.Circle(x, y, radialDistance);
+        return anyFrame(label, frame -> circle.contains(frame.getX(), frame.getY()));
+    }
+
+    /**
+     * Ask if every renderable in a sprite group stayed in the given radial area for every frame,
+     * as {@link MovementAnalyser#stayedInRadialArea(int, int, int)} does for one.
+     *
+     * @param label spriteGroup label we wish to check.
+     * @param x horizontal coordinate
+     * @param y vertical coordinate
+     * @param radialDistance radial distance from the given coordinates
+     * @return The check, kept up to date as frames are recorded.
+     */
+    public Check stayedInRadialArea(String label, int x, int y, int radialDistance) {
+        assert radialDistance > 1;
+        final TrajectoryIndex.Circle circle = new TrajectoryIndex.Circle(x, y, radialDistance);
+        return everyFrame(label, frame -> circle.contains(frame.getX(), frame.getY()));
+    }
+
+    private Check addCheck(String label, Check check) {
+        checks.computeIfAbsent(label, group -> new ArrayList<>()).add(check);
+        return check;
+    }
+
+    private static boolean inRectangle(FrameRecord frame, int x, int y, int w, int h) {
+        return frame.getX() >= x - w / 2
+                && frame.getX() <= x + w / 2
+                && frame.getY() >= y - h / 2
+                && frame.getY() <= y + h / 2;
+    }
+
+    /** The answer to a yes or no question about the frames of a sprite group. */
+    public static class Check {
+        private final Predicate<FrameRecord> func;
+        private final boolean every;
+        private boolean answer;
+
+        private Check(Predicate<FrameRecord> func, boolean every) {
+            this.func = func;
+            this.every = every;
+            this.answer = every;
+        }
+
+        private void accept(FrameRecord frame) {
+            // once a check has its answer, no later frame can change it
+            if (answer != every) {
+                return;
+            }
+            if (func.test(frame) != every) {
+                answer = !every;
+            }
+        }
+
+        /**
+         * @return The answer, given the frames recorded so far.
+         */
+        public boolean get() {
+            return answer;
+        }
+    }
+
+    /** How many renderables of a sprite group have spawned. */
+    public static class Count {
+        private int spawned;
+
+        private Count() {}
+
+        /**
+         * @return How many have spawned in the frames recorded so far.
+         */
+        public int get() {
+            return spawned;
+        }
+    }
+
+    /** How many frames each renderable of a sprite group was drawn for. */
+    public class Lifespans {
+        private final String label;
+        private int finished;
+        private int shortest = Integer.MAX_VALUE;
+        private int longest;
+
+        private Lifespans(String label) {
+            this.label = label;
+        }
+
+        private void accept(int frames) {
+            finished += 1;
+            shortest = Math.min(shortest, frames);
+            longest = Math.max(longest, frames);
+        }
+
+        /**
+         * @return How many renderables have despawned, whose lifespans are final.
+         */
+        public int despawned() {
+            return finished;
+        }
+
+        /**
+         * @return The fewest frames any renderable was drawn for so far, counting those still
+         *     alive, or 0 if none have been drawn.
+         */
+        public int shortest() {
+            int result = shortest;
+            for (final Sighting sighting : alive.values()) {
+                if (Objects.equals(sighting.group, label)) {
+                    result = Math.min(result, sighting.frames);
+                }
+            }
+            return result == Integer.MAX_VALUE ? 0 : result;
+        }
+
+        /**
+         * @return The most frames any renderable was drawn for so far, counting those still alive,
+         *     or 0 if none have been drawn.
+         */
+        public int longest() {
+            int result = longest;
+            for (final Sighting sighting : alive.values()) {
+                if (Objects.equals(sighting.group, label)) {
+                    result = Math.max(result, sighting.frames);
+                }
+            }
+            return result;
+        }
+    }
+
+    /** A renderable in a counted or timed sprite group that is still being drawn. */
+    private static class Sighting {
+        private final String group;
+        private int lastFrame;
+        private int frames;
+
+        private Sighting(String group) {
+            this.group = group;
+        }
+    }
+
+    /** The frame being checked, reused for every renderable rather than made for each. */
+    private static class CurrentFrame implements FrameRecord {
+        private int frame;
+        private int x;
+        private int y;
+        private Sprite sprite;
+
+        private void set(int frame, int x, int y, Sprite sprite) {
+            this.frame = frame;
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+
+        @Override
+        public int getFrame() {
+            return frame;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return sprite;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package scenarios.analysers;
+
+import builder.world.WorldLoadException;
+
+import engine.renderer.Dimensions;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import scenarios.batch.ScenarioFixtures;
+import scenarios.batch.ScenarioJob;
+import scenarios.details.ScenarioDetails;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run the eagle scenario once, both recording it and streaming it through a {@link
+ * StreamingAnalyser}, and check every question the streaming analyser answered gets the same answer
+ * from the recording.
+ */
+public class StreamingAnalyserTest {
+
+    private static final int TICKS = 530;
+    private static final Dimensions dimensions = new TileGrid(10, 800);
+    private static final String[] GROUPS = {"eagle", "chickenFarmer", "letter", "grass", "default"};
+    private static final int STEP = 100;
+    private static final int[] SIZES = {30, 80, 200, 250};
+
+    private static final StreamingAnalyser live = new StreamingAnalyser();
+    private static final List<StreamingAnalyser.Count> counts = new ArrayList<>();
+    private static final List<Area> areas = new ArrayList<>();
+    private static final StreamingAnalyser.Lifespans lifespans = live.lifespans("eagle");
+    private static AnalyserManager data;
+
+    /** The streamed answers to the area questions about one group, centred on one point. */
+    private record Area(
+            String group,
+            int x,
+            int y,
+            int size,
+            StreamingAnalyser.Check visitedRadial,
+            StreamingAnalyser.Check stayedRadial,
+            StreamingAnalyser.Check visitedRectangular,
+            StreamingAnalyser.Check stayedRectangular) {}
+
+    static {
+        for (String group : GROUPS) {
+            counts.add(live.count(group));
+        }
+        for (String group : List.of("eagle", "letter")) {
+            for (int x = 0; x <= 800; x += STEP) {
+                for (int y = 0; y <= 800; y += STEP) {
+                    for (int size : SIZES) {
+                        areas.add(
+                                new Area(
+                                        group,
+                                        x,
+                                        y,
+                                        size,
+                                        live.visitedRadialArea(group, x, y, size),
+                                        live.stayedInRadialArea(group, x, y, size),
+                                        live.visitedRectangularArea(group, x, y, size, size),
+                                        live.stayedInRectangularArea(group, x, y, size, size)));
+                    }
+                }
+            }
+        }
+    }
+
+    @BeforeClass
+    public static void run() throws IOException, WorldLoadException {
+        final ScenarioDetails details = new ScenarioDetails(400, 400, 1, 8);
+        details.addEagleSpawner(0, 0, 200);
+        details.addEagleSpawner(500, 0, 300);
+        data =
+                ScenarioFixtures.record(
+                        ScenarioJob.of(
+                                "eagles",
+                                dimensions,
+                                "resources/testmaps/eagleTest.map",
+                                details,
+                                TICKS),
+                        live);
+    }
+
+    /** Confirm each group's spawn count matches how many renderables were recorded in it. */
+    @Test
+    public void countsMatch() {
+        for (int i = 0; i < GROUPS.length; i += 1) {
+            Assert.assertEquals(
+                    GROUPS[i], data.getBySpriteGroup(GROUPS[i]).size(), counts.get(i).get());
+        }
+        Assert.assertEquals(3, counts.getFirst().get());
+    }
+
+    /** Confirm the eagles' shortest and longest lifespans, and how many despawned, match. */
+    @Test
+    public void lifespansMatch() {
+        int shortest = Integer.MAX_VALUE;
+        int longest = 0;
+        int despawned = 0;
+        for (RenderableAnalyser eagle : data.getBySpriteGroup("eagle")) {
+            shortest = Math.min(shortest, eagle.frameLifespan());
+            longest = Math.max(longest, eagle.frameLifespan());
+            if (eagle.getFrames().getLast().getFrame() < TICKS - 1) {
+                despawned += 1;
+            }
+        }
+        Assert.assertEquals(shortest, lifespans.shortest());
+        Assert.assertEquals(longest, lifespans.longest());
+        Assert.assertEquals(despawned, lifespans.despawned());
+    }
+
+    /**
+     * Confirm whether any renderable visited, and whether every renderable stayed in, each radial
+     * and rectangular area matches asking each recorded renderable, and that the areas chosen get
+     * both answers.
+     */
+    @Test
+    public void areasMatch() {
+        int visited = 0;
+        for (Area area : areas) {
+            boolean visitedRadial = false;
+            boolean stayedRadial = true;
+            boolean visitedRectangular = false;
+            boolean stayedRectangular = true;
+            for (RenderableAnalyser renderable : data.getBySpriteGroup(area.group())) {
+                final MovementAnalyser movement = new MovementAnalyser(renderable);
+                final int x = area.x();
+                final int y = area.y();
+                final int size = area.size();
+                visitedRadial |= movement.visitedRadialArea(x, y, size);
+                stayedRadial &= movement.stayedInRadialArea(x, y, size);
+                visitedRectangular |= movement.visitedRectangularArea(x, y, size, size);
+                stayedRectangular &= movement.stayedInRectangularArea(x, y, size, size);
+            }
+            final String at =
+                    area.group() + " at " + area.x() + "," + area.y() + " size " + area.size();
+            Assert.assertEquals(at, visitedRadial, area.visitedRadial().get());
+            Assert.assertEquals(at, stayedRadial, area.stayedRadial().get());
+            Assert.assertEquals(at, visitedRectangular, area.visitedRectangular().get());
+            Assert.assertEquals(at, stayedRectangular, area.stayedRectangular().get());
+            if (visitedRadial) {
+                visited += 1;
+            }
+        }
+        Assert.assertTrue("No area was visited", visited > 0);
+        Assert.assertTrue("Every area was visited", visited < areas.size());
+    }
+}
@@ -0,0 +1,229 @@
+package scenarios.analysers;
+
+import java.util.Arrays;
+
+/**
+ * Bounding boxes around where a renderable was over time, so asking if it was ever, or always, in
+ * an area can skip over whole stretches of its frames at once.
+ *
+ * <p>The rows of a {@link FrameColumns} are in frame order and each has a single position, so they
+ * are split into buckets of consecutive rows, each with the box around its positions, and a tree
+ * of boxes is built over the buckets, each node around its two children. A query walks down from
+ * the root, only into nodes that overlap the rows asked about, and answers for a whole node at once
+ * when its box is entirely inside or outside the area. Only the buckets the area's edge cuts
+ * through are checked row by row.
+ *
+ * <p>A row keeps its position once it is recorded, so an index stays right for the rows it was
+ * built over while more are recorded.
+ */
+final class TrajectoryIndex {
+
+    private static final int BUCKET_BITS = 4;
+    private static final int BUCKET = 1 << BUCKET_BITS;
+
+    private final FrameColumns columns;
+    private final int rows;
+    // the tree is stored as a heap: node 1 is the root, and node n has children 2n and 2n + 1
+    private final int leaves;
+    private final int[] minX;
+    private final int[] minY;
+    private final int[] maxX;
+    private final int[] maxY;
+
+    /**
+     * Index the first rows of some columns.
+     *
+     * @param columns The columns to index.
+     * @param rows How many rows to index.
+     */
+    TrajectoryIndex(FrameColumns columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        final int buckets = Math.max(1, (rows + BUCKET - 1) >> BUCKET_BITS);
+        final int highest = Integer.highestOneBit(buckets);
+        this.leaves = highest == buckets ? buckets : highest << 1;
+        this.minX = new int[2 * leaves];
+        this.minY = new int[2 * leaves];
+        this.maxX = new int[2 * leaves];
+        this.maxY = new int[2 * leaves];
+        // an empty box, which is never asked about as no rows are in it
+        Arrays.fill(minX, Integer.MAX_VALUE);
+        Arrays.fill(minY, Integer.MAX_VALUE);
+        Arrays.fill(maxX, Integer.MIN_VALUE);
+        Arrays.fill(maxY, Integer.MIN_VALUE);
+
+        for (int row = 0; row < rows; row += 1) {
+            final int leaf = leaves + (row >> BUCKET_BITS);
+            final int x = columns.xOfRow(row);
+            final int y = columns.yOfRow(row);
+            minX[leaf] = Math.min(minX[leaf], x);
+            minY[leaf] = Math.min(minY[leaf], y);
+            maxX[leaf] = Math.max(maxX[leaf], x);
+            maxY[leaf] = Math.max(maxY[leaf], y);
+        }
+        for (int node = leaves - 1; node > 0; node -= 1) {
+            minX[node] = Math.min(minX[2 * node], minX[2 * node + 1]);
+            minY[node] = Math.min(minY[2 * node], minY[2 * node + 1]);
+            maxX[node] = Math.max(maxX[2 * node], maxX[2 * node + 1]);
+            maxY[node] = Math.max(maxY[2 * node], maxY[2 * node + 1]);
+        }
+    }
+
+    /**
+     * @return How many rows are indexed.
+     */
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * @requires 0 <= fromRow <= toRow < rows()
+     * @param area The area to check.
+     * @param fromRow The first row to check.
+     * @param toRow The last row to check, inclusive.
+     * @return If the position of any of the rows is in the area.
+     */
+    boolean any(Area area, int fromRow, int toRow) {
+        assert 0 <= fromRow && fromRow <= toRow && toRow < rows;
+        return any(area, 1, 0, leaves - 1, fromRow, toRow);
+    }
+
+    /**
+     * @requires 0 <= fromRow <= toRow < rows()
+     * @param area The area to check.
+     * @param fromRow The first row to check.
+     * @param toRow The last row to check, inclusive.
+     * @return If the positions of all the rows are in the area.
+     */
+    boolean every(Area area, int fromRow, int toRow) {
+        assert 0 <= fromRow && fromRow <= toRow && toRow < rows;
+        return every(area, 1, 0, leaves - 1, fromRow, toRow);
+    }
+
+    /** Check a node covering the buckets first to last, which holds some of the rows asked for. */
+    private boolean any(Area area, int node, int first, int last, int fromRow, int toRow) {
+        if (!area.contains(nearestX(area, node), nearestY(area, node))) {
+            return false;
+        }
+        if (area.contains(furthestX(area, node), furthestY(area, node))) {
+            return true;
+        }
+        if (node >= leaves) {
+            final int end = Math.min(toRow, (first << BUCKET_BITS) + BUCKET - 1);
+            for (int row = Math.max(fromRow, first << BUCKET_BITS); row <= end; row += 1) {
+                if (area.contains(columns.xOfRow(row), columns.yOfRow(row))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final int middle = (first + last) >>> 1;
+        if (fromRow >> BUCKET_BITS <= middle
+                && any(area, 2 * node, first, middle, fromRow, toRow)) {
+            return true;
+        }
+        return toRow >> BUCKET_BITS > middle
+                && any(area, 2 * node + 1, middle + 1, last, fromRow, toRow);
+    }
+
+    /** Check a node covering the buckets first to last, which holds some of the rows asked for. */
+    private boolean every(Area area, int node, int first, int last, int fromRow, int toRow) {
+        if (area.contains(furthestX(area, node), furthestY(area, node))) {
+            return true;
+        }
+        if (!area.contains(nearestX(area, node), nearestY(area, node))) {
+            return false;
+        }
+        if (node >= leaves) {
+            final int end = Math.min(toRow, (first << BUCKET_BITS) + BUCKET - 1);
+            for (int row = Math.max(fromRow, first << BUCKET_BITS); row <= end; row += 1) {
+                if (!area.contains(columns.xOfRow(row), columns.yOfRow(row))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        final int middle = (first + last) >>> 1;
+        if (fromRow >> BUCKET_BITS <= middle
+                && !every(area, 2 * node, first, middle, fromRow, toRow)) {
+            return false;
+        }
+        return toRow >> BUCKET_BITS <= middle
+                || every(area, 2 * node + 1, middle + 1, last, fromRow, toRow);
+    }
+
+    private int nearestX(Area area, int node) {
+        return Math.clamp(area.x(), minX[node], maxX[node]);
+    }
+
+    private int nearestY(Area area, int node) {
+        return Math.clamp(area.y(), minY[node], maxY[node]);
+    }
+
+    private int furthestX(Area area, int node) {
+        return area.x() - minX[node] >= maxX[node] - area.x() ? minX[node] : maxX[node];
+    }
+
+    private int furthestY(Area area, int node) {
+        return area.y() - minY[node] >= maxY[node] - area.y() ? minY[node] : maxY[node];
+    }
+
+    /**
+     * An area around a center that takes in a point if it is close enough to the center along
+     * each axis, however it is measured. Whether a box is entirely inside or outside such an area
+     * then only depends on the box's furthest corner and nearest point from the center.
+     */
+    interface Area {
+        /**
+         * @return The horizontal coordinate of the center.
+         */
+        int x();
+
+        /**
+         * @return The vertical coordinate of the center.
+         */
+        int y();
+
+        /**
+         * @param x A horizontal coordinate.
+         * @param y A vertical coordinate.
+         * @return If the point is in the area.
+         */
+        boolean contains(int x, int y);
+    }
+
+    /**
+     * A rectangle drawn from its center, including its edges.
+     *
+     * @param x center horizontal coordinate for the rectangle.
+     * @param y center vertical coordinate for the rectangle.
+     * @param w width for the rectangle.
+     * @param h height for the rectangle.
+     */
+    record Rectangle(int x, int y, int w, int h) implements Area {
+        @Override
+        public boolean contains(int x, int y) {
+            return x >= this.x - w / 2
+                    && x <= this.x + w / 2
+                    && y >= this.y - h / 2
+                    && y <= this.y + h / 2;
+        }
+    }
+
+    /**
+     * The points within a radial distance of a center, measured as {@link
+     * Analyser#distanceFrom(FrameRecord, int, int)} does.
+     *
+     * @param x center horizontal coordinate.
+     * @param y center vertical coordinate.
+     * @param radialDistance radial distance from the center.
+     */
+    record Circle(int x, int y, int radialDistance) implements Area {
+        @Override
+        public boolean contains(int x, int y) {
+            final int deltaX = this.x - x;
+            final int deltaY = this.y - y;
+            return (int) Math.sqrt(deltaX * deltaX + deltaY * deltaY) <= radialDistance;
+        }
+    }
+}
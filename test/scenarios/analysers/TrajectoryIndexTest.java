@@ -0,0 +1,174 @@
+package scenarios.analysers;
+
+import engine.art.sprites.Sprite;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+/**
+ * Record random trajectories, some drawn every frame and some only every few frames so their rows
+ * step over the frames between, and check asking the {@link TrajectoryIndex} whether any or every
+ * frame was in an area answers as looking at each recorded frame in turn does. Queries start and
+ * end on, just before and just after recorded frames, and before and after all of them, so the
+ * frames found between two frame numbers are checked too.
+ */
+public class TrajectoryIndexTest {
+
+    private static final int TRAJECTORIES = 400;
+    private static final int QUERIES = 40;
+    private static final int SIZE = 800;
+
+    /** An analyser over a list of frames, to ask about them. */
+    private static final class Track extends Analyser {
+        Track(List<FrameRecord> frames) {
+            super("track", frames);
+        }
+    }
+
+    private record Frame(int getFrame, int getX, int getY, Sprite getSprite)
+            implements FrameRecord {}
+
+    /**
+     * A renderable wandering about, recorded from a random frame every so many frames, now and
+     * then skipping a stretch, and only moving on some of them so frames share rows.
+     */
+    private static List<FrameRecord> trajectory(SplittableRandom random) {
+        final int count = random.nextInt(4) == 0 ? random.nextInt(5) : random.nextInt(2000);
+        final int stride = 1 + random.nextInt(3);
+        int frame = random.nextInt(50);
+        int x = random.nextInt(SIZE);
+        int y = random.nextInt(SIZE);
+        final List<FrameRecord> frames = new ArrayList<>();
+        for (int i = 0; i < count; i += 1) {
+            frames.add(new Frame(frame, x, y, null));
+            frame += random.nextInt(20) == 0 ? 1 + random.nextInt(30) : stride;
+            if (random.nextInt(4) == 0) {
+                x += random.nextInt(21) - 10;
+                y += random.nextInt(21) - 10;
+            }
+        }
+        return frames;
+    }
+
+    /** A frame number on, next to, or outside the recorded ones. */
+    private static int frameNear(SplittableRandom random, List<FrameRecord> frames) {
+        if (frames.isEmpty() || random.nextInt(5) == 0) {
+            return random.nextInt(-5, 3000);
+        }
+        final int recorded = frames.get(random.nextInt(frames.size())).getFrame();
+        return recorded + random.nextInt(-1, 2);
+    }
+
+    private static List<FrameRecord> between(List<FrameRecord> frames, int start, int end) {
+        return frames.stream()
+                .filter(frame -> frame.getFrame() >= start && frame.getFrame() <= end)
+                .toList();
+    }
+
+    private static List<Integer> numbers(List<FrameRecord> frames) {
+        return frames.stream().map(FrameRecord::getFrame).toList();
+    }
+
+    private static void assertAnswers(
+            String message,
+            List<FrameRecord> frames,
+            Predicate<FrameRecord> inArea,
+            boolean any,
+            boolean every) {
+        Assert.assertEquals(message + ", any", frames.stream().anyMatch(inArea), any);
+        Assert.assertEquals(message + ", every", frames.stream().allMatch(inArea), every);
+    }
+
+    /** Confirm indexed area queries answer as checking every frame does. */
+    @Test
+    public void indexMatchesCheckingEveryFrame() {
+        final SplittableRandom random = new SplittableRandom(50);
+        for (int t = 0; t < TRAJECTORIES; t += 1) {
+            final List<FrameRecord> frames = trajectory(random);
+            final Track track = new Track(frames);
+            for (int q = 0; q < QUERIES; q += 1) {
+                final int x = random.nextInt(-50, SIZE + 50);
+                final int y = random.nextInt(-50, SIZE + 50);
+                final int w = random.nextInt(2, 400);
+                final int h = random.nextInt(2, 400);
+                final int radius = random.nextInt(2, 300);
+                final int start = frameNear(random, frames);
+                final int end =
+                        random.nextInt(10) == 0
+                                ? Integer.MAX_VALUE
+                                : Math.max(start + 1, frameNear(random, frames));
+                final String message =
+                        "Trajectory " + t + ", query " + q + ", frames " + start + " to " + end;
+                final List<FrameRecord> expected = between(frames, start, end);
+                Assert.assertEquals(
+                        message, numbers(expected), numbers(track.getFramesBetween(start, end)));
+
+                final TrajectoryIndex.Rectangle rectangle =
+                        new TrajectoryIndex.Rectangle(x, y, w, h);
+                final Predicate<FrameRecord> inRectangle =
+                        frame ->
+                                frame.getX() >= x - w / 2
+                                        && frame.getX() <= x + w / 2
+                                        && frame.getY() >= y - h / 2
+                                        && frame.getY() <= y + h / 2;
+                assertAnswers(
+                        message + ", rectangle",
+                        frames,
+                        inRectangle,
+                        track.anyFrameIn(rectangle),
+                        track.everyFrameIn(rectangle));
+                assertAnswers(
+                        message + ", rectangle between",
+                        expected,
+                        inRectangle,
+                        track.anyFrameIn(rectangle, start, end),
+                        track.everyFrameIn(rectangle, start, end));
+
+                final TrajectoryIndex.Circle circle = new TrajectoryIndex.Circle(x, y, radius);
+                final Predicate<FrameRecord> inCircle =
+                        frame -> Analyser.distanceFrom(frame, x, y) <= radius;
+                assertAnswers(
+                        message + ", circle",
+                        frames,
+                        inCircle,
+                        track.anyFrameIn(circle),
+                        track.everyFrameIn(circle));
+                assertAnswers(
+                        message + ", circle between",
+                        expected,
+                        inCircle,
+                        track.anyFrameIn(circle, start, end),
+                        track.everyFrameIn(circle, start, end));
+            }
+        }
+    }
+
+    /** Confirm each recorded frame is found by its number, and the frames between them aren't. */
+    @Test
+    public void findsRecordedFrames() {
+        final SplittableRandom random = new SplittableRandom(45);
+        for (int t = 0; t < TRAJECTORIES; t += 1) {
+            final List<FrameRecord> frames = trajectory(random);
+            final Track track = new Track(frames);
+            for (int i = 0; i < frames.size(); i += 1) {
+                final FrameRecord frame = frames.get(i);
+                final FrameRecord found = track.getFrame(frame.getFrame());
+                Assert.assertNotNull("Trajectory " + t + ", frame " + i, found);
+                Assert.assertEquals(frame.getX(), found.getX());
+                Assert.assertEquals(frame.getY(), found.getY());
+                final boolean nextRecorded =
+                        i + 1 < frames.size()
+                                && frames.get(i + 1).getFrame() == frame.getFrame() + 1;
+                Assert.assertEquals(
+                        "Trajectory " + t + ", after frame " + i,
+                        nextRecorded,
+                        track.getFrame(frame.getFrame() + 1) != null);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package scenarios.batch;
+
+import engine.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many scenarios side by side, one per core, the same way the scenario tests do: through an
+ * {@link Engine} with a mock core. Rather than recording every frame, each scenario is reduced to
+ * a {@link ScenarioSummary}.
+ *
+ * <pre>{@code
+ * try (ScenarioBatch batch = new ScenarioBatch()) {
+ *     for (ScenarioSummary summary : batch.runAll(jobs)) {
+ *         System.out.println(summary);
+ *     }
+ * }
+ * }</pre>
+ */
+public class ScenarioBatch implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    /** Construct a batch that runs one scenario per available core. */
+    public ScenarioBatch() {
+        this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Construct a batch that runs scenarios on the given executor.
+     *
+     * @param executor The executor to run scenarios on. Closed along with the batch.
+     */
+    public ScenarioBatch(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Run every scenario and wait for them all to finish.
+     *
+     * @param jobs The scenarios to run.
+     * @return The summary of each scenario, in the same order. Failures are reported in the
+     *     summary rather than thrown.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public List<ScenarioSummary> runAll(List<ScenarioJob> jobs) throws InterruptedException {
+        final List<Future<ScenarioSummary>> pending = new ArrayList<>(jobs.size());
+        for (ScenarioJob job : jobs) {
+            pending.add(executor.submit((Callable<ScenarioSummary>) () -> run(job)));
+        }
+        final List<ScenarioSummary> summaries = new ArrayList<>(jobs.size());
+        for (Future<ScenarioSummary> future : pending) {
+            try {
+                summaries.add(future.get());
+            } catch (ExecutionException e) {
+                // run reports its own failures, so only the executor itself can get here
+                throw new IllegalStateException("Scenario batch executor failed", e.getCause());
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Run a single scenario on the calling thread.
+     *
+     * @param job The scenario to run.
+     * @return The summary of the scenario.
+     */
+    public static ScenarioSummary run(ScenarioJob job) {
+        final long start = System.nanoTime();
+        final SummaryCore core = new SummaryCore();
+        final ScenarioRun run = new ScenarioRun(job, core);
+        try {
+            run.run();
+            return new ScenarioSummary(
+                    job.name(),
+                    run.ticks(),
+                    System.nanoTime() - start,
+                    core.counts(),
+                    core.spawned(),
+                    core.despawned(),
+                    run.game().getInventory().getCoins(),
+                    run.game().getInventory().getFood(),
+                    null);
+        } catch (Exception | AssertionError e) {
+            return new ScenarioSummary(
+                    job.name(),
+                    run.ticks(),
+                    System.nanoTime() - start,
+                    Map.of(),
+                    Map.of(),
+                    Map.of(),
+                    0,
+                    0,
+                    e);
+        }
+    }
+
+    /** Stop accepting scenarios and wait for those already running to finish. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,152 @@
+package scenarios.batch;
+
+import builder.ui.SpriteGallery;
+import builder.world.WorldLoadException;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Dimensions;
+import engine.renderer.Renderable;
+import engine.renderer.TileGrid;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import scenarios.analysers.AnalyserManager;
+import scenarios.analysers.RenderableAnalyser;
+import scenarios.details.ScenarioDetails;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Run the eagle scenario of {@code EagleSimulationTest} through a {@link ScenarioBatch}, alongside
+ * a shorter run and one that can't load, and check each summary against what the scenario tests
+ * expect and against everything recorded from the same scenario.
+ */
+public class ScenarioBatchTest {
+
+    private static final int TICKS = 530;
+    private static final Dimensions dimensions = new TileGrid(10, 800);
+    private static final String MAP = "resources/testmaps/eagleTest.map";
+
+    private static ScenarioDetails details() {
+        final ScenarioDetails details = new ScenarioDetails(400, 400, 1, 8);
+        details.addEagleSpawner(0, 0, 200);
+        details.addEagleSpawner(500, 0, 300);
+        return details;
+    }
+
+    private static final ScenarioJob EAGLES =
+            ScenarioJob.of("eagles", dimensions, MAP, details(), TICKS);
+
+    /** Count recorded renderables of each group that pass the given test. */
+    private static Map<String, Integer> countWhere(
+            AnalyserManager data, Predicate<RenderableAnalyser> test) {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (RenderableAnalyser renderable : data.getAll()) {
+            if (test.test(renderable)) {
+                counts.merge(renderable.spriteGroup(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static int lastFrame(RenderableAnalyser renderable) {
+        return renderable.getFrames().getLast().getFrame();
+    }
+
+    /**
+     * Confirm a batch summarises the eagle scenario as the scenario tests see it: three eagles
+     * spawned, and every group's spawns, despawns and final counts matching the full recording.
+     */
+    @Test
+    public void summariesMatchRecordedScenarios()
+            throws InterruptedException, IOException, WorldLoadException {
+        final ScenarioJob early = ScenarioJob.of("before eagles", dimensions, MAP, details(), 150);
+        final ScenarioJob missing =
+                ScenarioJob.of("missing", dimensions, "resources/testmaps/none.map", details(), 10);
+        final List<ScenarioSummary> summaries;
+        try (ScenarioBatch batch = new ScenarioBatch()) {
+            summaries = batch.runAll(List.of(EAGLES, early, missing));
+        }
+        Assert.assertEquals(3, summaries.size());
+
+        final ScenarioSummary eagles = summaries.get(0);
+        Assert.assertTrue(String.valueOf(eagles.failure()), eagles.succeeded());
+        Assert.assertEquals("eagles", eagles.name());
+        Assert.assertEquals(TICKS, eagles.ticks());
+        Assert.assertEquals(3, (int) eagles.spawned().get("eagle"));
+
+        final AnalyserManager data = ScenarioFixtures.recorded(EAGLES);
+        Assert.assertEquals(3, data.getBySpriteGroup("eagle").size());
+        Assert.assertEquals(
+                countWhere(data, renderable -> renderable.getFirstFrame().getFrame() > 0),
+                eagles.spawned());
+        Assert.assertEquals(
+                countWhere(data, renderable -> lastFrame(renderable) < TICKS - 1),
+                eagles.despawned());
+        Assert.assertEquals(
+                countWhere(data, renderable -> lastFrame(renderable) == TICKS - 1),
+                eagles.counts());
+
+        final ScenarioSummary before = summaries.get(1);
+        Assert.assertTrue(before.succeeded());
+        Assert.assertEquals(150, before.ticks());
+        Assert.assertNull(before.spawned().get("eagle"));
+        // eagles only ever take food
+        Assert.assertTrue(eagles.food() <= before.food());
+
+        final ScenarioSummary failed = summaries.get(2);
+        Assert.assertFalse(failed.succeeded());
+        Assert.assertTrue(failed.failure() instanceof FileNotFoundException);
+        Assert.assertEquals(0, failed.ticks());
+    }
+
+    /** A renderable drawn without a sprite. */
+    private record Unsprited(String getID) implements Renderable {
+        @Override
+        public int getX() {
+            return 0;
+        }
+
+        @Override
+        public int getY() {
+            return 0;
+        }
+
+        @Override
+        public Sprite getSprite() {
+            return null;
+        }
+    }
+
+    /** A renderable drawn with a sprite. */
+    private record Sprited(String getID, Sprite getSprite) implements Renderable {
+        @Override
+        public int getX() {
+            return 0;
+        }
+
+        @Override
+        public int getY() {
+            return 0;
+        }
+    }
+
+    /** Confirm renderables without a sprite are left out of the totals rather than failing. */
+    @Test
+    public void spritelessRenderablesAreLeftOut() {
+        final SummaryCore core = new SummaryCore();
+        final Sprite grass = SpriteGallery.grass.getSprite("default");
+        core.draw(List.of(new Sprited("a", grass)));
+        core.draw(List.of(new Sprited("a", grass), new Unsprited("b")));
+        core.draw(List.of(new Sprited("a", grass), new Sprited("b", grass)));
+        Assert.assertEquals(Map.of("grass", 2), core.counts());
+        Assert.assertEquals(Map.of("grass", 1), core.spawned());
+        Assert.assertEquals(Map.of(), core.despawned());
+    }
+}
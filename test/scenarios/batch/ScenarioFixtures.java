@@ -0,0 +1,187 @@
+package scenarios.batch;
+
+import builder.world.WorldLoadException;
+
+import scenarios.analysers.AnalyserManager;
+import scenarios.analysers.StreamingAnalyser;
+import scenarios.mocks.MockCore;
+import scenarios.mocks.RecordingPolicy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Simulates each scenario the tests ask about once per JVM, and shares what was recorded between
+ * every test that asks about it, rather than each test method simulating it again.
+ *
+ * <p>Scenarios are the same if they load the same map and details, with the same dimensions, and
+ * are given the same {@link ScenarioJob.InputScript} and {@link ScenarioJob#policy()} instances
+ * for the same number of ticks; the name is only for reporting. A test class keeps its job in a
+ * constant, starts it with {@link #prefetch(ScenarioJob)} when the class is initialised, and
+ * fetches it with {@link #recorded(ScenarioJob)} before each test:
+ *
+ * <pre>{@code
+ * private static final ScenarioJob SCENARIO = ...;
+ *
+ * static {
+ *     ScenarioFixtures.prefetch(SCENARIO);
+ * }
+ *
+ * @Before
+ * public void setUp() throws IOException, WorldLoadException {
+ *     data = ScenarioFixtures.recorded(SCENARIO);
+ * }
+ * }</pre>
+ *
+ * <p>Scenarios run on a pool of their own, one per core, so when a runner loads several test
+ * classes before running them, as JUnit does from the command line, their scenarios are simulated
+ * side by side while the first class waits on its own.
+ *
+ * <p>The {@link AnalyserManager} handed out is shared, so tests must only ask it questions, never
+ * add to it. A scenario that fails to load fails every test that asks for it, with the same
+ * exception.
+ */
+public final class ScenarioFixtures {
+
+    private static final ExecutorService executor =
+            Executors.newFixedThreadPool(
+                    Runtime.getRuntime().availableProcessors(),
+                    task -> {
+                        // never keep the JVM alive once the tests are done
+                        final Thread thread = new Thread(task, "scenario-fixture");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private static final ConcurrentMap<Key, Future<AnalyserManager>> recorded =
+            new ConcurrentHashMap<>();
+
+    private ScenarioFixtures() {}
+
+    /**
+     * Start simulating a scenario in the background, unless it already has been.
+     *
+     * @param job The scenario to simulate.
+     */
+    public static void prefetch(ScenarioJob job) {
+        submit(job);
+    }
+
+    /**
+     * Get everything drawn during a scenario, simulating it first if nothing else has.
+     *
+     * @param job The scenario to simulate.
+     * @return What was recorded during the scenario, shared with every other test asking about
+     *     it, so only to be read.
+     * @throws IOException If the map could not be read.
+     * @throws WorldLoadException If the map or details could not be loaded.
+     */
+    public static AnalyserManager recorded(ScenarioJob job)
+            throws IOException, WorldLoadException {
+        try {
+            return submit(job).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + job.name(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            } else if (cause instanceof WorldLoadException load) {
+                throw load;
+            } else if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Scenario " + job.name() + " failed", cause);
+        }
+    }
+
+    /**
+     * Simulate a scenario on the calling thread, recording what its policy records, as the
+     * scenario tests do. Not cached.
+     *
+     * @param job The scenario to simulate.
+     * @return What was recorded during the scenario.
+     * @throws IOException If the map could not be read.
+     * @throws WorldLoadException If the map or details could not be loaded.
+     */
+    public static AnalyserManager record(ScenarioJob job) throws IOException, WorldLoadException {
+        return record(job, null);
+    }
+
+    /**
+     * Simulate a scenario on the calling thread, recording what its policy records while also
+     * answering the questions already asked of a streaming analyser. Not cached.
+     *
+     * @param job The scenario to simulate.
+     * @param live An analyser whose questions have already been asked, or null.
+     * @return What was recorded during the scenario.
+     * @throws IOException If the map could not be read.
+     * @throws WorldLoadException If the map or details could not be loaded.
+     */
+    public static AnalyserManager record(ScenarioJob job, StreamingAnalyser live)
+            throws IOException, WorldLoadException {
+        final AnalyserManager data = new AnalyserManager();
+        final MockCore core = new MockCore(data, live);
+        core.setRecordingPolicy(job.policy().get());
+        new ScenarioRun(job, core).run();
+        return data;
+    }
+
+    /**
+     * Simulate a scenario on the calling thread, answering the questions already asked of a
+     * streaming analyser without recording anything, so however long the scenario runs, only the
+     * answers are kept. Not cached.
+     *
+     * @param job The scenario to simulate.
+     * @param live An analyser whose questions have already been asked.
+     * @throws IOException If the map could not be read.
+     * @throws WorldLoadException If the map or details could not be loaded.
+     */
+    public static void answer(ScenarioJob job, StreamingAnalyser live)
+            throws IOException, WorldLoadException {
+        new ScenarioRun(job, new MockCore(live)).run();
+    }
+
+    private static Future<AnalyserManager> submit(ScenarioJob job) {
+        return recorded.computeIfAbsent(Key.of(job), key -> executor.submit(() -> record(job)));
+    }
+
+    /** What makes two jobs the same scenario. */
+    private record Key(
+            String mapFile,
+            int tileSize,
+            int windowSize,
+            String details,
+            ScenarioJob.InputScript script,
+            int ticks,
+            Supplier<RecordingPolicy> policy) {
+
+        private static Key of(ScenarioJob job) {
+            final StringWriter details = new StringWriter();
+            try (Reader reader = job.details().toReader()) {
+                reader.transferTo(details);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Key(
+                    job.mapFile(),
+                    job.dimensions().tileSize(),
+                    job.dimensions().windowSize(),
+                    details.toString(),
+                    job.script(),
+                    job.ticks(),
+                    job.policy());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package scenarios.batch;
+
+import engine.renderer.Dimensions;
+
+import scenarios.details.ScenarioDetails;
+import scenarios.mocks.MockEngineState;
+import scenarios.mocks.RecordingPolicy;
+
+import java.util.function.Supplier;
+
+/**
+ * One scenario for a {@link ScenarioBatch} to run: a map, the details to load alongside it, the
+ * input to give each tick, how many ticks to run for and which render events to record.
+ *
+ * @param name A name to report the summary under.
+ * @param dimensions The dimensions of the game.
+ * @param mapFile Path to the map file, e.g. {@code resources/testmaps/eagleTest.map}.
+ * @param details The farmer, cabbages and spawners to load. Not modified by the batch.
+ * @param script The input to give each tick.
+ * @param ticks How many ticks to run the scenario for.
+ * @param policy Makes the {@link RecordingPolicy} for each run of the scenario, as a policy may
+ *     remember what it has seen. Only the scenario tests record; a batch summarises everything.
+ */
+public record ScenarioJob(
+        String name,
+        Dimensions dimensions,
+        String mapFile,
+        ScenarioDetails details,
+        InputScript script,
+        int ticks,
+        Supplier<RecordingPolicy> policy) {
+
+    /** Records everything drawn, as a scenario does unless given another policy. */
+    public static final Supplier<RecordingPolicy> EVERYTHING = RecordingPolicy::everything;
+
+    /** A scenario that records everything drawn. */
+    public ScenarioJob(
+            String name,
+            Dimensions dimensions,
+            String mapFile,
+            ScenarioDetails details,
+            InputScript script,
+            int ticks) {
+        this(name, dimensions, mapFile, details, script, ticks, EVERYTHING);
+    }
+
+    /**
+     * @param policy Makes the policy for each run, e.g. {@code () -> RecordingPolicy.spriteGroups(
+     *     "eagle")} for a test that only asks about eagles.
+     * @return The same scenario, only recording what the policy records.
+     */
+    public ScenarioJob withPolicy(Supplier<RecordingPolicy> policy) {
+        return new ScenarioJob(name, dimensions, mapFile, details, script, ticks, policy);
+    }
+
+    /** Supplies the engine state each tick of a scenario is run with. */
+    @FunctionalInterface
+    public interface InputScript {
+        /**
+         * @param state A state for the tick with no input, to build the tick's input on.
+         * @param tick The tick about to be run, starting at zero.
+         * @return The engine state to tick the game with.
+         */
+        MockEngineState at(MockEngineState state, int tick);
+
+        /** No input at all. */
+        InputScript NONE = (state, tick) -> state;
+    }
+
+    /**
+     * A scenario with no input.
+     *
+     * @return The job.
+     */
+    public static ScenarioJob of(
+            String name,
+            Dimensions dimensions,
+            String mapFile,
+            ScenarioDetails details,
+            int ticks) {
+        return new ScenarioJob(name, dimensions, mapFile, details, InputScript.NONE, ticks);
+    }
+}
@@ -0,0 +1,67 @@
+package scenarios.batch;
+
+import builder.JavaBeanFarm;
+import builder.world.WorldLoadException;
+
+import engine.Engine;
+
+import scenarios.mocks.MockCore;
+import scenarios.mocks.MockEngineState;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One run of a {@link ScenarioJob} through an {@link Engine} with a mock core, giving the core
+ * each tick's input from the job's script. Both {@link ScenarioBatch} and {@link
+ * ScenarioFixtures} run scenarios through this, so they always play out the same way.
+ */
+final class ScenarioRun {
+
+    private final ScenarioJob job;
+    private final MockCore core;
+    private JavaBeanFarm game;
+    private int tick;
+
+    /**
+     * @param job The scenario to run.
+     * @param core The core to draw to, which decides what is recorded.
+     */
+    ScenarioRun(ScenarioJob job, MockCore core) {
+        this.job = job;
+        this.core = core;
+    }
+
+    /**
+     * Load the scenario and run it for as many ticks as the job says.
+     *
+     * @throws IOException If the map could not be read.
+     * @throws WorldLoadException If the map or details could not be loaded.
+     */
+    void run() throws IOException, WorldLoadException {
+        try (Reader map = new FileReader(job.mapFile())) {
+            game = new JavaBeanFarm(job.dimensions(), map, job.details().toReader());
+            final Engine engine = new Engine(game, job.dimensions(), core);
+            while (tick < job.ticks()) {
+                core.setState(job.script().at(new MockEngineState(job.dimensions(), tick), tick));
+                engine.tick();
+                tick += 1;
+            }
+        }
+    }
+
+    /**
+     * @return How many ticks have finished, including if {@link #run()} failed partway.
+     */
+    int ticks() {
+        return tick;
+    }
+
+    /**
+     * @return The game being run, or null if it hasn't loaded.
+     */
+    JavaBeanFarm game() {
+        return game;
+    }
+}
@@ -0,0 +1,67 @@
+package scenarios.batch;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * What happened when a {@link ScenarioJob} was run. Counts are keyed by sprite group, e.g.
+ * {@code "eagle"} or {@code "cabbage"}.
+ *
+ * @param name The name of the job.
+ * @param ticks How many ticks were run.
+ * @param elapsedNanos How long loading and running the scenario took.
+ * @param counts How many renderables of each sprite group were drawn on the last tick.
+ * @param spawned How many renderables of each sprite group appeared after the first tick.
+ * @param despawned How many renderables of each sprite group stopped being drawn.
+ * @param coins The coins in the inventory after the last tick.
+ * @param food The food in the inventory after the last tick.
+ * @param failure What went wrong, or null if the scenario ran successfully.
+ */
+public record ScenarioSummary(
+        String name,
+        int ticks,
+        long elapsedNanos,
+        Map<String, Integer> counts,
+        Map<String, Integer> spawned,
+        Map<String, Integer> despawned,
+        int coins,
+        int food,
+        Throwable failure) {
+
+    /**
+     * @return Whether the scenario was loaded and run without throwing.
+     */
+    public boolean succeeded() {
+        return failure == null;
+    }
+
+    /**
+     * @return The average ticks run per second.
+     */
+    public double ticksPerSecond() {
+        return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * A one line summary, listing each sprite group as {@code group=count(+spawned/-despawned)}.
+     */
+    @Override
+    public String toString() {
+        if (!succeeded()) {
+            return name + " failed after " + ticks + " ticks: " + failure;
+        }
+        final StringJoiner groups = new StringJoiner(" ");
+        final Set<String> seen = new TreeSet<>(counts.keySet());
+        seen.addAll(spawned.keySet());
+        for (String group : seen) {
+            groups.add(group + "=" + counts.getOrDefault(group, 0)
+                    + "(+" + spawned.getOrDefault(group, 0)
+                    + "/-" + despawned.getOrDefault(group, 0) + ")");
+        }
+        return String.format(
+                "%s ticks=%d tps=%.0f coins=%d food=%d %s",
+                name, ticks, ticksPerSecond(), coins, food, groups);
+    }
+}
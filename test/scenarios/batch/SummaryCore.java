@@ -0,0 +1,82 @@
+package scenarios.batch;
+
+import engine.art.sprites.Sprite;
+import engine.renderer.Renderable;
+
+import scenarios.mocks.MockCore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A core that keeps running totals of what is drawn instead of recording every frame, so long
+ * scenarios can be run without holding their whole history.
+ *
+ * <p>A renderable spawns on the first frame it is drawn after the first frame of the scenario, and
+ * despawns on the first frame it is no longer drawn. A renderable with no sprite has no group to
+ * be counted under, so is left out until it has one.
+ */
+class SummaryCore extends MockCore {
+
+    private Map<String, String> previous = new HashMap<>();
+    private Map<String, String> current = new HashMap<>();
+    private final Map<String, Integer> spawned = new TreeMap<>();
+    private final Map<String, Integer> despawned = new TreeMap<>();
+    private boolean firstFrame = true;
+
+    SummaryCore() {
+        super(null, null);
+    }
+
+    @Override
+    public void draw(List<Renderable> renderables) {
+        current.clear();
+        for (Renderable renderable : renderables) {
+            final Sprite sprite = renderable.getSprite();
+            if (sprite == null) {
+                continue;
+            }
+            final String group = sprite.getGroup();
+            current.put(renderable.getID(), group);
+            if (!firstFrame && !previous.containsKey(renderable.getID())) {
+                spawned.merge(group, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                despawned.merge(entry.getValue(), 1, Integer::sum);
+            }
+        }
+        final Map<String, String> swap = previous;
+        previous = current;
+        current = swap;
+        firstFrame = false;
+    }
+
+    /**
+     * @return How many renderables of each sprite group were drawn on the latest frame.
+     */
+    Map<String, Integer> counts() {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (String group : previous.values()) {
+            counts.merge(group, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * @return How many renderables of each sprite group have spawned so far.
+     */
+    Map<String, Integer> spawned() {
+        return new TreeMap<>(spawned);
+    }
+
+    /**
+     * @return How many renderables of each sprite group have despawned so far.
+     */
+    Map<String, Integer> despawned() {
+        return new TreeMap<>(despawned);
+    }
+}
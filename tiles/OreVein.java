@@ -1,8 +1,11 @@
 package builder.tiles;
 
+import builder.GameState;
 import builder.entities.resources.Ore;
 import builder.ui.SpriteGallery;
 
+import engine.EngineState;
+
 /**
  * An ore vein tile has a {@link Ore} instance stacked on top. An ore vein is rendered the same as a
  * field but will always have an {@link Ore} above it. An ore vein tile is rendered as {@link
@@ -36,4 +39,14 @@ public class OreVein extends Tile {
     public Ore getOre() {
         return ore;
     }
+
+    /** Use the ore as any tile uses what is stacked on it, reporting the coins mined from it. */
+    @Override
+    public void use(EngineState state, GameState game) {
+        final int coins = ore.getCoins();
+        super.use(state, game);
+        if (ore.getCoins() != coins) {
+            changed();
+        }
+    }
 }
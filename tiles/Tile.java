@@ -15,6 +15,7 @@ import engine.renderer.Renderable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents a tile on the 'ground' of our world. Each tile is responsible for managing:
@@ -37,6 +38,7 @@ public abstract class Tile extends Entity
 
     private SpriteGroup art;
     private final List<Entity> stackedEntities = new ArrayList<>();
+    private Consumer<Tile> watcher;
 
     /**
      * Constructs an instance of {@link Tile}.
@@ -64,6 +66,32 @@ public abstract class Tile extends Entity
     public void setArt(SpriteGroup art) {
         this.art = art;
         updateSprite("default");
+        changed();
+    }
+
+    /**
+     * Have the given watcher told whenever this tile or what is stacked on it may have changed:
+     * something was stacked or unstacked, the tile's art changed or it was marked for removal, or
+     * a stacked entity's sprite or removal changed as it ticked, was used or was interacted with
+     * (e.g. a cabbage grew, or was harvested).
+     *
+     * @param watcher Told about each change, or null to stop watching.
+     */
+    public void watch(Consumer<Tile> watcher) {
+        this.watcher = watcher;
+    }
+
+    /** Tell the watcher, if there is one, that this tile may have changed. */
+    protected void changed() {
+        if (watcher != null) {
+            watcher.accept(this);
+        }
+    }
+
+    @Override
+    public void markForRemoval() {
+        super.markForRemoval();
+        changed();
     }
 
     /**
@@ -94,8 +122,13 @@ public abstract class Tile extends Entity
     @Override
     public void tick(EngineState engine) {
         this.cleanup();
-        for (Entity stackedEntity : this.stackedEntities) {
-            stackedEntity.tick(engine);
+        for (int i = 0; i < this.stackedEntities.size(); i += 1) {
+            final Entity entity = this.stackedEntities.get(i);
+            final Sprite before = entity.getSprite();
+            entity.tick(engine);
+            if (entity.getSprite() != before) {
+                changed();
+            }
         }
     }
 
@@ -104,6 +137,7 @@ public abstract class Tile extends Entity
         for (int i = this.stackedEntities.size() - 1; i >= 0; i -= 1) {
             if (this.stackedEntities.get(i).isMarkedForRemoval()) {
                 this.stackedEntities.remove(i);
+                changed();
             }
         }
     }
@@ -128,6 +162,7 @@ public abstract class Tile extends Entity
      */
     public void placeOn(Entity tile) {
         this.stackedEntities.add(tile);
+        changed();
     }
 
     /**
@@ -144,9 +179,13 @@ public abstract class Tile extends Entity
      */
     @Override
     public void interact(EngineState state, GameState game) {
-        for (Entity stackedEntity : this.stackedEntities) {
-            if (stackedEntity instanceof Interactable interactable) {
+        for (int i = 0; i < this.stackedEntities.size(); i += 1) {
+            final Entity entity = this.stackedEntities.get(i);
+            if (entity instanceof Interactable interactable) {
+                final Sprite sprite = entity.getSprite();
+                final boolean marked = entity.isMarkedForRemoval();
                 interactable.interact(state, game);
+                changedIf(entity, sprite, marked);
             }
         }
     }
@@ -163,13 +202,25 @@ public abstract class Tile extends Entity
      */
     @Override
     public void use(EngineState state, GameState game) {
-        for (Entity stackedEntity : this.stackedEntities) {
-            if (stackedEntity instanceof Usable usable) {
+        for (int i = 0; i < this.stackedEntities.size(); i += 1) {
+            final Entity entity = this.stackedEntities.get(i);
+            if (entity instanceof Usable usable) {
+                final Sprite sprite = entity.getSprite();
+                final boolean marked = entity.isMarkedForRemoval();
                 usable.use(state, game);
+                changedIf(entity, sprite, marked);
             }
         }
     }
 
+    // a stacked entity that kept its sprite and removal kept the rest of what is saved of it too,
+    // except for an ore's coins, which its vein reports itself
+    private void changedIf(Entity entity, Sprite sprite, boolean marked) {
+        if (entity.getSprite() != sprite || entity.isMarkedForRemoval() != marked) {
+            changed();
+        }
+    }
+
     /**
      * Whether this tile can be walked through by other entities. True by default.
      *
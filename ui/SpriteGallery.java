@@ -1,5 +1,7 @@
 package builder.ui;
 
+import builder.profiling.SpriteLoadEvent;
+
 import engine.art.ArtNotFoundException;
 import engine.art.loader.ArtLoader;
 import engine.art.loader.MalformedArtException;
@@ -82,13 +84,23 @@ public class SpriteGallery {
      * @param groupName The common prefix of sprites within the given file.
      */
     private static SpriteGroup load(String spriteFilename, String groupName) {
+        final SpriteLoadEvent event = new SpriteLoadEvent();
+        event.begin();
+        event.file = spriteFilename;
+        event.group = groupName;
+        event.failed = true;
         try {
-            return ArtLoader.load("resources/art/" + spriteFilename + ".art").lookup(groupName);
+            final SpriteGroup group =
+                    ArtLoader.load("resources/art/" + spriteFilename + ".art").lookup(groupName);
+            event.failed = false;
+            return group;
         } catch (IOException | ArtNotFoundException | MalformedArtException e) {
             // Cannot throw a checked exception when instantiating a static field.
             // Wrap up any thrown exception as RuntimeException
             // This should crash the JVM when starting up the game
             throw new RuntimeException(e);
+        } finally {
+            event.commit();
         }
     }
 }
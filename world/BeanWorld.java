@@ -11,6 +11,7 @@ import engine.renderer.Renderable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -25,6 +26,10 @@ import java.util.function.Predicate;
 public class BeanWorld implements RenderableGroup, Tickable, World {
 
     private final List<Tile> tiles = new ArrayList<>();
+    private int revision = 0;
+    private final List<Consumer<Tile>> watchers = new ArrayList<>();
+    // given to every placed tile, which reports its changes here to be passed on to the watchers
+    private final Consumer<Tile> changes = this::changed;
 
     /**
      * Construct a new empty world with no tiles.
@@ -46,16 +51,22 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
     @Override
     public List<Tile> tilesAtPosition(int x, int y, Dimensions dimensions) {
         List<Tile> result = new ArrayList<>();
+        collectTilesAtPosition(x, y, dimensions, result);
+        return result;
+    }
+
+    @Override
+    public void collectTilesAtPosition(int x, int y, Dimensions dimensions, List<Tile> result) {
         int gridX = dimensions.pixelToTile(x);
         int gridY = dimensions.pixelToTile(y);
-        for (Tile tile : tiles) {
+        for (int i = 0; i < tiles.size(); i += 1) {
+            Tile tile = tiles.get(i);
             int tileX = dimensions.pixelToTile(tile.getX());
             int tileY = dimensions.pixelToTile(tile.getY());
             if (gridX == tileX && gridY == tileY) {
                 result.add(tile);
             }
         }
-        return result;
     }
 
     @Override
@@ -66,6 +77,41 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
     @Override
     public void place(Tile tile) {
         this.tiles.add(tile);
+        this.revision += 1;
+        tile.watch(changes);
+        changed(tile);
+    }
+
+    /**
+     * Have the given watcher told about every tile placed from now on, and about every change to
+     * any tile (see {@link Tile#watch(Consumer)}), until it is given to {@link #unwatch(Consumer)}.
+     * Placed tiles are reported in the order they are placed, which is also their order in {@link
+     * #allTiles()}. Watchers are told in the order they started watching.
+     *
+     * @param watcher Told about each placed or changed tile.
+     */
+    public void watch(Consumer<Tile> watcher) {
+        this.watchers.add(watcher);
+    }
+
+    /**
+     * Stop telling the given watcher about placed and changed tiles.
+     *
+     * @param watcher A watcher given to {@link #watch(Consumer)}.
+     */
+    public void unwatch(Consumer<Tile> watcher) {
+        this.watchers.remove(watcher);
+    }
+
+    private void changed(Tile tile) {
+        for (int i = 0; i < watchers.size(); i += 1) {
+            watchers.get(i).accept(tile);
+        }
+    }
+
+    @Override
+    public int getRevision() {
+        return this.revision;
     }
 
     /**
@@ -94,8 +140,8 @@ public class BeanWorld implements RenderableGroup, Tickable, World {
      */
     @Override
     public void tick(EngineState state, GameState game) {
-        for (Tile tile : this.tiles) {
-            tile.tick(state);
+        for (int i = 0; i < this.tiles.size(); i += 1) {
+            this.tiles.get(i).tick(state);
         }
     }
 
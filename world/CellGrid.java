@@ -0,0 +1,174 @@
+package builder.world;
+
+import builder.tiles.Tile;
+
+import engine.renderer.Dimensions;
+
+import java.util.Arrays;
+
+/**
+ * Which cells of a {@link World}'s tile grid can be walked through, indexed as {@code row * size +
+ * col}.
+ *
+ * <p>A cell is blocked if any tile in it cannot be walked through (see {@link
+ * Tile#canWalkThrough()}), matching how the player is stopped from moving. The grid is only
+ * rebuilt when the world's {@link World#getRevision()} changes, or every time for a world that
+ * doesn't track its revision.
+ *
+ * <p>Open cells are also labelled with the connected region they belong to, worked out on first use
+ * after each rebuild, so searches can tell two cells can never meet without exploring.
+ */
+final class CellGrid {
+
+    /** Neighbour column offsets, in heading order 0, 45, 90, ... 315 degrees. */
+    static final int[] STEP_X = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /** Neighbour row offsets, in heading order 0, 45, 90, ... 315 degrees. */
+    static final int[] STEP_Y = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private final int tileSize;
+    private final int size;
+    private final boolean[] blocked;
+    // the world revision the grid was read from, and how many times it has been rebuilt, less one
+    private int worldRevision;
+    private int builtRevision = -1;
+
+    // connected region of each open cell (-1 for blocked cells), stale while regionsValid is false
+    private final int[] region;
+    private boolean regionsValid = false;
+
+    CellGrid(Dimensions dimensions) {
+        this.tileSize = dimensions.tileSize();
+        this.size = dimensions.windowSize() / dimensions.tileSize();
+        this.blocked = new boolean[size * size];
+        this.region = new int[size * size];
+    }
+
+    /**
+     * Re-read the world's tiles if they have changed since the last refresh.
+     *
+     * @return true if the grid was rebuilt.
+     */
+    boolean refresh(World world) {
+        final int revision = world.getRevision();
+        if (builtRevision >= 0 && revision != World.UNTRACKED && revision == worldRevision) {
+            return false;
+        }
+        Arrays.fill(blocked, false);
+        for (Tile tile : world.allTiles()) {
+            final int cell = cellAt(tile.getX(), tile.getY());
+            if (cell >= 0 && !tile.canWalkThrough()) {
+                blocked[cell] = true;
+            }
+        }
+        worldRevision = revision;
+        builtRevision += 1;
+        regionsValid = false;
+        return true;
+    }
+
+    /** A count that changes every time the grid is rebuilt, or -1 if it has never been built. */
+    int revision() {
+        return builtRevision;
+    }
+
+    /** The number of cells along each side of the grid. */
+    int size() {
+        return size;
+    }
+
+    /** The cell containing the given pixel position, or -1 if it is outside the grid. */
+    int cellAt(int x, int y) {
+        if (x < 0 || y < 0) {
+            return -1;
+        }
+        final int col = x / tileSize;
+        final int row = y / tileSize;
+        if (col >= size || row >= size) {
+            return -1;
+        }
+        return row * size + col;
+    }
+
+    /** The pixel x-coordinate of the centre of the given cell. */
+    int centreX(int cell) {
+        return (cell % size) * tileSize + tileSize / 2;
+    }
+
+    /** The pixel y-coordinate of the centre of the given cell. */
+    int centreY(int cell) {
+        return (cell / size) * tileSize + tileSize / 2;
+    }
+
+    boolean inBounds(int col, int row) {
+        return col >= 0 && row >= 0 && col < size && row < size;
+    }
+
+    boolean isBlocked(int cell) {
+        return blocked[cell];
+    }
+
+    /** Whether there is any route between two open cells. */
+    boolean connected(int from, int to) {
+        if (!regionsValid) {
+            labelRegions();
+        }
+        return region[from] >= 0 && region[from] == region[to];
+    }
+
+    /**
+     * Whether an entity may step from one cell to a neighbouring one. Diagonal steps may not cut
+     * across the corner of a blocked cell.
+     */
+    boolean canStep(int toCol, int toRow, int fromCol, int fromRow) {
+        if (!inBounds(toCol, toRow) || blocked[toRow * size + toCol]) {
+            return false;
+        }
+        return !blocked[fromRow * size + toCol] && !blocked[toRow * size + fromCol];
+    }
+
+    /** A path through the centres of the given cells, in order. */
+    Path pathThrough(int[] cells, int cost) {
+        final int[] xs = new int[cells.length];
+        final int[] ys = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            xs[i] = centreX(cells[i]);
+            ys[i] = centreY(cells[i]);
+        }
+        return new Path(xs, ys, cost);
+    }
+
+    private void labelRegions() {
+        Arrays.fill(region, -1);
+        final int[] queue = new int[region.length];
+        int label = 0;
+        for (int start = 0; start < region.length; start++) {
+            if (region[start] >= 0 || blocked[start]) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            region[start] = label;
+            queue[tail++] = start;
+            while (head < tail) {
+                final int cell = queue[head++];
+                final int col = cell % size;
+                final int row = cell / size;
+                for (int i = 0; i < STEP_X.length; i++) {
+                    final int nextCol = col + STEP_X[i];
+                    final int nextRow = row + STEP_Y[i];
+                    if (!canStep(nextCol, nextRow, col, row)) {
+                        continue;
+                    }
+                    final int next = nextRow * size + nextCol;
+                    if (region[next] < 0) {
+                        region[next] = label;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            label += 1;
+        }
+        regionsValid = true;
+    }
+}
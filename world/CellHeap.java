@@ -0,0 +1,68 @@
+package builder.world;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of cell indices ordered by a priority, used as the open list of the grid
+ * searches. Entries cannot be re-prioritised; searches push a cell again and skip stale entries.
+ */
+final class CellHeap {
+
+    private int[] cells = new int[64];
+    private long[] priorities = new long[64];
+    private int size = 0;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(int cell, long priority) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            final int up = (index - 1) / 2;
+            if (priorities[up] <= priority) {
+                break;
+            }
+            cells[index] = cells[up];
+            priorities[index] = priorities[up];
+            index = up;
+        }
+        cells[index] = cell;
+        priorities[index] = priority;
+    }
+
+    /** Remove and return the cell with the lowest priority. */
+    int pop() {
+        final int top = cells[0];
+        size -= 1;
+        final int cell = cells[size];
+        final long priority = priorities[size];
+        int index = 0;
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child += 1;
+            }
+            if (priorities[child] >= priority) {
+                break;
+            }
+            cells[index] = cells[child];
+            priorities[index] = priorities[child];
+            index = child;
+        }
+        cells[index] = cell;
+        priorities[index] = priority;
+        return top;
+    }
+}
@@ -0,0 +1,404 @@
+package builder.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hierarchical (HPA*) view of a {@link CellGrid} for finding long routes quickly.
+ *
+ * <p>The grid is cut into square clusters. Wherever two neighbouring clusters share a run of open
+ * cells along their border, one or two entrance cells are chosen on each side of the run. Inside
+ * each cluster the cost between every pair of its entrances is worked out in advance, so a long
+ * route is first planned over the much smaller graph of entrances and then filled in cluster by
+ * cluster.
+ *
+ * <p>When the world changes only the clusters containing changed cells, and the borders and
+ * neighbours they share, are rebuilt.
+ */
+final class ClusterGraph {
+
+    // open runs along a border at least this long get an entrance at each end instead of the middle
+    private static final int WIDE_ENTRANCE = 6;
+
+    private final CellGrid grid;
+    private final GridSearch local;
+    private final int clusterSize;
+    private final int size;
+    private final int clusters;
+
+    // the blocked state of each cell when the graph was last brought up to date
+    private final boolean[] known;
+    private int builtRevision = -1;
+
+    // entrance cells on the east and south border of each cluster, both sides of each transition
+    private final int[][] eastBorder;
+    private final int[][] southBorder;
+
+    // the entrance cells of each cluster, and the cost between each pair of them (-1 if none)
+    private final int[][] entrances;
+    private final int[][] costs;
+    private final int[] entranceIndex;
+
+    // abstract search state, indexed by cell with one extra slot for the destination
+    private final int[] stamp;
+    private final int[] cost;
+    private final int[] parent;
+    private final boolean[] closed;
+    private int search = 0;
+    private final CellHeap open = new CellHeap();
+
+    private int expanded = 0;
+
+    ClusterGraph(CellGrid grid, GridSearch local, int clusterSize) {
+        this.grid = grid;
+        this.local = local;
+        this.clusterSize = clusterSize;
+        this.size = grid.size();
+        this.clusters = (size + clusterSize - 1) / clusterSize;
+        final int cells = size * size;
+        this.known = new boolean[cells];
+        this.eastBorder = new int[clusters * clusters][];
+        this.southBorder = new int[clusters * clusters][];
+        this.entrances = new int[clusters * clusters][];
+        this.costs = new int[clusters * clusters][];
+        this.entranceIndex = new int[cells];
+        Arrays.fill(entranceIndex, -1);
+        this.stamp = new int[cells + 1];
+        this.cost = new int[cells + 1];
+        this.parent = new int[cells + 1];
+        this.closed = new boolean[cells + 1];
+    }
+
+    /** The width and height of each cluster in cells. */
+    int clusterSize() {
+        return clusterSize;
+    }
+
+    /** The number of abstract nodes expanded by all searches so far. */
+    int expandedCount() {
+        return expanded;
+    }
+
+    /** The cluster containing the given cell. */
+    int clusterOf(int cell) {
+        return (cell / size / clusterSize) * clusters + (cell % size) / clusterSize;
+    }
+
+    /**
+     * Find a route between two open, connected cells through the entrance graph. The route is
+     * close to, but not always exactly, the cheapest one.
+     *
+     * @return The route, or null if there is none.
+     */
+    Path find(int from, int to) {
+        refresh();
+        final int fromCluster = clusterOf(from);
+        final int toCluster = clusterOf(to);
+        final int goal = size * size;
+        final int[] fromCosts = costsToEntrances(from, fromCluster);
+        final int[] toCosts = costsToEntrances(to, toCluster);
+
+        search += 1;
+        if (search == Integer.MAX_VALUE) { // stamps wrapped, start again from a clean slate
+            Arrays.fill(stamp, 0);
+            search = 1;
+        }
+        open.clear();
+        if (fromCluster == toCluster) {
+            final int direct = localCost(from, to, fromCluster);
+            if (direct >= 0) {
+                relax(goal, direct, from, 0);
+            }
+        }
+        final int[] fromEntrances = entrances[fromCluster];
+        for (int i = 0; i < fromEntrances.length; i++) {
+            if (fromCosts[i] >= 0) {
+                relax(fromEntrances[i], fromCosts[i], from, estimate(fromEntrances[i], to));
+            }
+        }
+
+        while (!open.isEmpty()) {
+            final int node = open.pop();
+            if (closed[node]) {
+                continue;
+            }
+            closed[node] = true;
+            expanded += 1;
+            if (node == goal) {
+                return refine(from, to);
+            }
+            final int cluster = clusterOf(node);
+            final int index = entranceIndex[node];
+            final int[] others = entrances[cluster];
+            final int[] clusterCosts = costs[cluster];
+            for (int i = 0; i < others.length; i++) {
+                final int between = clusterCosts[index * others.length + i];
+                if (i != index && between >= 0) {
+                    relax(others[i], cost[node] + between, node, estimate(others[i], to));
+                }
+            }
+            if (cluster == toCluster && toCosts[index] >= 0) {
+                relax(goal, cost[node] + toCosts[index], node, 0);
+            }
+            // entrances directly across a cluster border
+            final int col = node % size;
+            final int row = node / size;
+            for (int i = 0; i < CellGrid.STEP_X.length; i += 2) {
+                final int nextCol = col + CellGrid.STEP_X[i];
+                final int nextRow = row + CellGrid.STEP_Y[i];
+                if (!grid.canStep(nextCol, nextRow, col, row)) {
+                    continue;
+                }
+                final int next = nextRow * size + nextCol;
+                if (entranceIndex[next] >= 0 && clusterOf(next) != cluster) {
+                    relax(next, cost[node] + GridSearch.STRAIGHT_COST, node, estimate(next, to));
+                }
+            }
+        }
+        return null;
+    }
+
+    private void relax(int node, int nodeCost, int from, int remaining) {
+        if (stamp[node] == search && (closed[node] || cost[node] <= nodeCost)) {
+            return;
+        }
+        stamp[node] = search;
+        cost[node] = nodeCost;
+        parent[node] = from;
+        closed[node] = false;
+        open.push(node, GridSearch.priority(nodeCost, remaining));
+    }
+
+    private int estimate(int cell, int to) {
+        return GridSearch.octile(cell % size, cell / size, to % size, to / size);
+    }
+
+    /* Fill in the planned route between each pair of consecutive entrances. */
+    private Path refine(int from, int to) {
+        final int goal = size * size;
+        final List<Integer> waypoints = new ArrayList<>();
+        waypoints.add(to);
+        for (int node = parent[goal]; node != from; node = parent[node]) {
+            waypoints.add(node);
+        }
+        waypoints.add(from);
+
+        final List<int[]> legs = new ArrayList<>();
+        int length = 1;
+        for (int i = waypoints.size() - 1; i > 0; i--) {
+            final int start = waypoints.get(i);
+            final int end = waypoints.get(i - 1);
+            final int[] leg;
+            if (clusterOf(start) != clusterOf(end)) {
+                leg = new int[] {start, end};
+            } else {
+                localCost(start, end, clusterOf(start));
+                leg = local.cellsTo(end);
+            }
+            legs.add(leg);
+            length += leg.length - 1;
+        }
+        final int[] cells = new int[length];
+        cells[0] = from;
+        int next = 1;
+        for (int[] leg : legs) {
+            System.arraycopy(leg, 1, cells, next, leg.length - 1);
+            next += leg.length - 1;
+        }
+        return grid.pathThrough(cells, cost[goal]);
+    }
+
+    /* The cost from a cell to each entrance of its cluster without leaving the cluster. */
+    private int[] costsToEntrances(int cell, int cluster) {
+        final int[] clusterEntrances = entrances[cluster];
+        final int[] result = new int[clusterEntrances.length];
+        localCost(cell, -1, cluster);
+        for (int i = 0; i < clusterEntrances.length; i++) {
+            result[i] = local.costTo(clusterEntrances[i]);
+        }
+        return result;
+    }
+
+    private int localCost(int from, int to, int cluster) {
+        final int minCol = (cluster % clusters) * clusterSize;
+        final int minRow = (cluster / clusters) * clusterSize;
+        final int maxCol = Math.min(size, minCol + clusterSize) - 1;
+        final int maxRow = Math.min(size, minRow + clusterSize) - 1;
+        return local.run(from, to, minCol, minRow, maxCol, maxRow);
+    }
+
+    /* Bring the graph up to date with the grid, rebuilding only clusters whose cells changed. */
+    private void refresh() {
+        if (grid.revision() == builtRevision) {
+            return;
+        }
+        final boolean[] changed = new boolean[clusters * clusters];
+        boolean any = false;
+        for (int cell = 0; cell < known.length; cell++) {
+            final boolean blocked = grid.isBlocked(cell);
+            if (builtRevision < 0 || blocked != known[cell]) {
+                known[cell] = blocked;
+                changed[clusterOf(cell)] = true;
+                any = true;
+            }
+        }
+        builtRevision = grid.revision();
+        if (!any) {
+            return;
+        }
+
+        // a changed cluster moves the entrances on all four of its borders
+        final boolean[] affected = new boolean[clusters * clusters];
+        for (int cluster = 0; cluster < changed.length; cluster++) {
+            if (!changed[cluster]) {
+                continue;
+            }
+            final int clusterCol = cluster % clusters;
+            final int clusterRow = cluster / clusters;
+            affected[cluster] = true;
+            rebuildEastBorder(cluster);
+            rebuildSouthBorder(cluster);
+            if (clusterCol > 0) {
+                rebuildEastBorder(cluster - 1);
+                affected[cluster - 1] = true;
+            }
+            if (clusterRow > 0) {
+                rebuildSouthBorder(cluster - clusters);
+                affected[cluster - clusters] = true;
+            }
+            if (clusterCol + 1 < clusters) {
+                affected[cluster + 1] = true;
+            }
+            if (clusterRow + 1 < clusters) {
+                affected[cluster + clusters] = true;
+            }
+        }
+        for (int cluster = 0; cluster < affected.length; cluster++) {
+            if (affected[cluster]) {
+                rebuildEntrances(cluster);
+            }
+        }
+    }
+
+    private void rebuildEastBorder(int cluster) {
+        final int clusterCol = cluster % clusters;
+        final int col = (clusterCol + 1) * clusterSize - 1;
+        if (col + 1 >= size) {
+            eastBorder[cluster] = new int[0];
+            return;
+        }
+        final int minRow = (cluster / clusters) * clusterSize;
+        final int maxRow = Math.min(size, minRow + clusterSize) - 1;
+        eastBorder[cluster] = transitions(col, minRow, 0, 1, maxRow - minRow + 1, 1, 0);
+    }
+
+    private void rebuildSouthBorder(int cluster) {
+        final int clusterRow = cluster / clusters;
+        final int row = (clusterRow + 1) * clusterSize - 1;
+        if (row + 1 >= size) {
+            southBorder[cluster] = new int[0];
+            return;
+        }
+        final int minCol = (cluster % clusters) * clusterSize;
+        final int maxCol = Math.min(size, minCol + clusterSize) - 1;
+        southBorder[cluster] = transitions(minCol, row, 1, 0, maxCol - minCol + 1, 0, 1);
+    }
+
+    /*
+     * Walk along a border from (col, row) in steps of (alongX, alongY), pairing each cell with the
+     * one across the border at (acrossX, acrossY). Each run of open pairs becomes one transition in
+     * its middle, or one at each end if the run is wide.
+     */
+    private int[] transitions(
+            int col, int row, int alongX, int alongY, int length, int acrossX, int acrossY) {
+        final List<Integer> cells = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            final int near = (row + i * alongY) * size + col + i * alongX;
+            final boolean passable =
+                    i < length
+                            && !grid.isBlocked(near)
+                            && !grid.isBlocked(near + acrossY * size + acrossX);
+            if (passable && runStart < 0) {
+                runStart = i;
+            } else if (!passable && runStart >= 0) {
+                final int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= WIDE_ENTRANCE) {
+                    addTransition(cells, col, row, alongX, alongY, acrossX, acrossY, runStart);
+                    addTransition(cells, col, row, alongX, alongY, acrossX, acrossY, runEnd);
+                } else {
+                    final int middle = (runStart + runEnd) / 2;
+                    addTransition(cells, col, row, alongX, alongY, acrossX, acrossY, middle);
+                }
+                runStart = -1;
+            }
+        }
+        final int[] result = new int[cells.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = cells.get(i);
+        }
+        return result;
+    }
+
+    private void addTransition(
+            List<Integer> cells,
+            int col,
+            int row,
+            int alongX,
+            int alongY,
+            int acrossX,
+            int acrossY,
+            int offset) {
+        final int near = (row + offset * alongY) * size + col + offset * alongX;
+        cells.add(near);
+        cells.add(near + acrossY * size + acrossX);
+    }
+
+    /* Gather a cluster's entrances from its four borders and cost every pair of them. */
+    private void rebuildEntrances(int cluster) {
+        if (entrances[cluster] != null) {
+            for (int cell : entrances[cluster]) {
+                entranceIndex[cell] = -1;
+            }
+        }
+        final int clusterCol = cluster % clusters;
+        final int clusterRow = cluster / clusters;
+        final List<Integer> found = new ArrayList<>();
+        collect(found, eastBorder[cluster], cluster);
+        collect(found, southBorder[cluster], cluster);
+        if (clusterCol > 0) {
+            collect(found, eastBorder[cluster - 1], cluster);
+        }
+        if (clusterRow > 0) {
+            collect(found, southBorder[cluster - clusters], cluster);
+        }
+
+        final int count = found.size();
+        final int[] cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = found.get(i);
+            entranceIndex[cells[i]] = i;
+        }
+        final int[] between = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            localCost(cells[i], -1, cluster);
+            for (int j = 0; j < count; j++) {
+                between[i * count + j] = local.costTo(cells[j]);
+            }
+        }
+        entrances[cluster] = cells;
+        costs[cluster] = between;
+    }
+
+    private void collect(List<Integer> found, int[] border, int cluster) {
+        if (border == null) {
+            return;
+        }
+        for (int cell : border) {
+            if (clusterOf(cell) == cluster && !found.contains(cell)) {
+                found.add(cell);
+            }
+        }
+    }
+}
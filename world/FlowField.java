@@ -0,0 +1,217 @@
+package builder.world;
+
+import builder.tiles.Tile;
+
+import engine.renderer.Dimensions;
+
+import java.util.Arrays;
+
+/**
+ * A flow field over the tile grid of a {@link World}, pointing every reachable cell towards a
+ * single target (e.g. the player).
+ *
+ * <p>The field is rebuilt with a breadth-first search from the target cell, and only when the
+ * target moves into a different cell or the world's tiles change (see {@link World#getRevision()}).
+ * Cells that cannot be walked through (see {@link Tile#canWalkThrough()}) are never routed through,
+ * and diagonal steps never cut the corner of a blocked cell.
+ *
+ * <p>Any number of chasers can then look up their heading in constant time via {@link
+ * #headingFrom(int, int)}. A chaser with a clear line of sight to the target is aimed straight at
+ * it, so steering is unchanged wherever nothing is in the way.
+ */
+public class FlowField {
+
+    /** Returned by {@link #directionAt(int, int)} for cells with no route to the target. */
+    public static final int NO_ROUTE = -1;
+
+    // headings in degrees of each CellGrid step (y grows downwards)
+    private static final int[] STEP_DEGREES = {0, 45, 90, 135, 180, 225, 270, 315};
+
+    private final CellGrid grid;
+    private final int size;
+
+    private final int[] distance;
+    private final byte[] direction;
+    private final boolean[] lineOfSight;
+    private final int[] queue;
+
+    private int targetCell = -1;
+    private int targetX;
+    private int targetY;
+
+    /**
+     * Construct an empty flow field covering a world of the given dimensions.
+     *
+     * @param dimensions The dimensions of the world the field is laid over.
+     */
+    public FlowField(Dimensions dimensions) {
+        this.grid = new CellGrid(dimensions);
+        this.size = grid.size();
+        final int cells = size * size;
+        this.distance = new int[cells];
+        this.direction = new byte[cells];
+        this.lineOfSight = new boolean[cells];
+        this.queue = new int[cells];
+    }
+
+    /**
+     * Point the field at the given target, rebuilding it only if the target has changed cell or
+     * the world has been modified since the last build.
+     *
+     * @param world The world whose tiles decide which cells can be crossed.
+     * @param x The x-axis (horizontal) coordinate of the target in pixels.
+     * @param y The y-axis (vertical) coordinate of the target in pixels.
+     */
+    public void update(World world, int x, int y) {
+        this.targetX = x;
+        this.targetY = y;
+        final int cell = grid.cellAt(x, y);
+        final boolean worldChanged = grid.refresh(world);
+        if (worldChanged || cell != targetCell) {
+            targetCell = cell;
+            rebuildRoutes();
+        }
+    }
+
+    /**
+     * Return the heading (in degrees, as used by {@code Npc#setDirection}) an entity at the given
+     * position should travel in to reach the target.
+     *
+     * <p>If the entity's cell can see the target, or has no route to it at all, the heading points
+     * straight at the target. Otherwise it points at the next cell along the shortest route.
+     *
+     * @param x The x-axis (horizontal) coordinate of the entity in pixels.
+     * @param y The y-axis (vertical) coordinate of the entity in pixels.
+     * @return The heading in degrees.
+     */
+    public int headingFrom(int x, int y) {
+        final int cell = grid.cellAt(x, y);
+        if (cell < 0 || lineOfSight[cell] || direction[cell] < 0) {
+            final double deltaX = targetX - x;
+            final double deltaY = targetY - y;
+            return (int) Math.toDegrees(Math.atan2(deltaY, deltaX));
+        }
+        return STEP_DEGREES[direction[cell]];
+    }
+
+    /**
+     * Return the heading of the next step along the shortest route from the given position.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @return The heading in degrees, or {@link #NO_ROUTE} if there is no route from here.
+     */
+    public int directionAt(int x, int y) {
+        final int cell = grid.cellAt(x, y);
+        if (cell < 0 || direction[cell] < 0) {
+            return NO_ROUTE;
+        }
+        return STEP_DEGREES[direction[cell]];
+    }
+
+    /**
+     * Return how many steps the given position is from the target.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @return The number of cell steps to the target, or {@link #NO_ROUTE} if unreachable.
+     */
+    public int distanceAt(int x, int y) {
+        final int cell = grid.cellAt(x, y);
+        if (cell < 0) {
+            return NO_ROUTE;
+        }
+        return distance[cell];
+    }
+
+    /**
+     * Whether the given position has an unobstructed straight line to the target.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @return true if nothing blocks the straight line from this cell to the target cell.
+     */
+    public boolean hasLineOfSight(int x, int y) {
+        final int cell = grid.cellAt(x, y);
+        return cell >= 0 && lineOfSight[cell];
+    }
+
+    private void rebuildRoutes() {
+        Arrays.fill(distance, NO_ROUTE);
+        Arrays.fill(direction, (byte) -1);
+        Arrays.fill(lineOfSight, false);
+        if (targetCell < 0 || grid.isBlocked(targetCell)) {
+            return;
+        }
+
+        // breadth-first search outwards from the target, each cell pointing back at its parent
+        int head = 0;
+        int tail = 0;
+        distance[targetCell] = 0;
+        queue[tail++] = targetCell;
+        while (head < tail) {
+            final int cell = queue[head++];
+            final int col = cell % size;
+            final int row = cell / size;
+            for (int i = 0; i < CellGrid.STEP_X.length; i++) {
+                final int nextCol = col + CellGrid.STEP_X[i];
+                final int nextRow = row + CellGrid.STEP_Y[i];
+                if (!grid.canStep(nextCol, nextRow, col, row)) {
+                    continue;
+                }
+                final int next = nextRow * size + nextCol;
+                if (distance[next] != NO_ROUTE) {
+                    continue;
+                }
+                distance[next] = distance[cell] + 1;
+                direction[next] = (byte) ((i + 4) % 8); // the opposite step leads back
+                queue[tail++] = next;
+            }
+        }
+
+        rebuildLineOfSight();
+    }
+
+    /*
+     * A cell can see the target if it is open and the next cell on the straight line towards the
+     * target can too. Visiting cells ring by ring outwards from the target guarantees that next
+     * cell has already been decided.
+     */
+    private void rebuildLineOfSight() {
+        final int targetCol = targetCell % size;
+        final int targetRow = targetCell / size;
+        lineOfSight[targetCell] = true;
+        for (int ring = 1; ring < size; ring++) {
+            for (int col = targetCol - ring; col <= targetCol + ring; col++) {
+                lineOfSightFor(col, targetRow - ring, targetCol, targetRow);
+                lineOfSightFor(col, targetRow + ring, targetCol, targetRow);
+            }
+            for (int row = targetRow - ring + 1; row < targetRow + ring; row++) {
+                lineOfSightFor(targetCol - ring, row, targetCol, targetRow);
+                lineOfSightFor(targetCol + ring, row, targetCol, targetRow);
+            }
+        }
+    }
+
+    private void lineOfSightFor(int col, int row, int targetCol, int targetRow) {
+        if (!grid.inBounds(col, row)) {
+            return;
+        }
+        final int cell = row * size + col;
+        if (grid.isBlocked(cell)) {
+            return;
+        }
+        final int deltaX = targetCol - col;
+        final int deltaY = targetRow - row;
+        int nextCol = col;
+        int nextRow = row;
+        if (Math.abs(deltaX) >= Math.abs(deltaY)) {
+            nextCol += Integer.signum(deltaX);
+        }
+        if (Math.abs(deltaY) >= Math.abs(deltaX)) {
+            nextRow += Integer.signum(deltaY);
+        }
+        lineOfSight[cell] =
+                grid.canStep(nextCol, nextRow, col, row) && lineOfSight[nextRow * size + nextCol];
+    }
+}
@@ -0,0 +1,187 @@
+package builder.world;
+
+import builder.tiles.Tile;
+
+import engine.renderer.Dimensions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A view of a {@link World} that remembers the answers to queries for the rest of the tick, so
+ * asking the same thing twice in one tick only visits the world's tiles once.
+ *
+ * <p>Answers are kept until the next call to {@link #beginTick(int)} with a different tick, or
+ * until the world's {@link World#getRevision()} changes, e.g. because a tile was placed, and are
+ * not kept at all for a world that doesn't track its revision. Which tiles are in a cell only
+ * changes when tiles are placed, but a {@link #tileSelector(Predicate)} filter usually also looks
+ * at the entities stacked on tiles, so selections are also forgotten whenever a tile reports a
+ * change to {@link #changed(Tile)}, e.g. by watching the world with {@link
+ * BeanWorld#watch(java.util.function.Consumer)}.
+ *
+ * <p>Selections are remembered by the identity of their filter, so only filters that are the same
+ * object each time (e.g. lambdas that capture nothing) are answered from the cache. Only one
+ * thread may query the view at a time.
+ */
+public class FrameCachedWorld implements World {
+
+    // enough for the player's cell and the one it is stepping into, with room to spare
+    private static final int CELL_SLOTS = 4;
+    private static final int SELECTION_SLOTS = 4;
+
+    private final World world;
+    private int tick = Integer.MIN_VALUE;
+    private int revision;
+
+    private final Dimensions[] cellDimensions = new Dimensions[CELL_SLOTS];
+    private final int[] cellXs = new int[CELL_SLOTS];
+    private final int[] cellYs = new int[CELL_SLOTS];
+    // owned by the cache and refilled on a miss, so a miss doesn't allocate either
+    private final List<List<Tile>> cellTiles = new ArrayList<>(CELL_SLOTS);
+    private int cellsUsed = 0;
+    private int nextCell = 0;
+
+    private final Predicate<?>[] filters = new Predicate<?>[SELECTION_SLOTS];
+    private final List<List<Tile>> selections = new ArrayList<>(SELECTION_SLOTS);
+    private int selectionsUsed = 0;
+    private int nextSelection = 0;
+
+    /**
+     * Construct a view that caches queries against the given world.
+     *
+     * @param world The world to query.
+     */
+    public FrameCachedWorld(World world) {
+        this.world = world;
+        this.revision = world.getRevision();
+        for (int i = 0; i < CELL_SLOTS; i += 1) {
+            cellTiles.add(new ArrayList<>());
+        }
+        for (int i = 0; i < SELECTION_SLOTS; i += 1) {
+            selections.add(null);
+        }
+    }
+
+    /**
+     * Start answering queries for the given tick, forgetting every answer from earlier ticks.
+     *
+     * @param tick The tick about to be run, e.g. {@link engine.EngineState#currentTick()}.
+     */
+    public void beginTick(int tick) {
+        if (tick != this.tick) {
+            this.tick = tick;
+            forget();
+        }
+    }
+
+    /**
+     * Forget every remembered {@link #tileSelector(Predicate)} answer, as the given tile or what is
+     * stacked on it may have changed (see {@link Tile#watch(java.util.function.Consumer)}).
+     *
+     * @param tile The tile that changed.
+     */
+    public void changed(Tile tile) {
+        forgetSelections();
+    }
+
+    /** Forget every remembered {@link #tileSelector(Predicate)} answer. */
+    public void forgetSelections() {
+        for (int i = 0; i < selectionsUsed; i += 1) {
+            filters[i] = null;
+            selections.set(i, null);
+        }
+        selectionsUsed = 0;
+        nextSelection = 0;
+    }
+
+    @Override
+    public List<Tile> tilesAtPosition(int x, int y, Dimensions dimensions) {
+        return new ArrayList<>(cell(x, y, dimensions));
+    }
+
+    @Override
+    public void collectTilesAtPosition(int x, int y, Dimensions dimensions, List<Tile> result) {
+        final List<Tile> tiles = cell(x, y, dimensions);
+        for (int i = 0; i < tiles.size(); i += 1) {
+            result.add(tiles.get(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned list cannot be modified, and keeps the tiles that matched when it was made.
+     */
+    @Override
+    public List<Tile> tileSelector(Predicate<Tile> filter) {
+        checkRevision();
+        for (int i = 0; i < selectionsUsed; i += 1) {
+            if (filters[i] == filter) {
+                return selections.get(i);
+            }
+        }
+        final List<Tile> selection = Collections.unmodifiableList(world.tileSelector(filter));
+        final int slot = nextSelection;
+        filters[slot] = filter;
+        selections.set(slot, selection);
+        nextSelection = (slot + 1) % SELECTION_SLOTS;
+        selectionsUsed = Math.max(selectionsUsed, slot + 1);
+        return selection;
+    }
+
+    @Override
+    public List<Tile> allTiles() {
+        return world.allTiles();
+    }
+
+    @Override
+    public void place(Tile tile) {
+        world.place(tile);
+        checkRevision();
+    }
+
+    @Override
+    public int getRevision() {
+        return world.getRevision();
+    }
+
+    private List<Tile> cell(int x, int y, Dimensions dimensions) {
+        checkRevision();
+        final int cellX = dimensions.pixelToTile(x);
+        final int cellY = dimensions.pixelToTile(y);
+        for (int i = 0; i < cellsUsed; i += 1) {
+            if (cellXs[i] == cellX && cellYs[i] == cellY && cellDimensions[i] == dimensions) {
+                return cellTiles.get(i);
+            }
+        }
+        final int slot = nextCell;
+        final List<Tile> tiles = cellTiles.get(slot);
+        tiles.clear();
+        world.collectTilesAtPosition(x, y, dimensions, tiles);
+        cellXs[slot] = cellX;
+        cellYs[slot] = cellY;
+        cellDimensions[slot] = dimensions;
+        nextCell = (slot + 1) % CELL_SLOTS;
+        cellsUsed = Math.max(cellsUsed, slot + 1);
+        return tiles;
+    }
+
+    private void checkRevision() {
+        final int current = world.getRevision();
+        if (current != revision || current == World.UNTRACKED) {
+            revision = current;
+            forget();
+        }
+    }
+
+    private void forget() {
+        for (int i = 0; i < cellsUsed; i += 1) {
+            cellDimensions[i] = null;
+        }
+        cellsUsed = 0;
+        nextCell = 0;
+        forgetSelections();
+    }
+}
@@ -0,0 +1,157 @@
+package builder.world;
+
+import java.util.Arrays;
+
+/**
+ * A* search over the cells of a {@link CellGrid}, optionally confined to a rectangle of cells.
+ *
+ * <p>The working arrays are reused between searches, tagged with a per-search stamp rather than
+ * cleared, so a search only touches the cells it expands. Costs are 10 for a straight step and 14
+ * for a diagonal one.
+ */
+final class GridSearch {
+
+    static final int STRAIGHT_COST = 10;
+    static final int DIAGONAL_COST = 14;
+
+    private final CellGrid grid;
+
+    // per-cell search state, valid only where stamp[cell] == search
+    private final int[] stamp;
+    private final int[] cost;
+    private final int[] parent;
+    private final boolean[] closed;
+    private int search = 0;
+
+    private final CellHeap open = new CellHeap();
+
+    private int expanded = 0;
+
+    GridSearch(CellGrid grid) {
+        this.grid = grid;
+        final int cells = grid.size() * grid.size();
+        this.stamp = new int[cells];
+        this.cost = new int[cells];
+        this.parent = new int[cells];
+        this.closed = new boolean[cells];
+    }
+
+    /** The total number of cells expanded by all searches so far. */
+    int expandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Search the whole grid for the cheapest route between two open cells.
+     *
+     * @return The cost of the route, or -1 if there is none.
+     */
+    int run(int from, int to) {
+        return run(from, to, 0, 0, grid.size() - 1, grid.size() - 1);
+    }
+
+    /**
+     * Search for the cheapest route between two open cells without leaving the given rectangle of
+     * cells (inclusive). A destination of -1 searches every reachable cell, after which {@link
+     * #costTo(int)} gives the cost to each of them.
+     *
+     * @return The cost of the route, or -1 if there is none.
+     */
+    int run(int from, int to, int minCol, int minRow, int maxCol, int maxRow) {
+        search += 1;
+        if (search == Integer.MAX_VALUE) { // stamps wrapped, start again from a clean slate
+            Arrays.fill(stamp, 0);
+            search = 1;
+        }
+        final int size = grid.size();
+        final int endCol = to < 0 ? 0 : to % size;
+        final int endRow = to < 0 ? 0 : to / size;
+        open.clear();
+        visit(from, 0, -1);
+        open.push(from, priority(0, estimate(to, from % size, from / size, endCol, endRow)));
+
+        while (!open.isEmpty()) {
+            final int cell = open.pop();
+            if (closed[cell]) {
+                continue;
+            }
+            closed[cell] = true;
+            expanded += 1;
+            if (cell == to) {
+                return cost[cell];
+            }
+            final int col = cell % size;
+            final int row = cell / size;
+            for (int i = 0; i < CellGrid.STEP_X.length; i++) {
+                final int nextCol = col + CellGrid.STEP_X[i];
+                final int nextRow = row + CellGrid.STEP_Y[i];
+                if (nextCol < minCol || nextCol > maxCol || nextRow < minRow || nextRow > maxRow) {
+                    continue;
+                }
+                if (!grid.canStep(nextCol, nextRow, col, row)) {
+                    continue;
+                }
+                final int next = nextRow * size + nextCol;
+                final int stepCost = (i % 2 == 0) ? STRAIGHT_COST : DIAGONAL_COST;
+                final int nextCost = cost[cell] + stepCost;
+                if (stamp[next] == search && (closed[next] || cost[next] <= nextCost)) {
+                    continue;
+                }
+                visit(next, nextCost, cell);
+                final int remaining = estimate(to, nextCol, nextRow, endCol, endRow);
+                open.push(next, priority(nextCost, remaining));
+            }
+        }
+        return -1;
+    }
+
+    /** The cost to the given cell found by the last search, or -1 if it was not reached. */
+    int costTo(int cell) {
+        if (stamp[cell] != search || !closed[cell]) {
+            return -1;
+        }
+        return cost[cell];
+    }
+
+    /** The cells along the route to the given cell found by the last search, start first. */
+    int[] cellsTo(int to) {
+        int length = 0;
+        for (int cell = to; cell != -1; cell = parent[cell]) {
+            length += 1;
+        }
+        final int[] cells = new int[length];
+        int index = length - 1;
+        for (int cell = to; cell != -1; cell = parent[cell]) {
+            cells[index] = cell;
+            index -= 1;
+        }
+        return cells;
+    }
+
+    /** Octile distance between two cells, exact on an open grid so A* never overestimates. */
+    static int octile(int col, int row, int endCol, int endRow) {
+        final int deltaX = Math.abs(endCol - col);
+        final int deltaY = Math.abs(endRow - row);
+        return STRAIGHT_COST * (deltaX + deltaY)
+                + (DIAGONAL_COST - 2 * STRAIGHT_COST) * Math.min(deltaX, deltaY);
+    }
+
+    /*
+     * Order by estimated total cost, breaking ties towards the cell closest to the destination so
+     * open ground is crossed in a straight run instead of expanding every equally good cell.
+     */
+    static long priority(int cellCost, int estimate) {
+        return ((long) (cellCost + estimate) << 32) | estimate;
+    }
+
+    private static int estimate(int to, int col, int row, int endCol, int endRow) {
+        return to < 0 ? 0 : octile(col, row, endCol, endRow);
+    }
+
+    private void visit(int cell, int cellCost, int from) {
+        stamp[cell] = search;
+        cost[cell] = cellCost;
+        parent[cell] = from;
+        closed[cell] = false;
+    }
+}
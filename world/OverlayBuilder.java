@@ -1,5 +1,7 @@
 package builder.world;
 
+import builder.profiling.WorldLoadEvent;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,21 +36,31 @@ public class OverlayBuilder {
      * @throws IOException if the section is not found
      */
     public static List<String> getSection(String label, String contents) throws IOException {
-        final String[] lines = contents.split("\n");
-        boolean collectingLines = false;
-        final List<String> section = new ArrayList<>();
-        for (int i = 0; i < contents.length(); i++) {
-            if (collectingLines && lines[i].toLowerCase().trim().equals("end;")) {
-                return section;
-            }
-            if (collectingLines) {
-                section.add(lines[i].toLowerCase().trim());
-            }
-            if (lines[i].toLowerCase().trim().equals(":" + label.toLowerCase().trim() + ":")) {
-                collectingLines = true;
+        final WorldLoadEvent event = new WorldLoadEvent();
+        event.begin();
+        event.source = label;
+        event.failed = true;
+        try {
+            final String[] lines = contents.split("\n");
+            boolean collectingLines = false;
+            final List<String> section = new ArrayList<>();
+            for (int i = 0; i < lines.length; i++) {
+                if (collectingLines && lines[i].toLowerCase().trim().equals("end;")) {
+                    event.entries = section.size();
+                    event.failed = false;
+                    return section;
+                }
+                if (collectingLines) {
+                    section.add(lines[i].toLowerCase().trim());
+                }
+                if (lines[i].toLowerCase().trim().equals(":" + label.toLowerCase().trim() + ":")) {
+                    collectingLines = true;
+                }
             }
+            throw new IOException("Section not Found!");
+        } finally {
+            event.commit();
         }
-        throw new IOException("Section not Found!");
     }
 
     /**
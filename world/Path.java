@@ -0,0 +1,66 @@
+package builder.world;
+
+/**
+ * A route across the tile grid found by a {@link Pathfinder}.
+ *
+ * <p>A path is a sequence of waypoints at the centre of each cell visited, starting with the cell
+ * the route was requested from and ending with the destination cell. Paths are immutable so they
+ * can be shared from the pathfinder's cache.
+ */
+public final class Path {
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int cost;
+
+    Path(int[] xs, int[] ys, int cost) {
+        this.xs = xs;
+        this.ys = ys;
+        this.cost = cost;
+    }
+
+    /**
+     * Return the number of waypoints in the path, including the start and destination.
+     *
+     * @return The number of waypoints, always at least one.
+     */
+    public int length() {
+        return xs.length;
+    }
+
+    /**
+     * Return the x-axis (horizontal) coordinate of a waypoint in pixels.
+     *
+     * @requires 0 &le; index &lt; length()
+     * @param index The waypoint index, starting from zero at the start of the path.
+     * @return The x-axis coordinate of the centre of the waypoint's cell.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Return the y-axis (vertical) coordinate of a waypoint in pixels.
+     *
+     * @requires 0 &le; index &lt; length()
+     * @param index The waypoint index, starting from zero at the start of the path.
+     * @return The y-axis coordinate of the centre of the waypoint's cell.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Return the cost of the path, 10 for each straight step and 14 for each diagonal step.
+     *
+     * @return The cost of travelling the whole path.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String toString() {
+        return "Path[waypoints:" + xs.length + ", cost:" + cost + "]";
+    }
+}
@@ -0,0 +1,255 @@
+package builder.world;
+
+import engine.renderer.Dimensions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers "how do I get from A to B" over the tile grid of a {@link World}.
+ *
+ * <p>Routes are found with A* over the grid's cells, moving in eight directions without cutting
+ * across the corner of a cell that cannot be walked through. Found routes (and the absence of a
+ * route) are kept in a least-recently-used cache keyed by start and destination cell, so repeated
+ * requests such as spawner to cabbage are answered without searching. The cache is emptied
+ * whenever the world's tiles change (see {@link World#getRevision()}).
+ *
+ * <p>The search reuses its working arrays between requests, tagging them with a per-search stamp
+ * rather than clearing them, so a query only touches the cells it expands. A request between two
+ * cells that can never meet is rejected without searching.
+ *
+ * <p>On large worlds, routes spanning several clusters of cells are planned hierarchically (HPA*):
+ * first across a precomputed graph of the entrances between clusters, then filled in one cluster at
+ * a time. These routes cost a bounded amount of work however big the world is, but may be slightly
+ * longer than the cheapest route. When tiles change only the affected clusters are rebuilt.
+ */
+public class Pathfinder {
+
+    /** The number of routes kept in the cache when no size is given. */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /** The width and height in cells of the clusters used for long routes when none is given. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    // routes longer than this many clusters are planned over the cluster graph
+    private static final int LONG_ROUTE_CLUSTERS = 2;
+
+    /**
+     * A single route request, from one pixel position to another.
+     *
+     * @param fromX The x-axis (horizontal) coordinate to start from in pixels.
+     * @param fromY The y-axis (vertical) coordinate to start from in pixels.
+     * @param toX The x-axis (horizontal) coordinate of the destination in pixels.
+     * @param toY The y-axis (vertical) coordinate of the destination in pixels.
+     */
+    public record Request(int fromX, int fromY, int toX, int toY) {}
+
+    private final CellGrid grid;
+    private final GridSearch cells;
+    private final ClusterGraph clusters;
+    private final Map<Long, Optional<Path>> cache;
+
+    private int cacheHits = 0;
+    private int cacheMisses = 0;
+
+    /**
+     * Construct a pathfinder for worlds of the given dimensions with the default cache size.
+     *
+     * @param dimensions The dimensions of the worlds to search.
+     */
+    public Pathfinder(Dimensions dimensions) {
+        this(dimensions, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Construct a pathfinder for worlds of the given dimensions.
+     *
+     * @requires cacheSize &gt; 0
+     * @param dimensions The dimensions of the worlds to search.
+     * @param cacheSize The maximum number of routes to remember.
+     */
+    public Pathfinder(Dimensions dimensions, int cacheSize) {
+        this(dimensions, cacheSize, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Construct a pathfinder for worlds of the given dimensions.
+     *
+     * @requires cacheSize &gt; 0 &amp;&amp; clusterSize &gt; 1
+     * @param dimensions The dimensions of the worlds to search.
+     * @param cacheSize The maximum number of routes to remember.
+     * @param clusterSize The width and height in cells of the clusters used for long routes.
+     */
+    public Pathfinder(Dimensions dimensions, int cacheSize, int clusterSize) {
+        assert cacheSize > 0;
+        assert clusterSize > 1;
+        this.grid = new CellGrid(dimensions);
+        this.cells = new GridSearch(grid);
+        this.clusters = new ClusterGraph(grid, cells, clusterSize);
+        this.cache =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, Optional<Path>> eldest) {
+                        return size() > cacheSize;
+                    }
+                };
+    }
+
+    /**
+     * Find a route between two pixel positions. Routes spanning a few clusters or less are the
+     * cheapest there is; longer ones are planned over the cluster graph and may cost a little more
+     * than the cheapest.
+     *
+     * @param world The world whose tiles decide which cells can be crossed.
+     * @param fromX The x-axis (horizontal) coordinate to start from in pixels.
+     * @param fromY The y-axis (vertical) coordinate to start from in pixels.
+     * @param toX The x-axis (horizontal) coordinate of the destination in pixels.
+     * @param toY The y-axis (vertical) coordinate of the destination in pixels.
+     * @return The route, or empty if either end is blocked, outside the world, or unreachable.
+     */
+    public Optional<Path> find(World world, int fromX, int fromY, int toX, int toY) {
+        refresh(world);
+        return lookup(grid.cellAt(fromX, fromY), grid.cellAt(toX, toY));
+    }
+
+    /**
+     * Find a route for each of the given requests, as {@link #find} does. The world is only checked
+     * for changes once for the whole batch.
+     *
+     * @param world The world whose tiles decide which cells can be crossed.
+     * @param requests The routes to find.
+     * @return The result of {@link #find} for each request, in the same order.
+     */
+    public List<Optional<Path>> findAll(World world, List<Request> requests) {
+        refresh(world);
+        final List<Optional<Path>> result = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            result.add(
+                    lookup(
+                            grid.cellAt(request.fromX(), request.fromY()),
+                            grid.cellAt(request.toX(), request.toY())));
+        }
+        return result;
+    }
+
+    /**
+     * Whether the straight line between two pixel positions crosses only cells that can be walked
+     * through. Positions outside the world are treated as open.
+     *
+     * @param world The world whose tiles decide which cells can be crossed.
+     * @param fromX The x-axis (horizontal) coordinate to start from in pixels.
+     * @param fromY The y-axis (vertical) coordinate to start from in pixels.
+     * @param toX The x-axis (horizontal) coordinate of the destination in pixels.
+     * @param toY The y-axis (vertical) coordinate of the destination in pixels.
+     * @return true if nothing blocks the straight line between the two positions.
+     */
+    public boolean hasLineOfSight(World world, int fromX, int fromY, int toX, int toY) {
+        refresh(world);
+        final int from = grid.cellAt(fromX, fromY);
+        final int to = grid.cellAt(toX, toY);
+        if (from < 0 || to < 0) {
+            return true;
+        }
+        final int size = grid.size();
+        int col = from % size;
+        int row = from / size;
+        final int endCol = to % size;
+        final int endRow = to / size;
+        final int deltaX = Math.abs(endCol - col);
+        final int deltaY = -Math.abs(endRow - row);
+        final int stepX = col < endCol ? 1 : -1;
+        final int stepY = row < endRow ? 1 : -1;
+        int error = deltaX + deltaY;
+        if (grid.isBlocked(from)) {
+            return false;
+        }
+        // Bresenham's line over cells, each step must be one the pathfinder could take too
+        while (col != endCol || row != endRow) {
+            final int doubled = 2 * error;
+            int nextCol = col;
+            int nextRow = row;
+            if (doubled >= deltaY) {
+                error += deltaY;
+                nextCol += stepX;
+            }
+            if (doubled <= deltaX) {
+                error += deltaX;
+                nextRow += stepY;
+            }
+            if (!grid.canStep(nextCol, nextRow, col, row)) {
+                return false;
+            }
+            col = nextCol;
+            row = nextRow;
+        }
+        return true;
+    }
+
+    /**
+     * Return how many requests have been answered from the cache.
+     *
+     * @return The number of cache hits since construction.
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Return how many requests needed a fresh search.
+     *
+     * @return The number of cache misses since construction.
+     */
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Return how many cells, or cluster entrances for long routes, have been expanded by searches
+     * in total, including searches to build and update the cluster graph.
+     *
+     * @return The number of nodes expanded since construction.
+     */
+    public int getExpandedCount() {
+        return cells.expandedCount() + clusters.expandedCount();
+    }
+
+    private void refresh(World world) {
+        if (grid.refresh(world)) {
+            cache.clear();
+        }
+    }
+
+    private Optional<Path> lookup(int from, int to) {
+        if (from < 0 || to < 0) {
+            return Optional.empty();
+        }
+        final long key = ((long) from << 32) | to;
+        final Optional<Path> cached = cache.get(key);
+        if (cached != null) {
+            cacheHits += 1;
+            return cached;
+        }
+        cacheMisses += 1;
+        final Optional<Path> found = search(from, to);
+        cache.put(key, found);
+        return found;
+    }
+
+    private Optional<Path> search(int from, int to) {
+        if (grid.isBlocked(from) || grid.isBlocked(to) || !grid.connected(from, to)) {
+            return Optional.empty();
+        }
+        final int size = grid.size();
+        final int distance =
+                GridSearch.octile(from % size, from / size, to % size, to / size)
+                        / GridSearch.STRAIGHT_COST;
+        if (distance > LONG_ROUTE_CLUSTERS * clusters.clusterSize()) {
+            return Optional.ofNullable(clusters.find(from, to));
+        }
+        final int found = cells.run(from, to);
+        return Optional.of(grid.pathThrough(cells.cellsTo(to), found));
+    }
+}
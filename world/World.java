@@ -18,6 +18,11 @@ import java.util.function.Predicate;
  */
 public interface World {
 
+    /**
+     * The revision reported by a world that doesn't count its changes, see {@link #getRevision()}.
+     */
+    int UNTRACKED = Integer.MIN_VALUE;
+
     /**
      * Return all tiles at the grid position of the x and y position.
      *
@@ -33,6 +38,22 @@ public interface World {
      */
     List<Tile> tilesAtPosition(int x, int y, Dimensions dimensions);
 
+    /**
+     * Add all tiles at the grid position of the x and y position to the given list, in the order
+     * {@link #tilesAtPosition(int, int, Dimensions)} would return them.
+     *
+     * <p>Lets callers that look up tiles every tick reuse one list rather than allocating a new one
+     * each time.
+     *
+     * @param x The x-axis (horizontal) coordinate in pixels.
+     * @param y The y-axis (vertical) coordinate in pixels.
+     * @param dimensions The dimensions of the world.
+     * @param result The list to add the tiles to.
+     */
+    default void collectTilesAtPosition(int x, int y, Dimensions dimensions, List<Tile> result) {
+        result.addAll(tilesAtPosition(x, y, dimensions));
+    }
+
     /**
      * A flexible selector method to allow accessing tiles that meet specific conditions.
      *
@@ -63,4 +84,19 @@ public interface World {
      *     the world.
      */
     void place(Tile tile);
+
+    /**
+     * Return a counter that changes every time the tiles of the world change.
+     *
+     * <p>Anything derived from the tile layout (e.g. a {@link FlowField}) can compare this against
+     * the value it was built from to know whether it is stale.
+     *
+     * <p>A world that doesn't count its changes need not implement this. It then reports {@link
+     * #UNTRACKED}, and anything derived from its tiles is rebuilt every time it is used.
+     *
+     * @return The number of modifications made to the world so far, or {@link #UNTRACKED}.
+     */
+    default int getRevision() {
+        return UNTRACKED;
+    }
 }
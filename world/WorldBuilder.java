@@ -1,5 +1,6 @@
 package builder.world;
 
+import builder.profiling.WorldLoadEvent;
 import builder.tiles.Tile;
 import builder.tiles.TileFactory;
 
@@ -57,6 +58,22 @@ public class WorldBuilder {
      */
     public static List<Tile> fromString(Dimensions dimensions, String text)
             throws WorldLoadException {
+        final WorldLoadEvent event = new WorldLoadEvent();
+        event.begin();
+        event.source = "map";
+        event.failed = true;
+        try {
+            final List<Tile> tiles = readTiles(dimensions, text);
+            event.entries = tiles.size();
+            event.failed = false;
+            return tiles;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static List<Tile> readTiles(Dimensions dimensions, String text)
+            throws WorldLoadException {
         int numberOfTiles = dimensions.windowSize() / dimensions.tileSize();
         String[] lines = text.split("\n");
         for (int i = 0; i < lines.length; i++) {